@@ -0,0 +1,66 @@
+package io.github.takgeun.shop.category;
+
+import io.github.takgeun.shop.category.application.CategoryService;
+import io.github.takgeun.shop.category.domain.Category;
+import io.github.takgeun.shop.category.infra.MemoryCategoryRepository;
+import io.github.takgeun.shop.global.error.ConflictException;
+import io.github.takgeun.shop.product.infra.MemoryProductRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 부모 변경 시 순환 검증 (CategoryService.validateNoCycle -> 저장소 isDescendantOf, 저장 시 relink 에서 한 번 더)
+// validateNoCycle은 private 이라 update(parentId 변경) 경로로 측정한다.
+// 카테고리 size 개를 한 줄(1 <- 2 <- ... <- size)로 연결하고, 따로 루트 하나 + 그 밑에 잎 카테고리 하나를 둔다.
+// isDescendantOf 는 새 부모에서 옮길 카테고리의 깊이까지만 올라가니, 얕은 카테고리를 깊은 곳으로 옮겨야 최악이 된다.
+// - moveLeafUnderDeepest : 잎(깊이 1)을 가장 깊은 카테고리 밑으로 옮겼다가(size 단계) 원래 루트 밑으로 되돌림(0 단계)
+// - rejectCycle : 줄의 루트를 가장 깊은 카테고리 밑으로 옮기려다 순환으로 거절 (size - 1 단계, 저장 없음)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CategoryServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private CategoryService categoryService;
+    private Long chainRootId;
+    private Long deepestId;
+    private Long otherRootId;
+    private Long leafId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemoryCategoryRepository categoryRepository = new MemoryCategoryRepository();
+        categoryService = new CategoryService(categoryRepository, new MemoryProductRepository());
+
+        // 서비스의 create는 이름 중복 체크가 있어서 대량 데이터는 저장소에 직접 넣는다.
+        Long parentId = null;
+        for (int i = 0; i < size; i++) {
+            Category category = categoryRepository.save(Category.create("카테고리" + i, parentId));
+            parentId = category.getId();
+            if(chainRootId == null) {
+                chainRootId = parentId;
+            }
+        }
+        deepestId = parentId;
+        otherRootId = categoryRepository.save(Category.create("다른 루트", null)).getId();
+        leafId = categoryRepository.save(Category.create("잎", otherRootId)).getId();
+    }
+
+    @Benchmark
+    public void moveLeafUnderDeepest() {
+        categoryService.update(leafId, null, deepestId, null);
+        categoryService.update(leafId, null, otherRootId, null);
+    }
+
+    @Benchmark
+    public ConflictException rejectCycle() {
+        try {
+            categoryService.update(chainRootId, null, deepestId, null);
+        } catch (ConflictException e) {
+            return e;       // 항상 여기로 온다.
+        }
+        throw new IllegalStateException("순환이 검출되지 않았습니다.");
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.takgeun.shop.global;
+
+import io.github.takgeun.shop.category.domain.Category;
+import io.github.takgeun.shop.category.infra.MemoryCategoryRepository;
+import io.github.takgeun.shop.category.infra.WalCategoryRepository;
+import io.github.takgeun.shop.global.wal.WalParticipant;
+import io.github.takgeun.shop.global.wal.WalRecovery;
+import io.github.takgeun.shop.global.wal.WalSnapshotter;
+import io.github.takgeun.shop.global.wal.WriteAheadLog;
+import io.github.takgeun.shop.member.domain.Member;
+import io.github.takgeun.shop.member.domain.PasswordHasher;
+import io.github.takgeun.shop.member.infra.MemoryMemberRepository;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher.Algorithm;
+import io.github.takgeun.shop.member.infra.WalMemberRepository;
+import io.github.takgeun.shop.order.domain.Order;
+import io.github.takgeun.shop.order.infra.MemoryOrderRepository;
+import io.github.takgeun.shop.order.infra.WalOrderRepository;
+import io.github.takgeun.shop.product.domain.Product;
+import io.github.takgeun.shop.product.infra.MemoryProductRepository;
+import io.github.takgeun.shop.product.infra.WalProductRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// 재시작 복구 시간 : 로그 레코드 size 개를 처음부터 재생해서 네 메모리 저장소를 채우기까지
+// 로그 구성은 주문 경로와 비슷하게 카테고리 100, 회원 1000, 상품 1만 + 나머지는 (재고 차감된 상품 save, 주문 save) 반복
+// snapshot=true : size 개를 쓴 뒤 스냅샷을 뜨고 TAIL 개를 더 쓴 상태에서 복구 (스냅샷 + 꼬리 재생)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WalRecoveryBenchmark {
+
+    // 비밀번호 해시 비용은 이 벤치마크의 관심사가 아니라 반복 1회
+    private static final PasswordHasher PASSWORD_HASHER = new Pbkdf2PasswordHasher(Algorithm.PBKDF2_SHA256, 1);
+
+    private static final int TAIL = 10_000;
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean snapshot;
+
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("wal-bench");
+        try (WriteAheadLog log = new WriteAheadLog(dir, 64 << 20, Duration.ofMillis(10), false)) {
+            Repositories repositories = Repositories.open(log);
+
+            int records = 0;
+            for (int i = 0; i < 100; i++, records++) {
+                repositories.categories.save(Category.create("카테고리" + i, null));
+            }
+            for (int i = 0; i < 1000; i++, records++) {
+                repositories.members.save(Member.create("user" + i + "@test.com", "pw12341234!", "회원", "010-1111-2222", PASSWORD_HASHER));
+            }
+            for (int i = 0; i < 10_000; i++, records++) {
+                repositories.products.save(Product.create((long) (i % 100) + 1, "상품" + i, 1000, 1_000_000, "상품 설명 " + i));
+            }
+            order(repositories, 0, size - records);
+            if(snapshot) {
+                new WalSnapshotter(log, repositories.participants(), Duration.ofHours(1), 1).snapshot();
+                order(repositories, size, TAIL);
+            }
+        }
+    }
+
+    // 주문 한 건 = 레코드 2개 (재고 차감된 상품 save, 주문 save)
+    private static void order(Repositories repositories, long from, int records) {
+        for (long i = from; i < from + records / 2; i++) {
+            Product product = repositories.products.findById(i % 10_000 + 1).orElseThrow();
+            product.tryDecreaseStock(1);
+            repositories.products.save(product);
+            repositories.orders.save(Order.create(i % 1000 + 1, product.getId(), product.getName(), product.getPrice(), 1,
+                    "받는이", "010-1111-2222", "12345", "서울시 어딘가 123", null));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public Repositories recover() {
+        try (WriteAheadLog log = new WriteAheadLog(dir, 64 << 20, Duration.ofMillis(10), false)) {
+            return Repositories.open(log);
+        }
+    }
+
+    public record Repositories(WalProductRepository products, WalCategoryRepository categories,
+                               WalMemberRepository members, WalOrderRepository orders) {
+
+        static Repositories open(WriteAheadLog log) {
+            Repositories repositories = new Repositories(
+                    new WalProductRepository(new MemoryProductRepository(), log),
+                    new WalCategoryRepository(new MemoryCategoryRepository(), log),
+                    new WalMemberRepository(new MemoryMemberRepository(), log),
+                    new WalOrderRepository(new MemoryOrderRepository(), log));
+            new WalRecovery(log, repositories.participants()).afterSingletonsInstantiated();
+            return repositories;
+        }
+
+        List<WalParticipant> participants() {
+            return List.of(products, categories, members, orders);
+        }
+    }
+}
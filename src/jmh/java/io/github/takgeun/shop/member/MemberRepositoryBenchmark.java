@@ -0,0 +1,49 @@
+package io.github.takgeun.shop.member;
+
+import io.github.takgeun.shop.member.domain.Member;
+import io.github.takgeun.shop.member.domain.PasswordHasher;
+import io.github.takgeun.shop.member.infra.MemoryMemberRepository;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher.Algorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 이메일로 회원 조회 (로그인, 가입 중복 체크 경로)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MemberRepositoryBenchmark {
+
+    // 비밀번호 해시 비용은 이 벤치마크의 관심사가 아니라 반복 1회
+    private static final PasswordHasher PASSWORD_HASHER = new Pbkdf2PasswordHasher(Algorithm.PBKDF2_SHA256, 1);
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private MemoryMemberRepository memberRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        memberRepository = new MemoryMemberRepository();
+        for (int i = 0; i < size; i++) {
+            memberRepository.save(Member.create(email(i), "pw12341234!", "회원", "010-1111-2222", PASSWORD_HASHER));
+        }
+    }
+
+    @Benchmark
+    public Optional<Member> findByEmailHit() {
+        return memberRepository.findByEmail(email(ThreadLocalRandom.current().nextInt(size)));
+    }
+
+    @Benchmark
+    public boolean existsByEmailMiss() {
+        return memberRepository.existsByEmail("nobody@test.com");
+    }
+
+    private static String email(int i) {
+        return "user" + i + "@test.com";
+    }
+}
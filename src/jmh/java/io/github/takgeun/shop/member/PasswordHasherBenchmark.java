@@ -0,0 +1,39 @@
+package io.github.takgeun.shop.member;
+
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher.Algorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 비밀번호 해시 1회 지연 (로그인 = matches 1회, 가입/변경 = hash 1회)
+// 알고리즘별 반복 횟수 기본값(shop.password.*.iterations)을 고를 때 쓴다. 목표 : 운영 서버 기준 해시 1회 50~100ms
+// 실행 : ./gradlew jmh -PjmhIncludes=PasswordHasherBenchmark
+//        ./gradlew jmh -PjmhIncludes=PasswordHasherBenchmark -PjmhParams=iterations=100000,600000
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class PasswordHasherBenchmark {
+
+    @Param({"pbkdf2-sha256", "pbkdf2-sha512"})
+    private String algorithm;
+
+    @Param({"100000", "310000", "600000"})
+    private int iterations;
+
+    private Pbkdf2PasswordHasher hasher;
+    private String encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hasher = new Pbkdf2PasswordHasher(Algorithm.of(algorithm), iterations);
+        encoded = hasher.hash("pw12341234!");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return hasher.matches("pw12341234!", encoded);
+    }
+}
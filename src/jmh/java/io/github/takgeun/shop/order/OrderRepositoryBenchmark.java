@@ -0,0 +1,48 @@
+package io.github.takgeun.shop.order;
+
+import io.github.takgeun.shop.order.domain.Order;
+import io.github.takgeun.shop.order.infra.MemoryOrderRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 내 주문 목록 조회 (GET /api/v1/orders)
+// 전체 주문 size 개를 회원 1000명에게 나눠서 저장 -> 회원당 size / 1000 개
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderRepositoryBenchmark {
+
+    private static final int MEMBER_COUNT = 1000;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private MemoryOrderRepository orderRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        orderRepository = new MemoryOrderRepository();
+        for (int i = 0; i < size; i++) {
+            long memberId = i % MEMBER_COUNT + 1;
+            orderRepository.save(Order.create(memberId, 1L, "상품", 1000, 1,
+                    "테스트", "010-1111-2222", "12345", "서울시 영등포구", null));
+        }
+    }
+
+    @Benchmark
+    public List<Order> findAllByMemberId() {
+        return orderRepository.findAllByMemberId(randomMemberId());
+    }
+
+    @Benchmark
+    public List<Order> findAllByMemberIdFirstPage() {
+        return orderRepository.findAllByMemberIdBefore(randomMemberId(), null, 21);
+    }
+
+    private static long randomMemberId() {
+        return ThreadLocalRandom.current().nextLong(MEMBER_COUNT) + 1;
+    }
+}
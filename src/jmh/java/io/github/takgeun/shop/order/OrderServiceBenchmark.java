@@ -0,0 +1,80 @@
+package io.github.takgeun.shop.order;
+
+import io.github.takgeun.shop.category.application.CategoryService;
+import io.github.takgeun.shop.category.infra.MemoryCategoryRepository;
+import io.github.takgeun.shop.member.application.MemberService;
+import io.github.takgeun.shop.member.domain.Member;
+import io.github.takgeun.shop.member.infra.MemoryMemberRepository;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher.Algorithm;
+import io.github.takgeun.shop.order.application.OrderService;
+import io.github.takgeun.shop.order.infra.OrderEventBus;
+import io.github.takgeun.shop.order.infra.MemoryOrderRepository;
+import io.github.takgeun.shop.product.application.ProductService;
+import io.github.takgeun.shop.product.application.StockReservationService;
+import io.github.takgeun.shop.product.domain.Product;
+import io.github.takgeun.shop.product.infra.MemoryProductRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 주문 생성 처리량 (orders/sec)
+// 상품 size 개 중 하나를 골라 1개씩 주문. 재고는 측정 중에 바닥나지 않도록 넉넉하게.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrderServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private MemoryOrderRepository orderRepository;
+    private OrderEventBus orderEventBus;
+    private OrderService orderService;
+    private Member member;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        orderRepository = new MemoryOrderRepository();
+        MemoryCategoryRepository categoryRepository = new MemoryCategoryRepository();
+        MemoryProductRepository productRepository = new MemoryProductRepository();
+        MemoryMemberRepository memberRepository = new MemoryMemberRepository();
+
+        CategoryService categoryService = new CategoryService(categoryRepository, productRepository);
+        ProductService productService = new ProductService(productRepository, categoryService);
+        MemberService memberService = new MemberService(memberRepository, new Pbkdf2PasswordHasher(Algorithm.PBKDF2_SHA256, 1));
+        // 리스너 없는 이벤트 버스 : 주문 요청 쪽 발행 비용만 포함
+        orderEventBus = new OrderEventBus(List.of(), 8192, 256, Duration.ofSeconds(1));
+        orderEventBus.start();
+        orderService = new OrderService(orderRepository, productService,
+                new StockReservationService(productRepository), orderEventBus);
+
+        // 컨트롤러처럼 회원은 한 번 조회해 둔 것을 넘긴다. (@LoginMember)
+        member = memberService.get(memberService.signup("bench@test.com", "pw12341234!", "벤치", "010-1111-2222"));
+        Long categoryId = categoryService.create("전자", null);
+        for (int i = 0; i < size; i++) {
+            productRepository.save(Product.create(categoryId, "상품" + i, 1000, Integer.MAX_VALUE / 2, null));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        orderEventBus.stop();
+    }
+
+    // 쌓인 주문 때문에 반복마다 힙 상태가 달라지지 않도록 비움
+    @Setup(Level.Iteration)
+    public void clearOrders() {
+        orderRepository.clear();
+    }
+
+    @Benchmark
+    public Long create() {
+        long productId = ThreadLocalRandom.current().nextLong(size) + 1;
+        return orderService.create(member, productId, 1, "테스트", "010-1111-2222",
+                "12345", "서울시 영등포구", null);
+    }
+}
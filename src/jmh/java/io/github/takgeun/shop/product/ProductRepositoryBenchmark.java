@@ -0,0 +1,52 @@
+package io.github.takgeun.shop.product;
+
+import io.github.takgeun.shop.product.domain.Product;
+import io.github.takgeun.shop.product.infra.MemoryProductRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 공개 상품 목록 조회 (전체 / 카테고리별)
+// 상품 10%는 숨김 처리해서 공개 여부 필터 비용도 같이 측정
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductRepositoryBenchmark {
+
+    private static final int CATEGORY_COUNT = 100;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private MemoryProductRepository productRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        productRepository = new MemoryProductRepository();
+        for (int i = 0; i < size; i++) {
+            long categoryId = i % CATEGORY_COUNT + 1;
+            Product product = productRepository.save(Product.create(categoryId, "상품" + i, 1000, 10, null));
+            if(i % 10 == 0) {
+                product.hide();
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Product> findAllPublic() {
+        return productRepository.findAllPublic();
+    }
+
+    @Benchmark
+    public List<Product> findAllPublicByCategoryId() {
+        long categoryId = ThreadLocalRandom.current().nextLong(CATEGORY_COUNT) + 1;
+        return productRepository.findAllPublicByCategoryId(categoryId);
+    }
+
+    @Benchmark
+    public List<Product> findAllPublicFirstPage() {
+        return productRepository.findAllPublicAfter(null, 21);
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.takgeun.shop.product;
+
+import io.github.takgeun.shop.category.application.CategoryService;
+import io.github.takgeun.shop.category.infra.MemoryCategoryRepository;
+import io.github.takgeun.shop.product.application.ProductService;
+import io.github.takgeun.shop.product.domain.Product;
+import io.github.takgeun.shop.product.infra.MemoryProductRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 상품 검색 (ProductService.searchPublic : 역색인 + BM25 상위 20개 + 저장소에서 상품 읽기)
+// 상품명 = 수식어 + 브랜드 + 품목 조합, 설명 = 품목 2개. 10%는 숨김
+// 검색어 : 흔한 품목(후보가 많음), 여러 단어(교집합), 드문 조합
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductSearchBenchmark {
+
+    private static final String[] ADJECTIVES = {"무선", "접이식", "가벼운", "대용량", "휴대용", "프리미엄", "미니", "초경량", "방수", "스마트"};
+    private static final String[] BRANDS = {"한빛", "새솔", "가람", "누리", "다온", "라온", "미르", "바른", "아라", "하늘",
+            "소담", "온새미로", "도담", "별하", "빛나"};
+    private static final String[] ITEMS = {"마우스", "키보드", "노트북", "모니터", "캠핑의자", "텀블러", "이어폰", "충전기", "선풍기", "가습기",
+            "백팩", "운동화", "티셔츠", "청바지", "냄비", "프라이팬", "전기포트", "책상", "의자", "조명",
+            "스피커", "태블릿", "거치대", "케이블", "보조배터리", "카메라", "삼각대", "우산", "담요", "베개"};
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"마우스", "무선 마우스", "온새미로 초경량 보조배터리"})
+    private String query;
+
+    private ProductService productService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemoryCategoryRepository categoryRepository = new MemoryCategoryRepository();
+        MemoryProductRepository productRepository = new MemoryProductRepository();
+        CategoryService categoryService = new CategoryService(categoryRepository, productRepository);
+        productService = new ProductService(productRepository, categoryService);
+
+        Long categoryId = categoryService.create("전자", null);
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            String name = pick(random, ADJECTIVES) + " " + pick(random, BRANDS) + " " + pick(random, ITEMS) + " " + i;
+            String description = pick(random, ITEMS) + "와 함께 쓰기 좋은 " + pick(random, ITEMS);
+            Product product = productRepository.save(Product.create(categoryId, name, 1000, 10, description));
+            if(i % 10 == 0) {
+                product.hide();
+            }
+        }
+        productService.searchPublic("색인", 1);        // 첫 검색에서 색인을 만든다. (측정에서 제외)
+    }
+
+    @Benchmark
+    public List<Product> search() {
+        return productService.searchPublic(query, 20);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
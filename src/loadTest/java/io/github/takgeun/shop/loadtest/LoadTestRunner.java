@@ -0,0 +1,262 @@
+package io.github.takgeun.shop.loadtest;
+
+import io.github.takgeun.shop.ShopServiceApplication;
+import io.github.takgeun.shop.category.application.CategoryService;
+import io.github.takgeun.shop.member.application.MemberService;
+import io.github.takgeun.shop.product.application.ProductService;
+import io.github.takgeun.shop.product.domain.ProductStatus;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 플랫폼 스레드 풀 vs 가상 스레드(vthreads 프로필) 부하 비교
+ * 실행 : ./gradlew loadTest
+ * 옵션 : ./gradlew loadTest -PloadTest.users=100,1000,4000 -PloadTest.durationSeconds=20 -PloadTest.sloMillis=200
+ *
+ * 모드마다 애플리케이션을 이 JVM 안에서 새로 띄우고(랜덤 포트) 동시 세션 수를 단계별로 올리면서
+ * 세션(로그인한 회원)마다 가상 스레드 하나가 쉬지 않고 아래 요청을 반복한다. (닫힌 부하 모델)
+ *   GET  /api/v1/products?size=20   상품 목록
+ *   GET  /api/v1/products/{id}      상품 상세
+ *   POST /api/v1/orders             주문 생성
+ *   GET  /api/v1/orders?size=20     내 주문 목록
+ *
+ * 단계마다 처리량, p50/p99/최대 지연, 오류 수를 출력하고
+ * 오류 없이 p99가 SLO 이내였던 가장 큰 동시 세션 수를 모드별 "최대 동시 세션"으로 보고한다.
+ *
+ * 클라이언트와 서버가 같은 JVM/CPU를 나눠 쓰니 절대값보다는 두 모드의 상대 비교용이다.
+ */
+public class LoadTestRunner {
+
+    private static final String[] ENDPOINTS = {"catalog.list", "catalog.detail", "order.create", "order.list"};
+    private static final String PASSWORD = "pw12341234!";
+
+    private final List<Integer> userSteps;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long sloMillis;
+    private final int productCount;
+
+    private LoadTestRunner(List<Integer> userSteps, Duration warmup, Duration duration, long sloMillis, int productCount) {
+        this.userSteps = userSteps;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.sloMillis = sloMillis;
+        this.productCount = productCount;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestRunner runner = new LoadTestRunner(
+                Arrays.stream(System.getProperty("loadTest.users", "50,200,800,2000").split(","))
+                        .map(String::trim)
+                        .map(Integer::parseInt)
+                        .sorted()
+                        .toList(),
+                Duration.ofSeconds(Long.getLong("loadTest.warmupSeconds", 5)),
+                Duration.ofSeconds(Long.getLong("loadTest.durationSeconds", 15)),
+                Long.getLong("loadTest.sloMillis", 200),
+                Integer.getInteger("loadTest.products", 1000)
+        );
+
+        String modes = System.getProperty("loadTest.modes", "platform,vthreads");
+        Map<String, Integer> maxSessions = new LinkedHashMap<>();
+        for (String mode : modes.split(",")) {
+            maxSessions.put(mode.trim(), runner.run(mode.trim()));
+        }
+
+        System.out.printf("%n== 최대 동시 세션 (오류 0, p99 <= %dms) ==%n", runner.sloMillis);
+        maxSessions.forEach((mode, sessions) -> System.out.printf("%-9s %s%n", mode,
+                sessions == 0 ? "SLO를 만족한 단계 없음" : sessions.toString()));
+    }
+
+    // 한 모드 전체 실행 : 애플리케이션 기동 -> 데이터 준비 -> 단계별 부하 -> 종료
+    private int run(String mode) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ShopServiceApplication.class)
+                .bannerMode(Banner.Mode.OFF);
+        if("vthreads".equals(mode)) {
+            builder.profiles("vthreads");
+        }
+
+        // 명령행 인자로 넘긴다. (builder.properties 는 기본값이라 application.properties 에 같은 키가 있으면 덮이지 않는다.)
+        // - 모든 세션이 같은 주소(127.0.0.1)에서 로그인하니 IP별 로그인 시도 제한은 풀어 둔다.
+        // - 회원 준비/로그인은 측정 대상이 아니니 비밀번호 해시 반복도 낮춘다. (기본 310000 이면 최대 2000명 가입 + 로그인에 해시만 몇 분)
+        String[] overrides = {
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--shop.login-throttle.ip-attempts=65535",
+                "--shop.password.pbkdf2-sha256.iterations=1000"
+        };
+
+        try (ConfigurableApplicationContext context = builder.run(overrides)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            int maxUsers = userSteps.get(userSteps.size() - 1);
+            seedProducts(context);
+            List<String> emails = seedMembers(context, maxUsers);
+
+            try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient client = HttpClient.newBuilder()
+                        .executor(clientExecutor)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .build();
+                List<String> cookies = login(client, baseUrl, emails);
+
+                System.out.printf("%n== %s (%s) ==%n", mode,
+                        context.getEnvironment().getProperty("spring.threads.virtual.enabled", "false")
+                                .equals("true") ? "Tomcat 요청 = 가상 스레드" : "Tomcat 요청 = 플랫폼 스레드 풀");
+                System.out.printf("%-7s %10s %9s %9s %9s %8s%n", "users", "req/s", "p50(ms)", "p99(ms)", "max(ms)", "errors");
+
+                int maxWithinSlo = 0;
+                for (int users : userSteps) {
+                    step(client, baseUrl, cookies.subList(0, users), warmup);     // 워밍업 (버림)
+                    StepResult result = step(client, baseUrl, cookies.subList(0, users), duration);
+                    result.print(users, duration);
+                    if(result.errors.get() == 0 && result.overall().percentile(99) <= sloMillis * 1000) {
+                        maxWithinSlo = users;
+                    }
+                }
+                return maxWithinSlo;
+            }
+        }
+    }
+
+    // 세션 수만큼 가상 사용자를 동시에 돌린다.
+    private StepResult step(HttpClient client, String baseUrl, List<String> cookies, Duration length) throws InterruptedException {
+        StepResult result = new StepResult();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + length.toNanos();
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String cookie : cookies) {
+                users.submit(() -> {
+                    Map<String, LatencyHistogram> local = new HashMap<>();
+                    start.await();
+                    while (System.nanoTime() < deadline) {
+                        for (String endpoint : ENDPOINTS) {
+                            long begin = System.nanoTime();
+                            boolean ok = call(client, baseUrl, cookie, endpoint);
+                            long micros = (System.nanoTime() - begin) / 1_000;
+                            local.computeIfAbsent(endpoint, k -> new LatencyHistogram()).record(micros);
+                            if(!ok) result.errors.incrementAndGet();
+                        }
+                    }
+                    result.merge(local);
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+        return result;
+    }
+
+    private boolean call(HttpClient client, String baseUrl, String cookie, String endpoint) {
+        HttpRequest.Builder request = switch (endpoint) {
+            case "catalog.list" -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/products?size=20")).GET();
+            case "catalog.detail" -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/products/" + randomProductId())).GET();
+            case "order.create" -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/orders"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                            {"productId":%d,"quantity":1,"recipientName":"부하","recipientPhone":"010-1111-2222",
+                             "shippingZipCode":"12345","shippingAddress":"서울"}""".formatted(randomProductId())));
+            case "order.list" -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/orders?size=20")).GET();
+            default -> throw new IllegalArgumentException(endpoint);
+        };
+
+        try {
+            HttpResponse<Void> response = client.send(
+                    request.header("Cookie", cookie).timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (Exception e) {
+            if(e instanceof InterruptedException) Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private long randomProductId() {
+        return ThreadLocalRandom.current().nextLong(productCount) + 1;
+    }
+
+    // 재고는 측정 중 바닥나지 않도록 넉넉하게
+    private void seedProducts(ConfigurableApplicationContext context) {
+        CategoryService categoryService = context.getBean(CategoryService.class);
+        ProductService productService = context.getBean(ProductService.class);
+
+        Long categoryId = categoryService.create("부하테스트", null);
+        for (int i = 0; i < productCount; i++) {
+            Long productId = productService.create(categoryId, "상품" + i, 1000, Integer.MAX_VALUE / 2, null);
+            productService.changeStatus(productId, ProductStatus.ON_SALE);
+        }
+    }
+
+    private List<String> seedMembers(ConfigurableApplicationContext context, int count) {
+        MemberService memberService = context.getBean(MemberService.class);
+        List<String> emails = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String email = "load" + i + "@test.com";
+            memberService.signup(email, PASSWORD, "부하" + i, "010-1111-2222");
+            emails.add(email);
+        }
+        return emails;
+    }
+
+    // 회원마다 로그인해서 세션 쿠키(JSESSIONID)를 받아둔다. (세션 = 동시 사용자)
+    private List<String> login(HttpClient client, String baseUrl, List<String> emails) throws Exception {
+        List<String> cookies = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"%s\",\"password\":\"%s\"}".formatted(email, PASSWORD)))
+                    .build();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            String cookie = response.headers().firstValue("Set-Cookie")
+                    .orElseThrow(() -> new IllegalStateException("로그인 실패 : " + email + " " + response.statusCode()));
+            cookies.add(cookie.split(";", 2)[0]);
+        }
+        return cookies;
+    }
+
+    // 한 단계 결과 (가상 사용자별 히스토그램을 합친 것)
+    private static final class StepResult {
+        private final Map<String, LatencyHistogram> byEndpoint = new LinkedHashMap<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void merge(Map<String, LatencyHistogram> local) {
+            local.forEach((endpoint, histogram) ->
+                    byEndpoint.computeIfAbsent(endpoint, k -> new LatencyHistogram()).merge(histogram));
+        }
+
+        synchronized LatencyHistogram overall() {
+            LatencyHistogram all = new LatencyHistogram();
+            byEndpoint.values().forEach(all::merge);
+            return all;
+        }
+
+        synchronized void print(int users, Duration duration) {
+            LatencyHistogram all = overall();
+            System.out.printf("%-7d %10.0f %9.2f %9.2f %9.2f %8d%n", users,
+                    all.count() / (double) duration.toSeconds(),
+                    all.percentile(50) / 1000.0, all.percentile(99) / 1000.0, all.max() / 1000.0, errors.get());
+            for (String endpoint : ENDPOINTS) {
+                LatencyHistogram histogram = byEndpoint.get(endpoint);
+                if(histogram == null) continue;
+                System.out.printf("  %-15s %10.0f %9.2f %9.2f %9.2f%n", endpoint,
+                        histogram.count() / (double) duration.toSeconds(),
+                        histogram.percentile(50) / 1000.0, histogram.percentile(99) / 1000.0, histogram.max() / 1000.0);
+            }
+        }
+    }
+}
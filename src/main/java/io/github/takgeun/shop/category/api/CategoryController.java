@@ -3,10 +3,12 @@ package io.github.takgeun.shop.category.api;
 import io.github.takgeun.shop.category.application.CategoryService;
 import io.github.takgeun.shop.category.api.dto.response.CategoryResponse;
 import io.github.takgeun.shop.category.domain.Category;
+import io.github.takgeun.shop.global.web.ETags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Stream;
@@ -30,8 +32,16 @@ public class CategoryController {
     private final CategoryService categoryService;
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryResponse> getPublic(@PathVariable Long id) {
-        return ResponseEntity.ok(CategoryResponse.from(categoryService.getPublic(id)));
+    public ResponseEntity<CategoryResponse> getPublic(@PathVariable Long id, WebRequest request) {
+        Category category = categoryService.getPublic(id);
+        String etag = ETags.of("category")
+                .add(category.getId())
+                .add(category.getVersion())
+                .build();
+        if(request.checkNotModified(etag)) {
+            return null;        // 304 Not Modified (본문 없음, ETag 헤더는 checkNotModified가 넣어줌)
+        }
+        return ResponseEntity.ok(CategoryResponse.from(category));
     }
 
     @GetMapping("/admin/{id}")
@@ -40,8 +50,20 @@ public class CategoryController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getAllPublic() {
-        List<CategoryResponse> result = categoryService.getAllPublic().stream()   // stream() : List -> Stream<Category>
+    public ResponseEntity<List<CategoryResponse>> getAllPublic(WebRequest request) {
+        List<Category> categories = categoryService.getAllPublic();
+
+        // 목록 ETag : 공개 카테고리들의 (id, version)
+        // 추가/삭제/비활성화는 id 목록이 바뀌고, 이름/부모 변경은 version이 바뀐다.
+        ETags etag = ETags.of("categories").add(categories.size());
+        for (Category category : categories) {
+            etag.add(category.getId()).add(category.getVersion());
+        }
+        if(request.checkNotModified(etag.build())) {
+            return null;
+        }
+
+        List<CategoryResponse> result = categories.stream()   // stream() : List -> Stream<Category>
                 .map(CategoryResponse::from)
                 // .map(category -> CategoryResponse.from(category))
                 // Category를 CategoryResponse 객체로 바꾼다.
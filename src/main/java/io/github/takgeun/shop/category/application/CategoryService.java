@@ -62,9 +62,17 @@ public class CategoryService {
 
     // 목록 조회 (유저)
     public List<Category> getAllPublic() {
-        return categoryRepository.findAll().stream()
-                .filter(Category::isActive)
-                .toList();
+        return categoryRepository.findAllActive();
+    }
+
+    // 공개 카테고리 자신 + 활성 하위 카테고리 id 목록 (하위 카테고리 상품까지 보여줄 때 사용)
+    // 저장소 호출 한 번 : 자신이 활성이면 결과 맨 앞에 있으니 그걸로 존재 + 활성 검증까지 한다.
+    public List<Long> getPublicSubtreeIds(Long id) {
+        List<Long> ids = categoryRepository.findActiveSubtreeIds(id);
+        if (ids.isEmpty() || !ids.getFirst().equals(id)) {
+            throw new NotFoundException("카테고리가 존재하지 않습니다.");
+        }
+        return ids;
     }
 
     // 목록 조회 (관리자)
@@ -90,7 +98,6 @@ public class CategoryService {
             if (categoryRepository.existsByNameKeyExceptId(key, id)) {
                 throw new ConflictException("이미 존재하는 카테고리 이름입니다.");
             }
-            category.changeName(name);  // 원본을 넘기고 도메인에서 책임지도록
         }
 
         // parentId 변경만 들어온 경우
@@ -108,21 +115,33 @@ public class CategoryService {
             // A -> B -> C -> A 순환부모 사이클 검증
             // newParentId에서 시작해서 parentId를 계속 따라 올라가다가 id를 만나면 순환 판정 -> 409 Conflict
             validateNoCycle(id, parentId);
-
-            category.changeParent(parentId);
         }
 
-        // active 변경만 들어온 경우
-        if (status != null) {
-            switch (status) {
-                case ACTIVE -> category.activate();
-                case INACTIVE -> category.deactivate();
-                default -> throw new IllegalArgumentException("지원하지 않는 status 입니다.");
+        // 검증을 모두 마친 뒤에 엔티티를 바꾼다.
+        // 메모리 저장소는 저장된 엔티티를 그대로 공유하니, 저장에서 거절되면(검증 뒤 다른 이동과 겹쳐 순환, WAL 실패 등)
+        // 바꾼 값을 되돌려서 트리/로그와 다른 부모를 들고 있지 않게 한다. (스냅샷이 엔티티의 parentId를 그대로 적음)
+        String previousName = category.getName();
+        Long previousParentId = category.getParentId();
+        CategoryStatus previousStatus = category.getStatus();
+        try {
+            if (name != null) {
+                category.changeName(name);  // 원본을 넘기고 도메인에서 책임지도록
+            }
+            if (parentId != null) {
+                category.changeParent(parentId);
+            }
+            if (status != null) {
+                changeStatus(category, status);
             }
-        }
 
-        // 메모리 저장소에서는 호출해줘야 덮어쓰기가 확실함
-        categoryRepository.save(category);
+            // 메모리 저장소에서는 호출해줘야 덮어쓰기가 확실함
+            categoryRepository.save(category);
+        } catch (RuntimeException e) {
+            category.changeName(previousName);
+            category.changeParent(previousParentId);
+            changeStatus(category, previousStatus);
+            throw e;
+        }
     }
 
     // 삭제
@@ -142,15 +161,20 @@ public class CategoryService {
         categoryRepository.deleteById(id);
     }
 
+    // active 변경
+    private void changeStatus(Category category, CategoryStatus status) {
+        switch (status) {
+            case ACTIVE -> category.activate();
+            case INACTIVE -> category.deactivate();
+            default -> throw new IllegalArgumentException("지원하지 않는 status 입니다.");
+        }
+    }
+
+    // 새 부모가 나 자신이거나 내 하위 카테고리면 순환
+    // 부모를 하나씩 findById로 따라 올라가지 않고 저장소의 카테고리 트리(부모 포인터 + 깊이)로 판단한다.
     private void validateNoCycle(Long categoryId, Long newParentId) {
-        Long now = newParentId;
-        while (now != null) {
-            if (now.equals(categoryId)) {
-                throw new ConflictException("부모 카테고리 수정으로 인해 순환 구조가 발생합니다.");
-            }
-            Category parent = categoryRepository.findById(now)
-                    .orElseThrow(() -> new NotFoundException("카테고리가 존재하지 않습니다."));
-            now = parent.getParentId();     // 부모의 다음 부모 넣기
+        if (newParentId.equals(categoryId) || categoryRepository.isDescendantOf(newParentId, categoryId)) {
+            throw new ConflictException("부모 카테고리 수정으로 인해 순환 구조가 발생합니다.");
         }
     }
 }
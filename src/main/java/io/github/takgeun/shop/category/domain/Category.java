@@ -11,6 +11,14 @@ public class Category {
     private Long parentId;
     private CategoryStatus status;
 
+    // 상태가 바뀔 때마다 1씩 증가하는 버전 (ETag 계산용, Product.version과 같은 역할)
+    // 카테고리 변경은 관리자 요청뿐이라 Atomic까지는 필요 없고, 다른 요청 스레드에서 바로 보이도록 volatile만.
+    private volatile long version;
+
+    // DB 에 마지막으로 반영된(읽어온) 버전. 저장할 때 그 사이 다른 요청이 행을 바꾸지 않았는지 비교한다. (Product.storedVersion과 같음)
+    // 메모리 저장소는 객체를 공유하니 쓰지 않는다.
+    private long storedVersion;
+
     // JPA 스펙 : 엔티티 클래스는 public 또는 protected 기본 생성자를 반드시 가져야 한다. protected를 권장. (개발자가 실수로 new 하는 걸 막기 위함)
     protected Category() {
     }
@@ -49,6 +57,19 @@ public class Category {
         return new Category(name, parentId, CategoryStatus.ACTIVE);
     }
 
+    // 저장해 둔 상태(WAL, DB)에서 되살릴 때만 사용. (검증/버전 증가 없이 저장 시점 값 그대로)
+    public static Category restore(Long id, String name, Long parentId, CategoryStatus status, long version) {
+        Category category = new Category();
+        category.id = id;
+        category.name = name;
+        category.nameKey = normalizeKey(name);
+        category.parentId = parentId;
+        category.status = status;
+        category.version = version;
+        category.storedVersion = version;
+        return category;
+    }
+
     public static String normalizeDisplayName(String raw) {
         if(raw == null) return null;
         return raw.trim();
@@ -75,6 +96,7 @@ public class Category {
         }
         this.name = display;
         this.nameKey = normalizeKey(display);
+        touch();
     }
 
     public boolean isActive() {
@@ -84,11 +106,13 @@ public class Category {
     public void activate() {
         if (this.status == CategoryStatus.ACTIVE) return;
         this.status = CategoryStatus.ACTIVE;
+        touch();
     }
 
     public void deactivate() {
         if (this.status == CategoryStatus.INACTIVE) return;
         this.status = CategoryStatus.INACTIVE;
+        touch();
     }
 
     public void changeParent(Long parentId) {
@@ -99,7 +123,16 @@ public class Category {
             throw new IllegalArgumentException("자기 자신을 부모로 설정할 수 없습니다.");   // parentId 입력 자체가 잘못됨 -> 400
         }
         this.parentId = parentId;
+        touch();
     }
 
+    // 저장소에 지금 버전을 반영한 뒤 호출
+    public void markStored() {
+        this.storedVersion = version;
+    }
+
+    private void touch() {
+        this.version++;
+    }
 
 }
@@ -11,11 +11,25 @@ public interface CategoryRepository {
 
     List<Category> findAll();
 
+    // 활성(공개) 카테고리만
+    List<Category> findAllActive();
+
     void deleteById(Long id);
 
     // 하위 카테고리 존재 여부 (삭제에 사용)
     boolean existsByParentId(Long parentId);
 
+    // id가 ancestorId의 하위(자식, 손자 ...) 카테고리인지 (자기 자신은 false)
+    // 부모 변경 시 순환 검증에 사용
+    boolean isDescendantOf(Long id, Long ancestorId);
+
+    // id 자신 + 모든 하위 카테고리 id (자기 자신이 맨 앞, 없는 id면 빈 리스트)
+    List<Long> findSubtreeIds(Long id);
+
+    // findSubtreeIds 중 활성 카테고리만 (순서 같음, id 자신이 비활성이면 맨 앞에 없다)
+    // 공개 하위 카테고리 상품 목록용. 노드마다 findById 로 상태를 확인하지 않도록 한 번에
+    List<Long> findActiveSubtreeIds(Long id);
+
     // 중복 체크 (case-insensitive)
     // 서비스에서 Category.normalizeKey(name)로 키 만들고 전달하는 방식
     boolean existsByNameKey(String nameKey);
@@ -0,0 +1,32 @@
+package io.github.takgeun.shop.category.infra;
+
+import io.github.takgeun.shop.category.domain.Category;
+import io.github.takgeun.shop.category.domain.CategoryStatus;
+import io.github.takgeun.shop.global.wal.RecordCodec;
+import io.github.takgeun.shop.global.wal.RecordReader;
+import io.github.takgeun.shop.global.wal.RecordWriter;
+
+// 카테고리 레코드 : id, name, parentId(nullable), status, version (필드 순서 = 포맷)
+final class CategoryRecordCodec implements RecordCodec<Category> {
+
+    private static final CategoryStatus[] STATUSES = CategoryStatus.values();
+
+    @Override
+    public Long idOf(Category category) {
+        return category.getId();
+    }
+
+    @Override
+    public void write(Category category, RecordWriter out) {
+        out.putId(category.getId())
+                .putString(category.getName())
+                .putNullableLong(category.getParentId())
+                .putEnum(category.getStatus())
+                .putLong(category.getVersion());
+    }
+
+    @Override
+    public Category read(RecordReader in) {
+        return Category.restore(in.getLong(), in.getString(), in.getNullableLong(), in.getEnum(STATUSES), in.getLong());
+    }
+}
@@ -0,0 +1,235 @@
+package io.github.takgeun.shop.category.infra;
+
+import io.github.takgeun.shop.category.domain.Category;
+import io.github.takgeun.shop.category.domain.CategoryRepository;
+import io.github.takgeun.shop.category.domain.CategoryStatus;
+import io.github.takgeun.shop.global.error.ConflictException;
+import io.github.takgeun.shop.global.error.NotFoundException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+// jdbc 프로필 : 카테고리 테이블 (schema.sql)
+// 트리 탐색(하위 트리, 순환 검증)은 재귀 CTE 한 번으로 끝내고 노드마다 왕복하지 않는다.
+// 이름 중복은 UNIQUE(name_key)가 최종적으로 막는다.
+//
+// 수정은 트랜잭션 하나에서 (인스턴스를 여러 대 띄워도 DB 행 락으로 직렬화)
+// - 수정할 행을 SELECT ... FOR UPDATE 로 잠그고 읽어온 뒤의 버전과 비교 (다른 요청이 먼저 바꿨으면 409)
+// - 부모가 바뀌면 새 부모의 조상 경로 행들도 잠근 뒤 다시 읽어서 순환을 검사한다.
+//   두 이동이 합쳐져 순환이 생기려면 한쪽이 옮기는 카테고리가 다른 쪽 새 부모의 조상 경로에 있어야 하니
+//   같은 행을 잠그게 되고, 나중 트랜잭션은 먼저 커밋된 이동을 보고 409 가 된다.
+@Repository
+@Profile("jdbc")
+public class JdbcCategoryRepository implements CategoryRepository {
+
+    private static final String COLUMNS = "id, name, parent_id, status, version";
+
+    private static final RowMapper<Category> ROW_MAPPER = (rs, rowNum) -> Category.restore(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getObject("parent_id", Long.class),
+            CategoryStatus.valueOf(rs.getString("status")),
+            rs.getLong("version"));
+
+    // 트리 깊이 상한. 재귀 CTE 가 이 깊이에서 멈추니 데이터가 깨져 순환이 있어도 끝없이 돌지 않는다.
+    static final int MAX_DEPTH = 64;
+
+    // id 에서 부모 방향으로 올라가는 경로 (자기 자신 포함, 최대 MAX_DEPTH + 1개)
+    private static final String ANCESTORS = """
+            WITH RECURSIVE up (id, parent_id, depth) AS (
+                SELECT id, parent_id, 0 FROM category WHERE id = :id
+                UNION ALL
+                SELECT c.id, c.parent_id, up.depth + 1 FROM category c JOIN up ON c.id = up.parent_id
+                WHERE up.depth < :maxDepth
+            )
+            """;
+
+    // id 에서 자식 방향으로 내려가는 하위 트리 (자기 자신 포함, 깊이 MAX_DEPTH 까지)
+    private static final String DESCENDANTS = """
+            WITH RECURSIVE down (id, status, depth) AS (
+                SELECT id, status, 0 FROM category WHERE id = :id
+                UNION ALL
+                SELECT c.id, c.status, down.depth + 1 FROM category c JOIN down ON c.parent_id = down.id
+                WHERE down.depth < :maxDepth
+            )
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+
+    public JdbcCategoryRepository(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager) {
+        this.jdbc = jdbc;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Category save(Category category) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", category.getId())
+                .addValue("name", category.getName())
+                .addValue("nameKey", category.getNameKey())
+                .addValue("parentId", category.getParentId())
+                .addValue("status", category.getStatus().name())
+                .addValue("version", category.getVersion());
+
+        try {
+            transaction.executeWithoutResult(status -> {
+                if(category.getId() == null) {
+                    KeyHolder keys = new GeneratedKeyHolder();
+                    jdbc.update("""
+                            INSERT INTO category (name, name_key, parent_id, status, version)
+                            VALUES (:name, :nameKey, :parentId, :status, :version)""", params, keys, new String[]{"id"});
+                    category.assignId(Objects.requireNonNull(keys.getKey()).longValue());
+                    return;
+                }
+
+                List<StoredRow> stored = jdbc.query("SELECT parent_id, version FROM category WHERE id = :id FOR UPDATE", params,
+                        (rs, rowNum) -> new StoredRow(rs.getObject("parent_id", Long.class), rs.getLong("version")));
+                if(stored.isEmpty()) {
+                    // id가 정해진 채로 처음 들어온 카테고리 (메모리 저장소와 같은 동작)
+                    jdbc.update("""
+                            INSERT INTO category (id, name, name_key, parent_id, status, version)
+                            VALUES (:id, :name, :nameKey, :parentId, :status, :version)""", params);
+                    return;
+                }
+                StoredRow row = stored.get(0);
+                if(row.version() != category.getStoredVersion()) {
+                    throw new ConflictException("다른 요청이 카테고리를 먼저 변경했습니다. 다시 시도해 주세요.");
+                }
+
+                Long parentId = category.getParentId();
+                if(parentId != null && !parentId.equals(row.parentId())) {
+                    lockAncestors(category.getId(), parentId);
+                }
+                jdbc.update("""
+                        UPDATE category SET name = :name, name_key = :nameKey, parent_id = :parentId,
+                                            status = :status, version = :version
+                        WHERE id = :id""", params);
+            });
+        } catch (DuplicateKeyException e) {
+            throw new ConflictException("이미 존재하는 카테고리 이름입니다.");
+        } catch (PessimisticLockingFailureException e) {
+            // 락 대기 시간 초과, 교착 상태로 희생된 쪽
+            throw new ConflictException("다른 요청이 카테고리를 변경하는 중입니다. 다시 시도해 주세요.");
+        }
+        category.markStored();
+        return category;
+    }
+
+    @Override
+    public Optional<Category> findById(Long id) {
+        if(id == null) return Optional.empty();
+        return jdbc.query("SELECT " + COLUMNS + " FROM category WHERE id = :id", Map.of("id", id), ROW_MAPPER)
+                .stream().findFirst();
+    }
+
+    @Override
+    public List<Category> findAll() {
+        return jdbc.query("SELECT " + COLUMNS + " FROM category ORDER BY id", ROW_MAPPER);
+    }
+
+    @Override
+    public List<Category> findAllActive() {
+        return jdbc.query("SELECT " + COLUMNS + " FROM category WHERE status = 'ACTIVE' ORDER BY id", ROW_MAPPER);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        // id 존재 여부, 하위 카테고리 존재 여부 판단은 Service 책임
+        if(id == null) return;
+        jdbc.update("DELETE FROM category WHERE id = :id", Map.of("id", id));
+    }
+
+    @Override
+    public boolean existsByParentId(Long parentId) {
+        if(parentId == null) return false;
+        return !jdbc.queryForList("SELECT 1 FROM category WHERE parent_id = :parentId FETCH FIRST 1 ROWS ONLY",
+                Map.of("parentId", parentId), Integer.class).isEmpty();
+    }
+
+    // id 의 조상 경로에 ancestorId 가 부모로 나오면 하위 카테고리
+    @Override
+    public boolean isDescendantOf(Long id, Long ancestorId) {
+        if(id == null || ancestorId == null) return false;
+        return !jdbc.queryForList(ANCESTORS + "SELECT 1 FROM up WHERE parent_id = :ancestorId FETCH FIRST 1 ROWS ONLY",
+                Map.of("id", id, "ancestorId", ancestorId, "maxDepth", MAX_DEPTH), Integer.class).isEmpty();
+    }
+
+    // 자기 자신부터 깊이 순서(너비 우선)로
+    @Override
+    public List<Long> findSubtreeIds(Long id) {
+        if(id == null) return List.of();
+        return jdbc.queryForList(DESCENDANTS + "SELECT id FROM down ORDER BY depth, id",
+                Map.of("id", id, "maxDepth", MAX_DEPTH), Long.class);
+    }
+
+    // 상태까지 CTE 에서 걸러서 쿼리 한 번 (하위 카테고리마다 findById 하지 않는다.)
+    @Override
+    public List<Long> findActiveSubtreeIds(Long id) {
+        if(id == null) return List.of();
+        return jdbc.queryForList(DESCENDANTS + "SELECT id FROM down WHERE status = :status ORDER BY depth, id",
+                Map.of("id", id, "maxDepth", MAX_DEPTH, "status", CategoryStatus.ACTIVE.name()), Long.class);
+    }
+
+    /**
+     * nameKey는 서비스에서 Category.normalizeKey(name)로 만들어서 넘겨주기.
+     * repository에서는 추가 정규화 없이 그대로 비교만 (uk_category_name_key 인덱스 조회)
+     */
+    @Override
+    public boolean existsByNameKey(String nameKey) {
+        if(nameKey == null || nameKey.isEmpty()) return false;
+        return !jdbc.queryForList("SELECT 1 FROM category WHERE name_key = :nameKey",
+                Map.of("nameKey", nameKey), Integer.class).isEmpty();
+    }
+
+    @Override
+    public boolean existsByNameKeyExceptId(String nameKey, Long excludeId) {
+        if(nameKey == null || nameKey.isEmpty()) return false;
+        return !jdbc.queryForList("SELECT 1 FROM category WHERE name_key = :nameKey AND id <> :excludeId",
+                new MapSqlParameterSource("nameKey", nameKey).addValue("excludeId", excludeId == null ? 0L : excludeId),
+                Integer.class).isEmpty();
+    }
+
+    // 새 부모의 조상 경로(새 부모 포함)를 잠그고, 잠근 뒤에 다시 읽은 경로로 순환을 검사한다.
+    // 잠그는 사이에 경로가 바뀌었으면(다른 이동이 커밋됨) 새로 생긴 행까지 잠그고 다시 읽는다.
+    // 반드시 save 트랜잭션 안에서 호출할 것.
+    private void lockAncestors(Long id, Long parentId) {
+        Set<Long> locked = new HashSet<>();
+        while (true) {
+            List<Long> path = jdbc.queryForList(ANCESTORS + "SELECT id FROM up",
+                    Map.of("id", parentId, "maxDepth", MAX_DEPTH), Long.class);
+            if(path.isEmpty()) {
+                throw new NotFoundException("부모 카테고리가 존재하지 않습니다.");
+            }
+            if(path.contains(id)) {
+                throw new ConflictException("부모 카테고리 수정으로 인해 순환 구조가 발생합니다.");
+            }
+            if(path.size() > MAX_DEPTH) {
+                throw new ConflictException("카테고리 트리가 너무 깊거나 순환 구조가 있습니다.");
+            }
+            if(locked.containsAll(path)) {
+                return;
+            }
+            jdbc.queryForList("SELECT id FROM category WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+                    Map.of("ids", path), Long.class);
+            locked.addAll(path);
+        }
+    }
+
+    private record StoredRow(Long parentId, long version) {
+    }
+}
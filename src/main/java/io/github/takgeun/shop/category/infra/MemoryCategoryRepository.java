@@ -2,31 +2,65 @@ package io.github.takgeun.shop.category.infra;
 
 import io.github.takgeun.shop.category.domain.Category;
 import io.github.takgeun.shop.category.domain.CategoryRepository;
+import io.github.takgeun.shop.global.error.ConflictException;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
+@Profile("!jdbc")     // jdbc 프로필에서는 Jdbc*Repository 를 쓴다.
 public class MemoryCategoryRepository implements CategoryRepository {
 
-    // 저장 순서 유지하기 위해 LinkedHashMap 사용 (findAll 안정적)
-    private final Map<Long, Category> store = new LinkedHashMap<>();
-    private long sequence = 0L;     // 추후 동시성 문제 해결할 것.
+    // id는 sequence로 단조 증가하니까 id 오름차순 = 저장 순서. (findAll 안정적)
+    // LinkedHashMap 대신 ConcurrentSkipListMap을 써서 관리자 수정 중에도 목록 조회 순회가 깨지지 않도록 한다.
+    private final ConcurrentNavigableMap<Long, Category> store = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong(0);
+
+    // 활성 카테고리만 모아둔 인덱스 (공개 목록 조회를 전체 스캔 + 필터 없이)
+    private final ConcurrentNavigableMap<Long, Category> active = new ConcurrentSkipListMap<>();
+
+    // 카테고리 트리 : id -> 노드(부모, 깊이, 자식 목록)
+    // 부모 -> 자식 인접 목록과 깊이를 들고 있어서
+    // 하위 카테고리 존재 여부는 O(1), 하위 트리는 O(하위 트리 크기), 순환 검증은 O(깊이 차이)로 끝난다.
+    private final ConcurrentMap<Long, Node> tree = new ConcurrentHashMap<>();
+
+    // 쓰기(save/delete)는 관리자 요청뿐이라 하나의 락으로 직렬화한다. (트리 이동은 여러 노드를 같이 바꿔야 함)
+    // 읽기는 락 없이 concurrent 자료구조를 그대로 읽는다.
+    private final Object writeLock = new Object();
 
     @Override
     public Category save(Category category) {
-        if(category.getId() == null) {
-            long id = ++sequence;
-            category.assignId(id);
-        }
+        synchronized (writeLock) {
+            if(category.getId() == null) {
+                long id = sequence.incrementAndGet();
+                category.assignId(id);
+            } else if(category.getId() > sequence.get()) {
+                // 복구(WAL 재생)처럼 id가 이미 정해진 채로 들어오면 다음 신규 id가 겹치지 않도록 시퀀스를 따라 올린다.
+                sequence.accumulateAndGet(category.getId(), Math::max);
+            }
 
-        // 신규, 수정 모두 덮어쓰기
-        store.put(category.getId(), category);
-        return category;
+            // 트리를 먼저 갱신해서 순환이 생기는 부모 변경이면 저장 자체를 막는다.
+            // 신규, 수정 모두 덮어쓰기
+            relink(category);
+            store.put(category.getId(), category);
+            if(category.isActive()) {
+                active.put(category.getId(), category);
+            } else {
+                active.remove(category.getId());
+            }
+            return category;
+        }
     }
 
     @Override
     public Optional<Category> findById(Long id) {
+        if(id == null) return Optional.empty();
         return Optional.ofNullable(store.get(id));      // 값이 있으면 Optional<Category> 없으면 Optional.empty()
     }
 
@@ -35,18 +69,75 @@ public class MemoryCategoryRepository implements CategoryRepository {
         return new ArrayList<>(store.values());
     }
 
+    @Override
+    public List<Category> findAllActive() {
+        return new ArrayList<>(active.values());
+    }
+
     @Override
     public void deleteById(Long id) {
-        // id 존재 여부 판단은 Service 책임
-        store.remove(id);
+        // id 존재 여부, 하위 카테고리 존재 여부 판단은 Service 책임
+        synchronized (writeLock) {
+            store.remove(id);
+            active.remove(id);
+
+            Node node = tree.remove(id);
+            if(node != null && node.parentId != null) {
+                Node parent = tree.get(node.parentId);
+                if(parent != null) {
+                    parent.children.remove(id);
+                }
+            }
+        }
     }
 
     @Override
     public boolean existsByParentId(Long parentId) {
         if(parentId == null) return false;
 
-        return store.values().stream()
-                .anyMatch(c ->  parentId.equals(c.getParentId()));
+        Node node = tree.get(parentId);
+        return node != null && !node.children.isEmpty();
+    }
+
+    @Override
+    public boolean isDescendantOf(Long id, Long ancestorId) {
+        if(id == null || ancestorId == null) return false;
+
+        Node ancestor = tree.get(ancestorId);
+        if(ancestor == null) return false;
+
+        // id에서 부모 방향으로 올라가되 ancestor보다 얕은 깊이에 도달하면 더 볼 필요가 없다.
+        Node now = tree.get(id);
+        while (now != null && now.depth > ancestor.depth) {
+            if(ancestorId.equals(now.parentId)) {
+                return true;
+            }
+            now = (now.parentId == null) ? null : tree.get(now.parentId);
+        }
+        return false;
+    }
+
+    @Override
+    public List<Long> findSubtreeIds(Long id) {
+        if(id == null || !tree.containsKey(id)) return List.of();
+
+        // 자기 자신부터 너비 우선으로 자식들을 펼친다.
+        List<Long> result = new ArrayList<>();
+        result.add(id);
+        for (int i = 0; i < result.size(); i++) {
+            Node node = tree.get(result.get(i));
+            if(node != null) {
+                result.addAll(node.children);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Long> findActiveSubtreeIds(Long id) {
+        return findSubtreeIds(id).stream()
+                .filter(active::containsKey)
+                .toList();
     }
 
     /**
@@ -70,4 +161,65 @@ public class MemoryCategoryRepository implements CategoryRepository {
                         && !c.getId().equals(excludeId)
                         && nameKey.equals(c.getNameKey()));
     }
+
+    // 신규 카테고리는 부모 밑에 붙이고, 부모가 바뀐 카테고리는 하위 트리째로 옮긴다.
+    // 반드시 writeLock을 잡은 상태에서 호출할 것.
+    private void relink(Category category) {
+        Long id = category.getId();
+        Long parentId = category.getParentId();
+
+        Node node = tree.get(id);
+        if(node != null && Objects.equals(node.parentId, parentId)) {
+            return;         // 부모 그대로 (이름/상태 변경)
+        }
+        if(parentId != null && (parentId.equals(id) || isDescendantOf(parentId, id))) {
+            throw new ConflictException("부모 카테고리 수정으로 인해 순환 구조가 발생합니다.");
+        }
+
+        Node parent = (parentId == null) ? null : tree.get(parentId);
+        int depth = (parent == null) ? 0 : parent.depth + 1;
+
+        if(node == null) {
+            tree.put(id, new Node(parentId, depth));
+        } else {
+            Node previous = (node.parentId == null) ? null : tree.get(node.parentId);
+            if(previous != null) {
+                previous.children.remove(id);
+            }
+            node.parentId = parentId;
+            shiftDepth(node, depth - node.depth);
+        }
+        if(parent != null) {
+            parent.children.add(id);
+        }
+    }
+
+    // 옮겨진 하위 트리 전체의 깊이를 같은 만큼 조정 (O(하위 트리 크기))
+    private void shiftDepth(Node root, int delta) {
+        if(delta == 0) return;
+
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            node.depth += delta;
+            for (Long childId : node.children) {
+                Node child = tree.get(childId);
+                if(child != null) {
+                    stack.push(child);
+                }
+            }
+        }
+    }
+
+    private static final class Node {
+        private volatile Long parentId;
+        private volatile int depth;
+        private final Set<Long> children = ConcurrentHashMap.newKeySet();
+
+        private Node(Long parentId, int depth) {
+            this.parentId = parentId;
+            this.depth = depth;
+        }
+    }
 }
@@ -0,0 +1,124 @@
+package io.github.takgeun.shop.category.infra;
+
+import io.github.takgeun.shop.category.domain.Category;
+import io.github.takgeun.shop.category.domain.CategoryRepository;
+import io.github.takgeun.shop.global.wal.WalEntity;
+import io.github.takgeun.shop.global.wal.WalRepositorySupport;
+import io.github.takgeun.shop.global.wal.WriteAheadLog;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+// wal 프로필 : 조회는 메모리 저장소 그대로, save/deleteById 는 WAL 에 남긴 뒤 돌려준다.
+// 부모 변경은 다른 카테고리 상태(순환 여부)에 따라 성공이 갈리니 반영 + 로그를 한 락으로 직렬화한다. (관리자 요청뿐이라 충분)
+@Primary
+@Profile("wal")
+@Repository
+public class WalCategoryRepository extends WalRepositorySupport<Category> implements CategoryRepository {
+
+    private final MemoryCategoryRepository delegate;
+
+    public WalCategoryRepository(MemoryCategoryRepository delegate, WriteAheadLog writeAheadLog) {
+        super(writeAheadLog, WalEntity.CATEGORY, new CategoryRecordCodec(), 1);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Category save(Category category) {
+        return logSave(category, delegate::save);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        logDelete(id, delegate::deleteById);
+    }
+
+    @Override
+    protected void restore(Category restored) {
+        delegate.save(restored);
+    }
+
+    @Override
+    protected void remove(Long id) {
+        delegate.deleteById(id);
+    }
+
+    // 신규 카테고리는 아직 자식이 없으니 (같은 락 안) 삭제와 같다.
+    @Override
+    protected void discard(Long id) {
+        delegate.deleteById(id);
+    }
+
+    // 스냅샷을 불러올 때 부모가 먼저 들어가야 트리(자식 목록, 깊이)가 맞게 만들어지니 부모 -> 자식 순서로 적는다.
+    // 나중에 만든 카테고리를 부모로 바꿀 수 있어서 id 순서가 곧 부모 먼저는 아니다.
+    @Override
+    protected Collection<Category> entities() {
+        List<Category> all = delegate.findAll();
+        Set<Long> ids = new HashSet<>();
+        for (Category category : all) {
+            ids.add(category.getId());
+        }
+
+        List<Category> ordered = new ArrayList<>(all.size());
+        Map<Long, List<Category>> children = new HashMap<>();
+        for (Category category : all) {
+            Long parentId = category.getParentId();
+            if(parentId == null || !ids.contains(parentId)) {
+                ordered.add(category);
+            } else {
+                children.computeIfAbsent(parentId, k -> new ArrayList<>()).add(category);
+            }
+        }
+        for (int i = 0; i < ordered.size(); i++) {
+            ordered.addAll(children.getOrDefault(ordered.get(i).getId(), List.of()));
+        }
+        return ordered;
+    }
+
+    @Override
+    public Optional<Category> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Category> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Category> findAllActive() {
+        return delegate.findAllActive();
+    }
+
+    @Override
+    public boolean existsByParentId(Long parentId) {
+        return delegate.existsByParentId(parentId);
+    }
+
+    @Override
+    public boolean isDescendantOf(Long id, Long ancestorId) {
+        return delegate.isDescendantOf(id, ancestorId);
+    }
+
+    @Override
+    public List<Long> findSubtreeIds(Long id) {
+        return delegate.findSubtreeIds(id);
+    }
+
+    @Override
+    public List<Long> findActiveSubtreeIds(Long id) {
+        return delegate.findActiveSubtreeIds(id);
+    }
+
+    @Override
+    public boolean existsByNameKey(String nameKey) {
+        return delegate.existsByNameKey(nameKey);
+    }
+
+    @Override
+    public boolean existsByNameKeyExceptId(String nameKey, Long excludeId) {
+        return delegate.existsByNameKeyExceptId(nameKey, excludeId);
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.takgeun.shop.config;
+
+import io.github.takgeun.shop.global.auth.LoginMemberArgumentResolver;
+import io.github.takgeun.shop.global.auth.LoginMemberIdArgumentResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final LoginMemberIdArgumentResolver loginMemberIdArgumentResolver;
+    private final LoginMemberArgumentResolver loginMemberArgumentResolver;
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(loginMemberIdArgumentResolver);
+        resolvers.add(loginMemberArgumentResolver);
+    }
+}
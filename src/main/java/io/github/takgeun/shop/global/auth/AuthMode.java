@@ -0,0 +1,10 @@
+package io.github.takgeun.shop.global.auth;
+
+// 로그인 상태를 어디에 둘지 (shop.auth.mode)
+public enum AuthMode {
+    // 서버 HttpSession 에 memberId 저장 (JSESSIONID 쿠키). 기본값
+    SESSION,
+    // 서명된 토큰(Authorization: Bearer)에 memberId 를 담고 서버에는 아무것도 저장하지 않음
+    // API 클라이언트 전용. 브라우저 폼 전송/화면 이동은 헤더를 싣지 않으니 주문 화면(/orders)은 이 모드를 거절하고 안내 문구와 함께 상품 목록으로 보낸다.
+    TOKEN
+}
@@ -0,0 +1,5 @@
+package io.github.takgeun.shop.global.auth;
+
+// 검증을 통과한 토큰 내용
+public record AuthToken(Long memberId, long expiresAtEpochSecond) {
+}
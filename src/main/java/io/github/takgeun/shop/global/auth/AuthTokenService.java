@@ -0,0 +1,149 @@
+package io.github.takgeun.shop.global.auth;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+// 로그인 토큰 발급/검증 (HMAC-SHA256 서명, 서버 저장 없음)
+// 토큰 = base64url(본문) "." base64url(서명)
+//   본문 17바이트 : 버전(1) | memberId(8) | 만료 시각 epoch 초(8)
+// 권한은 싣지 않는다. 권한이 필요한 곳은 @LoginMember 로 회원을 조회해서 현재 권한/상태를 보니 토큰에 든 값은 쓸 데가 없고,
+// 실어 두면 강등된 관리자의 권한이 ttl 동안 토큰에 남는다.
+// 같은 secret 을 쓰는 인스턴스라면 어디서든 검증되니 세션 고정(sticky) 없이 여러 대로 늘릴 수 있다.
+// 서버에 상태가 없어서 만료 전에 끊을 수는 없다. (탈퇴한 회원도 @LoginMemberId 만 보는 곳에서는 ttl 이 지날 때까지 통한다) -> ttl 을 짧게
+@Slf4j
+@Component
+public class AuthTokenService {
+
+    private static final byte VERSION = 2;      // 1 : 권한 바이트가 있던 형식 (길이가 달라 거절된다.)
+    private static final int PAYLOAD_BYTES = 17;
+    private static final int SIGNATURE_BYTES = 32;
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final AuthMode mode;
+    private final Duration ttl;
+    private final Clock clock;
+
+    // 키를 넣어 초기화해 둔 원본. Mac 은 스레드 안전하지 않아서 서명할 때마다 복제해서 쓴다. (getInstance + init 보다 싸다)
+    private final Mac prototype;
+
+    @Autowired
+    public AuthTokenService(@Value("${shop.auth.mode:session}") String mode,
+                            @Value("${shop.auth.token.secret:}") String secret,
+                            @Value("${shop.auth.token.ttl:1h}") Duration ttl) {
+        this(AuthMode.valueOf(mode.trim().toUpperCase()), secret, ttl);
+    }
+
+    private AuthTokenService(AuthMode mode, String secret, Duration ttl) {
+        this(mode, key(mode, secret), ttl, Clock.systemUTC());
+    }
+
+    AuthTokenService(AuthMode mode, byte[] key, Duration ttl, Clock clock) {
+        if(key.length < 32) {
+            throw new IllegalArgumentException("auth.token.secret은 32바이트 이상이어야 합니다.");
+        }
+        if(ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("auth.token.ttl은 0보다 커야 합니다.");
+        }
+        this.mode = mode;
+        this.ttl = ttl;
+        this.clock = clock;
+        try {
+            this.prototype = Mac.getInstance(ALGORITHM);
+            this.prototype.init(new SecretKeySpec(key, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 초기화 실패", e);
+        }
+    }
+
+    // secret : base64 로 인코딩한 32바이트 이상. 비어 있으면 기동할 때마다 새로 만든다. (재시작하면 기존 토큰 무효, 인스턴스끼리 공유 안 됨)
+    private static byte[] key(AuthMode mode, String secret) {
+        if(secret == null || secret.isBlank()) {
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            if(mode == AuthMode.TOKEN) log.warn("shop.auth.token.secret 이 없어 임시 키로 토큰을 서명합니다. 여러 인스턴스/재시작 후에도 쓰려면 설정하세요.");
+            return key;
+        }
+        return Base64.getDecoder().decode(secret.trim());
+    }
+
+    public AuthMode mode() {
+        return mode;
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+
+    public String issue(Long memberId) {
+        long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_BYTES)
+                .put(VERSION)
+                .putLong(memberId)
+                .putLong(expiresAt)
+                .array();
+        return ENCODER.encodeToString(payload) + '.' + ENCODER.encodeToString(sign(payload));
+    }
+
+    // 형식이 틀렸거나 서명이 맞지 않거나 만료됐으면 empty (이유는 구분하지 않는다.)
+    public Optional<AuthToken> verify(String token) {
+        if(token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if(dot < 0) {
+            return Optional.empty();
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if(payload.length != PAYLOAD_BYTES || signature.length != SIGNATURE_BYTES) {
+            return Optional.empty();
+        }
+        // 상수 시간 비교 (서명 앞부분이 몇 바이트 맞았는지 응답 시간으로 드러나지 않도록)
+        if(!MessageDigest.isEqual(sign(payload), signature)) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        byte version = buffer.get();
+        long memberId = buffer.getLong();
+        long expiresAt = buffer.getLong();
+        if(version != VERSION) {
+            return Optional.empty();
+        }
+        if(clock.instant().getEpochSecond() >= expiresAt) {
+            return Optional.empty();
+        }
+        return Optional.of(new AuthToken(memberId, expiresAt));
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(payload);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC 복제 실패", e);
+        }
+    }
+}
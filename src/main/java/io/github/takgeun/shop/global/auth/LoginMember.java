@@ -0,0 +1,13 @@
+package io.github.takgeun.shop.global.auth;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 컨트롤러 파라미터에 로그인한 회원 (Member)을 넣는다. 로그인하지 않았거나 회원이 없으면 null
+// 회원 상태/권한이 필요한 곳(주문 생성, 관리자 화면)에서 쓰고, id 만 필요하면 @LoginMemberId (저장소 조회 없음)
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LoginMember {
+}
@@ -0,0 +1,54 @@
+package io.github.takgeun.shop.global.auth;
+
+import io.github.takgeun.shop.member.domain.Member;
+import io.github.takgeun.shop.member.domain.MemberRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Optional;
+
+// @LoginMember Member 파라미터 채우기
+// 회원은 요청마다 한 번만 조회해서 요청 속성에 담아 두고, 같은 요청 안에서는 그대로 쓴다.
+// 서비스는 이 Member 를 받아서 상태(ACTIVE)/권한(ADMIN)을 확인하니 서비스 안에서 다시 조회하지 않는다.
+// 세션/토큰에 id 가 있어도 회원이 사라졌으면 null (비로그인과 같게 401)
+@Component
+@RequiredArgsConstructor
+public class LoginMemberArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATTRIBUTE = LoginMemberArgumentResolver.class.getName() + ".member";
+
+    private final LoginMemberIdArgumentResolver loginMemberIdResolver;
+    private final MemberRepository memberRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(LoginMember.class)
+                && Member.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        return request == null ? null : member(request);
+    }
+
+    // 이 요청의 로그인 회원 (없으면 null)
+    @SuppressWarnings("unchecked")
+    public Member member(HttpServletRequest request) {
+        Object cached = request.getAttribute(ATTRIBUTE);
+        if(cached != null) {
+            return ((Optional<Member>) cached).orElse(null);
+        }
+        Long memberId = loginMemberIdResolver.memberId(request);
+        Optional<Member> member = memberId == null ? Optional.empty() : memberRepository.findById(memberId);
+        request.setAttribute(ATTRIBUTE, member);
+        return member.orElse(null);
+    }
+}
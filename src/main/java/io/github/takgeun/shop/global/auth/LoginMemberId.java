@@ -0,0 +1,13 @@
+package io.github.takgeun.shop.global.auth;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 컨트롤러 파라미터에 로그인한 회원 id (Long)를 넣는다. 로그인하지 않았으면 null
+// 세션/토큰 중 어느 쪽에서 읽을지는 shop.auth.mode (LoginMemberIdArgumentResolver)
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LoginMemberId {
+}
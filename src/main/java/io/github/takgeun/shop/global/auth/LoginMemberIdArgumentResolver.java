@@ -0,0 +1,69 @@
+package io.github.takgeun.shop.global.auth;
+
+import io.github.takgeun.shop.global.session.SessionConst;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+// @LoginMemberId Long 파라미터 채우기
+// - SESSION : 세션의 LOGIN_MEMBER_ID (세션이 없으면 만들지 않는다.)
+// - TOKEN : Authorization: Bearer 토큰을 검증한 memberId. 서버 상태 조회 없이 서명만 확인
+// 어느 쪽이든 로그인하지 않았거나 토큰이 잘못됐으면 null -> 로그인이 필요한지는 서비스가 판단 (기존 흐름 그대로)
+@Component
+@RequiredArgsConstructor
+public class LoginMemberIdArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String BEARER = "Bearer ";
+
+    // 한 요청 안에서 토큰 검증(HMAC)/세션 조회는 한 번만 (@LoginMember 가 같이 쓰는 경우 등)
+    private static final String ATTRIBUTE = LoginMemberIdArgumentResolver.class.getName() + ".memberId";
+    private static final Object ANONYMOUS = new Object();
+
+    private final AuthTokenService authTokenService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(LoginMemberId.class)
+                && Long.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        return request == null ? null : memberId(request);
+    }
+
+    // 이 요청의 로그인 회원 id (없으면 null)
+    public Long memberId(HttpServletRequest request) {
+        Object cached = request.getAttribute(ATTRIBUTE);
+        if(cached != null) {
+            return cached == ANONYMOUS ? null : (Long) cached;
+        }
+        Long memberId = authTokenService.mode() == AuthMode.SESSION ? fromSession(request) : fromToken(request);
+        request.setAttribute(ATTRIBUTE, memberId == null ? ANONYMOUS : memberId);
+        return memberId;
+    }
+
+    private Long fromSession(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session == null ? null : (Long) session.getAttribute(SessionConst.LOGIN_MEMBER_ID);
+    }
+
+    private Long fromToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if(header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return null;
+        }
+        return authTokenService.verify(header.substring(BEARER.length()).trim())
+                .map(AuthToken::memberId)
+                .orElse(null);
+    }
+}
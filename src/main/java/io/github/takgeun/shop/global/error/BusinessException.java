@@ -0,0 +1,12 @@
+package io.github.takgeun.shop.global.error;
+
+// 예상된 비즈니스 예외(4xx)의 공통 부모
+// 스택 트레이스를 만들지 않는다. 어디서 던졌는지는 메시지와 응답 코드로 충분하고,
+// 재고 부족 409 나 로그인 실패 401 이 몰릴 때 예외마다 스택을 훑는 비용(fillInStackTrace)이 CPU 를 먹는다.
+// 스택도 원인도 바뀌지 않으니 메시지가 고정된 예외는 미리 만들어 두고 같은 객체를 계속 던져도 된다.
+public abstract class BusinessException extends RuntimeException {
+
+    protected BusinessException(String message) {
+        super(message, null, false, false);
+    }
+}
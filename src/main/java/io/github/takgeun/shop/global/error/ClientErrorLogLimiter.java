@@ -0,0 +1,42 @@
+package io.github.takgeun.shop.global.error;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// 4xx 로그 한도 : 1초 창마다 최대 permitsPerSecond 줄만 남기고 나머지는 개수만 센다.
+// 다음에 남기는 줄에 그 사이 버린 개수(suppressed)를 붙여서 "얼마나 몰렸는지"는 로그에서도 보이게 한다. (정확한 수는 shop.errors 메트릭)
+// 락 없이 원자 변수만 쓴다. 창이 바뀌는 순간 몇 줄이 한도를 넘거나 덜 찍힐 수 있지만 로그 샘플링이라 상관없다.
+class ClientErrorLogLimiter {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final int permitsPerSecond;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    ClientErrorLogLimiter(int permitsPerSecond, LongSupplier nanoClock) {
+        if(permitsPerSecond < 0) {
+            throw new IllegalArgumentException("permitsPerSecond는 0 이상이어야 합니다.");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.nanoClock = nanoClock;
+    }
+
+    // 남겨도 되면 지난번 이후 버린 개수(0 이상), 버려야 하면 -1
+    long tryAcquire() {
+        long current = Math.floorDiv(nanoClock.getAsLong(), WINDOW_NANOS);
+        long seen = window.get();
+        if(current != seen && window.compareAndSet(seen, current)) {
+            used.set(0);
+        }
+        if(used.incrementAndGet() > permitsPerSecond) {
+            suppressed.incrementAndGet();
+            return -1;
+        }
+        return suppressed.getAndSet(0);
+    }
+}
@@ -1,6 +1,6 @@
 package io.github.takgeun.shop.global.error;
 
-public class ConflictException extends RuntimeException {
+public class ConflictException extends BusinessException {
     public ConflictException(String message) {
         super(message);
     }
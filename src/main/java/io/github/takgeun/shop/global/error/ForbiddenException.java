@@ -1,6 +1,6 @@
 package io.github.takgeun.shop.global.error;
 
-public class ForbiddenException extends RuntimeException {
+public class ForbiddenException extends BusinessException {
     public ForbiddenException(String message) {
         super(message);
     }
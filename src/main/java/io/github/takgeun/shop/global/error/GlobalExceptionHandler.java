@@ -1,8 +1,12 @@
 package io.github.takgeun.shop.global.error;
 
+import io.github.takgeun.shop.global.wal.WalFailureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -10,13 +14,34 @@ import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
+// 로그 정책
+// - 5xx : 예상 못한 오류(WAL 기록 실패 503 포함). 스택 트레이스까지 전부 ERROR
+// - 4xx(+ 과부하 503) : 클라이언트 잘못/비즈니스 규칙(재고 부족, 로그인 실패 ...). 스택 없이 한 줄 WARN, 초당 줄 수 제한
+//   (봇 트래픽이나 한정 판매에서 4xx 가 몰릴 때 로그 I/O 가 서버를 잡아먹지 않도록. 개수는 shop.errors 메트릭이 정확히 센다)
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+    private final ClientErrorLogLimiter clientErrorLog;
+
+    // 에러마다 Counter 빌더/태그를 새로 만들지 않도록 (4xx 가 몰릴 때 가장 잦은 경로, RepositoryMetricsAspect 와 같은 방식)
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry,
+                                  @Value("${shop.error-log.client-errors-per-second:20}") int clientErrorsPerSecond) {
+        this.meterRegistry = meterRegistry;
+        this.clientErrorLog = new ClientErrorLogLimiter(clientErrorsPerSecond, System::nanoTime);
+    }
+
     /**
      * 잘못된 요청(검증 실패/규칙 위반 등)
      * 현재 서비스에서 IllegalArgumentException을 많이 쓰고 있으니 400으로 통일
@@ -31,7 +56,6 @@ public class GlobalExceptionHandler {
     // 1) DTO Validation 실패 (@Valid @RequestBody)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiErrorResponse> handleMethodArgumentNotValid(MethodArgumentNotValidException e, HttpServletRequest request) {
-        log.error("Unhandled exception, path={}", request.getRequestURI(), e);
         HttpStatus status = HttpStatus.BAD_REQUEST;
 
         // 메시지 정책: 필드 에러를 "field: message" 형태로 한 줄
@@ -47,13 +71,13 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
+        record(body, e, request);
         return ResponseEntity.status(status).body(body);
     }
 
     // 2) 파라미터 Validation 실패 (@RequestParam @PathVariable) 그러니까 숫자 타입에 문자가 들어온다던지 등등
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ApiErrorResponse> handleConstraintViolation(ConstraintViolationException e, HttpServletRequest request) {
-        log.error("Unhandled exception, path={}", request.getRequestURI(), e);
         HttpStatus status = HttpStatus.BAD_REQUEST;
 
         // getByCategory.categoryId: categoryId는 필수입니다.
@@ -69,12 +93,12 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
+        record(body, e, request);
         return ResponseEntity.status(status).body(body);
     }
 
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ApiErrorResponse> handleNotFound(NotFoundException e, HttpServletRequest request) {
-        log.error("Unhandled exception, path={}", request.getRequestURI(), e);
         HttpStatus status = HttpStatus.NOT_FOUND;
 
         ApiErrorResponse body = ApiErrorResponse.of(
@@ -84,12 +108,14 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
+        record(body, e, request);
         return ResponseEntity.status(status).body(body);
     }
 
-    @ExceptionHandler({IllegalArgumentException.class, IllegalStateException.class})
-    public ResponseEntity<ApiErrorResponse> handleBadRequest(RuntimeException e, HttpServletRequest request) {
-        log.error("Unhandled exception, path={}", request.getRequestURI(), e);
+    // IllegalStateException 은 여기서 받지 않는다. 비밀번호 해시/HMAC 실패처럼 서버 쪽 고장에 쓰므로
+    // 아래 handleException 으로 가서 500 + 스택 트레이스 ERROR 로 남아야 한다.
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiErrorResponse> handleBadRequest(IllegalArgumentException e, HttpServletRequest request) {
         HttpStatus status = HttpStatus.BAD_REQUEST;
 
         ApiErrorResponse body = ApiErrorResponse.of(
@@ -99,12 +125,12 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
+        record(body, e, request);
         return ResponseEntity.status(status).body(body);
     }
 
     @ExceptionHandler(ConflictException.class)
     public ResponseEntity<ApiErrorResponse> handleConflict(ConflictException e, HttpServletRequest request) {
-        log.error("Unhandled exception, path={}", request.getRequestURI(), e);
         HttpStatus status = HttpStatus.CONFLICT;
 
         ApiErrorResponse body = ApiErrorResponse.of(
@@ -114,12 +140,12 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
+        record(body, e, request);
         return ResponseEntity.status(status).body(body);
     }
 
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ApiErrorResponse> handleUnauthorized(UnauthorizedException e, HttpServletRequest request) {
-        log.error("Unhandled exception, path={}", request.getRequestURI(), e);
         HttpStatus status = HttpStatus.UNAUTHORIZED;
 
         ApiErrorResponse body = ApiErrorResponse.of(
@@ -129,12 +155,12 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
+        record(body, e, request);
         return ResponseEntity.status(status).body(body);
     }
 
     @ExceptionHandler(ForbiddenException.class)
     public ResponseEntity<ApiErrorResponse> handleForbidden(ForbiddenException e, HttpServletRequest request) {
-        log.error("Unhandled exception, path={}", request.getRequestURI(), e);
         HttpStatus status = HttpStatus.FORBIDDEN;
 
         ApiErrorResponse body = ApiErrorResponse.of(
@@ -144,12 +170,61 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
+        record(body, e, request);
+        return ResponseEntity.status(status).body(body);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiErrorResponse> handleTooManyRequests(TooManyRequestsException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+
+        ApiErrorResponse body = ApiErrorResponse.of(
+                "TOO_MANY_REQUESTS",
+                e.getMessage(),
+                status.value(),
+                request.getRequestURI()
+        );
+
+        record(body, e, request);
+        return ResponseEntity.status(status).body(body);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiErrorResponse> handleServiceUnavailable(ServiceUnavailableException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+
+        ApiErrorResponse body = ApiErrorResponse.of(
+                "SERVICE_UNAVAILABLE",
+                e.getMessage(),
+                status.value(),
+                request.getRequestURI()
+        );
+
+        record(body, e, request);
+        return ResponseEntity.status(status).body(body);
+    }
+
+    /**
+     * WAL 기록 실패 (디스크 문제, 503)
+     * 과부하 거절과 달리 예상하지 못한 서버 오류라 BusinessException 이 아니고 스택까지 ERROR 로 남는다.
+     */
+    @ExceptionHandler(WalFailureException.class)
+    public ResponseEntity<ApiErrorResponse> handleWalFailure(WalFailureException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+
+        ApiErrorResponse body = ApiErrorResponse.of(
+                "STORAGE_UNAVAILABLE",
+                "변경 사항을 저장하지 못했습니다. 잠시 후 다시 시도해 주세요.",
+                status.value(),
+                request.getRequestURI()
+        );
+
+        record(body, e, request);
         return ResponseEntity.status(status).body(body);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ApiErrorResponse> handleNotReadable(HttpMessageNotReadableException e, HttpServletRequest request) {
-        log.error("Unhandled exception, path={}", request.getRequestURI(), e);
         HttpStatus status = HttpStatus.BAD_REQUEST;
 
         ApiErrorResponse body = ApiErrorResponse.of(
@@ -158,12 +233,12 @@ public class GlobalExceptionHandler {
                 status.value(),
                 request.getRequestURI()
         );
+        record(body, e, request);
         return ResponseEntity.status(status).body(body);
     }
 
     @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
     public ResponseEntity<ApiErrorResponse> handleMediaType(HttpMediaTypeNotSupportedException e, HttpServletRequest request) {
-        log.error("Unhandled exception, path={}", request.getRequestURI(), e);
         HttpStatus status = HttpStatus.UNSUPPORTED_MEDIA_TYPE;
 
         ApiErrorResponse body = ApiErrorResponse.of(
@@ -172,6 +247,22 @@ public class GlobalExceptionHandler {
                 status.value(),
                 request.getRequestURI()
         );
+        record(body, e, request);
+        return ResponseEntity.status(status).body(body);
+    }
+
+    // 매핑도 정적 리소스도 없는 경로 (닫아 둔 actuator 엔드포인트, 봇의 경로 탐색 등) -> 500 이 아니라 404
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleNoResource(NoResourceFoundException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.NOT_FOUND;
+
+        ApiErrorResponse body = ApiErrorResponse.of(
+                "NOT_FOUND",
+                "요청한 경로가 존재하지 않습니다.",
+                status.value(),
+                request.getRequestURI()
+        );
+        record(body, e, request);
         return ResponseEntity.status(status).body(body);
     }
 
@@ -181,7 +272,6 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> handleException(Exception e, HttpServletRequest request) {
-        log.error("Unhandled exception, path={}", request.getRequestURI(), e);
         HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
 
         ApiErrorResponse body = ApiErrorResponse.of(
@@ -191,6 +281,49 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
+        record(body, e, request);
         return ResponseEntity.status(status).body(body);
     }
+
+    private void record(ApiErrorResponse body, Exception e, HttpServletRequest request) {
+        count(body, request);
+        // 과부하 거절(503)은 5xx 라도 예상된 응답이라 4xx 처럼 한 줄씩, 한도 안에서만 남긴다.
+        if(body.getStatus() >= 500 && !(e instanceof BusinessException)) {
+            log.error("Unhandled exception, path={}", body.getPath(), e);
+            return;
+        }
+        long suppressed = clientErrorLog.tryAcquire();
+        if(suppressed < 0) {
+            return;
+        }
+        // 메시지는 응답에 실은 것 그대로 (검증 실패는 첫 필드 에러)
+        if(suppressed > 0) {
+            log.warn("{} {}, path={}, message={} (since last log: {} suppressed)",
+                    body.getStatus(), e.getClass().getSimpleName(), body.getPath(), body.getMessage(), suppressed);
+        } else {
+            log.warn("{} {}, path={}, message={}",
+                    body.getStatus(), e.getClass().getSimpleName(), body.getPath(), body.getMessage());
+        }
+    }
+
+    // 에러 응답 수 : shop.errors{status, code, handler}
+    // handler(컨트롤러 메서드)로 같은 409라도 주문 재고 부족인지 카테고리 이름 중복인지 구분한다. (URI 보다 종류가 적고 고정)
+    private void count(ApiErrorResponse body, HttpServletRequest request) {
+        String status = String.valueOf(body.getStatus());
+        String code = body.getCode();
+        String handler = handlerName(request);
+        counters.computeIfAbsent(status + '.' + code + '.' + handler, key -> Counter.builder("shop.errors")
+                        .tag("status", status)
+                        .tag("code", code)
+                        .tag("handler", handler)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private String handlerName(HttpServletRequest request) {
+        if(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+        }
+        return "none";
+    }
 }
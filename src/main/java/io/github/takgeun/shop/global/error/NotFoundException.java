@@ -1,6 +1,6 @@
 package io.github.takgeun.shop.global.error;
 
-public class NotFoundException extends RuntimeException {
+public class NotFoundException extends BusinessException {
     public NotFoundException(String message) {
         super(message);
     }
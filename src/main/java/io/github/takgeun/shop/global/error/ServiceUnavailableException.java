@@ -0,0 +1,8 @@
+package io.github.takgeun.shop.global.error;
+
+// 서버가 일시적으로 요청을 더 받을 수 없음 (503). 잠시 후 다시 시도하면 되는 과부하 거절에 사용
+public class ServiceUnavailableException extends BusinessException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
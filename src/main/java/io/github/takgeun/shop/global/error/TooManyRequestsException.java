@@ -0,0 +1,8 @@
+package io.github.takgeun.shop.global.error;
+
+// 같은 대상(이메일/IP)에서 짧은 시간에 요청이 너무 많음 (429). 시간이 지나면 다시 받아준다.
+public class TooManyRequestsException extends BusinessException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,6 @@
 package io.github.takgeun.shop.global.error;
 
-public class UnauthorizedException extends RuntimeException {
+public class UnauthorizedException extends BusinessException {
     public UnauthorizedException(String message) {
         super(message);
     }
@@ -0,0 +1,53 @@
+package io.github.takgeun.shop.global.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// 저장소 메서드 호출 시간 : shop.repository{repository, method, outcome}
+// 도메인 패키지의 *Repository 인터페이스 메서드를 구현한 모든 저장소에 적용된다.
+// 데코레이터(WAL, 캐시)와 그 안의 저장소가 각각 찍히니 repository 태그로 어느 층에서 시간이 드는지 나눠 볼 수 있다.
+// (예: CachingProductRepository.findById 와 JdbcProductRepository.findById 의 호출 수 차이 = 캐시 적중)
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    // 호출마다 Timer 빌더/태그를 새로 만들지 않도록 (저장소 호출은 주문 한 번에도 여러 번이라 가장 잦은 경로)
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* io.github.takgeun.shop..domain.*Repository.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = joinPoint.getTarget().getClass().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            timer(repository, method, "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer(repository, method, "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(String repository, String method, String outcome) {
+        return timers.computeIfAbsent(repository + '.' + method + '.' + outcome, key -> Timer.builder("shop.repository")
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.takgeun.shop.global.metrics;
+
+import io.github.takgeun.shop.global.wal.WriteAheadLog;
+import io.github.takgeun.shop.member.application.LoginThrottle;
+import io.github.takgeun.shop.member.infra.BoundedPasswordHasher;
+import io.github.takgeun.shop.order.infra.OrderEventBus;
+import io.github.takgeun.shop.product.infra.CachingProductRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// 컴포넌트가 이미 모으고 있는 통계(stats())를 Micrometer 게이지/카운터로 노출
+// 값은 스크레이프할 때만 읽으니 요청 경로에는 비용이 없다.
+// WAL(wal 프로필), 상품 캐시(jdbc 프로필)는 해당 빈이 있을 때만 등록
+@Component
+public class ShopMeterBinder implements MeterBinder {
+
+    private final OrderEventBus orderEventBus;
+    private final BoundedPasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
+    private final ObjectProvider<WriteAheadLog> writeAheadLog;
+    private final ObjectProvider<CachingProductRepository> productCache;
+
+    public ShopMeterBinder(OrderEventBus orderEventBus, BoundedPasswordHasher passwordHasher,
+                           LoginThrottle loginThrottle, ObjectProvider<WriteAheadLog> writeAheadLog,
+                           ObjectProvider<CachingProductRepository> productCache) {
+        this.orderEventBus = orderEventBus;
+        this.passwordHasher = passwordHasher;
+        this.loginThrottle = loginThrottle;
+        this.writeAheadLog = writeAheadLog;
+        this.productCache = productCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shop.order.events.depth", orderEventBus, bus -> bus.stats().depth())
+                .description("발행됐지만 아직 리스너에 전달되지 않은 이벤트 수").register(registry);
+        Gauge.builder("shop.order.events.max.depth", orderEventBus, bus -> bus.stats().maxDepth()).register(registry);
+        Gauge.builder("shop.order.events.capacity", orderEventBus, bus -> bus.stats().capacity()).register(registry);
+        FunctionCounter.builder("shop.order.events.published", orderEventBus, bus -> bus.stats().published()).register(registry);
+        FunctionCounter.builder("shop.order.events.dropped", orderEventBus, bus -> bus.stats().dropped()).register(registry);
+        FunctionCounter.builder("shop.order.events.delivered", orderEventBus, bus -> bus.stats().delivered()).register(registry);
+        FunctionCounter.builder("shop.order.events.listener.failures", orderEventBus, bus -> bus.stats().listenerFailures())
+                .register(registry);
+
+        Gauge.builder("shop.password.hash.queued", passwordHasher, BoundedPasswordHasher::queued)
+                .description("해시 스레드를 기다리는 비밀번호 해시 작업 수").register(registry);
+        FunctionCounter.builder("shop.password.hash.rejected", passwordHasher, BoundedPasswordHasher::rejected)
+                .description("대기열이 차거나 시간 초과로 503 거절된 해시 작업 수").register(registry);
+
+        FunctionCounter.builder("shop.auth.login.throttled", loginThrottle, LoginThrottle::rejectedByEmail)
+                .tag("key", "email").description("시도 횟수 제한으로 429 거절된 로그인 수").register(registry);
+        FunctionCounter.builder("shop.auth.login.throttled", loginThrottle, LoginThrottle::rejectedByIp)
+                .tag("key", "ip").description("시도 횟수 제한으로 429 거절된 로그인 수").register(registry);
+        Gauge.builder("shop.auth.login.throttle.keys", loginThrottle, LoginThrottle::trackedKeys).register(registry);
+
+        writeAheadLog.ifAvailable(wal -> {
+            Gauge.builder("shop.wal.written.lsn", wal, w -> w.stats().writtenLsn()).register(registry);
+            Gauge.builder("shop.wal.durable.lsn", wal, w -> w.stats().durableLsn()).register(registry);
+            // 쓴 것 - fsync 끝난 것 : 커밋 대기 중인 레코드 수
+            Gauge.builder("shop.wal.lag", wal, w -> w.stats().writtenLsn() - w.stats().durableLsn()).register(registry);
+            FunctionCounter.builder("shop.wal.fsyncs", wal, w -> w.stats().fsyncs()).register(registry);
+        });
+
+        productCache.ifAvailable(cache -> {
+            FunctionCounter.builder("shop.product.cache.requests", cache, c -> c.stats().hitCount())
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("shop.product.cache.requests", cache, c -> c.stats().missCount())
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("shop.product.cache.evictions", cache, c -> c.stats().evictionCount()).register(registry);
+            Gauge.builder("shop.product.cache.size", cache, CachingProductRepository::estimatedSize).register(registry);
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.takgeun.shop.global.page;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+// 커서 기반 페이지 결과
+// items : 이번 페이지 데이터, nextCursor : 다음 페이지 요청 시 그대로 넘길 값(마지막 페이지면 null)
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    /**
+     * repository에서 size + 1 개를 가져와서 넘겨주면
+     * 한 개가 더 있는지로 다음 페이지 존재 여부를 판단하고 size 개로 잘라서 페이지를 만든다.
+     * (count 쿼리 없이 다음 페이지 여부 판단)
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, Long> idExtractor) {
+        if(fetched.size() <= size) {
+            return new CursorPage<>(fetched, null, false);
+        }
+        List<T> items = fetched.subList(0, size);
+        Long lastId = idExtractor.apply(items.get(size - 1));
+        return new CursorPage<>(items, PageCursor.encode(lastId), true);
+    }
+
+    // 엔티티 페이지 -> 응답 DTO 페이지 변환
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+}
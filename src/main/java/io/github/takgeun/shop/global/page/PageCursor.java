@@ -0,0 +1,50 @@
+package io.github.takgeun.shop.global.page;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// 키셋(커서) 페이지네이션용 커서 인코딩/디코딩
+// 클라이언트에는 "마지막으로 본 id"를 그대로 노출하지 않고 불투명한 문자열로 넘긴다.
+// (나중에 정렬 기준이 바뀌어도 클라이언트 코드는 그대로 커서만 돌려주면 되도록)
+public final class PageCursor {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String PREFIX = "id:";
+
+    private PageCursor() {}       // 객체로 만들라고 존재하는 클래스가 아님을 선언
+
+    public static String encode(Long lastId) {
+        if(lastId == null) return null;
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * 커서가 없으면(첫 페이지) null
+     * 형식이 잘못된 커서 --> IllegalArgumentException 400 Bad Request
+     */
+    public static Long decode(String cursor) {
+        if(cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if(!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("cursor 형식이 올바르지 않습니다.");
+            }
+            long id = Long.parseLong(raw.substring(PREFIX.length()));
+            if(id <= 0) {
+                throw new IllegalArgumentException("cursor 형식이 올바르지 않습니다.");
+            }
+            return id;
+        } catch (IllegalArgumentException e) {       // NumberFormatException 포함
+            throw new IllegalArgumentException("cursor 형식이 올바르지 않습니다.");
+        }
+    }
+
+    public static void validateSize(int size) {
+        if(size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_SIZE + " 이하여야 합니다.");
+        }
+    }
+}
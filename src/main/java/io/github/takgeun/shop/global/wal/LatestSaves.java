@@ -0,0 +1,36 @@
+package io.github.takgeun.shop.global.wal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// 엔티티 id -> 그 id 의 마지막 저장(SAVE) 레코드 lsn
+// id 는 시퀀스로 1부터 촘촘하게 늘어나니 박싱 없는 long 배열에 바로 담고, 너무 큰 id 만 맵으로 받는다.
+// (복구 중 한 스레드에서만 사용)
+final class LatestSaves {
+
+    private static final int DENSE_LIMIT = 1 << 24;
+
+    private long[] dense = new long[1024];
+    private final Map<Long, Long> sparse = new HashMap<>();
+
+    void put(long id, long lsn) {
+        if(id > 0 && id < DENSE_LIMIT) {
+            int index = (int) id;
+            if(index >= dense.length) {
+                dense = Arrays.copyOf(dense, Math.max(dense.length * 2, index + 1));
+            }
+            dense[index] = lsn;
+        } else {
+            sparse.put(id, lsn);
+        }
+    }
+
+    boolean isLatest(long id, long lsn) {
+        if(id > 0 && id < DENSE_LIMIT) {
+            return id < dense.length && dense[(int) id] == lsn;
+        }
+        Long latest = sparse.get(id);
+        return latest != null && latest == lsn;
+    }
+}
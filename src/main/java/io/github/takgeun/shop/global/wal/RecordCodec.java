@@ -0,0 +1,14 @@
+package io.github.takgeun.shop.global.wal;
+
+// 엔티티 <-> 로그 바이트 변환
+// 자바 직렬화 대신 필드를 고정 순서로 직접 적는다. (크기가 작고, 클래스 구조가 바뀌어도 포맷을 우리가 통제)
+public interface RecordCodec<T> {
+
+    Long idOf(T entity);
+
+    // 신규 저장은 id 를 받기 전에 크기를 재려고 한 번 더 부르니 id 는 putId 로 적을 것. (null 허용)
+    void write(T entity, RecordWriter out);
+
+    // 복원된 엔티티는 id/버전/상태까지 저장 시점과 같아야 한다. (생성 시 검증/기본값을 다시 타지 않음)
+    T read(RecordReader in);
+}
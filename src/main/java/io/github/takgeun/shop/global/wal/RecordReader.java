@@ -0,0 +1,74 @@
+package io.github.takgeun.shop.global.wal;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// RecordWriter 가 적은 순서 그대로 읽는다.
+// 로그 파일을 매핑한 버퍼를 복사 없이 바로 읽으니 레코드 처리(handler) 밖으로 들고 나가지 말 것.
+public final class RecordReader {
+
+    private final ByteBuffer buffer;
+    private final StringTable strings;
+
+    public RecordReader(ByteBuffer buffer) {
+        this(buffer, null);
+    }
+
+    RecordReader(ByteBuffer buffer, StringTable strings) {
+        this.buffer = buffer;
+        this.strings = strings;
+    }
+
+    public int getByte() {
+        return buffer.get();
+    }
+
+    public boolean getBoolean() {
+        return buffer.get() != 0;
+    }
+
+    public int getInt() {
+        return buffer.getInt();
+    }
+
+    public long getLong() {
+        return buffer.getLong();
+    }
+
+    public Long getNullableLong() {
+        return getBoolean() ? buffer.getLong() : null;
+    }
+
+    public String getString() {
+        int length = buffer.getInt();
+        if(length < 0) return null;
+
+        int offset = buffer.position();
+        String value = (strings == null)
+                ? StringTable.decode(buffer, offset, length)
+                : strings.get(buffer, offset, length);
+        buffer.position(offset + length);
+        return value;
+    }
+
+    public <E extends Enum<E>> E getEnum(E[] values) {
+        int ordinal = buffer.get();
+        if(ordinal < 0) return null;
+        if(ordinal >= values.length) {
+            throw new IllegalStateException("알 수 없는 enum 값입니다. ordinal=" + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    public LocalDateTime getDateTime() {
+        if(!getBoolean()) return null;
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    public int remaining() {
+        return buffer.remaining();
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.takgeun.shop.global.wal;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+// 엔티티 한 건을 고정 순서의 바이너리로 적는 버퍼 (빅 엔디언, ByteBuffer 기본값과 같음)
+// 필드 이름이나 태그 없이 값만 순서대로 적으니 읽는 쪽(RecordReader)도 같은 순서로 읽어야 한다.
+public final class RecordWriter {
+
+    private byte[] bytes;
+    private int size;
+
+    public RecordWriter() {
+        this(128);
+    }
+
+    public RecordWriter(int initialCapacity) {
+        this.bytes = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public RecordWriter putByte(int value) {
+        ensure(1);
+        bytes[size++] = (byte) value;
+        return this;
+    }
+
+    public RecordWriter putBoolean(boolean value) {
+        return putByte(value ? 1 : 0);
+    }
+
+    public RecordWriter putInt(int value) {
+        ensure(4);
+        bytes[size++] = (byte) (value >>> 24);
+        bytes[size++] = (byte) (value >>> 16);
+        bytes[size++] = (byte) (value >>> 8);
+        bytes[size++] = (byte) value;
+        return this;
+    }
+
+    public RecordWriter putLong(long value) {
+        putInt((int) (value >>> 32));
+        return putInt((int) value);
+    }
+
+    // 엔티티 id. 신규 저장은 id 를 받기 전에 크기부터 재므로 null 이면 0 을 적는다. (길이는 같고, 로그에는 항상 id 가 있는 상태로 적힘)
+    public RecordWriter putId(Long id) {
+        return putLong(id == null ? 0 : id);
+    }
+
+    // 존재 여부 1바이트 + 값 (null 과 0 이 구분되도록)
+    public RecordWriter putNullableLong(Long value) {
+        putBoolean(value != null);
+        return value == null ? this : putLong(value);
+    }
+
+    // UTF-8 바이트 길이 + 바이트. null 은 길이 -1
+    public RecordWriter putString(String value) {
+        if(value == null) {
+            return putInt(-1);
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        putInt(encoded.length);
+        ensure(encoded.length);
+        System.arraycopy(encoded, 0, bytes, size, encoded.length);
+        size += encoded.length;
+        return this;
+    }
+
+    // enum 은 ordinal 1바이트로 적는다. -> enum 상수 순서가 곧 저장 포맷이라 새 상수는 맨 뒤에만 추가할 것.
+    public RecordWriter putEnum(Enum<?> value) {
+        return putByte(value == null ? -1 : value.ordinal());
+    }
+
+    // UTC 기준 epoch 초 + 나노초 (시간대 변환 없이 LocalDateTime 값 그대로 복원하기 위함)
+    public RecordWriter putDateTime(LocalDateTime value) {
+        putBoolean(value != null);
+        if(value == null) return this;
+        putLong(value.toEpochSecond(ZoneOffset.UTC));
+        return putInt(value.getNano());
+    }
+
+    // 다른 writer 내용을 길이와 함께 붙인다. (스냅샷에서 엔티티 여러 개를 한 버퍼에 모을 때)
+    RecordWriter putFramed(RecordWriter other) {
+        putInt(other.size);
+        ensure(other.size);
+        System.arraycopy(other.bytes, 0, bytes, size, other.size);
+        size += other.size;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 내부 배열을 그대로 넘긴다. (0 ~ size() 까지만 유효, 복사 비용 없이 로그에 바로 쓰기 위함)
+    byte[] array() {
+        return bytes;
+    }
+
+    public void reset() {
+        size = 0;
+    }
+
+    private void ensure(int extra) {
+        if(size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
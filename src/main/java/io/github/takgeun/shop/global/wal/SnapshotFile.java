@@ -0,0 +1,194 @@
+package io.github.takgeun.shop.global.wal;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 스냅샷 파일 : 메모리 저장소들의 한 시점 이미지 (자바 직렬화 대신 RecordCodec 의 고정 레이아웃 그대로)
+ *   헤더 : magic(4) version(4) createdAt(8, epoch millis)
+ *   섹션 : entity(1) lsn(8) [length(4) payload]... -1(4)    저장소 하나. lsn = 이 섹션이 반영하고 있는 마지막 WAL 레코드
+ *   끝   : 0(1) crc32c(4)                                  crc 는 파일 처음부터 끝 표시(0)까지
+ *
+ * 임시 파일에 끝까지 쓰고 fsync 한 다음 이름을 바꾸니, snapshot-{lsn}.snap 으로 보이는 파일은 항상 완성본이다.
+ * 파일 이름의 lsn = 섹션 lsn 중 가장 작은 값 (여기서부터 WAL 을 재생하면 된다)
+ */
+public final class SnapshotFile {
+
+    static final int MAGIC = 0x5348534E;        // "SHSN"
+    static final int FORMAT_VERSION = 1;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+    private static final String TEMP = "snapshot.tmp";
+    private static final int END_OF_SECTION = -1;
+    private static final byte END_OF_FILE = 0;
+
+    private SnapshotFile() {
+    }
+
+    // 최신(lsn 큰) 스냅샷부터
+    static List<Path> list(Path directory) throws IOException {
+        if(!Files.isDirectory(directory)) return List.of();
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        }
+    }
+
+    static long lsnOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    // 파일 전체 crc 를 먼저 확인하고 섹션들을 돌려준다. (깨진 파일이면 IllegalStateException, 아무것도 반영하기 전에)
+    static List<Section> read(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int limit = buffer.capacity();
+        if(limit < 16 + 1 + 4 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalStateException("스냅샷 헤더가 올바르지 않습니다. file=" + file.getFileName());
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, limit - 4));
+        if((int) crc.getValue() != buffer.getInt(limit - 4)) {
+            throw new IllegalStateException("스냅샷 체크섬이 맞지 않습니다. file=" + file.getFileName());
+        }
+
+        StringTable strings = new StringTable();
+        List<Section> sections = new ArrayList<>();
+        int position = 16;
+        while (buffer.get(position) != END_OF_FILE) {
+            WalEntity entity = WalEntity.of(buffer.get(position));
+            long lsn = buffer.getLong(position + 1);
+            int start = position + 9;
+            int cursor = start;
+            while (buffer.getInt(cursor) != END_OF_SECTION) {
+                cursor += 4 + buffer.getInt(cursor);
+            }
+            sections.add(new Section(entity, lsn, buffer.slice(start, cursor - start), strings));
+            position = cursor + 4;
+        }
+        return sections;
+    }
+
+    // 저장소 하나의 이미지
+    record Section(WalEntity entity, long lsn, ByteBuffer body, StringTable strings) {
+
+        void forEach(Consumer<RecordReader> consumer) {
+            int position = 0;
+            while (position < body.limit()) {
+                int length = body.getInt(position);
+                consumer.accept(new RecordReader(body.slice(position + 4, length), strings));
+                position += 4 + length;
+            }
+        }
+    }
+
+    static Writer create(Path directory) throws IOException {
+        return new Writer(directory);
+    }
+
+    public static final class Writer implements Closeable {
+
+        private final Path directory;
+        private final Path temp;
+        private final FileChannel channel;
+        private final CheckedOutputStream checked;
+        private final DataOutputStream out;
+        private long bytes;
+        private boolean committed;
+
+        private Writer(Path directory) throws IOException {
+            this.directory = directory;
+            this.temp = directory.resolve(TEMP);
+            this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.checked = new CheckedOutputStream(Channels.newOutputStream(channel), new CRC32C());
+            this.out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(System.currentTimeMillis());
+        }
+
+        void beginSection(WalEntity entity, long lsn) throws IOException {
+            out.writeByte(entity.code());
+            out.writeLong(lsn);
+        }
+
+        // 엔티티 하나 (길이 + 바이트)
+        void entity(RecordWriter encoded) throws IOException {
+            out.writeInt(encoded.size());
+            out.write(encoded.array(), 0, encoded.size());
+        }
+
+        // RecordWriter.putFramed 로 미리 모아둔 엔티티들
+        void framed(RecordWriter entities) throws IOException {
+            out.write(entities.array(), 0, entities.size());
+        }
+
+        void endSection() throws IOException {
+            out.writeInt(END_OF_SECTION);
+        }
+
+        // 끝 표시 + crc 를 쓰고 fsync 한 뒤 snapshot-{lsn}.snap 으로 이름을 바꾼다.
+        Path commit(long lsn) throws IOException {
+            out.writeByte(END_OF_FILE);
+            out.flush();
+            int crc = (int) checked.getChecksum().getValue();
+            out.writeInt(crc);
+            out.flush();
+            bytes = out.size();
+            channel.force(true);
+            channel.close();
+
+            Path target = directory.resolve(String.format("%s%020d%s", PREFIX, lsn, SUFFIX));
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory(directory);
+            committed = true;
+            return target;
+        }
+
+        long bytes() {
+            return bytes;
+        }
+
+        // commit 전에 닫히면(실패) 임시 파일을 지운다.
+        @Override
+        public void close() throws IOException {
+            if(committed) return;
+            channel.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // 이름 바꾸기(rename)가 디스크에 남도록 디렉터리도 fsync (리눅스에서만 의미 있음, 안 되는 OS 는 무시)
+    static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // 디렉터리를 열 수 없는 파일 시스템
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.takgeun.shop.global.wal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// 복구 중에 같은 바이트의 문자열은 한 인스턴스를 같이 쓰도록 하는 작은 캐시 (direct-mapped, 충돌하면 덮어씀)
+// 주문마다 반복되는 상품명 스냅샷, 수령인/연락처/주소 같은 값이 주문 수만큼 따로 만들어지지 않아서
+// 복구 중 할당(= GC 복사)과 복구 후 힙 사용량이 같이 준다. String 은 불변이라 공유해도 안전하다.
+// 복구 스레드 하나에서만 사용.
+public final class StringTable {
+
+    private static final int SLOTS = 1 << 14;
+    // 긴 문자열(상품 설명 등)은 잘 겹치지 않으니 캐시하지 않는다.
+    private static final int MAX_LENGTH = 64;
+
+    private final byte[][] keys = new byte[SLOTS][];
+    private final String[] values = new String[SLOTS];
+
+    String get(ByteBuffer buffer, int offset, int length) {
+        if(length > MAX_LENGTH) {
+            return decode(buffer, offset, length);
+        }
+
+        int hash = length;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + buffer.get(offset + i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (SLOTS - 1);
+
+        byte[] key = keys[slot];
+        if(key != null && key.length == length && sameBytes(buffer, offset, key)) {
+            return values[slot];
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        keys[slot] = bytes;
+        values[slot] = value;
+        return value;
+    }
+
+    private static boolean sameBytes(ByteBuffer buffer, int offset, byte[] key) {
+        for (int i = 0; i < key.length; i++) {
+            if(buffer.get(offset + i) != key[i]) return false;
+        }
+        return true;
+    }
+
+    static String decode(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
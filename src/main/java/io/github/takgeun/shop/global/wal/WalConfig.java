@@ -0,0 +1,25 @@
+package io.github.takgeun.shop.global.wal;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// wal 프로필 : 메모리 저장소 앞에 WAL 데코레이터(Wal*Repository)를 붙이고 시작할 때 로그를 재생한다.
+@Configuration
+@Profile("wal")
+public class WalConfig {
+
+    // 종료 시 (웹 서버, 이벤트 버스가 멈춘 뒤) 쓴 데까지 fsync 하고 닫는다.
+    @Bean(destroyMethod = "close")
+    public WriteAheadLog writeAheadLog(@Value("${shop.wal.dir:data/wal}") String directory,
+                                       @Value("${shop.wal.segment-size:64MB}") DataSize segmentSize,
+                                       @Value("${shop.wal.flush-interval:10ms}") Duration flushInterval,
+                                       @Value("${shop.wal.sync-commit:true}") boolean syncCommit) {
+        return new WriteAheadLog(Path.of(directory), Math.toIntExact(segmentSize.toBytes()), flushInterval, syncCommit);
+    }
+}
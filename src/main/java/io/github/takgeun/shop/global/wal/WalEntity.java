@@ -0,0 +1,27 @@
+package io.github.takgeun.shop.global.wal;
+
+// 로그 레코드가 어느 저장소의 엔티티인지 (레코드 헤더에 code 1바이트로 기록)
+// code 는 저장 포맷이라 한 번 정하면 바꾸지 않는다.
+public enum WalEntity {
+    PRODUCT(1),
+    CATEGORY(2),
+    MEMBER(3),
+    ORDER(4);
+
+    private final byte code;
+
+    WalEntity(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public static WalEntity of(byte code) {
+        for (WalEntity entity : values()) {
+            if(entity.code == code) return entity;
+        }
+        throw new IllegalStateException("알 수 없는 WAL 엔티티 코드입니다. code=" + code);
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.takgeun.shop.global.wal;
+
+// WAL 에 기록하지 못함 (세그먼트 생성/쓰기 실패, fsync 실패, 닫힌 뒤 기록)
+// 요청이 잘못된 게 아니라 서버 디스크 문제라 5xx 로 응답하고 스택까지 ERROR 로 남긴다. (BusinessException 이 아님)
+// 한 번 실패한 로그는 더 이상 기록을 받지 않으니, 재시작해서 로그를 다시 재생하기 전까지 모든 쓰기가 이 예외로 거절된다.
+public class WalFailureException extends RuntimeException {
+    public WalFailureException(String message) {
+        super(message);
+    }
+
+    public WalFailureException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
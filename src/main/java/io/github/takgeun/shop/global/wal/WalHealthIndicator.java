@@ -0,0 +1,30 @@
+package io.github.takgeun.shop.global.wal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// wal 프로필 : 로그가 실패 상태(쓰기/fsync 실패)면 DOWN
+// 실패한 뒤에는 모든 쓰기가 거절되고 메모리 상태가 로그와 어긋나 있을 수 있으니, 트래픽을 빼고 재시작(로그 재생)하게 한다.
+@Component
+@Profile("wal")
+@RequiredArgsConstructor
+public class WalHealthIndicator implements HealthIndicator {
+
+    private final WriteAheadLog writeAheadLog;
+
+    @Override
+    public Health health() {
+        WriteAheadLog.Stats stats = writeAheadLog.stats();
+        Health.Builder builder = stats.failed() ? Health.down() : Health.up();
+        builder.withDetail("writtenLsn", stats.writtenLsn())
+                .withDetail("durableLsn", stats.durableLsn());
+        RuntimeException failure = writeAheadLog.failure();
+        if(failure != null) {
+            builder.withDetail("failure", failure.getClass().getSimpleName());
+        }
+        return builder.build();
+    }
+}
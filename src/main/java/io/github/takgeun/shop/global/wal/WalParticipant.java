@@ -0,0 +1,24 @@
+package io.github.takgeun.shop.global.wal;
+
+import java.io.IOException;
+
+// 시작 시 로그 재생을 받는 저장소 (엔티티 종류마다 하나)
+public interface WalParticipant {
+
+    WalEntity entity();
+
+    // 이 엔티티의 재생 결과가 다른 엔티티 재생 순서와 상관없으면 true
+    // -> id 마다 마지막 저장 레코드만 재생해도 같은 상태가 되니 중간 상태(재고 차감마다 남은 상품 레코드 등)는 건너뛴다.
+    default boolean replaysLatestOnly() {
+        return false;
+    }
+
+    // 로그에 남긴 변경을 메모리 저장소에 그대로 다시 반영 (로그를 다시 쓰지는 않는다)
+    void apply(WalRecord record);
+
+    // 스냅샷 : 지금 상태를 섹션 하나로 적고, 그 상태가 반영하고 있는 마지막 lsn 을 돌려준다.
+    long snapshot(SnapshotFile.Writer out) throws IOException;
+
+    // 스냅샷에서 엔티티 하나를 메모리 저장소에 그대로 반영
+    void load(RecordReader in);
+}
@@ -0,0 +1,25 @@
+package io.github.takgeun.shop.global.wal;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 로그에서 읽은 레코드 한 건
+ * lsn : 로그 전체에서 1부터 단조 증가하는 레코드 번호 (쓰인 순서 = 재생 순서)
+ * payload : 엔티티를 RecordCodec 으로 적은 바이트. 매핑된 로그 파일을 그대로 가리키니 재생 중에만 유효하다.
+ * strings : 복구 중 반복되는 문자열 공유용 (없으면 null)
+ */
+public record WalRecord(long lsn, WalEntity entity, byte op, long id, ByteBuffer payload, StringTable strings) {
+
+    public WalRecord(long lsn, WalEntity entity, byte op, long id, ByteBuffer payload) {
+        this(lsn, entity, op, id, payload, null);
+    }
+
+    // 저장(신규/수정) : payload = 저장 직후 엔티티의 전체 상태
+    public static final byte SAVE = 1;
+    // 삭제 : payload 없음
+    public static final byte DELETE = 2;
+
+    public RecordReader reader() {
+        return new RecordReader(payload.duplicate(), strings);
+    }
+}
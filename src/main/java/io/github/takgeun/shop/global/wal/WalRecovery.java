@@ -0,0 +1,113 @@
+package io.github.takgeun.shop.global.wal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// 시작 시 최신 스냅샷을 불러오고, 그 뒤의 로그(꼬리)만 재생해서 메모리 저장소를 되살린다.
+// 모든 빈이 만들어진 직후, 웹 서버가 요청을 받기 전에 실행되니 복구 중에 들어오는 요청은 없다.
+//
+// 0차 : 최신 스냅샷을 불러온다. 깨져 있으면 그 이전 스냅샷, 없으면 로그 처음부터.
+//   섹션(저장소)마다 반영된 lsn 이 달라서, 저장소별로 자기 섹션 lsn 이하 레코드는 건너뛴다.
+// 1차 : 로그를 훑기만 하면서 replaysLatestOnly 저장소(상품, 주문)의 id 별 마지막 저장 레코드 위치를 기억
+// 2차 : 재생하되 그 저장소들은 마지막 저장 레코드만 디코딩/반영한다.
+//   주문마다 재고 차감 상품 save 가 같이 쌓이니 상품 레코드 대부분이 중간 상태 -> 디코딩, 인덱스 갱신, 가비지가 그만큼 준다.
+@Slf4j
+@Component
+@Profile("wal")
+public class WalRecovery implements SmartInitializingSingleton {
+
+    private final WriteAheadLog writeAheadLog;
+    private final Map<WalEntity, WalParticipant> participants = new EnumMap<>(WalEntity.class);
+
+    public WalRecovery(WriteAheadLog writeAheadLog, List<WalParticipant> participants) {
+        this.writeAheadLog = writeAheadLog;
+        for (WalParticipant participant : participants) {
+            if(this.participants.put(participant.entity(), participant) != null) {
+                throw new IllegalStateException("같은 엔티티의 WAL 저장소가 둘 이상입니다. entity=" + participant.entity());
+            }
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.nanoTime();
+        Map<WalEntity, Long> snapshotLsns = loadSnapshot();
+        long afterLsn = participants.keySet().stream()
+                .mapToLong(entity -> snapshotLsns.getOrDefault(entity, 0L))
+                .min()
+                .orElse(0L);
+        long loaded = System.nanoTime();
+
+        Map<WalEntity, LatestSaves> latest = new EnumMap<>(WalEntity.class);
+        writeAheadLog.read(afterLsn, record -> {
+            if(record.op() == WalRecord.SAVE && participant(record).replaysLatestOnly()
+                    && record.lsn() > snapshotLsns.getOrDefault(record.entity(), 0L)) {
+                latest.computeIfAbsent(record.entity(), k -> new LatestSaves()).put(record.id(), record.lsn());
+            }
+        });
+
+        long[] skipped = new long[1];
+        long records = writeAheadLog.recover(afterLsn, record -> {
+            WalParticipant participant = participant(record);
+            if(record.lsn() <= snapshotLsns.getOrDefault(record.entity(), 0L)
+                    || (record.op() == WalRecord.SAVE && participant.replaysLatestOnly()
+                        && !latest.get(record.entity()).isLatest(record.id(), record.lsn()))) {
+                skipped[0]++;
+                return;
+            }
+            participant.apply(record);
+        });
+        log.info("wal.recovered snapshotLsn={} snapshotMs={} records={} skipped={} lastLsn={} elapsedMs={}",
+                afterLsn, (loaded - started) / 1_000_000, records, skipped[0],
+                writeAheadLog.stats().writtenLsn(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // 저장소별 섹션 lsn (불러온 스냅샷이 없으면 비어 있음)
+    private Map<WalEntity, Long> loadSnapshot() {
+        List<Path> files;
+        try {
+            files = SnapshotFile.list(writeAheadLog.directory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 목록을 읽지 못했습니다.", e);
+        }
+
+        for (Path file : files) {
+            List<SnapshotFile.Section> sections;
+            try {
+                sections = SnapshotFile.read(file);
+            } catch (IOException | IllegalStateException e) {
+                log.warn("wal.snapshot.skipped file={} reason={}", file.getFileName(), e.getMessage());
+                continue;
+            }
+
+            Map<WalEntity, Long> lsns = new EnumMap<>(WalEntity.class);
+            for (SnapshotFile.Section section : sections) {
+                WalParticipant participant = participants.get(section.entity());
+                if(participant == null) {
+                    throw new IllegalStateException("스냅샷 섹션을 받을 저장소가 없습니다. entity=" + section.entity());
+                }
+                section.forEach(participant::load);
+                lsns.put(section.entity(), section.lsn());
+            }
+            return lsns;
+        }
+        return Map.of();
+    }
+
+    private WalParticipant participant(WalRecord record) {
+        WalParticipant participant = participants.get(record.entity());
+        if(participant == null) {
+            throw new IllegalStateException("WAL 레코드를 받을 저장소가 없습니다. entity=" + record.entity() + ", lsn=" + record.lsn());
+        }
+        return participant;
+    }
+}
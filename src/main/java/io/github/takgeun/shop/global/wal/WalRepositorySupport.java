@@ -0,0 +1,193 @@
+package io.github.takgeun.shop.global.wal;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * 메모리 저장소 앞에 붙는 WAL 데코레이터 공통 부분
+ * 메모리 저장소에 먼저 반영하고(검증/인덱스 충돌이 나면 로그에 남기지 않음) 반영된 최신 상태를 로그에 붙인 뒤
+ * 커밋(fsync)까지 기다렸다가 돌려준다.
+ *
+ * 로그에 붙이지 못하면 (WalFailureException, 이후 로그는 모든 쓰기를 거절)
+ * - 신규 저장 : 같은 락 안에서 메모리 저장소에서도 다시 빼서 로그에 없는 엔티티가 조회되지 않게 한다.
+ *   (주문 저장이 실패하면 주문 서비스가 재고를 되돌리는데, 주문이 남아 있으면 나중에 취소로 한 번 더 되돌아간다.)
+ * - 수정 : 메모리 저장소는 엔티티를 공유해서 저장 전에 이미 바뀌어 있으니 되돌릴 이전 상태가 없다.
+ *   로그가 실패 상태라 이후 쓰기는 전부 거절되고(헬스 DOWN), 재시작하면 로그에 있는 상태로 돌아간다.
+ * - 레코드가 세그먼트보다 커서 거절되는 경우(로그는 정상)는 신규 저장이면 메모리 저장소에 넣기 전에 미리 걸러낸다.
+ *   넣었다가 빼면 그 사이 퍼지 스냅샷이 로그에 없는 엔티티를 담을 수 있다. (로그 실패는 스냅샷이 커밋을 거절)
+ *
+ * 스냅샷 (백그라운드 스레드, 쓰기를 멈추지 않음)
+ * - stripes > 1 : 먼저 writtenLsn 을 읽고 락 없이 훑는다. 훑는 중에 바뀐 엔티티는 더 새 상태로 적힐 수 있지만
+ *   그 변경의 레코드는 반드시 그 lsn 뒤에 있으니 재생하면 같은 최종 상태가 된다. (퍼지 스냅샷)
+ * - stripes == 1 : 다른 엔티티 상태가 섞이면 재생 중 충돌이 날 수 있으니 락 안에서 메모리 버퍼로만 인코딩하고
+ *   (그동안 이 저장소의 쓰기만 잠깐 대기, 조회는 그대로) 파일 쓰기는 락 밖에서 한다.
+ *
+ * 레코드 순서 규칙
+ * - 같은 엔티티 : 레코드를 쓰는 순간의 최신 상태를 락 안에서 적으니, 마지막 레코드 = 마지막 상태.
+ * - 엔티티 사이 : stripes == 1 이면 저장소 반영 + 로그 기록을 한 락으로 묶어서 "반영 순서 = 로그 순서" 가 된다.
+ *   이메일 중복(회원)이나 트리 순환(카테고리)처럼 다른 엔티티 상태에 따라 성공 여부가 달라지는 저장소는
+ *   재생 순서가 어긋나면 재생 중에 충돌이 나므로 반드시 1로 둔다.
+ *
+ * 락 구간 안에서 로그 append(appendLock 대기, 세그먼트 교체 = 파일 생성 + 매핑)가 돌기 때문에
+ * 가상 스레드가 캐리어 스레드를 붙잡지 않도록 synchronized 대신 ReentrantLock 을 쓴다.
+ */
+public abstract class WalRepositorySupport<T> implements WalParticipant {
+
+    private final WriteAheadLog log;
+    private final WalEntity entity;
+    private final RecordCodec<T> codec;
+    private final ReentrantLock[] locks;
+
+    protected WalRepositorySupport(WriteAheadLog log, WalEntity entity, RecordCodec<T> codec, int stripes) {
+        if(stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes는 2의 거듭제곱이어야 합니다.");
+        }
+        this.log = log;
+        this.entity = entity;
+        this.codec = codec;
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    protected T logSave(T target, UnaryOperator<T> save) {
+        boolean inserting = codec.idOf(target) == null;
+        if(inserting) {
+            RecordWriter payload = new RecordWriter();
+            codec.write(target, payload);
+            log.checkRecordSize(payload);
+        }
+        T saved;
+        long lsn;
+        if(locks.length == 1) {
+            ReentrantLock lock = locks[0];
+            lock.lock();
+            try {
+                saved = save.apply(target);
+                lsn = appendSave(saved, inserting);
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            saved = save.apply(target);
+            ReentrantLock lock = lockFor(codec.idOf(saved));
+            lock.lock();
+            try {
+                lsn = appendSave(saved, inserting);
+            } finally {
+                lock.unlock();
+            }
+        }
+        log.commit(lsn);
+        return saved;
+    }
+
+    protected void logDelete(Long id, Consumer<Long> delete) {
+        long lsn;
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            delete.accept(id);
+            lsn = log.append(entity, WalRecord.DELETE, id, null);
+        } finally {
+            lock.unlock();
+        }
+        log.commit(lsn);
+    }
+
+    @Override
+    public WalEntity entity() {
+        return entity;
+    }
+
+    // 순서가 서로 영향을 주지 않아 락을 나눠 쓰는 저장소 = 재생도 id 별 마지막 레코드만
+    @Override
+    public boolean replaysLatestOnly() {
+        return locks.length > 1;
+    }
+
+    @Override
+    public void apply(WalRecord record) {
+        switch (record.op()) {
+            case WalRecord.SAVE -> restore(codec.read(record.reader()));
+            case WalRecord.DELETE -> remove(record.id());
+            default -> throw new IllegalStateException("알 수 없는 WAL 레코드 종류입니다. op=" + record.op() + ", lsn=" + record.lsn());
+        }
+    }
+
+    @Override
+    public long snapshot(SnapshotFile.Writer out) throws IOException {
+        RecordWriter encoded = new RecordWriter();
+        if(locks.length > 1) {
+            long lsn = log.stats().writtenLsn();
+            out.beginSection(entity, lsn);
+            for (T each : entities()) {
+                encoded.reset();
+                codec.write(each, encoded);
+                out.entity(encoded);
+            }
+            out.endSection();
+            return lsn;
+        }
+
+        RecordWriter framed = new RecordWriter(1 << 16);
+        long lsn;
+        ReentrantLock lock = locks[0];
+        lock.lock();
+        try {
+            lsn = log.stats().writtenLsn();
+            for (T each : entities()) {
+                encoded.reset();
+                codec.write(each, encoded);
+                framed.putFramed(encoded);
+            }
+        } finally {
+            lock.unlock();
+        }
+        out.beginSection(entity, lsn);
+        out.framed(framed);
+        out.endSection();
+        return lsn;
+    }
+
+    @Override
+    public void load(RecordReader in) {
+        restore(codec.read(in));
+    }
+
+    // 스냅샷에 적을 엔티티들. 스냅샷을 불러올 때 이 순서대로 restore 된다.
+    protected abstract Collection<T> entities();
+
+    // 재생 : 복원한 엔티티를 로그 없이 메모리 저장소에 그대로 저장
+    protected abstract void restore(T restored);
+
+    // 재생 : 삭제. 삭제가 없는 저장소는 이 레코드를 쓸 일이 없다.
+    protected void remove(Long id) {
+        throw new IllegalStateException(entity + " 저장소는 삭제 레코드를 지원하지 않습니다. id=" + id);
+    }
+
+    // 로그에 붙이지 못한 신규 저장을 메모리 저장소에서 되돌린다. (id 를 받은 그 락 안에서 호출)
+    protected abstract void discard(Long id);
+
+    private long appendSave(T saved, boolean inserting) {
+        Long id = codec.idOf(saved);
+        try {
+            RecordWriter payload = new RecordWriter();
+            codec.write(saved, payload);
+            return log.append(entity, WalRecord.SAVE, id, payload);
+        } catch (RuntimeException e) {
+            if(inserting) {
+                discard(id);
+            }
+            throw e;
+        }
+    }
+
+    private ReentrantLock lockFor(Long id) {
+        return locks[(id == null ? 0 : Long.hashCode(id)) & (locks.length - 1)];
+    }
+}
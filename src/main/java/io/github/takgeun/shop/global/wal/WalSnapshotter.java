@@ -0,0 +1,162 @@
+package io.github.takgeun.shop.global.wal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주기적으로 메모리 저장소들의 스냅샷을 떠서 재시작 때 재생할 로그 길이를 묶어둔다.
+ * 별도 스레드 하나가 interval 마다 확인하고, 마지막 스냅샷 이후 레코드가 minRecords 이상 쌓였으면 새로 뜬다.
+ * 종료 시에도(웹 서버, 이벤트 버스가 멈춘 뒤) 바뀐 게 있으면 한 번 뜬다.
+ *
+ * - 쓰기는 멈추지 않는다. 저장소별로 어디까지 반영했는지(섹션 lsn)를 같이 적는다. (WalRepositorySupport 참고)
+ * - 스냅샷은 최근 2개만 남긴다. 최신 파일이 깨져도 이전 스냅샷 + 로그로 되살릴 수 있도록
+ *   WAL 세그먼트는 이전 스냅샷 lsn 까지만 지운다.
+ */
+@Slf4j
+@Component
+@Profile("wal")
+public class WalSnapshotter implements SmartLifecycle {
+
+    // 이벤트 버스(DEFAULT_PHASE - 4096)보다도 늦게 멈추도록 (멈출 때 마지막 스냅샷)
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 8192;
+    private static final int RETAINED = 2;
+
+    private final WriteAheadLog writeAheadLog;
+    private final List<WalParticipant> participants;
+    private final Duration interval;
+    private final long minRecords;
+
+    private volatile ScheduledExecutorService scheduler;
+    private volatile long lastSnapshotLsn;
+
+    public WalSnapshotter(WriteAheadLog writeAheadLog, List<WalParticipant> participants,
+                          @Value("${shop.wal.snapshot-interval:5m}") Duration interval,
+                          @Value("${shop.wal.snapshot-min-records:100000}") long minRecords) {
+        if(interval.isNegative() || interval.isZero() || minRecords < 1) {
+            throw new IllegalArgumentException("snapshot-interval, snapshot-min-records는 0보다 커야 합니다.");
+        }
+        this.writeAheadLog = writeAheadLog;
+        this.participants = participants.stream()
+                .sorted(Comparator.comparing(WalParticipant::entity))
+                .toList();
+        this.interval = interval;
+        this.minRecords = minRecords;
+    }
+
+    @Override
+    public void start() {
+        if(scheduler != null) return;
+        try {
+            List<Path> snapshots = SnapshotFile.list(writeAheadLog.directory());
+            lastSnapshotLsn = snapshots.isEmpty() ? 0 : SnapshotFile.lsnOf(snapshots.get(0));
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 목록을 읽지 못했습니다.", e);
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("wal-snapshot")
+                .daemon(true)
+                .factory());
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            if(writeAheadLog.stats().writtenLsn() - lastSnapshotLsn >= minRecords) {
+                snapshotQuietly();
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if(scheduler == null) return;
+        scheduler.shutdown();       // 진행 중인 스냅샷은 마저 끝내고, 다음 주기는 취소
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+
+        if(writeAheadLog.stats().writtenLsn() > lastSnapshotLsn) {
+            snapshotQuietly();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * 지금 스냅샷을 하나 뜨고, 오래된 스냅샷과 필요 없어진 WAL 세그먼트를 지운다.
+     *
+     * @return 새 스냅샷 파일 (이름의 lsn = 섹션 lsn 중 가장 작은 값)
+     */
+    public synchronized Path snapshot() throws IOException {
+        long started = System.nanoTime();
+        long minLsn = Long.MAX_VALUE;
+        long maxLsn = 0;
+        Path file;
+        long bytes;
+        try (SnapshotFile.Writer out = SnapshotFile.create(writeAheadLog.directory())) {
+            for (WalParticipant participant : participants) {
+                long lsn = participant.snapshot(out);
+                minLsn = Math.min(minLsn, lsn);
+                maxLsn = Math.max(maxLsn, lsn);
+            }
+            if(participants.isEmpty()) minLsn = 0;
+
+            // 스냅샷에 담긴 변경이 로그에서는 유실되면 재시작 후 새 레코드가 같은 lsn 을 다시 받게 되니 먼저 fsync
+            writeAheadLog.awaitDurable(maxLsn);
+            // 로그가 실패했으면 훑는 동안 담긴 신규 엔티티가 실패 후 되돌려졌을 수 있다. -> 커밋하지 않고 기존 스냅샷 + 로그를 남긴다.
+            if(writeAheadLog.failure() != null) {
+                throw new WalFailureException("WAL이 실패 상태라 스냅샷을 남기지 않습니다.", writeAheadLog.failure());
+            }
+            file = out.commit(minLsn);
+            bytes = out.bytes();
+        }
+        lastSnapshotLsn = minLsn;
+
+        int segmentsDeleted = prune();
+        log.info("wal.snapshot lsn={} bytes={} elapsedMs={} segmentsDeleted={}",
+                minLsn, bytes, (System.nanoTime() - started) / 1_000_000, segmentsDeleted);
+        return file;
+    }
+
+    // 최근 RETAINED 개만 남기고, 남긴 것 중 가장 오래된 스냅샷 lsn 까지의 세그먼트를 지운다.
+    private int prune() throws IOException {
+        List<Path> snapshots = SnapshotFile.list(writeAheadLog.directory());
+        for (Path old : snapshots.subList(Math.min(RETAINED, snapshots.size()), snapshots.size())) {
+            Files.deleteIfExists(old);
+        }
+        if(snapshots.size() < RETAINED) return 0;     // 되돌아갈 스냅샷이 없으면 로그 전체가 대비책
+        return writeAheadLog.deleteSegmentsBefore(SnapshotFile.lsnOf(snapshots.get(RETAINED - 1)));
+    }
+
+    // 주기 실행/종료 시 : 실패해도 로그만 남기고 다음 주기에 다시 (그동안은 로그가 그대로 있으니 유실은 없음)
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("wal.snapshot.failed lastSnapshotLsn={}", lastSnapshotLsn, e);
+        }
+    }
+}
@@ -0,0 +1,596 @@
+package io.github.takgeun.shop.global.wal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑 append-only 로그 (write-ahead log)
+ * 메모리 저장소의 save/delete 를 레코드로 이어 붙여 두었다가, 재시작하면 처음부터 다시 재생해서 메모리 상태를 되살린다.
+ *
+ * 파일 : {dir}/{첫 레코드 lsn 20자리}.wal 세그먼트들. 세그먼트 하나를 통째로 매핑해두고 그 뒤에 이어서 쓴다.
+ *   세그먼트 헤더 : magic(4) version(4) baseLsn(8)
+ *   레코드        : length(4) crc32c(4) lsn(8) entity(1) op(1) id(8) payload(length - 26)
+ *   length 는 헤더 포함 전체 길이라 0 이 될 수 없다. -> 0 을 만나면 그 세그먼트의 끝.
+ *
+ * 그룹 커밋 : 쓰기 스레드는 매핑된 메모리에 복사만 하고(락 구간 = 메모리 복사), fsync 는 flusher 스레드 하나가 한다.
+ *   fsync 한 번이 도는 동안 쌓인 레코드들은 다음 fsync 한 번으로 같이 디스크에 내려가서
+ *   동시 요청이 많을수록 레코드당 fsync 횟수가 줄어든다.
+ *
+ * 복구 : 레코드마다 crc + lsn 연속성을 확인하고, 마지막 세그먼트 끝에서 깨진 레코드(쓰다가 죽은 것)를 만나면 거기서 자른다.
+ *   중간 세그먼트가 깨져 있으면 이후 기록을 믿을 수 없으니 시작을 막는다.
+ *
+ * 실패 : 쓰기(세그먼트 교체 포함)나 fsync 가 한 번이라도 실패하면 그 뒤로 디스크에 무엇이 남았는지 믿을 수 없으니
+ *   로그를 실패 상태로 두고 이후의 모든 append/commit 을 WalFailureException 으로 거절한다. (읽기만 가능, 재시작해서 복구)
+ */
+@Slf4j
+public final class WriteAheadLog implements Closeable {
+
+    static final int MAGIC = 0x53485741;        // "SHWA"
+    static final int FORMAT_VERSION = 1;
+    static final int SEGMENT_HEADER = 16;
+    static final int RECORD_HEADER = 26;
+    private static final String SUFFIX = ".wal";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration flushInterval;
+    private final boolean syncCommit;
+
+    // 쓰기 : 레코드 번호 발급 + 매핑 메모리에 복사
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private Segment active;
+    private final List<Segment> sealed = new ArrayList<>();      // 다 차서 넘어갔지만 아직 fsync 하지 않은 세그먼트
+    private long lastLsn;
+    private volatile long writtenLsn;
+
+    // 그룹 커밋 : 가상 스레드에서 기다려도 캐리어 스레드를 붙잡지 않도록 synchronized 대신 ReentrantLock
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushRequested = flushLock.newCondition();
+    private final Condition flushed = flushLock.newCondition();
+    private boolean flushPending;
+    private volatile long durableLsn;
+    private volatile RuntimeException failure;
+    private final AtomicLong fsyncs = new AtomicLong();
+
+    private volatile boolean recovered;
+    private volatile boolean closed;
+    private Thread flusher;
+
+    /**
+     * @param segmentSize   세그먼트 파일 하나의 크기 (매핑 단위)
+     * @param flushInterval 커밋을 기다리는 요청이 없을 때도 이 간격마다 fsync
+     * @param syncCommit    true 면 commit() 이 fsync 까지 기다린다. false 면 flushInterval 만큼의 유실을 감수하고 바로 돌아간다.
+     */
+    public WriteAheadLog(Path directory, int segmentSize, Duration flushInterval, boolean syncCommit) {
+        if(segmentSize < SEGMENT_HEADER + RECORD_HEADER) {
+            throw new IllegalArgumentException("segmentSize가 너무 작습니다.");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushInterval = flushInterval;
+        this.syncCommit = syncCommit;
+    }
+
+    /**
+     * 로그를 처음부터 읽으면서 afterLsn 보다 뒤의 레코드를 handler 에 넘기고, 마지막 레코드 뒤에서 이어 쓸 준비를 한다.
+     * 쓰기(append)는 복구가 끝난 뒤에만 가능하다.
+     *
+     * @return handler 에 넘긴 레코드 수
+     */
+    public long recover(long afterLsn, Consumer<WalRecord> handler) {
+        appendLock.lock();
+        try {
+            if(recovered) throw new IllegalStateException("이미 복구가 끝난 로그입니다.");
+            Files.createDirectories(directory);
+
+            List<Path> files = segmentFiles();
+            StringTable strings = new StringTable();
+            long replayed = 0;
+            long expectedLsn = 0;           // 0 이면 아직 읽은 세그먼트 없음
+            for (int i = 0; i < files.size(); i++) {
+                boolean last = (i == files.size() - 1);
+                Segment segment = Segment.open(files.get(i));
+                if(segment == null) {
+                    if(!last) throw new IllegalStateException("WAL 세그먼트 헤더가 손상되었습니다. file=" + files.get(i));
+                    Files.delete(files.get(i));     // 새 세그먼트를 만들다가 헤더를 쓰기 전에 죽은 경우
+                    break;
+                }
+                if(expectedLsn != 0 && segment.baseLsn != expectedLsn + 1) {
+                    throw new IllegalStateException("WAL 세그먼트 사이에 빠진 레코드가 있습니다. file=" + segment.path);
+                }
+                if(expectedLsn == 0 && segment.baseLsn > afterLsn + 1) {
+                    throw new IllegalStateException("스냅샷(lsn=" + afterLsn + ") 이후의 WAL 레코드가 없습니다. file=" + segment.path);
+                }
+
+                ScanResult scan = scan(segment, afterLsn, handler, strings);
+                replayed += scan.replayed;
+                expectedLsn = scan.lastLsn;
+
+                if(scan.torn) {
+                    if(!last) throw new IllegalStateException("WAL 세그먼트가 손상되었습니다. file=" + segment.path + ", position=" + scan.end);
+                    log.warn("wal.tail.truncated file={} position={}", segment.path.getFileName(), scan.end);
+                    segment.zeroFrom(scan.end);
+                }
+                if(last) {
+                    segment.position = scan.end;
+                    segment.flushedPosition = scan.end;
+                    active = segment;
+                } else {
+                    segment.close();
+                }
+            }
+
+            lastLsn = Math.max(expectedLsn, afterLsn);
+            writtenLsn = lastLsn;
+            durableLsn = lastLsn;
+            if(active == null || active.remaining() < RECORD_HEADER) {
+                if(active != null) active.close();
+                active = Segment.create(directory, lastLsn + 1, segmentSize);
+            }
+
+            recovered = true;
+            flusher = Thread.ofPlatform()
+                    .name("wal-flusher")
+                    .daemon(true)
+                    .start(this::flushLoop);
+            return replayed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 복구에 실패했습니다. dir=" + directory, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 복구 전에 로그를 한 번 훑어보기만 한다. (파일은 건드리지 않음, 깨진 레코드를 만나면 거기서 멈춤)
+     * 복구할 때 어떤 레코드를 건너뛸지 미리 알아두는 용도.
+     */
+    public void read(long afterLsn, Consumer<WalRecord> handler) {
+        appendLock.lock();
+        try {
+            if(recovered) throw new IllegalStateException("이미 복구가 끝난 로그입니다.");
+            if(!Files.isDirectory(directory)) return;
+
+            for (Path file : segmentFiles()) {
+                Segment segment = Segment.open(file);
+                if(segment == null) return;
+                try {
+                    if(scan(segment, afterLsn, handler, null).torn) return;
+                } finally {
+                    segment.close();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL을 읽지 못했습니다. dir=" + directory, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 레코드를 로그 끝에 붙이고 lsn 을 돌려준다. (디스크 반영은 commit(lsn))
+     * 같은 엔티티의 레코드 순서 = 호출 순서이므로, 순서가 중요한 변경은 호출하는 쪽에서 직렬화해서 부를 것.
+     */
+    public long append(WalEntity entity, byte op, long id, RecordWriter payload) {
+        int length = checkRecordSize(payload);
+
+        appendLock.lock();
+        try {
+            ensureWritable();
+            try {
+                return write(entity, op, id, payload, length);
+            } catch (RuntimeException e) {
+                // 레코드가 절반만 쓰였거나 세그먼트를 못 바꿨다 -> 이후 기록은 이어 붙일 자리를 믿을 수 없다.
+                fail(e);
+                throw new WalFailureException("WAL에 기록하지 못했습니다.", e);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 세그먼트 하나에 들어가지 않는 레코드를 거절한다. (로그 상태는 그대로, 이 레코드만 실패)
+     * 신규 저장은 메모리 저장소에 넣기 전에 미리 불러서, 거절된 엔티티가 잠깐이라도 조회되거나 스냅샷에 담기지 않게 한다.
+     *
+     * @return 헤더를 포함한 레코드 길이
+     */
+    public int checkRecordSize(RecordWriter payload) {
+        int length = RECORD_HEADER + (payload == null ? 0 : payload.size());
+        if(length > segmentSize - SEGMENT_HEADER) {
+            throw new IllegalArgumentException("레코드가 WAL 세그먼트보다 큽니다. length=" + length);
+        }
+        return length;
+    }
+
+    // syncCommit 이면 lsn 까지 fsync 될 때까지 기다린다. (그 사이 다른 요청의 레코드도 같은 fsync 에 묶인다)
+    public void commit(long lsn) {
+        if(syncCommit) {
+            awaitDurable(lsn);
+        }
+    }
+
+    // 실패 상태면 이미 fsync 된 lsn 이어도 거절한다. (실패 이후에 되돌려진 변경을 기다린 쪽이 성공으로 착각하지 않도록)
+    public void awaitDurable(long lsn) {
+        if(failure != null) throw new WalFailureException("WAL 디스크 기록에 실패했습니다.", failure);
+        if(durableLsn >= lsn) return;
+
+        flushLock.lock();
+        try {
+            flushPending = true;
+            flushRequested.signal();
+            while (durableLsn < lsn) {
+                if(failure != null) throw new WalFailureException("WAL 디스크 기록에 실패했습니다.", failure);
+                if(closed && flusher != null && !flusher.isAlive()) {
+                    throw new WalFailureException("WAL이 닫혔습니다.");
+                }
+                flushed.await(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WalFailureException("WAL 기록 대기 중 인터럽트되었습니다.", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 모든 레코드가 lsn 이하인 세그먼트 파일을 지운다. (스냅샷에 이미 담긴 부분)
+     * 지금 쓰고 있거나 아직 fsync 하지 않은 세그먼트는 남긴다.
+     *
+     * @return 지운 세그먼트 수
+     */
+    public int deleteSegmentsBefore(long lsn) {
+        appendLock.lock();
+        try {
+            if(!recovered || closed) return 0;
+
+            List<Path> files = segmentFiles();
+            int deleted = 0;
+            for (int i = 0; i + 1 < files.size(); i++) {
+                Path file = files.get(i);
+                long lastLsnInFile = baseLsnOf(files.get(i + 1)) - 1;
+                if(lastLsnInFile > lsn || isOpen(file)) break;
+                Files.delete(file);
+                deleted++;
+            }
+            return deleted;
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 세그먼트를 지우지 못했습니다. dir=" + directory, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public Stats stats() {
+        return new Stats(writtenLsn, durableLsn, fsyncs.get(), failure != null);
+    }
+
+    // 실패 상태의 원인 (정상이면 null)
+    public RuntimeException failure() {
+        return failure;
+    }
+
+    // writtenLsn : 마지막으로 쓴 레코드, durableLsn : fsync 까지 끝난 마지막 레코드, failed : 쓰기/fsync 실패로 기록을 거절하는 중
+    public record Stats(long writtenLsn, long durableLsn, long fsyncs, boolean failed) {
+    }
+
+    // 새 레코드는 받지 않고, 쓴 데까지 fsync 한 뒤 닫는다.
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            if(closed) return;
+            closed = true;
+        } finally {
+            appendLock.unlock();
+        }
+
+        Thread thread = flusher;
+        if(thread != null) {
+            signalFlusher();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        appendLock.lock();
+        try {
+            sealed.forEach(Segment::close);
+            sealed.clear();
+            if(active != null) active.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void ensureWritable() {
+        if(!recovered) throw new IllegalStateException("WAL 복구 전에는 기록할 수 없습니다.");
+        if(closed) throw new WalFailureException("WAL이 닫혔습니다.");
+        if(failure != null) throw new WalFailureException("WAL 디스크 기록에 실패했습니다.", failure);
+    }
+
+    // 첫 실패만 남긴다. 기다리던 commit 들도 깨워서 바로 실패하게 한다.
+    private void fail(RuntimeException cause) {
+        if(failure == null) {
+            failure = cause;
+            log.error("wal.failed dir={}", directory, cause);
+        }
+        signalWaiters();
+    }
+
+    // 반드시 appendLock 을 잡은 상태에서 호출할 것.
+    private long write(WalEntity entity, byte op, long id, RecordWriter payload, int length) {
+        if(active.remaining() < length) {
+            roll();
+        }
+
+        long lsn = lastLsn + 1;
+        ByteBuffer buffer = active.buffer;
+        int position = active.position;
+        buffer.putLong(position + 8, lsn);
+        buffer.put(position + 16, entity.code());
+        buffer.put(position + 17, op);
+        buffer.putLong(position + 18, id);
+        if(payload != null) {
+            buffer.put(position + RECORD_HEADER, payload.array(), 0, payload.size());
+        }
+        buffer.putInt(position + 4, checksum(buffer, position + 8, length - 8));
+        buffer.putInt(position, length);
+
+        active.position = position + length;
+        lastLsn = lsn;
+        writtenLsn = lsn;
+        return lsn;
+    }
+
+    // 지금 세그먼트는 fsync 대기 목록으로 넘기고 다음 lsn 부터 시작하는 새 세그먼트를 만든다.
+    // 반드시 appendLock 을 잡은 상태에서 호출할 것.
+    private void roll() {
+        try {
+            Segment next = Segment.create(directory, lastLsn + 1, segmentSize);
+            sealed.add(active);
+            active = next;
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 세그먼트를 만들지 못했습니다. dir=" + directory, e);
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            flushLock.lock();
+            try {
+                if(!flushPending && !closed) {
+                    flushRequested.await(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                flushPending = false;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                flushLock.unlock();
+            }
+
+            boolean closing = closed;       // 닫힌 뒤에는 새 레코드가 없으니 이번이 마지막 fsync
+            try {
+                flushOnce();
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            if(closing) return;
+        }
+    }
+
+    private void flushOnce() {
+        Segment segment;
+        int end;
+        long lsn;
+        List<Segment> full;
+        appendLock.lock();
+        try {
+            segment = active;
+            end = segment.position;
+            lsn = writtenLsn;
+            full = sealed.isEmpty() ? List.of() : new ArrayList<>(sealed);
+            sealed.clear();
+        } finally {
+            appendLock.unlock();
+        }
+        if(lsn == durableLsn && full.isEmpty()) return;
+
+        for (Segment each : full) {
+            each.force(each.position);
+            each.close();
+        }
+        segment.force(end);
+        fsyncs.incrementAndGet();
+
+        durableLsn = lsn;
+        signalWaiters();
+    }
+
+    private void signalFlusher() {
+        flushLock.lock();
+        try {
+            flushPending = true;
+            flushRequested.signal();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void signalWaiters() {
+        flushLock.lock();
+        try {
+            flushed.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 세그먼트 한 개를 헤더 다음부터 끝(0 또는 깨진 레코드)까지 읽는다.
+    private static ScanResult scan(Segment segment, long afterLsn, Consumer<WalRecord> handler, StringTable strings) {
+        ByteBuffer buffer = segment.buffer;
+        int limit = buffer.capacity();
+        int position = SEGMENT_HEADER;
+        long lastLsn = segment.baseLsn - 1;
+        long replayed = 0;
+
+        while (position + RECORD_HEADER <= limit) {
+            int length = buffer.getInt(position);
+            if(length == 0) {
+                return new ScanResult(position, lastLsn, replayed, false);
+            }
+            if(length < RECORD_HEADER || length > limit - position
+                    || buffer.getInt(position + 4) != checksum(buffer, position + 8, length - 8)
+                    || buffer.getLong(position + 8) != lastLsn + 1) {
+                return new ScanResult(position, lastLsn, replayed, true);
+            }
+
+            long lsn = lastLsn + 1;
+            if(lsn > afterLsn) {
+                WalEntity entity = WalEntity.of(buffer.get(position + 16));
+                byte op = buffer.get(position + 17);
+                long id = buffer.getLong(position + 18);
+                ByteBuffer payload = buffer.slice(position + RECORD_HEADER, length - RECORD_HEADER).asReadOnlyBuffer();
+                handler.accept(new WalRecord(lsn, entity, op, id, payload, strings));
+                replayed++;
+            }
+            lastLsn = lsn;
+            position += length;
+        }
+        return new ScanResult(position, lastLsn, replayed, false);
+    }
+
+    private record ScanResult(int end, long lastLsn, long replayed, boolean torn) {
+    }
+
+    private static int checksum(ByteBuffer buffer, int from, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(from, length));
+        return (int) crc.getValue();
+    }
+
+    // 반드시 appendLock 을 잡은 상태에서 호출할 것.
+    private boolean isOpen(Path file) {
+        if(active != null && active.path.equals(file)) return true;
+        for (Segment segment : sealed) {
+            if(segment.path.equals(file)) return true;
+        }
+        return false;
+    }
+
+    private static long baseLsnOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    // 파일 이름이 0 으로 채운 시작 lsn 이라 이름순 = lsn 순
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long baseLsn;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position;
+        private int flushedPosition;
+
+        private Segment(Path path, long baseLsn, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.baseLsn = baseLsn;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        // 파일을 segmentSize 로 매핑하면 0 으로 채워진 채로 늘어난다. (= 빈 레코드 영역)
+        static Segment create(Path directory, long baseLsn, int size) throws IOException {
+            Path path = directory.resolve(String.format("%020d%s", baseLsn, SUFFIX));
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            buffer.putLong(8, baseLsn);
+
+            Segment segment = new Segment(path, baseLsn, channel, buffer);
+            segment.position = SEGMENT_HEADER;
+            return segment;
+        }
+
+        // 헤더가 온전하지 않으면 null
+        static Segment open(Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            if(size < SEGMENT_HEADER || size > Integer.MAX_VALUE) {
+                channel.close();
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if(buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                channel.close();
+                return null;
+            }
+            return new Segment(path, buffer.getLong(8), channel, buffer);
+        }
+
+        int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        // 지난번 fsync 이후 쓴 부분만 디스크로 내린다.
+        void force(int end) {
+            if(end > flushedPosition) {
+                buffer.force(flushedPosition, end - flushedPosition);
+                flushedPosition = end;
+            }
+        }
+
+        // 깨진 꼬리를 지워서 다음 복구 때 이어 쓴 레코드 뒤의 쓰레기를 레코드로 읽지 않도록 한다.
+        void zeroFrom(int from) {
+            for (int i = from; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("wal.segment.close.failed file={}", path.getFileName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.takgeun.shop.global.web;
+
+// 약한(weak) ETag 생성기
+// 응답 바이트를 만들어서 해시하는 게 아니라 "응답을 결정하는 값들"(엔티티 id + version, 커서 등)로 ETag를 만든다.
+// 그래서 If-None-Match 가 맞으면 DTO 변환/직렬화 없이 바로 304를 돌려줄 수 있다.
+//
+// 같은 값들을 같은 순서로 넣으면 항상 같은 ETag -> 응답에 영향을 주는 값은 빠짐없이 넣어야 한다.
+// 강한 ETag 는 "같은 ETag = 같은 바이트"를 약속해야 하는데, 메모리 저장소는 엔티티를 요청끼리 공유하고
+// 엔티티는 필드를 먼저 바꾸고 version 을 나중에 올리니, 직렬화가 새 필드 + 이전 version 조합을 볼 수 있다.
+// 그래서 의미상 같은 표현이라는 약한 ETag 로 낸다. (If-None-Match 는 약한 비교라 304 는 그대로, Range/If-Range 에는 쓰이지 않음)
+public final class ETags {
+
+    private final String kind;
+    private long hash = 0x9E3779B97F4A7C15L;
+
+    private ETags(String kind) {
+        this.kind = kind;
+    }
+
+    // kind : 응답 종류 구분용 접두어 (같은 값이라도 상품 단건/목록 ETag 가 겹치지 않도록)
+    public static ETags of(String kind) {
+        return new ETags(kind);
+    }
+
+    public ETags add(long value) {
+        hash = Long.rotateLeft(hash ^ mix(value), 27) * 0x94D049BB133111EBL;
+        return this;
+    }
+
+    public ETags add(boolean value) {
+        return add(value ? 1L : 0L);
+    }
+
+    // null 과 빈 문자열이 같은 값이 되지 않도록 길이를 먼저 넣는다.
+    public ETags add(String value) {
+        if(value == null) return add(-1L);
+        add(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            add(value.charAt(i));
+        }
+        return this;
+    }
+
+    public ETags add(Long value) {
+        return value == null ? add(Long.MIN_VALUE) : add(value.longValue());
+    }
+
+    // W/"<kind>-<hash>"
+    public String build() {
+        return "W/\"" + kind + "-" + Long.toHexString(mix(hash)) + "\"";
+    }
+
+    // SplitMix64 finalizer : 비슷한 값(1, 2, 3 ...)도 비트가 고르게 퍼지도록
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,8 +1,12 @@
 package io.github.takgeun.shop.member.api;
 
+import io.github.takgeun.shop.global.auth.AuthMode;
+import io.github.takgeun.shop.global.auth.AuthTokenService;
 import io.github.takgeun.shop.global.session.SessionConst;
 import io.github.takgeun.shop.member.application.AuthService;
+import io.github.takgeun.shop.member.domain.Member;
 import io.github.takgeun.shop.member.dto.request.LoginRequest;
+import io.github.takgeun.shop.member.dto.response.TokenResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
@@ -17,24 +21,31 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final AuthService authService;
+    private final AuthTokenService authTokenService;
 
-    // 로그인 (세션 생성)
+    // 로그인 (세션 모드 : 세션 생성, 토큰 모드 : 서명된 토큰 발급)
     @PostMapping("/login")
-    public ResponseEntity<Void> login(@Valid @RequestBody LoginRequest request,
+    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request,
                                       HttpServletRequest httpRequest
     ) {
-        Long memberId = authService.login(request.getEmail(), request.getPassword());
+        // 프록시 뒤라면 server.forward-headers-strategy 설정으로 getRemoteAddr 가 실제 클라이언트 주소가 되게 한다.
+        Member member = authService.login(request.getEmail(), request.getPassword(), httpRequest.getRemoteAddr());
+
+        if(authTokenService.mode() == AuthMode.TOKEN) {
+            String token = authTokenService.issue(member.getId());
+            return ResponseEntity.ok(new TokenResponse(token, "Bearer", authTokenService.ttl().toSeconds()));
+        }
 
         // 세션 생성(없을 때) -> 로그인 때는 세션이 없으면 만들어야 함.
         HttpSession session = httpRequest.getSession(true);
         // true : 세션이 있으면 기존 세션을 반환한다. 세션이 없으면 새로운 세션을 생성해서 반환한다.
         // false : 세션이 있으면 기존 세션을 반환한다. 세션이 없으면 새로운 세션을 생성하지 않고 null을 반환한다.
-        session.setAttribute(SessionConst.LOGIN_MEMBER_ID, memberId);
+        session.setAttribute(SessionConst.LOGIN_MEMBER_ID, member.getId());
 
         return ResponseEntity.ok().build();
     }
 
-    // 로그아웃 (세션 삭제)
+    // 로그아웃 (세션 삭제). 토큰 모드는 서버에 지울 것이 없으니 클라이언트가 토큰을 버리면 끝
     @PostMapping("/logout")
     public ResponseEntity<Void> logout(HttpServletRequest httpRequest) {
         HttpSession session = httpRequest.getSession(false);        // 세션이 없으면 null (로그아웃할 때는 세션이 없을 떄 만들 필요 없음)
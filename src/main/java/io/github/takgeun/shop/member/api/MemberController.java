@@ -5,13 +5,16 @@ package io.github.takgeun.shop.member.api;
  * 검증/흐름 제어 O
  * 도메인 조작 X*/
 
+import io.github.takgeun.shop.global.auth.LoginMember;
+import io.github.takgeun.shop.global.auth.LoginMemberId;
 import io.github.takgeun.shop.global.error.UnauthorizedException;
-import io.github.takgeun.shop.global.session.SessionConst;
 import io.github.takgeun.shop.member.application.MemberService;
+import io.github.takgeun.shop.member.domain.Member;
 import io.github.takgeun.shop.member.dto.request.MemberSignupRequest;
 import io.github.takgeun.shop.member.dto.request.MemberUpdateRequest;
 import io.github.takgeun.shop.member.dto.response.MemberResponse;
 import io.github.takgeun.shop.member.dto.response.MemberSignupResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -44,21 +47,21 @@ public class MemberController {
                 .body(new MemberSignupResponse(id));
     }
 
-    // 내 정보 조회 (세션 기반)
+    // 내 정보 조회 (로그인 회원)
     @GetMapping("/me")
     public ResponseEntity<MemberResponse> getMe(
-            @SessionAttribute(name = SessionConst.LOGIN_MEMBER_ID, required = false) Long memberId
+            @LoginMember Member member
     ) {
-        if(memberId == null) {
+        if(member == null) {
             throw new UnauthorizedException("로그인이 필요합니다.");
         }
-        return ResponseEntity.ok(MemberResponse.from(memberService.get(memberId)));
+        return ResponseEntity.ok(MemberResponse.from(member));
     }
 
-    // 내 정보 수정 (PATCH, 세션 기반)
+    // 내 정보 수정 (PATCH, 로그인 회원)
     @PatchMapping("/me")
     public ResponseEntity<Void> updateMe(
-            @SessionAttribute(name = SessionConst.LOGIN_MEMBER_ID, required = false) Long memberId,
+            @LoginMemberId Long memberId,
             @Valid @RequestBody MemberUpdateRequest request
     ) {
         if(memberId == null) {
@@ -75,14 +78,17 @@ public class MemberController {
     // 회원 탈퇴(비활성화)
     @DeleteMapping("/me")
     public ResponseEntity<Void> deactivateMe(
-            @SessionAttribute(name = SessionConst.LOGIN_MEMBER_ID, required = false) Long memberId,
-            HttpSession session
+            @LoginMemberId Long memberId,
+            HttpServletRequest request
     ) {
         if(memberId == null) {
             throw new UnauthorizedException("로그인이 필요합니다.");
         }
         memberService.deactivate(memberId);
-        session.invalidate();       // 탈퇴했으면 세션 끊기
+        HttpSession session = request.getSession(false);
+        if(session != null) {
+            session.invalidate();       // 탈퇴했으면 세션 끊기 (토큰 모드는 세션이 없고, 비활성 회원은 주문/로그인이 막힌다.)
+        }
         return ResponseEntity.noContent().build();
     }
 }
@@ -4,6 +4,8 @@ import io.github.takgeun.shop.global.error.ForbiddenException;
 import io.github.takgeun.shop.global.error.UnauthorizedException;
 import io.github.takgeun.shop.member.domain.Member;
 import io.github.takgeun.shop.member.domain.MemberRepository;
+import io.github.takgeun.shop.member.domain.PasswordHasher;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -12,23 +14,43 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class AuthService {
 
+    // 로그인 실패는 봇 트래픽(계정 대입)에서 가장 많이 나는 응답이라 예외를 미리 만들어 두고 재사용 (BusinessException 참고)
+    private static final UnauthorizedException LOGIN_FAILED = new UnauthorizedException("이메일 또는 비밀번호가 올바르지 않습니다.");
+
     private final MemberRepository memberRepository;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
 
-    public Long login(String email, String password) {
+    // clientIp : 요청을 보낸 주소 (시도 횟수 제한 키, 없으면 이메일로만 제한)
+    @Timed("shop.auth.login")
+    public Member login(String email, String password, String clientIp) {
         // 존재 여부를 구체적으로 노출하지 않도록 하기 위해 이메일이 틀린거랑 비밀번호 틀린거 예외 메시지 통일
+        // 없는 이메일도 해시 검증 한 번을 똑같이 치러서 응답 시간으로도 구분되지 않게 한다.
         String normalized = email.trim().toLowerCase();
-        Member member = memberRepository.findByEmail(normalized)
-                .orElseThrow(() -> new UnauthorizedException("이메일 또는 비밀번호가 올바르지 않습니다."));
+
+        // 시도 횟수 제한은 회원 조회/해시 검증보다 먼저 (넘친 시도는 저장소, 해시 스레드를 쓰지 않는다.)
+        loginThrottle.acquire(normalized, clientIp);
+
+        Member member = memberRepository.findByEmail(normalized).orElse(null);
+        if(member == null) {
+            passwordHasher.matches(password, null);
+            throw LOGIN_FAILED;
+        }
 
         // 비밀번호 불일치
-        if(!member.getPassword().equals(password)) {
-            throw new UnauthorizedException("이메일 또는 비밀번호가 올바르지 않습니다.");
+        if(!member.matchesPassword(password, passwordHasher)) {
+            throw LOGIN_FAILED;
         }
 
         if(!member.isActive()) {
             throw new ForbiddenException("비활성화된 회원입니다.");
         }
 
-        return member.getId();
+        // 해시 설정이 바뀌었으면(비용 상향 등) 평문을 알고 있는 지금 새 설정으로 다시 저장
+        if(member.rehashPasswordIfNeeded(password, passwordHasher)) {
+            memberRepository.save(member);
+        }
+
+        return member;
     }
 }
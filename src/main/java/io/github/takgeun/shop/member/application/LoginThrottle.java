@@ -0,0 +1,146 @@
+package io.github.takgeun.shop.member.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.github.takgeun.shop.global.error.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 로그인 시도 제한 : 이메일별, 클라이언트 IP별로 window 동안 최대 N번
+// AuthService 가 회원 조회/해시 검증보다 먼저 부르므로, 넘친 시도는 저장소나 해시 스레드까지 가지 않고 바로 429
+// - 계정 대입(한 IP 가 여러 이메일) -> IP 한도, 비밀번호 대입(여러 IP 가 한 이메일) -> 이메일 한도
+// - 슬라이딩 윈도 카운터 : 직전 창 횟수를 지난 비율만큼 깎아서 더한다. (고정 창 경계에서 한도의 두 배가 통과하는 문제 없음)
+// - 키마다 AtomicLong 하나에 (창 번호, 직전 창 횟수, 현재 창 횟수)를 묶어 두고 CAS 로만 갱신 (락 없음)
+// - 키 수는 max-keys 로 제한하고, window 의 두 배 동안 시도가 없던 키는 만료 -> 이메일/IP 를 바꿔 가며 보내도 메모리가 늘지 않는다.
+@Component
+public class LoginThrottle {
+
+    // 거절은 봇 트래픽에서 가장 많이 나는 응답이라 미리 만들어 두고 재사용 (BusinessException 참고)
+    private static final TooManyRequestsException THROTTLED =
+            new TooManyRequestsException("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+
+    // 창 안의 횟수는 16비트 칸에 담는다.
+    private static final int MAX_ATTEMPTS = 0xFFFF;
+
+    private final Limit email;
+    private final Limit ip;
+    private final long windowNanos;
+    private final Ticker ticker;
+
+    @Autowired
+    public LoginThrottle(@Value("${shop.login-throttle.email-attempts:10}") int emailAttempts,
+                         @Value("${shop.login-throttle.ip-attempts:50}") int ipAttempts,
+                         @Value("${shop.login-throttle.window:1m}") Duration window,
+                         @Value("${shop.login-throttle.max-keys:100000}") long maxKeys) {
+        this(emailAttempts, ipAttempts, window, maxKeys, Ticker.systemTicker());
+    }
+
+    LoginThrottle(int emailAttempts, int ipAttempts, Duration window, long maxKeys, Ticker ticker) {
+        if(emailAttempts < 1 || ipAttempts < 1 || emailAttempts > MAX_ATTEMPTS || ipAttempts > MAX_ATTEMPTS) {
+            throw new IllegalArgumentException("login-throttle.email-attempts, ip-attempts는 1~" + MAX_ATTEMPTS + " 사이여야 합니다.");
+        }
+        if(window.isNegative() || window.isZero() || maxKeys < 1) {
+            throw new IllegalArgumentException("login-throttle.window, max-keys는 0보다 커야 합니다.");
+        }
+        this.windowNanos = window.toNanos();
+        this.ticker = ticker;
+        this.email = new Limit(emailAttempts, window.multipliedBy(2), maxKeys, ticker);
+        this.ip = new Limit(ipAttempts, window.multipliedBy(2), maxKeys, ticker);
+    }
+
+    /**
+     * 로그인 시도 한 번을 센다. 한도를 넘었으면 TooManyRequestsException (429)
+     * IP 를 먼저 본다. (IP 에서 막히면 이메일 쪽 횟수는 쓰지 않아서, 공격 IP 가 피해자 계정의 한도를 다 써 버리는 일을 줄인다.)
+     * normalizedEmail : 소문자/trim 을 마친 이메일 (대소문자를 바꿔 가며 한도를 피하지 못하도록)
+     */
+    public void acquire(String normalizedEmail, String clientIp) {
+        long now = ticker.read();
+        if(clientIp != null && !ip.tryAcquire(clientIp, now, windowNanos)) {
+            throw THROTTLED;
+        }
+        if(normalizedEmail != null && !email.tryAcquire(normalizedEmail, now, windowNanos)) {
+            throw THROTTLED;
+        }
+    }
+
+    public long rejectedByEmail() {
+        return email.rejected.get();
+    }
+
+    public long rejectedByIp() {
+        return ip.rejected.get();
+    }
+
+    // 추적 중인 키 수 (이메일 + IP, 만료 정리 전 값이 섞일 수 있는 추정치)
+    public long trackedKeys() {
+        return email.windows.estimatedSize() + ip.windows.estimatedSize();
+    }
+
+    // 키 종류(이메일/IP)마다 한도와 키 -> 카운터 맵
+    private static final class Limit {
+
+        private final int attempts;
+        private final Cache<String, SlidingWindow> windows;
+        private final AtomicLong rejected = new AtomicLong();
+
+        private Limit(int attempts, Duration idle, long maxKeys, Ticker ticker) {
+            this.attempts = attempts;
+            this.windows = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(idle)
+                    .ticker(ticker)
+                    .build();
+        }
+
+        private boolean tryAcquire(String key, long now, long windowNanos) {
+            if(windows.get(key, k -> new SlidingWindow()).tryAcquire(now, windowNanos, attempts)) {
+                return true;
+            }
+            rejected.incrementAndGet();
+            return false;
+        }
+    }
+
+    // 상태 = 창 번호(상위 32비트) | 직전 창 횟수(16비트) | 현재 창 횟수(16비트)
+    private static final class SlidingWindow {
+
+        private final AtomicLong state = new AtomicLong();
+
+        private boolean tryAcquire(long now, long windowNanos, int limit) {
+            long window = Math.floorDiv(now, windowNanos);
+            int currentWindow = (int) window;
+            // 현재 창에서 지난 비율 (0.0 ~ 1.0)
+            double elapsed = (double) Math.floorMod(now, windowNanos) / windowNanos;
+            while (true) {
+                long seen = state.get();
+                int seenWindow = (int) (seen >>> 32);
+                int previous;
+                int current;
+                if(seenWindow == currentWindow) {
+                    previous = (int) (seen >>> 16) & MAX_ATTEMPTS;
+                    current = (int) seen & MAX_ATTEMPTS;
+                } else if(seenWindow == currentWindow - 1) {
+                    previous = (int) seen & MAX_ATTEMPTS;
+                    current = 0;
+                } else {
+                    previous = 0;
+                    current = 0;
+                }
+
+                // 거절된 시도는 세지 않는다. (막힌 동안 계속 두드려도 창이 지나면 풀린다.)
+                if(previous * (1.0 - elapsed) + current >= limit) {
+                    return false;
+                }
+                long next = ((long) currentWindow << 32) | ((long) previous << 16) | (current + 1);
+                if(state.compareAndSet(seen, next)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import io.github.takgeun.shop.member.domain.Member;
 import io.github.takgeun.shop.member.domain.MemberRepository;
 import io.github.takgeun.shop.member.domain.MemberRole;
 import io.github.takgeun.shop.member.domain.MemberStatus;
+import io.github.takgeun.shop.member.domain.PasswordHasher;
 import io.github.takgeun.shop.member.dto.request.MemberUpdateRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,7 @@ public class MemberService {
     // Controller -> MemberService -> MemberRepository 경로로 저장소 접근하기
 
     private final MemberRepository memberRepository;
+    private final PasswordHasher passwordHasher;
 
     // 회원가입 (유스케이스 UC-M01 구현)
     public Long signup(String email, String password, String name, String phone) {
@@ -30,8 +32,7 @@ public class MemberService {
             throw new ConflictException("이미 사용 중인 이메일입니다.");
         }
 
-        // TODO(v2) : password는 인코딩 후 저장
-        Member member = Member.create(normalizedEmail, password, name, phone);
+        Member member = Member.create(normalizedEmail, password, name, phone, passwordHasher);
         return memberRepository.save(member).getId();
     }
 
@@ -61,7 +62,7 @@ public class MemberService {
                 .orElseThrow(() -> new NotFoundException("회원이 존재하지 않습니다."));
 
         if(password != null) {
-            member.changePassword(password);
+            member.changePassword(password, passwordHasher);
         }
         if(name != null) {
             member.changeName(name);
@@ -16,10 +16,10 @@ public class Member {
     protected Member() {
     }
 
-    public Member(String email, String password, String name, String phone) {
+    public Member(String email, String password, String name, String phone, PasswordHasher passwordHasher) {
         // 생성자 생성 시점에서 검증 로직 넣기
         changeEmail(email);
-        changePassword(password);
+        changePassword(password, passwordHasher);
         changeName(name);
         changePhone(phone);
         this.role = MemberRole.USER;
@@ -36,8 +36,23 @@ public class Member {
         this.id = id;
     }
 
-    public static Member create(String email, String password, String name, String phone) {
-        return new Member(email, password, name, phone);
+    // password 는 평문. 규칙 검증 후 passwordHasher 로 해시한 값만 보관한다.
+    public static Member create(String email, String password, String name, String phone, PasswordHasher passwordHasher) {
+        return new Member(email, password, name, phone, passwordHasher);
+    }
+
+    // 저장해 둔 상태(WAL, DB)에서 되살릴 때만 사용. (검증 없이 저장 시점 값 그대로)
+    public static Member restore(Long id, String email, String password, String name, String phone,
+                                 MemberRole role, MemberStatus status) {
+        Member member = new Member();
+        member.id = id;
+        member.email = email;
+        member.password = password;
+        member.name = name;
+        member.phone = phone;
+        member.role = role;
+        member.status = status;
+        return member;
     }
 
     public void changeEmail(String email) {
@@ -65,7 +80,8 @@ public class Member {
         this.email = normalized;
     }
 
-    public void changePassword(String password) {
+    // password 는 평문 (길이 규칙은 평문 기준), 저장은 해시
+    public void changePassword(String password, PasswordHasher passwordHasher) {
         // password 필수 검증 (null 체크 + trim() 기준 비어있는지 체크) --> IllegalArgumentException 400 Bad Request
         if(password == null) {
             throw new IllegalArgumentException("password는 필수입니다.");
@@ -84,7 +100,21 @@ public class Member {
 
         // 특수문자 및 대소문자 포함 등등 규칙은 나중에
 
-        this.password = password;
+        this.password = passwordHasher.hash(password);
+    }
+
+    public boolean matchesPassword(String password, PasswordHasher passwordHasher) {
+        return password != null && passwordHasher.matches(password, this.password);
+    }
+
+    // 해시 설정(알고리즘/비용)이 바뀌었거나 평문으로 저장돼 있던 비밀번호면 방금 확인한 평문으로 다시 해시
+    // 바뀌었으면 true (호출 측에서 저장)
+    public boolean rehashPasswordIfNeeded(String password, PasswordHasher passwordHasher) {
+        if(!passwordHasher.needsRehash(this.password)) {
+            return false;
+        }
+        this.password = passwordHasher.hash(password);
+        return true;
     }
 
     public void changeName(String name) {
@@ -0,0 +1,15 @@
+package io.github.takgeun.shop.member.domain;
+
+// 비밀번호 해시 정책 (구현 : member/infra)
+// 저장하는 값(encoded)에 알고리즘과 비용 파라미터가 같이 들어 있어서, 설정을 바꿔도 예전 해시는 그대로 검증된다.
+public interface PasswordHasher {
+
+    String hash(String rawPassword);
+
+    // encodedPassword 가 null(없는 회원)이어도 같은 비용으로 검증만 하고 false
+    // -> 없는 이메일과 틀린 비밀번호의 응답 시간이 같아서 시간 차로 가입 여부를 알아낼 수 없다.
+    boolean matches(String rawPassword, String encodedPassword);
+
+    // 지금 설정(알고리즘/비용)과 다르게 만들어진 해시인지. 로그인 성공 시 새 설정으로 다시 해시한다.
+    boolean needsRehash(String encodedPassword);
+}
@@ -0,0 +1,13 @@
+package io.github.takgeun.shop.member.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 토큰 모드 로그인 응답. 이후 요청에 Authorization: Bearer {accessToken}
+@Getter
+@AllArgsConstructor
+public class TokenResponse {
+    private String accessToken;
+    private String tokenType;
+    private long expiresIn;     // 초
+}
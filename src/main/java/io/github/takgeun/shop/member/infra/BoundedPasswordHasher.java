@@ -0,0 +1,116 @@
+package io.github.takgeun.shop.member.infra;
+
+import io.github.takgeun.shop.global.error.ServiceUnavailableException;
+import io.github.takgeun.shop.member.domain.PasswordHasher;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher.Algorithm;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 비밀번호 해시 계산은 전용 스레드 풀(기본 코어 수의 절반)에서만 돌린다.
+// 로그인/가입이 한꺼번에 몰려도 해시가 쓰는 CPU 는 스레드 수만큼으로 묶이고, 상품 조회/주문 같은 다른 요청은 나머지 코어로 계속 처리된다.
+// 대기열(hash-queue)까지 차면 바로 503 으로 거절 (요청 스레드가 줄 서서 쌓이지 않도록)
+@Component
+public class BoundedPasswordHasher implements PasswordHasher, DisposableBean {
+
+    private static final ServiceUnavailableException OVERLOADED =
+            new ServiceUnavailableException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+
+    private final PasswordHasher delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+    private final AtomicLong rejected = new AtomicLong();
+
+    // 알고리즘마다 비용(반복 횟수)을 따로 둔다. 기본값은 PasswordHasherBenchmark 로 잰 해시 1회 지연 기준 (application.properties 참고)
+    @Autowired
+    public BoundedPasswordHasher(@Value("${shop.password.algorithm:pbkdf2-sha256}") String algorithm,
+                                 @Value("${shop.password.pbkdf2-sha256.iterations:310000}") int sha256Iterations,
+                                 @Value("${shop.password.pbkdf2-sha512.iterations:80000}") int sha512Iterations,
+                                 @Value("${shop.password.hash-threads:0}") int threads,
+                                 @Value("${shop.password.hash-queue:64}") int queueCapacity,
+                                 @Value("${shop.password.hash-timeout:5s}") Duration timeout) {
+        this(hasher(Algorithm.of(algorithm), sha256Iterations, sha512Iterations),
+                threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                queueCapacity, timeout);
+    }
+
+    BoundedPasswordHasher(PasswordHasher delegate, int threads, int queueCapacity, Duration timeout) {
+        if(threads < 1 || queueCapacity < 1 || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("hash-threads, hash-queue, hash-timeout은 0보다 커야 합니다.");
+        }
+        this.delegate = delegate;
+        this.timeoutNanos = timeout.toNanos();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private static PasswordHasher hasher(Algorithm algorithm, int sha256Iterations, int sha512Iterations) {
+        return new Pbkdf2PasswordHasher(algorithm,
+                algorithm == Algorithm.PBKDF2_SHA256 ? sha256Iterations : sha512Iterations);
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return run(() -> delegate.hash(rawPassword));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // 저장된 문자열만 보고 판단 (해시 계산 없음)
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return delegate.needsRehash(encodedPassword);
+    }
+
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw OVERLOADED;
+        }
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);       // 대기열에 있던 작업은 실행되지 않고 건너뛴다. 계산 중이면 끝까지 돌고 결과만 버린다.
+            rejected.incrementAndGet();
+            throw OVERLOADED;
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw OVERLOADED;
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
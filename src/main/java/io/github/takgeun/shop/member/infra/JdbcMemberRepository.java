@@ -0,0 +1,105 @@
+package io.github.takgeun.shop.member.infra;
+
+import io.github.takgeun.shop.global.error.ConflictException;
+import io.github.takgeun.shop.member.domain.Member;
+import io.github.takgeun.shop.member.domain.MemberRepository;
+import io.github.takgeun.shop.member.domain.MemberRole;
+import io.github.takgeun.shop.member.domain.MemberStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+// jdbc 프로필 : 회원 테이블 (schema.sql)
+// 이메일 중복은 UNIQUE 인덱스(uk_member_email)가 막고, 위반이면 메모리 저장소와 같은 409로 바꾼다.
+@Repository
+@Profile("jdbc")
+public class JdbcMemberRepository implements MemberRepository {
+
+    private static final String COLUMNS = "id, email, password, name, phone, role, status";
+
+    private static final RowMapper<Member> ROW_MAPPER = (rs, rowNum) -> Member.restore(
+            rs.getLong("id"),
+            rs.getString("email"),
+            rs.getString("password"),
+            rs.getString("name"),
+            rs.getString("phone"),
+            MemberRole.valueOf(rs.getString("role")),
+            MemberStatus.valueOf(rs.getString("status")));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public JdbcMemberRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public Member save(Member member) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", member.getId())
+                .addValue("email", member.getEmail())
+                .addValue("password", member.getPassword())
+                .addValue("name", member.getName())
+                .addValue("phone", member.getPhone())
+                .addValue("role", member.getRole().name())
+                .addValue("status", member.getStatus().name());
+        try {
+            if(member.getId() == null) {
+                KeyHolder keys = new GeneratedKeyHolder();
+                jdbc.update("""
+                        INSERT INTO member (email, password, name, phone, role, status)
+                        VALUES (:email, :password, :name, :phone, :role, :status)""", params, keys, new String[]{"id"});
+                member.assignId(Objects.requireNonNull(keys.getKey()).longValue());
+            } else if(jdbc.update("""
+                    UPDATE member SET email = :email, password = :password, name = :name, phone = :phone,
+                                      role = :role, status = :status
+                    WHERE id = :id""", params) == 0) {
+                jdbc.update("""
+                        INSERT INTO member (id, email, password, name, phone, role, status)
+                        VALUES (:id, :email, :password, :name, :phone, :role, :status)""", params);
+            }
+        } catch (DuplicateKeyException e) {
+            throw new ConflictException("이미 사용 중인 이메일입니다.");
+        }
+        return member;
+    }
+
+    @Override
+    public Optional<Member> findById(Long id) {
+        if(id == null) return Optional.empty();
+        return jdbc.query("SELECT " + COLUMNS + " FROM member WHERE id = :id", Map.of("id", id), ROW_MAPPER)
+                .stream().findFirst();
+    }
+
+    @Override
+    public Optional<Member> findByEmail(String email) {
+        if(email == null) return Optional.empty();
+        return jdbc.query("SELECT " + COLUMNS + " FROM member WHERE email = :email",
+                        Map.of("email", normalize(email)), ROW_MAPPER)
+                .stream().findFirst();
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        if(email == null) return false;
+        return !jdbc.queryForList("SELECT 1 FROM member WHERE email = :email",
+                Map.of("email", normalize(email)), Integer.class).isEmpty();
+    }
+
+    @Override
+    public List<Member> findAll() {
+        return jdbc.query("SELECT " + COLUMNS + " FROM member ORDER BY id", ROW_MAPPER);
+    }
+
+    private String normalize(String email) {
+        return email.trim().toLowerCase();
+    }
+}
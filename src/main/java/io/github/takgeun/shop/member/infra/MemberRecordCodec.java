@@ -0,0 +1,37 @@
+package io.github.takgeun.shop.member.infra;
+
+import io.github.takgeun.shop.global.wal.RecordCodec;
+import io.github.takgeun.shop.global.wal.RecordReader;
+import io.github.takgeun.shop.global.wal.RecordWriter;
+import io.github.takgeun.shop.member.domain.Member;
+import io.github.takgeun.shop.member.domain.MemberRole;
+import io.github.takgeun.shop.member.domain.MemberStatus;
+
+// 회원 레코드 : id, email, password, name, phone, role, status (필드 순서 = 포맷)
+final class MemberRecordCodec implements RecordCodec<Member> {
+
+    private static final MemberRole[] ROLES = MemberRole.values();
+    private static final MemberStatus[] STATUSES = MemberStatus.values();
+
+    @Override
+    public Long idOf(Member member) {
+        return member.getId();
+    }
+
+    @Override
+    public void write(Member member, RecordWriter out) {
+        out.putId(member.getId())
+                .putString(member.getEmail())
+                .putString(member.getPassword())
+                .putString(member.getName())
+                .putString(member.getPhone())
+                .putEnum(member.getRole())
+                .putEnum(member.getStatus());
+    }
+
+    @Override
+    public Member read(RecordReader in) {
+        return Member.restore(in.getLong(), in.getString(), in.getString(), in.getString(), in.getString(),
+                in.getEnum(ROLES), in.getEnum(STATUSES));
+    }
+}
@@ -1,36 +1,53 @@
 package io.github.takgeun.shop.member.infra;
 
+import io.github.takgeun.shop.global.error.ConflictException;
 import io.github.takgeun.shop.member.domain.Member;
 import io.github.takgeun.shop.member.domain.MemberRepository;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
+@Profile("!jdbc")     // jdbc 프로필에서는 Jdbc*Repository 를 쓴다.
 public class MemoryMemberRepository implements MemberRepository {
 
-    // 저장 순서는 필요하지 않을 것 같음. HashMap<> 사용
-    private final Map<Long, Member> store = new HashMap<>();
-    private long sequence = 0L;
+    // 저장 순서는 필요하지 않을 것 같음. 동시 가입/로그인이 있으니 ConcurrentHashMap 사용
+    private final ConcurrentMap<Long, Member> store = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong(0);
+
+    // 이메일 인덱스 : 정규화된 email -> memberId
+    // 로그인/가입 중복 체크마다 전체 회원을 훑지 않도록 하기 위함. (DB의 email UNIQUE 인덱스 역할)
+    private final ConcurrentMap<String, Long> emailIndex = new ConcurrentHashMap<>();
+
+    // 회원이 현재 어떤 email로 인덱스에 올라가 있는지 (memberId -> email)
+    // Member.changeEmail 후 save 하면 이전 email 키를 지워야 하니까 따로 기록해둔다.
+    private final ConcurrentMap<Long, String> indexedEmail = new ConcurrentHashMap<>();
 
     @Override
     public Member save(Member member) {
         if(member.getId() == null) {
-            long id = ++sequence;
+            long id = sequence.incrementAndGet();
             member.assignId(id);
-            store.put(id, member);
-            return member;
+        } else if(member.getId() > sequence.get()) {
+            // 복구(WAL 재생)처럼 id가 이미 정해진 채로 들어오면 다음 신규 id가 겹치지 않도록 시퀀스를 따라 올린다.
+            sequence.accumulateAndGet(member.getId(), Math::max);
         }
 
-        // 수정할 때는 기존 id로 덮어쓰기
-        // 우선 메모리 저장이니까 Map에 덮어쓰자.
+        // 인덱스를 먼저 갱신해서 다른 회원이 이미 쓰는 email이면 저장 자체를 막는다.
+        // 신규, 수정 모두 덮어쓰기
+        reindexEmail(member);
         store.put(member.getId(), member);
         return member;
     }
 
     @Override
     public Optional<Member> findById(Long id) {
-        return Optional.ofNullable(store.get(id));  // 값이 있으면 Optional<Category> 없으면 Optional.empty()
+        if(id == null) return Optional.empty();
+        return Optional.ofNullable(store.get(id));  // 값이 있으면 Optional<Member> 없으면 Optional.empty()
     }
 
     @Override
@@ -38,10 +55,18 @@ public class MemoryMemberRepository implements MemberRepository {
         if(email == null) {
             return Optional.empty();
         }
-        String key = email.trim().toLowerCase();
-        return store.values().stream()
-                .filter(m -> key.equals(m.getEmail()))
-                .findFirst();
+        String key = normalize(email);
+        Long id = emailIndex.get(key);
+        if(id == null) {
+            return Optional.empty();
+        }
+
+        // 인덱스와 실제 엔티티의 email이 어긋나 있으면(changeEmail 후 아직 save 전) 없는 것으로 본다.
+        Member member = store.get(id);
+        if(member == null || !key.equals(member.getEmail())) {
+            return Optional.empty();
+        }
+        return Optional.of(member);
     }
 
     @Override
@@ -53,4 +78,34 @@ public class MemoryMemberRepository implements MemberRepository {
     public List<Member> findAll() {
         return new ArrayList<>(store.values());
     }
+
+    // WAL 에 기록하지 못한 신규 가입을 되돌린다. (WalMemberRepository 전용, 이메일도 다시 쓸 수 있게 인덱스에서 뺀다.)
+    void discard(Long id) {
+        store.remove(id);
+        String email = indexedEmail.remove(id);
+        if(email != null) {
+            emailIndex.remove(email, id);
+        }
+    }
+
+    // compute는 같은 memberId에 대해 원자적으로 실행되므로 같은 회원의 동시 save가 인덱스를 꼬이게 하지 않는다.
+    private void reindexEmail(Member member) {
+        Long id = member.getId();
+        String email = member.getEmail();
+
+        indexedEmail.compute(id, (memberId, previous) -> {
+            Long owner = emailIndex.putIfAbsent(email, memberId);
+            if(owner != null && !owner.equals(memberId)) {
+                throw new ConflictException("이미 사용 중인 이메일입니다.");
+            }
+            if(previous != null && !previous.equals(email)) {
+                emailIndex.remove(previous, memberId);
+            }
+            return email;
+        });
+    }
+
+    private String normalize(String email) {
+        return email.trim().toLowerCase();
+    }
 }
@@ -0,0 +1,132 @@
+package io.github.takgeun.shop.member.infra;
+
+import io.github.takgeun.shop.member.domain.PasswordHasher;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// PBKDF2 (JDK 내장, 외부 의존성 없음)
+// 저장 형식 : $pbkdf2-sha256$i=<반복 횟수>$<salt>$<hash>   (salt/hash 는 패딩 없는 Base64)
+// '$' 로 시작하지 않는 값은 해싱 도입 전에 평문으로 저장된 비밀번호로 보고, 검증은 하되 항상 다시 해시 대상으로 돌린다.
+// (WAL/DB 에 남아 있는 기존 회원은 다음 로그인 때 자연스럽게 해시로 바뀐다.)
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    private static final int SALT_BYTES = 16;
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    public enum Algorithm {
+        PBKDF2_SHA256("pbkdf2-sha256", "PBKDF2WithHmacSHA256", 32),
+        PBKDF2_SHA512("pbkdf2-sha512", "PBKDF2WithHmacSHA512", 64);
+
+        private final String id;
+        private final String jcaName;
+        private final int hashBytes;
+
+        Algorithm(String id, String jcaName, int hashBytes) {
+            this.id = id;
+            this.jcaName = jcaName;
+            this.hashBytes = hashBytes;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public static Algorithm of(String id) {
+            for (Algorithm algorithm : values()) {
+                if(algorithm.id.equals(id)) return algorithm;
+            }
+            throw new IllegalArgumentException("지원하지 않는 비밀번호 해시 알고리즘입니다. algorithm=" + id);
+        }
+    }
+
+    private final Algorithm algorithm;
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    // 없는 회원 검증용 (같은 비용의 해시 하나를 미리 만들어 둔다)
+    private final String dummy;
+
+    public Pbkdf2PasswordHasher(Algorithm algorithm, int iterations) {
+        if(iterations < 1) {
+            throw new IllegalArgumentException("iterations는 1 이상이어야 합니다.");
+        }
+        this.algorithm = algorithm;
+        this.iterations = iterations;
+        this.dummy = hash("dummy-password");
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(algorithm, rawPassword, salt, iterations);
+        return "$" + algorithm.id + "$i=" + iterations + "$" + ENCODER.encodeToString(salt) + "$" + ENCODER.encodeToString(hash);
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if(rawPassword == null) {
+            return false;
+        }
+        if(encodedPassword == null) {
+            matches(rawPassword, dummy);
+            return false;
+        }
+        if(!encodedPassword.startsWith("$")) {
+            return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                    encodedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        Encoded encoded = Encoded.parse(encodedPassword);
+        if(encoded == null) {
+            return false;
+        }
+        byte[] actual = derive(encoded.algorithm, rawPassword, encoded.salt, encoded.iterations);
+        return MessageDigest.isEqual(actual, encoded.hash);   // 비교 시간이 어디서 달라지는지 노출하지 않도록
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        Encoded encoded = encodedPassword == null ? null : Encoded.parse(encodedPassword);
+        return encoded == null || encoded.algorithm != algorithm || encoded.iterations != iterations;
+    }
+
+    private static byte[] derive(Algorithm algorithm, String rawPassword, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(rawPassword.toCharArray(), salt, iterations, algorithm.hashBytes * 8);
+        try {
+            return SecretKeyFactory.getInstance(algorithm.jcaName).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("비밀번호 해시 계산에 실패했습니다. algorithm=" + algorithm.id, e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private record Encoded(Algorithm algorithm, int iterations, byte[] salt, byte[] hash) {
+
+        // 형식이 어긋나면 null (검증 실패로 처리)
+        // 반복 횟수 0 이하나 빈 salt 는 PBEKeySpec 이 IllegalArgumentException 을 던져 로그인이 400 이 되니 여기서 걸러낸다.
+        static Encoded parse(String encoded) {
+            String[] parts = encoded.split("\\$");
+            if(parts.length != 5 || !parts[2].startsWith("i=")) {
+                return null;
+            }
+            try {
+                int iterations = Integer.parseInt(parts[2].substring(2));
+                byte[] salt = DECODER.decode(parts[3]);
+                if(iterations < 1 || salt.length == 0) {
+                    return null;
+                }
+                return new Encoded(Algorithm.of(parts[1]), iterations, salt, DECODER.decode(parts[4]));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.takgeun.shop.member.infra;
+
+import io.github.takgeun.shop.global.wal.WalEntity;
+import io.github.takgeun.shop.global.wal.WalRepositorySupport;
+import io.github.takgeun.shop.global.wal.WriteAheadLog;
+import io.github.takgeun.shop.member.domain.Member;
+import io.github.takgeun.shop.member.domain.MemberRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// wal 프로필 : 조회는 메모리 저장소 그대로, save 는 WAL 에 남긴 뒤 돌려준다.
+// 이메일 변경/가입은 다른 회원의 이메일에 따라 성공이 갈리니 반영 + 로그를 한 락으로 직렬화한다. (로그인은 조회라 영향 없음)
+@Primary
+@Profile("wal")
+@Repository
+public class WalMemberRepository extends WalRepositorySupport<Member> implements MemberRepository {
+
+    private final MemoryMemberRepository delegate;
+
+    public WalMemberRepository(MemoryMemberRepository delegate, WriteAheadLog writeAheadLog) {
+        super(writeAheadLog, WalEntity.MEMBER, new MemberRecordCodec(), 1);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Member save(Member member) {
+        return logSave(member, delegate::save);
+    }
+
+    @Override
+    protected void restore(Member restored) {
+        delegate.save(restored);
+    }
+
+    @Override
+    protected void discard(Long id) {
+        delegate.discard(id);
+    }
+
+    @Override
+    protected Collection<Member> entities() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<Member> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<Member> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public List<Member> findAll() {
+        return delegate.findAll();
+    }
+}
@@ -1,17 +1,22 @@
 package io.github.takgeun.shop.order.api;
 
-import io.github.takgeun.shop.global.session.SessionConst;
+import io.github.takgeun.shop.global.auth.LoginMember;
+import io.github.takgeun.shop.global.page.CursorPage;
+import io.github.takgeun.shop.global.page.PageCursor;
+import io.github.takgeun.shop.member.domain.Member;
 import io.github.takgeun.shop.order.application.AdminOrderService;
 import io.github.takgeun.shop.order.dto.response.AdminOrderListResponse;
-import jakarta.servlet.http.HttpSession;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
+@Validated
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/admin/orders")
@@ -20,11 +25,15 @@ public class AdminOrderController {
     private final AdminOrderService adminOrderService;
 
     @GetMapping
-    public ResponseEntity<List<AdminOrderListResponse>> getAll(HttpSession session) {
-
-        Long memberId = (Long) session.getAttribute(SessionConst.LOGIN_MEMBER_ID);
-
-        List<AdminOrderListResponse> response = adminOrderService.getAll(memberId);
+    public ResponseEntity<CursorPage<AdminOrderListResponse>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE)
+            @Min(value = 1, message = "size는 1 이상이어야 합니다.")
+            @Max(value = PageCursor.MAX_SIZE, message = "size는 100 이하여야 합니다.") int size,
+            @LoginMember Member member
+    ) {
+
+        CursorPage<AdminOrderListResponse> response = adminOrderService.getAll(member, cursor, size);
 
         return ResponseEntity.ok(response);
     }
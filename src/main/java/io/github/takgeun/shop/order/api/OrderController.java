@@ -1,23 +1,33 @@
 package io.github.takgeun.shop.order.api;
 
-import io.github.takgeun.shop.global.session.SessionConst;
+import io.github.takgeun.shop.global.auth.LoginMember;
+import io.github.takgeun.shop.global.auth.LoginMemberId;
+import io.github.takgeun.shop.global.page.CursorPage;
+import io.github.takgeun.shop.global.page.PageCursor;
+import io.github.takgeun.shop.member.domain.Member;
 import io.github.takgeun.shop.order.application.OrderService;
 import io.github.takgeun.shop.order.domain.Order;
+import io.github.takgeun.shop.order.dto.request.OrderCheckoutRequest;
 import io.github.takgeun.shop.order.dto.request.OrderCreateRequest;
+import io.github.takgeun.shop.order.dto.request.OrderItemRequest;
 import io.github.takgeun.shop.order.dto.response.OrderCreateResponse;
 import io.github.takgeun.shop.order.dto.response.OrderListResponse;
 import io.github.takgeun.shop.order.dto.response.OrderResponse;
-import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+@Validated
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/orders")
@@ -29,13 +39,11 @@ public class OrderController {
     @PostMapping
     public ResponseEntity<OrderCreateResponse> create(
             @Valid @RequestBody OrderCreateRequest request,
-            HttpSession session
+            @LoginMember Member member
     ) {
 
-        Long memberId = (Long) session.getAttribute(SessionConst.LOGIN_MEMBER_ID);
-
         Long orderId = orderService.create(
-                memberId, request.getProductId(), request.getQuantity(), request.getRecipientName(),
+                member, request.getProductId(), request.getQuantity(), request.getRecipientName(),
                 request.getRecipientPhone(), request.getShippingZipCode(), request.getShippingAddress(),
                 request.getRequestMessage()
         );
@@ -44,12 +52,44 @@ public class OrderController {
                 .body(new OrderCreateResponse(orderId));
     }
 
-    // 내 주문 목록 조회
-    @GetMapping
-    public ResponseEntity<OrderListResponse> getMyOrder(HttpSession session) {
-        Long memberId = (Long) session.getAttribute(SessionConst.LOGIN_MEMBER_ID);
+    // 장바구니 결제 : 여러 상품을 주문 하나로 (재고는 전부 예약되거나 하나도 예약되지 않음)
+    @PostMapping("/checkout")
+    public ResponseEntity<OrderCreateResponse> checkout(
+            @Valid @RequestBody OrderCheckoutRequest request,
+            @LoginMember Member member
+    ) {
 
-        List<Order> myOrders = orderService.getMyOrders(memberId);
+        // 같은 상품이 여러 번 담겨 있으면 수량을 합친다. (순서는 장바구니 순서 유지)
+        // 합이 int 를 넘으면 음수/작은 수로 돌아가 정상 주문처럼 보이니 넘치는 순간 400
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        try {
+            for (OrderItemRequest item : request.getItems()) {
+                quantities.merge(item.getProductId(), item.getQuantity(), Math::addExact);
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("같은 상품의 quantity 합계가 너무 큽니다.");
+        }
+
+        Long orderId = orderService.checkout(
+                member, quantities, request.getRecipientName(),
+                request.getRecipientPhone(), request.getShippingZipCode(), request.getShippingAddress(),
+                request.getRequestMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new OrderCreateResponse(orderId));
+    }
+
+    // 내 주문 목록 조회 (최근 주문 먼저, 다음 페이지는 응답의 nextCursor 사용)
+    @GetMapping
+    public ResponseEntity<OrderListResponse> getMyOrder(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE)
+            @Min(value = 1, message = "size는 1 이상이어야 합니다.")
+            @Max(value = PageCursor.MAX_SIZE, message = "size는 100 이하여야 합니다.") int size,
+            @LoginMemberId Long memberId
+    ) {
+        CursorPage<Order> myOrders = orderService.getMyOrders(memberId, cursor, size);
 
         return ResponseEntity.ok(OrderListResponse.from(myOrders));
     }
@@ -58,10 +98,8 @@ public class OrderController {
     @GetMapping("/{orderId}")
     public ResponseEntity<OrderResponse> getDetail(
             @PathVariable @NotNull(message = "orderId는 필수입니다.") @Positive(message = "orderId는 양수여야 합니다.") Long orderId,
-            HttpSession session
+            @LoginMemberId Long memberId
     ) {
-        Long memberId = (Long) session.getAttribute(SessionConst.LOGIN_MEMBER_ID);
-
         OrderResponse response = orderService.getDetail(memberId, orderId);
 
         return ResponseEntity.ok(response);
@@ -71,10 +109,8 @@ public class OrderController {
     @PostMapping("/{orderId}/cancel")
     public ResponseEntity<Void> cancel(
             @PathVariable @NotNull(message = "orderId는 필수입니다.") @Positive(message = "orderId는 양수여야 합니다.") Long orderId,
-            HttpSession session
+            @LoginMemberId Long memberId
     ) {
-        Long memberId = (Long) session.getAttribute(SessionConst.LOGIN_MEMBER_ID);
-
         orderService.cancel(memberId, orderId);
 
         return ResponseEntity.noContent().build();
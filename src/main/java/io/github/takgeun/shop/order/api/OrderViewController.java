@@ -1,16 +1,19 @@
 package io.github.takgeun.shop.order.api;
 
+import io.github.takgeun.shop.global.auth.AuthMode;
+import io.github.takgeun.shop.global.auth.AuthTokenService;
+import io.github.takgeun.shop.global.auth.LoginMember;
+import io.github.takgeun.shop.global.auth.LoginMemberId;
 import io.github.takgeun.shop.global.error.ConflictException;
 import io.github.takgeun.shop.global.error.ForbiddenException;
 import io.github.takgeun.shop.global.error.NotFoundException;
-import io.github.takgeun.shop.global.session.SessionConst;
+import io.github.takgeun.shop.member.domain.Member;
 import io.github.takgeun.shop.order.application.OrderService;
 import io.github.takgeun.shop.order.domain.Order;
 import io.github.takgeun.shop.order.dto.request.OrderCreateRequest;
 import io.github.takgeun.shop.order.dto.response.OrderResponse;
 import io.github.takgeun.shop.product.application.ProductService;
 import io.github.takgeun.shop.product.domain.Product;
-import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -32,8 +35,13 @@ import java.util.List;
 @RequestMapping("/orders")
 public class OrderViewController {
 
+    // 토큰 로그인 모드에서는 주문 화면을 쓰지 않는다. (폼 전송/링크 이동에는 Authorization 헤더가 실리지 않아 로그인할 방법이 없다)
+    // 비로그인처럼 보이게 두지 않고 이유를 알린 뒤 상품 목록으로 보낸다. 주문은 API(/api/v1/orders)로
+    private static final String TOKEN_MODE_MESSAGE = "토큰 로그인 모드에서는 주문 화면을 쓸 수 없습니다. 주문 API(/api/v1/orders)를 이용해 주세요.";
+
     private final ProductService productService;
     private final OrderService orderService;
+    private final AuthTokenService authTokenService;
 
     /**
      * 주문서 페이지
@@ -42,8 +50,13 @@ public class OrderViewController {
     @GetMapping("/new")
     public String newOrderForm(
             @RequestParam @NotNull @Positive Long productId,
-            Model model
+            Model model,
+            RedirectAttributes ra
     ) {
+        if (tokenMode()) {
+            return rejectTokenMode(ra);
+        }
+
         Product product = productService.getPublic(productId);
 
         // 폼 초깃값
@@ -64,15 +77,18 @@ public class OrderViewController {
     public String create(
             @Valid @ModelAttribute("form") OrderCreateRequest form,
             BindingResult bindingResult,
-            HttpSession session,
+            @LoginMember Member member,
             Model model,
             RedirectAttributes ra
     ) {
-        log.info("POST /orders 컨트롤러 진입");
-        log.info("form={}", form);
-        log.info("productId={}, qty={}, name={}, phone={}, zipCode={}, address={}, requestMessage={}",
-                form.getProductId(), form.getQuantity(), form.getRecipientName(), form.getRecipientPhone(),
-                form.getShippingZipCode(), form.getShippingAddress(), form.getRequestMessage());
+        // 폼 전체(이름/연락처/주소)는 개인정보라 로그에 남기지 않는다.
+        if(log.isDebugEnabled()) {
+            log.debug("order.form productId={} quantity={}", form.getProductId(), form.getQuantity());
+        }
+
+        if (tokenMode()) {
+            return rejectTokenMode(ra);
+        }
 
         // 폼 검증 실패 시 -> 주문서로 forward (입력값 유지 + 에러 표시)
         if (bindingResult.hasErrors()) {
@@ -80,10 +96,8 @@ public class OrderViewController {
             return "orders/new";
         }
 
-        Long memberId = (Long) session.getAttribute(SessionConst.LOGIN_MEMBER_ID);
-
         // 로그인 여부 확인
-        if (memberId == null) {
+        if (member == null) {
             ra.addFlashAttribute("error", "로그인이 필요합니다.");
             ra.addAttribute("productId", form.getProductId());
             return "redirect:/orders/new";      // 로그인 뷰가 없으니 임시로 주문페이지로 돌아오도록 하기
@@ -93,7 +107,7 @@ public class OrderViewController {
         // 서비스 호출
         try {
             Long orderId = orderService.create(
-                    memberId,
+                    member,
                     form.getProductId(),
                     form.getQuantity(),
                     form.getRecipientName(),
@@ -119,8 +133,10 @@ public class OrderViewController {
      * GET /orders
      */
     @GetMapping
-    public String myOrders(HttpSession session, Model model, RedirectAttributes ra) {
-        Long memberId = (Long) session.getAttribute(SessionConst.LOGIN_MEMBER_ID);
+    public String myOrders(@LoginMemberId Long memberId, Model model, RedirectAttributes ra) {
+        if (tokenMode()) {
+            return rejectTokenMode(ra);
+        }
 
         // 로그인 여부 체크
         if(memberId == null) {
@@ -141,12 +157,13 @@ public class OrderViewController {
     @GetMapping("/{orderId}")
     public String detail(
             @PathVariable @NotNull @Positive Long orderId,
-            HttpSession session,
+            @LoginMemberId Long memberId,
             Model model,
             RedirectAttributes ra
     ) {
-
-        Long memberId = (Long) session.getAttribute(SessionConst.LOGIN_MEMBER_ID);
+        if (tokenMode()) {
+            return rejectTokenMode(ra);
+        }
 
         // 로그인 체크
         if (memberId == null) {
@@ -173,10 +190,12 @@ public class OrderViewController {
     @PostMapping("/{orderId}/cancel")
     public String cancel(
             @PathVariable @NotNull @Positive Long orderId,
-            HttpSession session,
+            @LoginMemberId Long memberId,
             RedirectAttributes ra
     ) {
-        Long memberId = (Long) session.getAttribute(SessionConst.LOGIN_MEMBER_ID);
+        if (tokenMode()) {
+            return rejectTokenMode(ra);
+        }
 
         // 로그인 체크
         if (memberId == null) {
@@ -199,4 +218,13 @@ public class OrderViewController {
             return "redirect:/orders/" + orderId;
         }
     }
+
+    private boolean tokenMode() {
+        return authTokenService.mode() == AuthMode.TOKEN;
+    }
+
+    private String rejectTokenMode(RedirectAttributes ra) {
+        ra.addFlashAttribute("error", TOKEN_MODE_MESSAGE);
+        return "redirect:/products";
+    }
 }
@@ -2,7 +2,8 @@ package io.github.takgeun.shop.order.application;
 
 import io.github.takgeun.shop.global.error.ForbiddenException;
 import io.github.takgeun.shop.global.error.UnauthorizedException;
-import io.github.takgeun.shop.member.application.MemberService;
+import io.github.takgeun.shop.global.page.CursorPage;
+import io.github.takgeun.shop.global.page.PageCursor;
 import io.github.takgeun.shop.member.domain.Member;
 import io.github.takgeun.shop.member.domain.MemberRole;
 import io.github.takgeun.shop.order.domain.Order;
@@ -18,23 +19,25 @@ import java.util.List;
 public class AdminOrderService {
 
     private final OrderRepository orderRepository;
-    private final MemberService memberService;
 
-    // 전체 주문 목록 조회
-    public List<AdminOrderListResponse> getAll(Long memberId) {
-        if(memberId == null) {
+    // 전체 주문 목록 조회 (최근 주문 먼저, 커서 기반)
+    // 시스템 전체 주문을 한 번에 DTO로 만들지 않고 size 개씩만 만든다.
+    // member : 요청마다 한 번 조회해 둔 로그인 회원 (@LoginMember). 권한 확인에 저장소를 다시 타지 않는다.
+    public CursorPage<AdminOrderListResponse> getAll(Member member, String cursor, int size) {
+        if(member == null) {
             throw new UnauthorizedException("로그인이 필요합니다.");
         }
 
-        Member member = memberService.get(memberId);
         if(member.getRole() != MemberRole.ADMIN) {
             throw new ForbiddenException("관리자만 접근할 수 있습니다.");
         }
 
-        List<Order> orders = orderRepository.findAll();
+        PageCursor.validateSize(size);
+        Long beforeId = PageCursor.decode(cursor);
 
-        return orders.stream()
-                .map(AdminOrderListResponse::from)
-                .toList();
+        List<Order> fetched = orderRepository.findAllBefore(beforeId, size + 1);
+
+        return CursorPage.of(fetched, size, Order::getId)
+                .map(AdminOrderListResponse::from);
     }
 }
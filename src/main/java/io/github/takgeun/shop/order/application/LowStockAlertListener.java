@@ -0,0 +1,61 @@
+package io.github.takgeun.shop.order.application;
+
+import io.github.takgeun.shop.global.error.NotFoundException;
+import io.github.takgeun.shop.order.domain.OrderEvent;
+import io.github.takgeun.shop.product.application.ProductService;
+import io.github.takgeun.shop.product.domain.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// 재고 부족 알림 : 주문/취소 이벤트 묶음을 받아서 재고가 기준 이하로 떨어진 상품을 한 번씩 알린다.
+// 주문 요청 스레드가 아니라 이벤트 디스패처 스레드에서 돌기 때문에 상품 조회 비용이 주문 API 지연에 더해지지 않는다.
+@Slf4j
+@Component
+public class LowStockAlertListener implements OrderEventListener {
+
+    private final ProductService productService;
+    private final int threshold;
+
+    // 이미 알린 상품 (재고가 기준 위로 회복되면 다시 알릴 수 있도록 뺀다)
+    // 디스패처 스레드 하나에서만 호출되니 동기화 필요 없음
+    private final Set<Long> alerted = new HashSet<>();
+
+    public LowStockAlertListener(ProductService productService,
+                                 @Value("${shop.stock.low-threshold:5}") int threshold) {
+        this.productService = productService;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void onEvents(List<OrderEvent> events) {
+        // 같은 상품이 묶음 안에 여러 번 나와도 한 번만 확인
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (OrderEvent event : events) {
+            for (OrderEvent.Line line : event.lines()) {
+                productIds.add(line.productId());
+            }
+        }
+
+        for (Long productId : productIds) {
+            Product product;
+            try {
+                product = productService.getAdmin(productId);
+            } catch (NotFoundException e) {
+                alerted.remove(productId);
+                continue;
+            }
+
+            if(product.getStock() > threshold) {
+                alerted.remove(productId);
+            } else if(alerted.add(productId)) {
+                log.warn("stock.low productId={} stock={} threshold={}", productId, product.getStock(), threshold);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.takgeun.shop.order.application;
+
+import io.github.takgeun.shop.order.domain.OrderEvent;
+
+import java.util.List;
+
+// 주문 이벤트 후속 처리 (빈으로 등록하면 이벤트 버스가 자동으로 연결)
+// 요청 스레드가 아닌 이벤트 디스패처 스레드에서 발생 순서대로 묶음(batch) 단위로 호출된다.
+// 예외를 던져도 다른 리스너나 다음 묶음 처리에는 영향이 없다. (로그만 남김)
+public interface OrderEventListener {
+
+    void onEvents(List<OrderEvent> events);
+}
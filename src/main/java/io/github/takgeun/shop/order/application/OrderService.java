@@ -4,22 +4,34 @@ import io.github.takgeun.shop.global.error.ConflictException;
 import io.github.takgeun.shop.global.error.ForbiddenException;
 import io.github.takgeun.shop.global.error.NotFoundException;
 import io.github.takgeun.shop.global.error.UnauthorizedException;
-import io.github.takgeun.shop.member.application.MemberService;
+import io.github.takgeun.shop.global.page.CursorPage;
+import io.github.takgeun.shop.global.page.PageCursor;
 import io.github.takgeun.shop.member.domain.Member;
 import io.github.takgeun.shop.member.domain.MemberStatus;
 import io.github.takgeun.shop.order.domain.Order;
+import io.github.takgeun.shop.order.domain.OrderEvent.OrderCanceled;
+import io.github.takgeun.shop.order.domain.OrderEvent.OrderCreated;
+import io.github.takgeun.shop.order.domain.OrderEventPublisher;
+import io.github.takgeun.shop.order.domain.OrderLine;
 import io.github.takgeun.shop.order.domain.OrderRepository;
 import io.github.takgeun.shop.order.domain.OrderStatus;
 import io.github.takgeun.shop.order.dto.response.OrderListResponse;
 import io.github.takgeun.shop.order.dto.response.OrderResponse;
 import io.github.takgeun.shop.product.application.ProductService;
+import io.github.takgeun.shop.product.application.StockReservationService;
+import io.github.takgeun.shop.product.application.StockReservationService.Reservation;
 import io.github.takgeun.shop.product.domain.Product;
 import io.github.takgeun.shop.product.domain.ProductStatus;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -27,69 +39,124 @@ import java.util.List;
 // requestDTO로 곧바로 받기보다는 컨트롤러에서 풀어서 넘겨오도록 할 것.
 public class OrderService {
 
+    // 한 번에 결제할 수 있는 주문 상품 종류 수 상한
+    public static final int MAX_ORDER_LINES = 50;
+
+    // 비로그인 요청(봇 등)마다 예외를 새로 만들지 않도록 (BusinessException 참고)
+    private static final UnauthorizedException LOGIN_REQUIRED = new UnauthorizedException("로그인이 필요합니다.");
+
     private final OrderRepository orderRepository;
     private final ProductService productService;
-    private final MemberService memberService;
+    private final StockReservationService stockReservationService;
+
+    // 알림/분석/재고 알림 같은 후속 처리는 이벤트로 넘기고 주문 요청은 기다리지 않는다.
+    private final OrderEventPublisher orderEventPublisher;
 
     /**
      * 주문 생성 (UC-O02)
+     * member : 요청마다 한 번 조회해 둔 로그인 회원 (@LoginMember), 비로그인이면 null
      * 회원 ACTIVE 검증
      * 상품 존재/판매 가능 상태 검증
      * 재고 충분 검증 + 차감
      * 상품명/단가 스냅샷 생성
      * Order 생성 후 저장
+     * -> 상품 한 줄짜리 checkout 과 같다.
      */
-    public Long create(Long memberId, Long productId, int quantity,
+    @Timed("shop.order.create")
+    public Long create(Member member, Long productId, int quantity,
                        String recipientName, String recipientPhone,
                        String shippingZipCode, String shippingAddress, String requestMessage) {
 
-        log.info("memberId={}, productId={}, productStatus={}",
-                memberId, productId, productService.getPublic(productId).getStatus());
+        return checkout(member, Collections.singletonMap(productId, quantity),
+                recipientName, recipientPhone, shippingZipCode, shippingAddress, requestMessage);
+    }
+
+    /**
+     * 장바구니 결제 : 여러 상품을 주문 하나로 (UC-O02 확장)
+     * quantities : productId -> 수량 (순서 = 주문 상품 줄 순서)
+     *
+     * 회원 검증은 한 번만
+     * 상품 존재/판매 가능 상태 검증 + 상품명/단가 스냅샷 (줄마다)
+     * 배송 정보 검증 (재고를 건드리기 전에)
+     * 재고는 전부 예약하거나 하나도 예약하지 않는다. (중간 실패 시 원복)
+     */
+    @Timed("shop.order.checkout")
+    public Long checkout(Member member, Map<Long, Integer> quantities,
+                         String recipientName, String recipientPhone,
+                         String shippingZipCode, String shippingAddress, String requestMessage) {
 
         // 로그인 상태 검증
-        validateAuthenticated(memberId);
+        if(member == null) {
+            throw LOGIN_REQUIRED;
+        }
 
-        // 회원 상태 검증
-        Member member = memberService.get(memberId);
+        // 회원 상태 검증 (이미 조회된 회원이라 여기서 저장소를 다시 타지 않는다.)
         if(member.getStatus() != MemberStatus.ACTIVE) {
             throw new ForbiddenException("비활성 회원은 주문할 수 없습니다.");
         }
+        Long memberId = member.getId();
 
-        // 상품 상태 검증
-        Product product = productService.getPublic(productId);
-        if(product.getStatus() != ProductStatus.ON_SALE) {
-            throw new ConflictException("판매 중인 상품만 주문할 수 있습니다.");
+        if(quantities == null || quantities.isEmpty()) {
+            throw new IllegalArgumentException("주문 상품은 1개 이상이어야 합니다.");
+        }
+        if(quantities.size() > MAX_ORDER_LINES) {
+            throw new IllegalArgumentException("한 번에 주문할 수 있는 상품은 " + MAX_ORDER_LINES + "개 이하입니다.");
         }
 
-        // 재고 검증/차감
-        if(quantity < 1) {
-            throw new IllegalArgumentException("quantity는 1 이상입니다.");
+        // 상품 상태 검증 + 스냅샷
+        // 상품은 여기서 한 번만 조회하고, 같은 Product로 스냅샷과 재고 예약을 모두 처리한다.
+        List<OrderLine> lines = new ArrayList<>(quantities.size());
+        List<Reservation> reservations = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Integer quantity = entry.getValue();
+            if(quantity == null || quantity < 1) {
+                throw new IllegalArgumentException("quantity는 1 이상입니다.");
+            }
+
+            Product product = productService.getPublic(entry.getKey());
+            if(product.getStatus() != ProductStatus.ON_SALE) {
+                throw new ConflictException("판매 중인 상품만 주문할 수 있습니다.");
+            }
+            lines.add(OrderLine.create(product.getId(), product.getName(), product.getPrice(), quantity));
+            reservations.add(new Reservation(product, quantity));
         }
 
-//        int productStock = product.getStock();
-//        if(productStock < quantity) {
-//            throw new ConflictException("판매 중인 상품의 재고가 주문 수량보다 적습니다.");
-//        }
-//        int decreasedStock = productStock - quantity;
-//        productService.update(productId, null, null, null, decreasedStock, null);
+        // 주문 생성 (배송 정보 검증) -> 실패하면 재고는 그대로
+        Order order = Order.create(
+                memberId, lines, recipientName, recipientPhone,
+                shippingZipCode, shippingAddress, requestMessage
+        );
 
         // 주문서비스에서 상품 수정을 하면 재고 변경 규칙/상품 변경 규칙이 섞일 수 있고
-        // null을 여러 개 넘기는 방식은 유지보수에 좋지 않음.
-        // 또한 stock 읽고, 비교하고, update 호출 방식은 동시 요청이 들어왔을 때 동시성 문제가 발생할 가능성이 있음.
-        // 검증 + 차감은 Product 도메인 하나에서 처리하도록 하자.
-        product.decreaseStock(quantity);    // 내부에서 재고 부족이면 ConflictException
-        productService.save(product);       // 저장 반영은 ProductService 에서
+        // stock 읽고, 비교하고, update 호출 방식은 동시 요청이 들어왔을 때 동시성 문제가 발생할 가능성이 있음.
+        // 검증 + 차감은 재고 예약 서비스에서 원자적으로 처리하도록 하자. (CAS, 전부 아니면 전무)
+        stockReservationService.reserveAll(reservations);
+
+        Long orderId;
+        try {
+            orderId = orderRepository.save(order).getId();
+        } catch (RuntimeException e) {
+            // 저장이 실패했어도 주문이 저장소에 남아 있으면(WAL 에 붙인 뒤 fsync 만 실패) 재고는 주문과 같이 둔다.
+            // 여기서 되돌리면 남은 주문을 나중에 취소할 때 한 번 더 되돌아간다.
+            // 원복까지 실패하면(WAL 실패 상태 등) 원래 예외를 그대로 던진다.
+            try {
+                if(!orderRepository.existsById(order.getId())) {
+                    stockReservationService.releaseAll(quantities);
+                }
+            } catch (RuntimeException releaseFailure) {
+                e.addSuppressed(releaseFailure);
+            }
+            throw e;
+        }
 
-        // 스냅샷
-        String productNameSnapshot = product.getName();
-        int unitPriceSnapshot = product.getPrice();
+        orderEventPublisher.publish(OrderCreated.of(order));
 
-        // 주문 생성 + 저장
-        Order order = Order.create(
-                memberId, productId, productNameSnapshot, unitPriceSnapshot, quantity, recipientName, recipientPhone,
-                shippingZipCode, shippingAddress, requestMessage
-        );
-        return orderRepository.save(order).getId();
+        // 주문마다 찍히는 로그라 기본(INFO)에서는 남기지 않는다. 개인정보(배송지/연락처)는 넣지 않음.
+        if(log.isDebugEnabled()) {
+            log.debug("order.created orderId={} memberId={} lines={} totalPrice={}",
+                    orderId, memberId, lines.size(), order.getTotalPrice());
+        }
+        return orderId;
     }
 
     // 내 주문 목록 조회
@@ -99,6 +166,16 @@ public class OrderService {
         return orderRepository.findAllByMemberId(memberId);
     }
 
+    // 내 주문 목록 페이지 조회 (최근 주문 먼저, 커서 기반)
+    public CursorPage<Order> getMyOrders(Long memberId, String cursor, int size) {
+        validateAuthenticated(memberId);
+        PageCursor.validateSize(size);
+
+        Long beforeId = PageCursor.decode(cursor);
+        List<Order> fetched = orderRepository.findAllByMemberIdBefore(memberId, beforeId, size + 1);
+        return CursorPage.of(fetched, size, Order::getId);
+    }
+
     // 주문 상세 조회
     public OrderResponse getDetail(Long memberId, Long orderId) {
         validateAuthenticated(memberId);
@@ -115,6 +192,7 @@ public class OrderService {
     }
 
     // 단일 주문 취소
+    @Timed("shop.order.cancel")
     public void cancel(Long memberId, Long orderId) {
         validateAuthenticated(memberId);
 
@@ -134,18 +212,29 @@ public class OrderService {
         // 주문 상태 변경
         order.cancel();
 
-        // 재고 원복
+        // 저장 반영을 재고 원복보다 먼저 : DB 저장소는 같은 주문 취소가 동시에 들어오면 저장에서 하나만 통과시키니(409)
+        // 원복이 두 번 일어나지 않는다.
+        orderRepository.save(order);
+
+        // 재고 원복 (주문 상품 전부)
 //        Product product = productService.get(order.getProductId());   // 아 뭔가 Order도메인이 Product 도메인 건드는 게 마음에 안 들음.
 //        product.increaseStock(order.getQuantity());
-        productService.increaseStock(order.getProductId(), order.getQuantity());
+        stockReservationService.releaseAll(quantitiesOf(order));
+        orderEventPublisher.publish(OrderCanceled.of(order));
+    }
 
-        // 저장 반영
-        orderRepository.save(order);
+    // 주문 상품 줄 -> productId별 수량 (같은 상품이 여러 줄이면 합산)
+    private Map<Long, Integer> quantitiesOf(Order order) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderLine line : order.getLines()) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        return quantities;
     }
 
     private void validateAuthenticated(Long memberId) {
         if(memberId == null) {
-            throw new UnauthorizedException("로그인이 필요합니다.");
+            throw LOGIN_REQUIRED;
         }
     }
 }
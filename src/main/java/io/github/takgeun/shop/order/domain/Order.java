@@ -4,6 +4,8 @@ import io.github.takgeun.shop.global.error.ConflictException;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
 
 // 도메인은 불변 규칙과 상태변이 적기
 @Getter
@@ -12,10 +14,8 @@ public class Order {
     private Long memberId;
     private OrderStatus status;
 
-    private Long productId;
-    private String productNameSnapshot;
-    private int unitPriceSnapshot;
-    private int quantity;
+    // 주문 상품 목록 (장바구니 한 번 결제 = 주문 하나 + 여러 줄)
+    private List<OrderLine> lines;
     private int totalPrice;
 
     // 배송 정보
@@ -34,10 +34,7 @@ public class Order {
 
     private Order(
             Long memberId,
-            Long productId,
-            String productNameSnapshot,
-            int unitPriceSnapshot,
-            int quantity,
+            List<OrderLine> lines,
             String recipientName,
             String recipientPhone,
             String shippingZipCode,
@@ -45,15 +42,12 @@ public class Order {
             String requestMessage
     ) {
         // 생성자 생성 시점에서 검증 로직 넣기
-        validateCreate(memberId, productId, productNameSnapshot, unitPriceSnapshot, quantity, recipientName, recipientPhone,
+        validateCreate(memberId, lines, recipientName, recipientPhone,
                 shippingZipCode, shippingAddress, requestMessage);
 
         this.memberId = memberId;
-        this.productId = productId;
-        this.productNameSnapshot = productNameSnapshot;
-        this.unitPriceSnapshot = unitPriceSnapshot;
-        this.quantity = quantity;
-        this.totalPrice = unitPriceSnapshot * quantity;
+        this.lines = List.copyOf(lines);
+        this.totalPrice = sumLineTotals(lines);
         this.recipientName = recipientName;
         this.recipientPhone = recipientPhone;
         this.shippingZipCode = shippingZipCode;
@@ -72,14 +66,67 @@ public class Order {
         this.id = id;
     }
 
+    // 단일 상품 주문
     public static Order create(Long memberId, Long productId, String productNameSnapshot,
                                int unitPriceSnapshot, int quantity,
                                String recipientName, String recipientPhone,
                                String shippingZipCode, String shippingAddress, String requestMessage) {
-        return new Order(memberId, productId, productNameSnapshot, unitPriceSnapshot, quantity, recipientName, recipientPhone, shippingZipCode, shippingAddress, requestMessage);
+        return create(memberId, List.of(OrderLine.create(productId, productNameSnapshot, unitPriceSnapshot, quantity)),
+                recipientName, recipientPhone, shippingZipCode, shippingAddress, requestMessage);
     }
 
-    public void cancel() {
+    // 여러 상품 주문 (장바구니 결제)
+    public static Order create(Long memberId, List<OrderLine> lines,
+                               String recipientName, String recipientPhone,
+                               String shippingZipCode, String shippingAddress, String requestMessage) {
+        return new Order(memberId, lines, recipientName, recipientPhone, shippingZipCode, shippingAddress, requestMessage);
+    }
+
+    // 저장해 둔 상태(WAL, DB)에서 되살릴 때만 사용. (검증 없이 저장 시점 값 그대로, 합계는 주문 상품으로 다시 계산)
+    public static Order restore(Long id, Long memberId, OrderStatus status, List<OrderLine> lines,
+                                String recipientName, String recipientPhone,
+                                String shippingZipCode, String shippingAddress, String requestMessage,
+                                LocalDateTime orderedAt, LocalDateTime canceledAt, LocalDateTime updatedAt) {
+        Order order = new Order();
+        order.id = id;
+        order.memberId = memberId;
+        order.status = status;
+        order.lines = List.copyOf(lines);
+        order.totalPrice = sumLineTotals(lines);
+        order.recipientName = recipientName;
+        order.recipientPhone = recipientPhone;
+        order.shippingZipCode = shippingZipCode;
+        order.shippingAddress = shippingAddress;
+        order.requestMessage = requestMessage;
+        order.orderedAt = orderedAt;
+        order.canceledAt = canceledAt;
+        order.updatedAt = updatedAt;
+        return order;
+    }
+
+    // 단일 상품 화면/응답 호환용 : 대표(첫 번째) 주문 상품 기준
+    public Long getProductId() {
+        return firstLine().getProductId();
+    }
+
+    public String getProductNameSnapshot() {
+        return firstLine().getProductNameSnapshot();
+    }
+
+    public int getUnitPriceSnapshot() {
+        return firstLine().getUnitPriceSnapshot();
+    }
+
+    public int getQuantity() {
+        return firstLine().getQuantity();
+    }
+
+    private OrderLine firstLine() {
+        return lines.get(0);
+    }
+
+    // 같은 주문에 취소 요청이 동시에 들어오면 재고가 두 번 원복될 수 있으니 상태 확인 + 변경을 한 번에 처리
+    public synchronized void cancel() {
         if (this.status != OrderStatus.ORDERED) {
             throw new ConflictException("ORDERED 상태에서만 취소할 수 있습니다.");
         }
@@ -88,16 +135,13 @@ public class Order {
         this.updatedAt = this.canceledAt;
     }
 
-    private static void validateCreate(Long memberId, Long productId, String productNameSnapshot,
-                                       int unitPriceSnapshot, int quantity,
+    private static void validateCreate(Long memberId, List<OrderLine> lines,
                                        String recipientName, String recipientPhone,
                                        String shippingZipCode, String shippingAddress, String requestMessage) {
 
         if(memberId == null) throw new IllegalArgumentException("memberId는 필수입니다.");
-        if(productId == null) throw new IllegalArgumentException("productId는 필수입니다.");
-        requireText(productNameSnapshot, "productNameSnapshot은 필수입니다.");
-        if(unitPriceSnapshot < 0) throw new IllegalArgumentException("unitPriceSnapshot은 0 이상입니다.");
-        if(quantity < 1) throw new IllegalArgumentException("quantity는 1 이상입니다.");
+        if(lines == null || lines.isEmpty()) throw new IllegalArgumentException("주문 상품은 1개 이상이어야 합니다.");
+        if(lines.stream().anyMatch(Objects::isNull)) throw new IllegalArgumentException("주문 상품에 빈 값이 있습니다.");
 
         requireText(recipientName, "recipientName은 필수입니다.");
         if(recipientName.trim().length() > 50) throw new IllegalArgumentException("recipientName은 50자 이하입니다.");
@@ -114,6 +158,18 @@ public class Order {
         if(requestMessage != null && requestMessage.trim().length() > 200) throw new IllegalArgumentException("requestMessage는 200자 이하입니다.");
     }
 
+    private static int sumLineTotals(List<OrderLine> lines) {
+        int total = 0;
+        for (OrderLine line : lines) {
+            try {
+                total = Math.addExact(total, line.getLineTotal());
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("주문 금액이 허용 범위를 넘습니다.");
+            }
+        }
+        return total;
+    }
+
     private static void requireText(String value, String message) {
         if(value == null || value.trim().isEmpty()) throw new IllegalArgumentException(message);
     }
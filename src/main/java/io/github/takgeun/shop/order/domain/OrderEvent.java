@@ -0,0 +1,43 @@
+package io.github.takgeun.shop.order.domain;
+
+import java.time.Instant;
+import java.util.List;
+
+// 주문 이벤트 (주문 생성/취소 이후 후속 처리용 : 알림, 분석, 재고 알림 등)
+// 이벤트는 비동기로 처리되니 가변 엔티티(Order)를 그대로 넘기지 않고 발생 시점의 값만 담는다.
+public sealed interface OrderEvent permits OrderEvent.OrderCreated, OrderEvent.OrderCanceled {
+
+    Long orderId();
+
+    Long memberId();
+
+    List<Line> lines();
+
+    Instant occurredAt();
+
+    record OrderCreated(Long orderId, Long memberId, List<Line> lines, int totalPrice, Instant occurredAt)
+            implements OrderEvent {
+
+        public static OrderCreated of(Order order) {
+            return new OrderCreated(order.getId(), order.getMemberId(), Line.of(order), order.getTotalPrice(), Instant.now());
+        }
+    }
+
+    record OrderCanceled(Long orderId, Long memberId, List<Line> lines, Instant occurredAt)
+            implements OrderEvent {
+
+        public static OrderCanceled of(Order order) {
+            return new OrderCanceled(order.getId(), order.getMemberId(), Line.of(order), Instant.now());
+        }
+    }
+
+    // 주문 상품 한 줄 (상품 + 수량)
+    record Line(Long productId, int quantity) {
+
+        static List<Line> of(Order order) {
+            return order.getLines().stream()
+                    .map(line -> new Line(line.getProductId(), line.getQuantity()))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.takgeun.shop.order.domain;
+
+public interface OrderEventPublisher {
+
+    // 요청 스레드를 막지 않는다. 버퍼가 가득 차서 버려지면 false
+    boolean publish(OrderEvent event);
+}
@@ -0,0 +1,45 @@
+package io.github.takgeun.shop.order.domain;
+
+import lombok.Getter;
+
+// 주문 상품 한 줄 (상품 + 수량 + 주문 시점의 상품명/단가 스냅샷)
+// 주문이 만들어진 뒤에는 바뀌지 않는다.
+@Getter
+public class OrderLine {
+    private Long productId;
+    private String productNameSnapshot;
+    private int unitPriceSnapshot;
+    private int quantity;
+    private int lineTotal;
+
+    protected OrderLine() {
+    }
+
+    private OrderLine(Long productId, String productNameSnapshot, int unitPriceSnapshot, int quantity) {
+        if(productId == null) throw new IllegalArgumentException("productId는 필수입니다.");
+        if(productNameSnapshot == null || productNameSnapshot.trim().isEmpty()) {
+            throw new IllegalArgumentException("productNameSnapshot은 필수입니다.");
+        }
+        if(unitPriceSnapshot < 0) throw new IllegalArgumentException("unitPriceSnapshot은 0 이상입니다.");
+        if(quantity < 1) throw new IllegalArgumentException("quantity는 1 이상입니다.");
+
+        this.productId = productId;
+        this.productNameSnapshot = productNameSnapshot;
+        this.unitPriceSnapshot = unitPriceSnapshot;
+        this.quantity = quantity;
+        this.lineTotal = multiply(unitPriceSnapshot, quantity);
+    }
+
+    public static OrderLine create(Long productId, String productNameSnapshot, int unitPriceSnapshot, int quantity) {
+        return new OrderLine(productId, productNameSnapshot, unitPriceSnapshot, quantity);
+    }
+
+    // 단가 x 수량이 int 범위를 넘으면 음수 금액이 되지 않도록 막는다.
+    private static int multiply(int unitPrice, int quantity) {
+        try {
+            return Math.multiplyExact(unitPrice, quantity);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("주문 금액이 허용 범위를 넘습니다.");
+        }
+    }
+}
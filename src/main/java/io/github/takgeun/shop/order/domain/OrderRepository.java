@@ -1,5 +1,7 @@
 package io.github.takgeun.shop.order.domain;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,6 +9,15 @@ public interface OrderRepository {
 
     Order save(Order order);
 
+    // 여러 주문을 한 번에 저장 (JDBC 는 배치 한 번)
+    default List<Order> saveAll(Collection<Order> orders) {
+        List<Order> saved = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            saved.add(save(order));
+        }
+        return saved;
+    }
+
     Optional<Order> findById(Long id);
 
     boolean existsById(Long id);        // 주문이 존재하는지 체크
@@ -14,4 +25,10 @@ public interface OrderRepository {
     List<Order> findAllByMemberId(Long memberId);
 
     List<Order> findAll();
+
+    // 키셋 페이지네이션 : 최근 주문 먼저(id 내림차순), beforeId(커서)보다 id가 작은 주문을 최대 limit 개
+    // beforeId가 null이면 가장 최근 주문부터
+    List<Order> findAllByMemberIdBefore(Long memberId, Long beforeId, int limit);
+
+    List<Order> findAllBefore(Long beforeId, int limit);
 }
@@ -0,0 +1,40 @@
+package io.github.takgeun.shop.order.dto.request;
+
+import io.github.takgeun.shop.order.application.OrderService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// 장바구니 결제 요청 (여러 상품 -> 주문 하나)
+@Getter
+@Setter
+@NoArgsConstructor          // 기본 생성자는 필수. Jackson이 기본 생성자로 객체 생성 후 필드에 값 주입하니까.
+public class OrderCheckoutRequest {
+
+    @NotEmpty(message = "주문 상품은 1개 이상이어야 합니다.")
+    @Size(max = OrderService.MAX_ORDER_LINES, message = "한 번에 주문할 수 있는 상품은 50개 이하입니다.")
+    private List<@Valid @NotNull(message = "주문 상품에 빈 값이 있습니다.") OrderItemRequest> items;
+
+    @NotBlank(message = "recipientName은 필수입니다.")
+    @Size(max = 50, message = "recipientName은 50자 이하입니다.")
+    private String recipientName;
+
+    @NotBlank(message = "recipientPhone은 필수입니다.")
+    @Pattern(regexp = "^$|^[0-9\\-]{9,20}$", message = "recipientPhone 형식이 올바르지 않습니다.")
+    private String recipientPhone;
+
+    @NotBlank(message = "shippingZipCode은 필수입니다.")
+    @Size(max = 10, message = "shippingZipCode은 10자 이하입니다.")
+    private String shippingZipCode;
+
+    @NotBlank(message = "shippingAddress은 필수입니다.")
+    @Size(max = 200, message = "shippingAddress은 200자 이하입니다.")
+    private String shippingAddress;
+
+    @Size(max = 200, message = "requestMessage은 200자 이하입니다.")
+    private String requestMessage;
+}
@@ -1,13 +1,22 @@
 package io.github.takgeun.shop.order.dto.request;
 
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Getter
 @NoArgsConstructor             // 기본 생성자는 필수. Jackson이 기본 생성자로 객체 생성 후 필드에 값 주입하니까.
-//@AllArgsConstructor         // 요청 DTO는 프레임워크가 만드는 객체임. 스프링이 JSON을 객체로 자동 바인딩할 것이므로 필요 없음.
+@AllArgsConstructor            // 테스트에서 장바구니 항목을 바로 만들기 위함
 public class OrderItemRequest {
+
+    @NotNull(message = "productId는 필수입니다.")
+    @Positive(message = "productId는 양수여야 합니다.")
     private Long productId;
-    private int quantity;
+
+    @NotNull(message = "quantity는 필수입니다.")
+    @Min(value = 1, message = "quantity는 1 이상이어야 합니다.")
+    private Integer quantity;
 }
@@ -0,0 +1,23 @@
+package io.github.takgeun.shop.order.dto.response;
+
+import io.github.takgeun.shop.order.domain.OrderLine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderLineResponse {
+
+    private Long productId;
+    private String productName;
+    private int unitPrice;
+    private int quantity;
+    private int lineTotal;
+
+    public static OrderLineResponse from(OrderLine line) {
+        return new OrderLineResponse(
+                line.getProductId(), line.getProductNameSnapshot(), line.getUnitPriceSnapshot(),
+                line.getQuantity(), line.getLineTotal()
+        );
+    }
+}
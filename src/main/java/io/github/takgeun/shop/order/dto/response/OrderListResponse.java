@@ -1,5 +1,6 @@
 package io.github.takgeun.shop.order.dto.response;
 
+import io.github.takgeun.shop.global.page.CursorPage;
 import io.github.takgeun.shop.order.domain.Order;
 import io.github.takgeun.shop.order.domain.OrderStatus;
 import lombok.AllArgsConstructor;
@@ -14,11 +15,27 @@ public class OrderListResponse {
 
     private List<OrderResponse> orders;
 
+    // 다음 페이지 커서 (마지막 페이지면 null)
+    private String nextCursor;
+    private boolean hasNext;
+
     public static OrderListResponse from(List<Order> orders) {
         return new OrderListResponse(
                 orders.stream()
                         .map(OrderResponse::from)
-                        .toList()
+                        .toList(),
+                null,
+                false
+        );
+    }
+
+    public static OrderListResponse from(CursorPage<Order> page) {
+        return new OrderListResponse(
+                page.getItems().stream()
+                        .map(OrderResponse::from)
+                        .toList(),
+                page.getNextCursor(),
+                page.isHasNext()
         );
     }
 }
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 @AllArgsConstructor
@@ -14,13 +15,16 @@ public class OrderResponse {
     private Long orderId;
     private OrderStatus status;
 
-    // 주문 상품 정보 (스냅샷)
+    // 주문 상품 정보 (스냅샷, 대표 상품 = 첫 번째 줄)
     private Long productId;
     private String productName;
     private int unitPrice;
     private int quantity;
     private int totalPrice;
 
+    // 주문 상품 전체 줄
+    private List<OrderLineResponse> lines;
+
     // 배송 정보
     private String recipientName;
     private String recipientPhone;
@@ -36,7 +40,9 @@ public class OrderResponse {
         return new OrderResponse(
                 order.getId(), order.getStatus(),
                 order.getProductId(), order.getProductNameSnapshot(), order.getUnitPriceSnapshot(), order.getQuantity(),
-                order.getTotalPrice(), order.getRecipientName(), order.getRecipientPhone(),
+                order.getTotalPrice(),
+                order.getLines().stream().map(OrderLineResponse::from).toList(),
+                order.getRecipientName(), order.getRecipientPhone(),
                 order.getShippingZipCode(), order.getShippingAddress(), order.getRequestMessage(),
                 order.getOrderedAt(), order.getCanceledAt()
         );
@@ -0,0 +1,247 @@
+package io.github.takgeun.shop.order.infra;
+
+import io.github.takgeun.shop.global.error.ConflictException;
+import io.github.takgeun.shop.order.domain.Order;
+import io.github.takgeun.shop.order.domain.OrderLine;
+import io.github.takgeun.shop.order.domain.OrderRepository;
+import io.github.takgeun.shop.order.domain.OrderStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// jdbc 프로필 : 주문(orders) + 주문 상품 줄(order_line) 테이블 (schema.sql)
+// 주문 저장 = orders 한 행 + 줄 배치 INSERT 를 한 트랜잭션으로. 줄은 만들어진 뒤 바뀌지 않으니 수정은 orders 행만.
+// 조회는 주문 행들을 먼저 읽고 그 주문들의 줄을 IN 조회 한 번으로 붙인다. (주문마다 줄 조회 N+1 없음)
+@Repository
+@Profile("jdbc")
+public class JdbcOrderRepository implements OrderRepository {
+
+    private static final String COLUMNS = """
+            id, member_id, status, recipient_name, recipient_phone, shipping_zip_code, shipping_address,
+            request_message, ordered_at, canceled_at, updated_at""";
+
+    private static final String INSERT = """
+            INSERT INTO orders (member_id, status, total_price, recipient_name, recipient_phone, shipping_zip_code,
+                                shipping_address, request_message, ordered_at, canceled_at, updated_at)
+            VALUES (:memberId, :status, :totalPrice, :recipientName, :recipientPhone, :shippingZipCode,
+                    :shippingAddress, :requestMessage, :orderedAt, :canceledAt, :updatedAt)""";
+    private static final String INSERT_WITH_ID = """
+            INSERT INTO orders (id, member_id, status, total_price, recipient_name, recipient_phone, shipping_zip_code,
+                                shipping_address, request_message, ordered_at, canceled_at, updated_at)
+            VALUES (:id, :memberId, :status, :totalPrice, :recipientName, :recipientPhone, :shippingZipCode,
+                    :shippingAddress, :requestMessage, :orderedAt, :canceledAt, :updatedAt)""";
+    private static final String INSERT_LINE = """
+            INSERT INTO order_line (order_id, line_no, product_id, product_name, unit_price, quantity)
+            VALUES (:orderId, :lineNo, :productId, :productName, :unitPrice, :quantity)""";
+
+    // 상태 변경은 ORDERED -> CANCELED 뿐이라 ORDERED 인 행만 바꾼다.
+    // 같은 주문 취소가 동시에 들어와도(각자 읽은 사본) 하나만 성공 -> 재고가 두 번 원복되지 않는다.
+    private static final String UPDATE = """
+            UPDATE orders SET status = :status, canceled_at = :canceledAt, updated_at = :updatedAt
+            WHERE id = :id AND status = 'ORDERED'""";
+
+    private static final RowMapper<OrderRow> ROW_MAPPER = (rs, rowNum) -> new OrderRow(
+            rs.getLong("id"),
+            rs.getLong("member_id"),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getString("recipient_name"),
+            rs.getString("recipient_phone"),
+            rs.getString("shipping_zip_code"),
+            rs.getString("shipping_address"),
+            rs.getString("request_message"),
+            rs.getObject("ordered_at", LocalDateTime.class),
+            rs.getObject("canceled_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class));
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+
+    public JdbcOrderRepository(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager) {
+        this.jdbc = jdbc;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Order save(Order order) {
+        return saveAll(List.of(order)).get(0);
+    }
+
+    // 신규 주문 INSERT 배치 -> 생성 키로 id 할당 -> 전체 줄 INSERT 배치 한 번, 기존 주문은 UPDATE 배치 한 번
+    @Override
+    public List<Order> saveAll(Collection<Order> orders) {
+        List<Order> created = new ArrayList<>();
+        List<Order> updated = new ArrayList<>();
+        for (Order order : orders) {
+            (order.getId() == null ? created : updated).add(order);
+        }
+
+        transaction.executeWithoutResult(status -> {
+            if(!updated.isEmpty()) {
+                int[] counts = jdbc.batchUpdate(UPDATE, batch(updated));
+                List<Order> missing = new ArrayList<>();
+                for (int i = 0; i < counts.length; i++) {
+                    if(counts[i] == 0) missing.add(updated.get(i));
+                }
+                if(!missing.isEmpty()) {
+                    insertOrConflict(missing);
+                }
+            }
+            if(!created.isEmpty()) {
+                KeyHolder keys = new GeneratedKeyHolder();
+                jdbc.batchUpdate(INSERT, batch(created), keys, new String[]{"id"});
+                List<Map<String, Object>> generated = keys.getKeyList();
+                for (int i = 0; i < created.size(); i++) {
+                    created.get(i).assignId(((Number) generated.get(i).values().iterator().next()).longValue());
+                }
+                insertLines(created);
+            }
+        });
+        return new ArrayList<>(orders);
+    }
+
+    @Override
+    public Optional<Order> findById(Long id) {
+        if(id == null) return Optional.empty();
+        return withLines(jdbc.query("SELECT " + COLUMNS + " FROM orders WHERE id = :id", Map.of("id", id), ROW_MAPPER))
+                .stream().findFirst();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        if(id == null) return false;
+        return !jdbc.queryForList("SELECT 1 FROM orders WHERE id = :id", Map.of("id", id), Integer.class).isEmpty();
+    }
+
+    // 최근 주문 먼저 (idx_orders_member 를 역순으로)
+    @Override
+    public List<Order> findAllByMemberId(Long memberId) {
+        if(memberId == null) return List.of();
+        return withLines(jdbc.query("SELECT " + COLUMNS + " FROM orders WHERE member_id = :memberId ORDER BY id DESC",
+                Map.of("memberId", memberId), ROW_MAPPER));
+    }
+
+    @Override
+    public List<Order> findAll() {
+        // 전체 주문이면 IN 목록 대신 줄 테이블을 통째로 한 번 읽는다.
+        List<OrderRow> rows = jdbc.query("SELECT " + COLUMNS + " FROM orders ORDER BY id", ROW_MAPPER);
+        Map<Long, List<OrderLine>> lines = new HashMap<>();
+        jdbc.query("SELECT order_id, product_id, product_name, unit_price, quantity FROM order_line ORDER BY order_id, line_no",
+                Map.of(), (RowCallbackHandler) rs -> addLine(lines, rs));
+        return restore(rows, lines);
+    }
+
+    @Override
+    public List<Order> findAllByMemberIdBefore(Long memberId, Long beforeId, int limit) {
+        if(memberId == null) return List.of();
+        return withLines(jdbc.query("SELECT " + COLUMNS + " FROM orders WHERE member_id = :memberId AND id < :beforeId"
+                        + " ORDER BY id DESC FETCH FIRST :limit ROWS ONLY",
+                page(beforeId, limit).addValue("memberId", memberId), ROW_MAPPER));
+    }
+
+    @Override
+    public List<Order> findAllBefore(Long beforeId, int limit) {
+        return withLines(jdbc.query("SELECT " + COLUMNS + " FROM orders WHERE id < :beforeId"
+                        + " ORDER BY id DESC FETCH FIRST :limit ROWS ONLY",
+                page(beforeId, limit), ROW_MAPPER));
+    }
+
+    // 주문 행들의 줄을 한 번에 읽어서 Order 로 복원 (행 순서 유지)
+    private List<Order> withLines(List<OrderRow> rows) {
+        if(rows.isEmpty()) return new ArrayList<>();
+
+        Map<Long, List<OrderLine>> lines = new HashMap<>();
+        List<Long> ids = rows.stream().map(OrderRow::id).toList();
+        jdbc.query("""
+                SELECT order_id, product_id, product_name, unit_price, quantity FROM order_line
+                WHERE order_id IN (:ids) ORDER BY order_id, line_no""",
+                Map.of("ids", ids), (RowCallbackHandler) rs -> addLine(lines, rs));
+
+        return restore(rows, lines);
+    }
+
+    private List<Order> restore(List<OrderRow> rows, Map<Long, List<OrderLine>> lines) {
+        List<Order> orders = new ArrayList<>(rows.size());
+        for (OrderRow row : rows) {
+            orders.add(Order.restore(row.id, row.memberId, row.status, lines.getOrDefault(row.id, List.of()),
+                    row.recipientName, row.recipientPhone, row.shippingZipCode, row.shippingAddress,
+                    row.requestMessage, row.orderedAt, row.canceledAt, row.updatedAt));
+        }
+        return orders;
+    }
+
+    private static void addLine(Map<Long, List<OrderLine>> lines, ResultSet rs) throws SQLException {
+        lines.computeIfAbsent(rs.getLong("order_id"), k -> new ArrayList<>())
+                .add(OrderLine.create(rs.getLong("product_id"), rs.getString("product_name"),
+                        rs.getInt("unit_price"), rs.getInt("quantity")));
+    }
+
+    private void insertLines(List<Order> orders) {
+        List<SqlParameterSource> lines = new ArrayList<>();
+        for (Order order : orders) {
+            int lineNo = 0;
+            for (OrderLine line : order.getLines()) {
+                lines.add(new MapSqlParameterSource("orderId", order.getId())
+                        .addValue("lineNo", lineNo++)
+                        .addValue("productId", line.getProductId())
+                        .addValue("productName", line.getProductNameSnapshot())
+                        .addValue("unitPrice", line.getUnitPriceSnapshot())
+                        .addValue("quantity", line.getQuantity()));
+            }
+        }
+        jdbc.batchUpdate(INSERT_LINE, lines.toArray(SqlParameterSource[]::new));
+    }
+
+    // UPDATE 가 0건 : 행이 없으면 id가 정해진 채로 처음 들어온 주문(메모리 저장소와 같은 동작)이니 INSERT,
+    // 행이 있으면 이미 ORDERED 가 아닌 주문
+    private void insertOrConflict(List<Order> orders) {
+        List<Long> ids = orders.stream().map(Order::getId).toList();
+        if(!jdbc.queryForList("SELECT id FROM orders WHERE id IN (:ids)", Map.of("ids", ids), Long.class).isEmpty()) {
+            throw new ConflictException("ORDERED 상태에서만 취소할 수 있습니다.");
+        }
+        jdbc.batchUpdate(INSERT_WITH_ID, batch(orders));
+        insertLines(orders);
+    }
+
+    private MapSqlParameterSource page(Long beforeId, int limit) {
+        return new MapSqlParameterSource("beforeId", beforeId == null ? Long.MAX_VALUE : beforeId).addValue("limit", limit);
+    }
+
+    private SqlParameterSource[] batch(List<Order> orders) {
+        SqlParameterSource[] batch = new SqlParameterSource[orders.size()];
+        for (int i = 0; i < batch.length; i++) {
+            Order order = orders.get(i);
+            batch[i] = new MapSqlParameterSource("id", order.getId())
+                    .addValue("memberId", order.getMemberId())
+                    .addValue("status", order.getStatus().name())
+                    .addValue("totalPrice", order.getTotalPrice())
+                    .addValue("recipientName", order.getRecipientName())
+                    .addValue("recipientPhone", order.getRecipientPhone())
+                    .addValue("shippingZipCode", order.getShippingZipCode())
+                    .addValue("shippingAddress", order.getShippingAddress())
+                    .addValue("requestMessage", order.getRequestMessage())
+                    .addValue("orderedAt", order.getOrderedAt())
+                    .addValue("canceledAt", order.getCanceledAt())
+                    .addValue("updatedAt", order.getUpdatedAt());
+        }
+        return batch;
+    }
+
+    // orders 한 행 (줄은 따로 읽어서 붙인다)
+    private record OrderRow(Long id, Long memberId, OrderStatus status, String recipientName, String recipientPhone,
+                            String shippingZipCode, String shippingAddress, String requestMessage,
+                            LocalDateTime orderedAt, LocalDateTime canceledAt, LocalDateTime updatedAt) {
+    }
+}
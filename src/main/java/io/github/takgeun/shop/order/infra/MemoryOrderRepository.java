@@ -2,34 +2,51 @@ package io.github.takgeun.shop.order.infra;
 
 import io.github.takgeun.shop.order.domain.Order;
 import io.github.takgeun.shop.order.domain.OrderRepository;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
+@Profile("!jdbc")     // jdbc 프로필에서는 Jdbc*Repository 를 쓴다.
 public class MemoryOrderRepository implements OrderRepository {
 
-    private final ConcurrentHashMap<Long, Order> store = new ConcurrentHashMap<>();
+    // 관리자 전체 주문 페이지 조회를 위해 id 순으로 정렬된 맵 사용
+    private final ConcurrentSkipListMap<Long, Order> store = new ConcurrentSkipListMap<>();
     private final AtomicLong sequence = new AtomicLong(0);
 
+    // 회원별 주문 인덱스 : memberId -> (orderId 내림차순 -> Order)
+    // id는 저장 순서대로 증가하니까 id 내림차순 = 최근 주문 먼저. 조회할 때마다 전체 주문을 훑고 정렬하지 않도록 미리 정렬해서 보관한다.
+    // 같은 Order 객체를 그대로 들고 있으니 cancel() 같은 상태 변경도 그대로 보인다.
+    private final ConcurrentHashMap<Long, ConcurrentNavigableMap<Long, Order>> memberIndex = new ConcurrentHashMap<>();
+
     @Override
     public Order save(Order order) {
         if(order.getId() == null) {
             long id = sequence.incrementAndGet();
             order.assignId(id);
+        } else if(order.getId() > sequence.get()) {
+            // 복구(WAL 재생)처럼 id가 이미 정해진 채로 들어오면 다음 신규 id가 겹치지 않도록 시퀀스를 따라 올린다.
+            sequence.accumulateAndGet(order.getId(), Math::max);
         }
         store.put(order.getId(), order);
+        memberIndex.computeIfAbsent(order.getMemberId(), k -> new ConcurrentSkipListMap<>(Comparator.reverseOrder()))
+                .put(order.getId(), order);
         return order;
     }
 
     @Override
     public Optional<Order> findById(Long id) {
-        return Optional.ofNullable(store.get(id));  // 값이 있으면 Optional<Category> 없으면 Optional.empty()
+        if(id == null) return Optional.empty();
+        return Optional.ofNullable(store.get(id));  // 값이 있으면 Optional<Order> 없으면 Optional.empty()
     }
 
     @Override
@@ -42,17 +59,11 @@ public class MemoryOrderRepository implements OrderRepository {
     public List<Order> findAllByMemberId(Long memberId) {
         if(memberId == null) return List.of();
 
-        List<Order> result = new ArrayList<>();
-        for (Order order : store.values()) {
-            if(memberId.equals(order.getMemberId())) {
-                result.add(order);
-            }
-        }
-
-        // 최근 주문 먼저 보이게 하기. (내림차순)
-        result.sort(Comparator.comparing(Order::getOrderedAt).reversed());
+        // 최근 주문 먼저 보이게 하기. (인덱스가 이미 내림차순)
+        ConcurrentNavigableMap<Long, Order> orders = memberIndex.get(memberId);
+        if(orders == null) return List.of();
 
-        return result;
+        return new ArrayList<>(orders.values());
     }
 
     @Override
@@ -60,9 +71,47 @@ public class MemoryOrderRepository implements OrderRepository {
         return new ArrayList<>(store.values());
     }
 
+    @Override
+    public List<Order> findAllByMemberIdBefore(Long memberId, Long beforeId, int limit) {
+        if(memberId == null) return List.of();
+
+        ConcurrentNavigableMap<Long, Order> orders = memberIndex.get(memberId);
+        if(orders == null) return List.of();
+
+        // 인덱스가 내림차순이니까 tailMap(beforeId) = beforeId보다 오래된 주문들
+        return firstN(beforeId == null ? orders : orders.tailMap(beforeId, false), limit);
+    }
+
+    @Override
+    public List<Order> findAllBefore(Long beforeId, int limit) {
+        ConcurrentNavigableMap<Long, Order> newestFirst = store.descendingMap();
+        return firstN(beforeId == null ? newestFirst : newestFirst.tailMap(beforeId, false), limit);
+    }
+
+    // WAL 에 기록하지 못한 신규 주문을 되돌린다. (WalOrderRepository 전용)
+    void discard(Long id) {
+        Order removed = store.remove(id);
+        if(removed == null) return;
+
+        ConcurrentNavigableMap<Long, Order> orders = memberIndex.get(removed.getMemberId());
+        if(orders != null) {
+            orders.remove(id);
+        }
+    }
+
+    private List<Order> firstN(Map<Long, Order> range, int limit) {
+        List<Order> result = new ArrayList<>(limit);
+        for (Order order : range.values()) {
+            if(result.size() >= limit) break;
+            result.add(order);
+        }
+        return result;
+    }
+
     // 테스트용
     public void clear() {
         store.clear();
+        memberIndex.clear();
         sequence.set(0);
     }
 }
@@ -0,0 +1,167 @@
+package io.github.takgeun.shop.order.infra;
+
+import io.github.takgeun.shop.order.application.OrderEventListener;
+import io.github.takgeun.shop.order.domain.OrderEvent;
+import io.github.takgeun.shop.order.domain.OrderEventPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * 프로세스 내 주문 이벤트 버스
+ * 주문 요청 스레드는 고정 크기 링 버퍼(ArrayBlockingQueue)에 이벤트를 넣고 바로 돌아가고,
+ * 디스패처 스레드 하나가 버퍼를 batchSize 개씩 꺼내서 리스너들에게 순서대로 넘긴다.
+ *
+ * - 요청은 절대 기다리지 않는다 : 버퍼가 가득 차면 이벤트를 버리고 dropped 를 올린다. (후속 처리가 느려도 주문 API 지연은 그대로)
+ * - 디스패처가 하나라서 같은 주문의 생성 -> 취소 순서가 뒤바뀌지 않는다.
+ * - 종료 시에는 웹 서버가 먼저 멈춘 뒤(새 주문 없음) 남은 이벤트를 drainTimeout 동안 마저 처리한다.
+ */
+@Slf4j
+@Component
+public class OrderEventBus implements OrderEventPublisher, SmartLifecycle {
+
+    // 웹 서버(Tomcat) 종료 이후에 멈추도록 웹 서버 라이프사이클보다 낮은 phase (낮을수록 늦게 멈춤)
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long POLL_MILLIS = 100;
+
+    private final List<OrderEventListener> listeners;
+    private final BlockingQueue<OrderEvent> buffer;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration drainTimeout;
+
+    // 배압 지표
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong listenerFailures = new AtomicLong();
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+    private volatile boolean closing;
+    private volatile Thread dispatcher;
+
+    public OrderEventBus(List<OrderEventListener> listeners,
+                         @Value("${shop.order-events.capacity:8192}") int capacity,
+                         @Value("${shop.order-events.batch-size:256}") int batchSize,
+                         @Value("${shop.order-events.drain-timeout:10s}") Duration drainTimeout) {
+        if(capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("capacity, batchSize는 1 이상이어야 합니다.");
+        }
+        this.listeners = List.copyOf(listeners);
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.drainTimeout = drainTimeout;
+    }
+
+    @Override
+    public boolean publish(OrderEvent event) {
+        if(closing || !buffer.offer(event)) {
+            long count = dropped.incrementAndGet();
+            // 가득 찬 동안 매번 찍으면 로그가 병목이 되니 첫 번째와 1000건마다만
+            if(count == 1 || count % 1000 == 0) {
+                log.warn("order.events.dropped total={} depth={} capacity={}", count, buffer.size(), capacity);
+            }
+            return false;
+        }
+        published.incrementAndGet();
+        maxDepth.accumulate(buffer.size());
+        return true;
+    }
+
+    // 현재 지표 스냅샷
+    public Stats stats() {
+        return new Stats(buffer.size(), capacity, maxDepth.get(), published.get(), dropped.get(),
+                delivered.get(), batches.get(), listenerFailures.get());
+    }
+
+    public record Stats(int depth, int capacity, long maxDepth, long published, long dropped,
+                        long delivered, long batches, long listenerFailures) {
+    }
+
+    @Override
+    public synchronized void start() {
+        if(dispatcher != null) return;
+        closing = false;
+        dispatcher = Thread.ofPlatform()
+                .name("order-event-dispatcher")
+                .daemon(true)
+                .start(this::dispatchLoop);
+    }
+
+    // 새 이벤트는 받지 않고, 버퍼에 남은 이벤트를 drainTimeout 안에서 마저 처리
+    @Override
+    public synchronized void stop() {
+        Thread thread = dispatcher;
+        if(thread == null) return;
+
+        closing = true;
+        try {
+            thread.join(drainTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if(thread.isAlive()) {
+            log.warn("order.events.drain.timeout remaining={}", buffer.size());
+            thread.interrupt();
+        }
+        dispatcher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return dispatcher != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void dispatchLoop() {
+        List<OrderEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            OrderEvent first;
+            try {
+                first = buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;         // drainTimeout 초과로 강제 종료
+            }
+            if(first == null) {
+                if(closing) return;     // 종료 중이고 더 남은 게 없음
+                continue;
+            }
+
+            batch.add(first);
+            buffer.drainTo(batch, batchSize - 1);
+            deliver(Collections.unmodifiableList(batch));
+            batch.clear();
+        }
+    }
+
+    private void deliver(List<OrderEvent> batch) {
+        for (OrderEventListener listener : listeners) {
+            try {
+                listener.onEvents(batch);
+            } catch (RuntimeException e) {
+                listenerFailures.incrementAndGet();
+                log.error("order.events.listener.failed listener={} batchSize={}",
+                        listener.getClass().getSimpleName(), batch.size(), e);
+            }
+        }
+        delivered.addAndGet(batch.size());
+        batches.incrementAndGet();
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.takgeun.shop.order.infra;
+
+import io.github.takgeun.shop.global.wal.RecordCodec;
+import io.github.takgeun.shop.global.wal.RecordReader;
+import io.github.takgeun.shop.global.wal.RecordWriter;
+import io.github.takgeun.shop.order.domain.Order;
+import io.github.takgeun.shop.order.domain.OrderLine;
+import io.github.takgeun.shop.order.domain.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 주문 레코드 : id, memberId, status, 배송 정보 5개, orderedAt, canceledAt, updatedAt,
+//             주문 상품 수 + (productId, productNameSnapshot, unitPriceSnapshot, quantity) 반복 (필드 순서 = 포맷)
+final class OrderRecordCodec implements RecordCodec<Order> {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Override
+    public Long idOf(Order order) {
+        return order.getId();
+    }
+
+    @Override
+    public void write(Order order, RecordWriter out) {
+        out.putId(order.getId())
+                .putLong(order.getMemberId())
+                .putEnum(order.getStatus())
+                .putString(order.getRecipientName())
+                .putString(order.getRecipientPhone())
+                .putString(order.getShippingZipCode())
+                .putString(order.getShippingAddress())
+                .putString(order.getRequestMessage())
+                .putDateTime(order.getOrderedAt())
+                .putDateTime(order.getCanceledAt())
+                .putDateTime(order.getUpdatedAt());
+
+        List<OrderLine> lines = order.getLines();
+        out.putInt(lines.size());
+        for (OrderLine line : lines) {
+            out.putLong(line.getProductId())
+                    .putString(line.getProductNameSnapshot())
+                    .putInt(line.getUnitPriceSnapshot())
+                    .putInt(line.getQuantity());
+        }
+    }
+
+    @Override
+    public Order read(RecordReader in) {
+        long id = in.getLong();
+        long memberId = in.getLong();
+        OrderStatus status = in.getEnum(STATUSES);
+        String recipientName = in.getString();
+        String recipientPhone = in.getString();
+        String shippingZipCode = in.getString();
+        String shippingAddress = in.getString();
+        String requestMessage = in.getString();
+        LocalDateTime orderedAt = in.getDateTime();
+        LocalDateTime canceledAt = in.getDateTime();
+        LocalDateTime updatedAt = in.getDateTime();
+        if(orderedAt != null && orderedAt.equals(updatedAt)) {
+            updatedAt = orderedAt;      // 수정 전 주문은 두 시각이 같으니 객체 하나를 같이 쓴다. (LocalDateTime 은 불변)
+        }
+
+        int count = in.getInt();
+        List<OrderLine> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(OrderLine.create(in.getLong(), in.getString(), in.getInt(), in.getInt()));
+        }
+        return Order.restore(id, memberId, status, lines, recipientName, recipientPhone,
+                shippingZipCode, shippingAddress, requestMessage, orderedAt, canceledAt, updatedAt);
+    }
+}
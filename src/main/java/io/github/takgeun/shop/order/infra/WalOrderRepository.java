@@ -0,0 +1,81 @@
+package io.github.takgeun.shop.order.infra;
+
+import io.github.takgeun.shop.global.wal.WalEntity;
+import io.github.takgeun.shop.global.wal.WalRepositorySupport;
+import io.github.takgeun.shop.global.wal.WriteAheadLog;
+import io.github.takgeun.shop.order.domain.Order;
+import io.github.takgeun.shop.order.domain.OrderRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// wal 프로필 : 조회는 메모리 저장소 그대로, save 는 WAL 에 남긴 뒤 돌려준다.
+// 주문끼리는 재생 순서가 서로 영향을 주지 않으니 주문 id 단위 락(64개 스트라이프)
+@Primary
+@Profile("wal")
+@Repository
+public class WalOrderRepository extends WalRepositorySupport<Order> implements OrderRepository {
+
+    private static final int STRIPES = 64;
+
+    private final MemoryOrderRepository delegate;
+
+    public WalOrderRepository(MemoryOrderRepository delegate, WriteAheadLog writeAheadLog) {
+        super(writeAheadLog, WalEntity.ORDER, new OrderRecordCodec(), STRIPES);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Order save(Order order) {
+        return logSave(order, delegate::save);
+    }
+
+    @Override
+    protected void restore(Order restored) {
+        delegate.save(restored);
+    }
+
+    @Override
+    protected void discard(Long id) {
+        delegate.discard(id);
+    }
+
+    @Override
+    protected Collection<Order> entities() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<Order> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public List<Order> findAllByMemberId(Long memberId) {
+        return delegate.findAllByMemberId(memberId);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Order> findAllByMemberIdBefore(Long memberId, Long beforeId, int limit) {
+        return delegate.findAllByMemberIdBefore(memberId, beforeId, limit);
+    }
+
+    @Override
+    public List<Order> findAllBefore(Long beforeId, int limit) {
+        return delegate.findAllBefore(beforeId, limit);
+    }
+}
@@ -1,13 +1,25 @@
 package io.github.takgeun.shop.product.api;
 
+import io.github.takgeun.shop.global.page.CursorPage;
+import io.github.takgeun.shop.global.page.PageCursor;
+import io.github.takgeun.shop.global.web.ETags;
 import io.github.takgeun.shop.product.application.ProductService;
 import io.github.takgeun.shop.product.domain.Product;
 import io.github.takgeun.shop.product.dto.response.ProductResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -26,32 +38,89 @@ public class ProductController {
     // 컨트롤러는 서비스에만 의존한다.
     // Repository/Entity 접근 X
 
-    // 카테고리별 상품 목록 조회: /products?categoryId=1
+    // 응답 JSON 바이트 캐시 : 캐시 적중 시 DTO 변환/Jackson 직렬화 없이 바이트를 그대로 응답에 쓴다.
+    private final ProductJsonCache productJsonCache;
+
+    // 카테고리별 상품 목록 조회: /products?categoryId=1&cursor=...&size=20
+    // includeSubcategories=true 면 하위 카테고리 상품까지 함께 조회
     // @RequestParam : URL 뒤에 붙는 ?key=value 형태의 값을 메서드 파라미터로 받기 위해 사용
-    @GetMapping
-    public ResponseEntity<List<ProductResponse>> list(
+    // 전체 목록을 한 번에 내려주지 않고 커서 기반으로 size 개씩 끊어서 내려준다. (다음 페이지는 응답의 nextCursor 사용)
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> list(
             @RequestParam(required = false)
-            @Positive(message = "categoryId는 양수여야 합니다.") Long categoryId
+            @Positive(message = "categoryId는 양수여야 합니다.") Long categoryId,
+            @RequestParam(defaultValue = "false") boolean includeSubcategories,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE)
+            @Min(value = 1, message = "size는 1 이상이어야 합니다.")
+            @Max(value = PageCursor.MAX_SIZE, message = "size는 100 이하여야 합니다.") int size,
+            WebRequest request
     ) {
-        List<Product> products = (categoryId == null)
-                ? productService.getAllPublic()
-                : productService.getAllPublicByCategoryId(categoryId);
-        List<ProductResponse> result = products.stream()
-                .map(ProductResponse::from)
-                .toList();
-        // .map(product -> ProductResponse.from(product))
-        // Product를 productResponse 객체로 바꾼다.
-        // Entity를 DTO 로 변환하는 책임을 DTO에 둔 설계임. (from() 메서드는 비즈니스 규칙보다는 표현/전송 관점의 변환 로직에 가까움)
-        // 따라서 Entity를 DTO로 변환하는 책임은 DTO에 두는 설계가 좋음.
-        return ResponseEntity.ok(result);
+        CursorPage<Product> page = productService.getPublicPage(categoryId, includeSubcategories, cursor, size);
+        if(request.checkNotModified(etag(page))) {
+            return null;        // 304 Not Modified (본문 없음, ETag 헤더는 checkNotModified가 넣어줌)
+        }
+        // 각 상품은 ProductResponse.from(product)를 직렬화한 결과와 같은 바이트 (캐시에 없을 때만 실제로 변환/직렬화)
+        // Entity를 DTO 로 변환하는 책임은 여전히 DTO(ProductResponse.from)에 있음.
+        return json(productJsonCache.page(page));
+    }
+
+    // 상품 검색 : /products/search?q=무선 마우스&size=20
+    // 상품명/설명에 검색어가 들어간 공개 상품을 관련도(BM25) 순으로. 다음 페이지 없이 상위 size 개만 (목록과 같은 응답 형태)
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> search(
+            @RequestParam
+            @NotBlank(message = "검색어는 필수입니다.")
+            @Size(max = ProductService.MAX_QUERY_LENGTH, message = "검색어는 100자 이하여야 합니다.") String q,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE)
+            @Min(value = 1, message = "size는 1 이상이어야 합니다.")
+            @Max(value = PageCursor.MAX_SIZE, message = "size는 100 이하여야 합니다.") int size
+    ) {
+        List<Product> products = productService.searchPublic(q, size);
+        return json(productJsonCache.page(new CursorPage<>(products, null, false)));
     }
 
     // 상품 단건 조회
-    @GetMapping("/{productId}")
-    public ResponseEntity<ProductResponse> get(
+    @ApiResponse(responseCode = "200",
+            content = @Content(schema = @Schema(implementation = ProductResponse.class)))
+    @GetMapping(value = "/{productId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> get(
             @PathVariable
-            @Positive(message = "productId는 양수여야 합니다.") Long productId
+            @Positive(message = "productId는 양수여야 합니다.") Long productId,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(ProductResponse.from(productService.getPublic(productId)));
+        Product product = productService.getPublic(productId);
+        if(request.checkNotModified(etag(product))) {
+            return null;
+        }
+        return json(productJsonCache.json(product));
+    }
+
+    // ETag는 본문보다 먼저 계산한다. (304면 직렬화까지 가지 않음)
+    // 그 사이에 상품이 바뀌면 본문이 ETag보다 최신일 수 있어서 바이트까지 약속하지 않는 약한 ETag로 낸다. (ETags 참고)
+    // 오래된 본문이 새 ETag로 캐시되는 일은 없고, 다음 재검증 때 새 ETag와 본문을 한 번 더 받는다.
+    private String etag(Product product) {
+        return ETags.of("product")
+                .add(product.getId())
+                .add(product.getVersion())
+                .build();
+    }
+
+    // 목록 ETag : 페이지에 들어간 상품들의 (id, version) + 다음 커서
+    // 상품이 추가/숨김/카테고리 이동되면 페이지 구성(id 목록)이 바뀌고, 내용이 바뀌면 version이 바뀐다.
+    private String etag(CursorPage<Product> page) {
+        ETags etag = ETags.of("products").add(page.getItems().size());
+        for (Product product : page.getItems()) {
+            etag.add(product.getId()).add(product.getVersion());
+        }
+        return etag.add(page.getNextCursor())
+                .add(page.isHasNext())
+                .build();
+    }
+
+    private ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 }
@@ -0,0 +1,93 @@
+package io.github.takgeun.shop.product.api;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.takgeun.shop.global.page.CursorPage;
+import io.github.takgeun.shop.product.domain.Product;
+import io.github.takgeun.shop.product.dto.response.ProductResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 공개 상품 API 응답용 JSON 바이트 캐시
+ * 상품 조회는 읽기가 압도적으로 많으니 Product -> ProductResponse -> Jackson 직렬화를 매번 하지 않고
+ * 상품별로 UTF-8 JSON 바이트를 만들어두고 그대로 응답에 쓴다.
+ *
+ * 무효화는 Product의 version으로 판단한다. (상품이 바뀌면 version이 올라가니 캐시된 바이트는 자동으로 버려짐)
+ * 상품 수 상한은 Caffeine(W-TinyLFU)에 맡긴다. 숨김/단종돼서 더 이상 조회되지 않는 상품은 자주 조회되는 상품에 밀려 빠지고
+ * 상한에 닿은 뒤에도 새 상품이 계속 캐시된다.
+ * 목록 응답(카테고리별/전체 페이지)은 페이지에 들어가는 상품들의 캐시된 바이트를 이어 붙여서 만든다.
+ */
+@Component
+public class ProductJsonCache {
+
+    private static final byte[] PAGE_START = "{\"items\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] COMMA = ",".getBytes(StandardCharsets.UTF_8);
+
+    private final JsonMapper jsonMapper;
+    private final Cache<Long, Entry> cache;
+
+    @Autowired
+    public ProductJsonCache(JsonMapper jsonMapper,
+                            @Value("${shop.cache.product-json.max-entries:50000}") int maxEntries) {
+        this(jsonMapper, maxEntries, ForkJoinPool.commonPool());
+    }
+
+    // 테스트에서 eviction 을 호출한 스레드에서 바로 돌리도록 executor 를 받는다.
+    ProductJsonCache(JsonMapper jsonMapper, int maxEntries, Executor executor) {
+        if(maxEntries < 1) {
+            throw new IllegalArgumentException("cache.product-json.max-entries는 0보다 커야 합니다.");
+        }
+        this.jsonMapper = jsonMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .executor(executor)
+                .build();
+    }
+
+    // 상품 단건 JSON
+    public byte[] json(Product product) {
+        // version을 먼저 읽고 직렬화해야 직렬화 도중 바뀐 상품이 예전 version으로 캐시되어도 다음 조회 때 버려진다.
+        long version = product.getVersion();
+        Entry cached = cache.getIfPresent(product.getId());
+        if(cached != null && cached.version == version) {
+            return cached.bytes;
+        }
+
+        byte[] bytes = jsonMapper.writeValueAsBytes(ProductResponse.from(product));
+        cache.put(product.getId(), new Entry(version, bytes));
+        return bytes;
+    }
+
+    // 테스트용 : 캐시된 상품 수 (밀려날 항목 정리까지 끝낸 뒤)
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    // 상품 목록 페이지 JSON : {"items":[...],"nextCursor":...,"hasNext":...}
+    public byte[] page(CursorPage<Product> page) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * (page.getItems().size() + 1));
+        out.writeBytes(PAGE_START);
+        boolean first = true;
+        for (Product product : page.getItems()) {
+            if(!first) out.writeBytes(COMMA);
+            out.writeBytes(json(product));
+            first = false;
+        }
+        String tail = "],\"nextCursor\":" + jsonMapper.writeValueAsString(page.getNextCursor())
+                + ",\"hasNext\":" + page.isHasNext() + "}";
+        out.writeBytes(tail.getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private record Entry(long version, byte[] bytes) {
+    }
+}
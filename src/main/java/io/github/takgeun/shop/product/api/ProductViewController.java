@@ -2,6 +2,7 @@ package io.github.takgeun.shop.product.api;
 
 import io.github.takgeun.shop.category.application.CategoryService;
 import io.github.takgeun.shop.category.domain.Category;
+import io.github.takgeun.shop.global.web.ETags;
 import io.github.takgeun.shop.product.application.ProductService;
 import io.github.takgeun.shop.product.domain.Product;
 import jakarta.validation.constraints.Positive;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -25,6 +27,9 @@ public class ProductViewController {
     private final ProductService productService;
     private final CategoryService categoryService;
 
+    // 뷰 ETag에 섞는 값 : 템플릿이 바뀐 새 배포(재시작) 이후에는 예전 ETag가 맞지 않도록
+    private final long renderEpoch = System.currentTimeMillis();
+
     /**
      * 상품 목록 페이지
      * GET /products?categoryId={categoryId}
@@ -32,15 +37,12 @@ public class ProductViewController {
     @GetMapping
     public String list(
             @RequestParam(required = false) @Positive Long categoryId,
+            WebRequest request,
             Model model
     ) {
 
         // 카테고리 목록 (필터 UI용)
         List<Category> categories = categoryService.getAllPublic();
-        model.addAttribute("categories", categories);
-
-        // 선택된 카테고리 표시용
-        model.addAttribute("selectedCategoryId", categoryId);
 
         // 상품 목록(공개/판매중만)
         List<Product> products;
@@ -49,6 +51,28 @@ public class ProductViewController {
         } else {
             products = productService.getAllPublicByCategoryId(categoryId);
         }
+
+        // 페이지를 그리는 데 쓰이는 값(카테고리, 선택된 카테고리, 상품)이 모두 같으면 템플릿 렌더링 없이 304
+        ETags etag = ETags.of("products-view")
+                .add(renderEpoch)
+                .add(categoryId)
+                .add(categories.size());
+        for (Category category : categories) {
+            etag.add(category.getId()).add(category.getVersion());
+        }
+        etag.add(products.size());
+        for (Product product : products) {
+            etag.add(product.getId()).add(product.getVersion());
+        }
+        if(isCacheable(model) && request.checkNotModified(etag.build())) {
+            return null;        // 304 Not Modified
+        }
+
+        model.addAttribute("categories", categories);
+
+        // 선택된 카테고리 표시용
+        model.addAttribute("selectedCategoryId", categoryId);
+
         model.addAttribute("products", products);
 
         return "products/list";
@@ -59,11 +83,25 @@ public class ProductViewController {
      * GET /products/{productId}
      */
     @GetMapping("/{productId}")
-    public String detail(@PathVariable @Positive Long productId, Model model) {
+    public String detail(@PathVariable @Positive Long productId, WebRequest request, Model model) {
 
         Product product = productService.getPublic(productId);
+        String etag = ETags.of("product-view")
+                .add(renderEpoch)
+                .add(product.getId())
+                .add(product.getVersion())
+                .build();
+        if(isCacheable(model) && request.checkNotModified(etag)) {
+            return null;
+        }
         model.addAttribute("product", product);
 
         return "products/detail";
     }
+
+    // 리다이렉트로 넘어온 플래시 메시지(error/success)가 있으면 같은 상품이어도 화면이 다르니 조건부 응답을 하지 않는다.
+    // (플래시 속성은 핸들러 호출 전에 이미 model에 들어있음)
+    private boolean isCacheable(Model model) {
+        return !model.containsAttribute("error") && !model.containsAttribute("success");
+    }
 }
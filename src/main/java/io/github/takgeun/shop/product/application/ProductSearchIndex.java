@@ -0,0 +1,335 @@
+package io.github.takgeun.shop.product.application;
+
+import io.github.takgeun.shop.product.domain.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * 상품 검색용 메모리 역색인 (상품명 + 상품 설명)
+ *
+ * 형태소 분석 없이 글자 2-gram 으로 자른다. (한국어는 띄어쓰기/조사가 제각각이라 단어 단위보다 2-gram 이 잘 맞는다.)
+ *   "무선 마우스" -> [무선] [마우, 우스]   (한 글자짜리 단어는 그 글자 하나가 term)
+ * 검색어의 2-gram 이 전부 들어 있는 상품만 찾고(AND), BM25 점수 순으로 상위 limit 개
+ *   - 상품명은 설명보다 두 배로 센다. (이름에 있는 단어가 더 중요)
+ *   - 가장 드문 2-gram 의 목록만 훑고 나머지 목록은 이진 탐색으로 건너뛰니, 상품 수보다 "가장 드문 2-gram 을 가진 상품 수"에 비례
+ * 한계 : 한 글자 검색어는 한 글자짜리 단어에만 걸린다. ("책" -> "책 선물" O, "동화책" X)
+ *
+ * 구조
+ *   - 문서 번호(ordinal) : 색인에 넣을 때마다 새로 증가하는 번호. 목록이 항상 문서 번호 오름차순이라 추가는 뒤에 붙이기만 한다.
+ *   - 수정/상태 변경 : 예전 번호는 죽은 문서로 표시하고 새 번호로 다시 넣는다. 죽은 문서가 산 문서보다 많아지면 한 번에 정리(압축)
+ *   - 공개 여부는 문서마다 들고 있다가 검색할 때 거른다. (상태 변경도 ProductService 를 거치니 같이 갱신됨)
+ * 처음 검색할 때 전체 상품으로 한 번 만들고, 이후에는 ProductService 의 쓰기마다 그 상품만 다시 넣는다.
+ * 인스턴스마다 따로 들고 있어서 다른 인스턴스가 DB 에 쓴 변경은 보이지 않는다. (검색 결과 상품은 저장소에서 다시 읽으니 내용은 최신)
+ *
+ * 쓰기(관리자 상품 등록/수정)는 드물고 검색은 잦아서 읽기/쓰기 락으로 검색끼리는 동시에 돈다.
+ */
+class ProductSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int NAME_WEIGHT = 2;
+
+    private static final byte ALIVE = 1;
+    private static final byte VISIBLE = 2;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean built;
+
+    // 문서 번호 -> 상품 id, 길이(가중치 포함 term 수), 상태(ALIVE | VISIBLE)
+    private long[] productIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private byte[] flags = new byte[1024];
+    private int docCount;
+
+    private int liveCount;
+    private long liveLength;
+
+    private final Map<Long, Integer> ordinalByProductId = new HashMap<>();
+    private final Map<Integer, Postings> postings = new HashMap<>();
+
+    // 상품 추가/수정/공개 여부 변경 반영. 아직 만들기 전이면 무시 (처음 만들 때 저장소에서 같이 읽힌다.)
+    void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            if(!built) {
+                return;
+            }
+            remove(product.getId());
+            add(product);
+            if(docCount - liveCount > liveCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어의 2-gram 을 모두 가진 공개 상품 id 를 BM25 점수 순으로 최대 limit 개
+     * loader : 처음 검색할 때 색인을 만들 전체 상품
+     */
+    List<Long> search(String query, int limit, Supplier<List<Product>> loader) {
+        int[] terms = distinct(terms(query));
+        if(terms.length == 0) {
+            return List.of();
+        }
+        ensureBuilt(loader);
+
+        lock.readLock().lock();
+        try {
+            return search(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> search(int[] terms, int limit) {
+        Postings[] lists = new Postings[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            lists[i] = postings.get(terms[i]);
+            if(lists[i] == null) {
+                return List.of();       // 어느 하나라도 없는 2-gram 이면 결과 없음
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        float[] idf = new float[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            // df 는 죽은 문서까지 센 근사값 (압축 전까지 조금 크게 잡힐 뿐 순위에는 거의 영향 없음)
+            int df = Math.min(lists[i].size, liveCount);
+            idf[i] = (float) Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+        }
+        float averageLength = liveCount == 0 ? 1f : (float) liveLength / liveCount;
+
+        // 점수 낮은 것이 머리인 힙 : 상위 limit 개만 유지
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1);
+        int[] cursors = new int[lists.length];
+        Postings rarest = lists[0];
+
+        candidates:
+        for (int i = 0; i < rarest.size; i++) {
+            int doc = rarest.docs[i];
+            if(flags[doc] != (ALIVE | VISIBLE)) {
+                continue;
+            }
+            float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+            float score = bm25(idf[0], rarest.tfs[i] & 0xFF, norm);
+            for (int j = 1; j < lists.length; j++) {
+                int at = lists[j].seek(doc, cursors[j]);
+                if(at < 0) {
+                    // 없으면 -(다음 위치 + 1) : 다음 후보는 이 문서보다 뒤라 거기서부터 다시 찾는다.
+                    cursors[j] = -at - 1;
+                    continue candidates;
+                }
+                cursors[j] = at;
+                score += bm25(idf[j], lists[j].tfs[at] & 0xFF, norm);
+            }
+            if(top.size() < limit) {
+                top.add(new Hit(doc, score));
+            } else if(score > top.peek().score) {
+                top.poll();
+                top.add(new Hit(doc, score));
+            }
+        }
+
+        Hit[] hits = top.toArray(new Hit[0]);
+        Arrays.sort(hits, (a, b) -> b.compareTo(a));
+        List<Long> result = new ArrayList<>(hits.length);
+        for (Hit hit : hits) {
+            result.add(productIds[hit.doc]);
+        }
+        return result;
+    }
+
+    private static float bm25(float idf, int tf, float norm) {
+        return idf * tf * (K1 + 1) / (tf + norm);
+    }
+
+    private void ensureBuilt(Supplier<List<Product>> loader) {
+        lock.readLock().lock();
+        try {
+            if(built) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if(built) {
+                return;
+            }
+            // 만드는 동안은 쓰기 락이라 그 사이 쓰기는 기다렸다가 다 만든 뒤에 반영된다.
+            for (Product product : loader.get()) {
+                add(product);
+            }
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Product product) {
+        int[] nameTerms = terms(product.getName());
+        int[] descriptionTerms = terms(product.getDescription());
+        int[] all = new int[nameTerms.length * NAME_WEIGHT + descriptionTerms.length];
+        for (int i = 0; i < NAME_WEIGHT; i++) {
+            System.arraycopy(nameTerms, 0, all, i * nameTerms.length, nameTerms.length);
+        }
+        System.arraycopy(descriptionTerms, 0, all, nameTerms.length * NAME_WEIGHT, descriptionTerms.length);
+        Arrays.sort(all);
+
+        int doc = docCount++;
+        if(doc == productIds.length) {
+            int capacity = productIds.length * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+        }
+        productIds[doc] = product.getId();
+        lengths[doc] = all.length;
+        flags[doc] = (byte) (product.isPublicVisible() ? ALIVE | VISIBLE : ALIVE);
+        ordinalByProductId.put(product.getId(), doc);
+        liveCount++;
+        liveLength += all.length;
+
+        // 정렬된 term 을 같은 값끼리 묶어서 (term, 등장 횟수)로 넣는다.
+        for (int i = 0; i < all.length; ) {
+            int term = all[i];
+            int end = i;
+            while (end < all.length && all[end] == term) {
+                end++;
+            }
+            postings.computeIfAbsent(term, t -> new Postings()).add(doc, end - i);
+            i = end;
+        }
+    }
+
+    private void remove(Long productId) {
+        Integer doc = ordinalByProductId.remove(productId);
+        if(doc == null) {
+            return;
+        }
+        flags[doc] = 0;
+        liveCount--;
+        liveLength -= lengths[doc];
+    }
+
+    // 죽은 문서를 목록에서 빼고 번호를 다시 매긴다. (순서는 그대로라 목록도 정렬 유지)
+    private void compact() {
+        int[] renumbered = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if(flags[doc] == 0) {
+                renumbered[doc] = -1;
+                continue;
+            }
+            renumbered[doc] = next;
+            productIds[next] = productIds[doc];
+            lengths[next] = lengths[doc];
+            flags[next] = flags[doc];
+            ordinalByProductId.put(productIds[next], next);
+            next++;
+        }
+        Arrays.fill(flags, next, docCount, (byte) 0);
+        docCount = next;
+
+        postings.values().removeIf(list -> list.renumber(renumbered) == 0);
+    }
+
+    // 문자열 -> term 목록 (중복 포함, 등장 순서)
+    // term : 2-gram 이면 (앞 글자 << 16 | 뒤 글자), 한 글자 단어면 그 글자 (상위 16비트 0)
+    static int[] terms(String text) {
+        if(text == null || text.isEmpty()) {
+            return new int[0];
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int[] terms = new int[normalized.length()];
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if(letter) {
+                if(start < 0) start = i;
+                continue;
+            }
+            if(start >= 0) {
+                if(i - start == 1) {
+                    terms[count++] = normalized.charAt(start);
+                } else {
+                    for (int j = start; j < i - 1; j++) {
+                        terms[count++] = normalized.charAt(j) << 16 | normalized.charAt(j + 1);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return Arrays.copyOf(terms, count);
+    }
+
+    private static int[] distinct(int[] terms) {
+        return Arrays.stream(terms).distinct().toArray();
+    }
+
+    // term 하나의 문서 목록 (문서 번호 오름차순) + 문서별 등장 횟수
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private byte[] tfs = new byte[4];
+        private int size;
+
+        private void add(int doc, int tf) {
+            if(size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = doc;
+            tfs[size] = (byte) Math.min(tf, 255);
+            size++;
+        }
+
+        // from 위치부터 doc 을 찾는다. 있으면 위치, 없으면 -(doc 보다 큰 첫 위치 + 1)
+        // 앞에서부터 1, 2, 4, ... 칸씩 건너뛰며 범위를 좁힌 뒤 이진 탐색 (후보가 오름차순으로 오니 대부분 가까이에 있다.)
+        private int seek(int doc, int from) {
+            if(from >= size) {
+                return -(size + 1);
+            }
+            int bound = 1;
+            while (from + bound < size && docs[from + bound] < doc) {
+                bound <<= 1;
+            }
+            return Arrays.binarySearch(docs, from + (bound >> 1), Math.min(from + bound + 1, size), doc);
+        }
+
+        private int renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if(doc >= 0) {
+                    docs[kept] = doc;
+                    tfs[kept] = tfs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    private record Hit(int doc, float score) implements Comparable<Hit> {
+        // 점수가 같으면 먼저 들어온 문서(번호가 작은 쪽)를 위로
+        @Override
+        public int compareTo(Hit other) {
+            int byScore = Float.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.doc, doc);
+        }
+    }
+}
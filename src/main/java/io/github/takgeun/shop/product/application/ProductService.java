@@ -2,22 +2,37 @@ package io.github.takgeun.shop.product.application;
 
 import io.github.takgeun.shop.category.application.CategoryService;
 import io.github.takgeun.shop.global.error.NotFoundException;
+import io.github.takgeun.shop.global.page.CursorPage;
+import io.github.takgeun.shop.global.page.PageCursor;
 import io.github.takgeun.shop.product.domain.Product;
 import io.github.takgeun.shop.product.domain.ProductRepository;
 import io.github.takgeun.shop.product.domain.ProductStatus;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor        // 필수 인자를 가진 생성자 자동 생성
 public class ProductService {
 
+    // 없는/숨김 상품 조회(크롤러가 id 를 훑는 경우 등)마다 예외를 새로 만들지 않도록 (BusinessException 참고)
+    private static final NotFoundException PRODUCT_NOT_FOUND = new NotFoundException("상품이 존재하지 않습니다.");
+
+    public static final int MAX_QUERY_LENGTH = 100;
+
     private final ProductRepository productRepository;
     private final CategoryService categoryService;
 
+    // 공개 상품 목록 스냅샷 (공개 목록 구성이 바뀌는 쓰기가 있을 때만 다시 만든다)
+    private final PublicCatalog publicCatalog = new PublicCatalog();
+
+    // 상품명/설명 검색 색인 (처음 검색할 때 만들고 이후 쓰기마다 그 상품만 다시 넣는다)
+    private final ProductSearchIndex searchIndex = new ProductSearchIndex();
+
     // 카테고리별 상품 생성 (관리자)
     // 각 메서드 파라미터에 requestDTO로 받기보다는 컨트롤러에서 풀어넘기는 것이 좋다.
     // DTO는 원래 컨트롤러 경계에 가깝다보니 서비스가 DTO를 받으면 API 형태에 서비스가 끌려다닐 가능성이 생김.
@@ -29,6 +44,8 @@ public class ProductService {
 
         Product product = Product.create(categoryId, name, price, stock, description);
         Product saved = productRepository.save(product);
+        publicCatalog.invalidate();     // 신규 상품
+        searchIndex.index(saved);
 
         return saved.getId();
     }
@@ -36,28 +53,79 @@ public class ProductService {
     // 단건 조회
     public Product getAdmin(Long productId) {
         return productRepository.findById(productId)
-                .orElseThrow(() -> new NotFoundException("상품이 존재하지 않습니다."));
+                .orElseThrow(() -> PRODUCT_NOT_FOUND);
     }
 
     // 사용자(공개) 조회
     public Product getPublic(Long productId) {
         Product product = getAdmin(productId);
         if(!product.isPublicVisible()) {
-            throw new NotFoundException("상품이 존재하지 않습니다.");
+            throw PRODUCT_NOT_FOUND;
         }
 
         return product;
     }
 
     // 사용자(공개) 전체 목록 조회
+    // 매 요청마다 필터링하지 않고 미리 만들어둔 불변 리스트를 그대로 돌려준다.
+    @Timed("shop.product.public-list")
     public List<Product> getAllPublic() {
-        return productRepository.findAllPublic();
+        if(!productRepository.sharesEntities()) {
+            return productRepository.findAllPublic();       // DB : 스냅샷이 사본을 들고 있으면 재고/가격이 낡는다.
+        }
+        return publicCatalog.getAll(productRepository::findAllPublic);
+    }
+
+    // 사용자(공개) 상품 검색 : 상품명/설명에 검색어가 들어간 공개 상품을 관련도 순으로 최대 size 개
+    // 순위/공개 여부는 색인에서 정하고, 응답할 상품만 저장소에서 읽는다. (내용은 항상 최신)
+    @Timed("shop.product.search")
+    public List<Product> searchPublic(String query, int size) {
+        if(query == null || query.isBlank()) {
+            throw new IllegalArgumentException("검색어는 필수입니다.");
+        }
+        if(query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("검색어는 " + MAX_QUERY_LENGTH + "자 이하여야 합니다.");
+        }
+        PageCursor.validateSize(size);
+
+        return searchIndex.search(query, size, productRepository::findAll).stream()
+                .map(productRepository::findById)
+                .flatMap(Optional::stream)
+                .filter(Product::isPublicVisible)       // 다른 인스턴스가 바꾼 상태(DB 모드)까지 한 번 더 확인
+                .toList();
+    }
+
+    // 사용자(공개) 목록 페이지 조회 (커서 기반, categoryId가 null이면 전체)
+    // size + 1 개를 가져와서 다음 페이지 존재 여부를 판단한다.
+    public CursorPage<Product> getPublicPage(Long categoryId, String cursor, int size) {
+        return getPublicPage(categoryId, false, cursor, size);
+    }
+
+    // includeSubcategories = true 이면 카테고리 자신 + 하위 카테고리 상품까지 (예: "전자" -> 컴퓨터, 휴대폰 상품 포함)
+    public CursorPage<Product> getPublicPage(Long categoryId, boolean includeSubcategories, String cursor, int size) {
+        PageCursor.validateSize(size);
+        Long afterId = PageCursor.decode(cursor);
+
+        List<Product> fetched;
+        if(categoryId == null) {
+            fetched = productRepository.findAllPublicAfter(afterId, size + 1);
+        } else if(includeSubcategories) {
+            List<Long> categoryIds = categoryService.getPublicSubtreeIds(categoryId);     // 존재 검증 포함
+            fetched = productRepository.findAllPublicByCategoryIdsAfter(categoryIds, afterId, size + 1);
+        } else {
+            categoryService.getPublic(categoryId);        // 존재 검증
+            fetched = productRepository.findAllPublicByCategoryIdAfter(categoryId, afterId, size + 1);
+        }
+        return CursorPage.of(fetched, size, Product::getId);
     }
 
     // 카테고리별 목록 조회 (유저)
     public List<Product> getAllPublicByCategoryId(Long categoryId) {
         categoryService.getPublic(categoryId);        // 존재 검증
-        return productRepository.findAllPublicByCategoryId(categoryId);
+        if(!productRepository.sharesEntities()) {
+            return productRepository.findAllPublicByCategoryId(categoryId);
+        }
+        return publicCatalog.getByCategory(categoryId, productRepository::findAllPublic);
     }
 
     // 카테고리별 목록 조회 (관리자는 전체 보여주기)
@@ -73,7 +141,9 @@ public class ProductService {
     {
         // 상품이 없을 경우 예외 처리
         Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new NotFoundException("상품이 존재하지 않습니다."));
+                .orElseThrow(() -> PRODUCT_NOT_FOUND);
+        boolean wasPublic = product.isPublicVisible();
+        Long beforeCategoryId = product.getCategoryId();
 
         // 카테고리 변경 시
         if(categoryId != null) {
@@ -104,16 +174,21 @@ public class ProductService {
 
         // 메모리 저장소에서는 save 호출해줘야 덮어쓰기가 확실함
         productRepository.save(product);
+        refreshCatalogIfChanged(product, wasPublic, beforeCategoryId);
+        if(name != null || description != null) {
+            searchIndex.index(product);
+        }
     }
 
     // 상태 변경
     public void changeStatus(Long productId, ProductStatus status) {
         Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new NotFoundException("상품이 존재하지 않습니다."));
+                .orElseThrow(() -> PRODUCT_NOT_FOUND);
 
         if(status == null) {
             throw new IllegalArgumentException("status는 필수입니다.");
         }
+        boolean wasPublic = product.isPublicVisible();
 
         switch (status) {
             case ON_SALE -> product.onSale();
@@ -123,13 +198,21 @@ public class ProductService {
         }
 
         productRepository.save(product);        // 메모리 저장소 반영
+        refreshCatalogIfChanged(product, wasPublic, product.getCategoryId());
+        if(wasPublic != product.isPublicVisible()) {
+            searchIndex.index(product);
+        }
     }
 
     public Product save(Product product) {
         if(product == null) {
             throw new IllegalArgumentException("productId는 필수입니다.");
         }
-        return productRepository.save(product);
+        // 밖에서 이미 바뀐 엔티티가 들어오니 이전 상태를 알 수 없음 -> 항상 무효화
+        Product saved = productRepository.save(product);
+        publicCatalog.invalidate();
+        searchIndex.index(saved);
+        return saved;
     }
 
     public void increaseStock(Long productId, int quantity) {
@@ -141,9 +224,19 @@ public class ProductService {
         }
 
         Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new NotFoundException("상품이 존재하지 않습니다."));
+                .orElseThrow(() -> PRODUCT_NOT_FOUND);
 
+        boolean wasPublic = product.isPublicVisible();
         product.increaseStock(quantity);    // 도메인 책임
         productRepository.save(product);
+        refreshCatalogIfChanged(product, wasPublic, product.getCategoryId());
+    }
+
+    // 공개 목록 구성(공개 여부, 카테고리)이 바뀐 경우에만 스냅샷 무효화
+    // 재고/가격/이름만 바뀐 경우는 스냅샷이 같은 Product 객체를 들고 있으니 다시 만들 필요 없음.
+    private void refreshCatalogIfChanged(Product product, boolean wasPublic, Long beforeCategoryId) {
+        if(wasPublic != product.isPublicVisible() || !beforeCategoryId.equals(product.getCategoryId())) {
+            publicCatalog.invalidate();
+        }
     }
 }
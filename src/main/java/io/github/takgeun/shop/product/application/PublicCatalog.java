@@ -0,0 +1,74 @@
+package io.github.takgeun.shop.product.application;
+
+import io.github.takgeun.shop.product.domain.Product;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 공개 상품 카탈로그 스냅샷 (전체 + 카테고리별)
+ * 상품 목록 페이지는 가장 많이 호출되는데 매번 전체 상품을 isPublicVisible로 거르면 낭비가 크다.
+ * 공개 상품 목록을 불변 리스트로 한 번 만들어두고, 공개 목록 구성이 바뀌는 쓰기가 있을 때만 버전을 올려서 다시 만든다.
+ *
+ * 리스트에는 Product 객체 자체가 들어있으니 재고/가격/이름 변경은 다시 만들지 않아도 그대로 보인다.
+ * 다시 만들어야 하는 건 "어떤 상품이 어느 목록에 들어가는지"가 바뀔 때뿐이다. (신규 상품, 공개 여부 변경, 카테고리 변경)
+ */
+class PublicCatalog {
+
+    private final AtomicLong version = new AtomicLong(0);
+    private volatile Snapshot snapshot;
+
+    // 무효화 : 다음 조회 때 다시 만든다. (쓰기 요청은 재구성 비용을 내지 않음)
+    void invalidate() {
+        version.incrementAndGet();
+    }
+
+    long version() {
+        return version.get();
+    }
+
+    List<Product> getAll(Supplier<List<Product>> loader) {
+        return current(loader).all;
+    }
+
+    List<Product> getByCategory(Long categoryId, Supplier<List<Product>> loader) {
+        return current(loader).byCategory.getOrDefault(categoryId, List.of());
+    }
+
+    private Snapshot current(Supplier<List<Product>> loader) {
+        Snapshot now = snapshot;
+        if(now != null && now.version == version.get()) {
+            return now;     // 대부분의 요청은 여기서 끝 (필터링/할당 없음)
+        }
+        return rebuild(loader);
+    }
+
+    // 동시에 여러 요청이 무효화된 스냅샷을 보더라도 재구성은 한 번만
+    private synchronized Snapshot rebuild(Supplier<List<Product>> loader) {
+        long target = version.get();
+        Snapshot now = snapshot;
+        if(now != null && now.version == target) {
+            return now;
+        }
+
+        // 재구성 도중 쓰기가 들어와 버전이 올라가면 이 스냅샷은 이전 버전으로 남아서 다음 조회 때 다시 만든다.
+        List<Product> all = loader.get();
+        Map<Long, List<Product>> grouped = new LinkedHashMap<>();
+        for (Product product : all) {
+            grouped.computeIfAbsent(product.getCategoryId(), k -> new ArrayList<>()).add(product);
+        }
+        Map<Long, List<Product>> byCategory = new LinkedHashMap<>();
+        grouped.forEach((categoryId, products) -> byCategory.put(categoryId, List.copyOf(products)));
+
+        Snapshot rebuilt = new Snapshot(target, List.copyOf(all), Map.copyOf(byCategory));
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    private record Snapshot(long version, List<Product> all, Map<Long, List<Product>> byCategory) {
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.takgeun.shop.product.application;
+
+import io.github.takgeun.shop.global.error.ConflictException;
+import io.github.takgeun.shop.global.error.NotFoundException;
+import io.github.takgeun.shop.product.domain.Product;
+import io.github.takgeun.shop.product.domain.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+// 재고 예약(차감)/해제(원복) 전담
+// 주문 쪽에서 Product를 꺼내서 decreaseStock -> save 하는 방식은 공유 엔티티를 직접 건드리기 때문에
+// 동시 주문이 들어오면 마지막 재고를 초과 판매할 수 있음.
+// 재고 변경은 여기서만 하고, 실제 차감은 저장소의 tryDecreaseStock(메모리 : Product CAS, DB : 조건부 UPDATE)로 원자적으로 처리한다.
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private final ProductRepository productRepository;
+
+    /**
+     * 재고가 충분하면 quantity 만큼 차감하고 true
+     * 재고가 부족하면 아무것도 바꾸지 않고 false
+     */
+    public boolean tryReserve(Long productId, int quantity) {
+        validate(productId, quantity);
+
+        Product product = getProduct(productId);
+        return productRepository.tryDecreaseStock(product, quantity);      // 차감 + 저장 반영
+    }
+
+    // 예약했던 재고를 되돌린다. (주문 취소, 주문 생성 실패 시)
+    public void release(Long productId, int quantity) {
+        validate(productId, quantity);
+
+        productRepository.increaseStock(getProduct(productId), quantity);
+    }
+
+    /**
+     * 여러 상품 재고를 한 번에 예약 (전부 성공 or 전부 실패)
+     * productId 오름차순으로 하나씩 CAS 차감하고, 중간에 하나라도 부족하면 이미 차감한 것들을 되돌린 뒤 409
+     *
+     * 락을 잡은 채로 다음 상품으로 넘어가지 않으니 교착 상태가 생기지 않고,
+     * 정렬 순서를 고정해두면 나중에 행 락(DB) 기반으로 바뀌어도 같은 순서로 잠그게 된다.
+     */
+    public void reserveAll(Map<Long, Integer> quantities) {
+        List<Reservation> reservations = new ArrayList<>(quantities == null ? 0 : quantities.size());
+        sorted(quantities).forEach((productId, quantity) ->
+                reservations.add(new Reservation(getProduct(productId), quantity)));
+        reserveAll(reservations);
+    }
+
+    // 호출 쪽에서 이미 상품을 조회했다면 다시 조회하지 않도록 Product를 그대로 받는다.
+    public void reserveAll(List<Reservation> reservations) {
+        if(reservations == null || reservations.isEmpty()) {
+            throw new IllegalArgumentException("예약할 상품이 없습니다.");
+        }
+        List<Reservation> sorted = new ArrayList<>(reservations);
+        sorted.sort(Comparator.comparing(reservation -> reservation.product().getId()));
+
+        Deque<Reservation> reserved = new ArrayDeque<>();
+        try {
+            for (Reservation reservation : sorted) {
+                Product product = reservation.product();
+                if(!productRepository.tryDecreaseStock(product, reservation.quantity())) {
+                    // 재고 수치는 싣지 않는다. DB 저장소는 차감에 성공했을 때만 사본을 맞추니 product.getStock() 은 옛 값일 수 있다.
+                    throw new ConflictException("주문 수량이 판매 중인 상품의 재고보다 많습니다. 상품 : " + product.getName());
+                }
+                reserved.push(reservation);
+            }
+        } catch (RuntimeException e) {
+            // 예약한 역순으로 원복. 하나가 실패해도(DB 일시 오류, WAL 실패) 나머지는 마저 되돌리고
+            // 원복 실패는 원래 예외(409 등)에 붙여서 응답이 원복 오류로 바뀌지 않게 한다.
+            while (!reserved.isEmpty()) {
+                Reservation reservation = reserved.pop();
+                try {
+                    productRepository.increaseStock(reservation.product(), reservation.quantity());
+                } catch (RuntimeException releaseFailure) {
+                    e.addSuppressed(releaseFailure);
+                }
+            }
+            throw e;
+        }
+    }
+
+    // 여러 상품 재고 원복 (주문 취소)
+    public void releaseAll(Map<Long, Integer> quantities) {
+        sorted(quantities).forEach(this::release);
+    }
+
+    // 입력 검증 + productId 오름차순 정렬
+    private Map<Long, Integer> sorted(Map<Long, Integer> quantities) {
+        if(quantities == null || quantities.isEmpty()) {
+            throw new IllegalArgumentException("예약할 상품이 없습니다.");
+        }
+        Map<Long, Integer> sorted = new TreeMap<>();
+        quantities.forEach((productId, quantity) -> {
+            validate(productId, quantity == null ? 0 : quantity);
+            sorted.put(productId, quantity);
+        });
+        return sorted;
+    }
+
+    // 예약 단위 : 상품 + 수량
+    public record Reservation(Product product, int quantity) {
+        public Reservation {
+            if(product == null || product.getId() == null) {
+                throw new IllegalArgumentException("productId는 필수입니다.");
+            }
+            if(quantity <= 0) {
+                throw new IllegalArgumentException("수량은 1 이상이어야 합니다.");
+            }
+        }
+    }
+
+    private Product getProduct(Long productId) {
+        return productRepository.findById(productId)
+                .orElseThrow(() -> new NotFoundException("상품이 존재하지 않습니다."));
+    }
+
+    private void validate(Long productId, int quantity) {
+        if(productId == null) {
+            throw new IllegalArgumentException("productId는 필수입니다.");
+        }
+        if(quantity <= 0) {
+            throw new IllegalArgumentException("수량은 1 이상이어야 합니다.");
+        }
+    }
+}
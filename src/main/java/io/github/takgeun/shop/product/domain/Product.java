@@ -3,8 +3,12 @@ package io.github.takgeun.shop.product.domain;
 // Domain(Entity/Model)
 
 import io.github.takgeun.shop.global.error.ConflictException;
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Getter
 public class Product {
     private Long id;
@@ -12,10 +16,23 @@ public class Product {
 
     private String name;
     private int price;
-    private int stock;
+    // 재고는 여러 주문 요청이 동시에 차감하니까 CAS로 갱신할 수 있도록 AtomicInteger로 보관
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger stock = new AtomicInteger();
     private String description;
     private ProductStatus status;
 
+    // 상태가 바뀔 때마다 1씩 증가하는 버전
+    // 응답 캐시/ETag 가 "내가 들고 있는 표현이 아직 최신인지"를 엔티티를 다시 직렬화하지 않고 판단하기 위함.
+    // 재고는 동시에 바뀌니 AtomicLong. 항상 상태 변경 "후"에 올린다.
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong version = new AtomicLong();
+
+    // DB 에 마지막으로 반영된(읽어온) 버전. 저장할 때 그 사이 다른 요청이 행을 바꾸지 않았는지 비교한다. (낙관적 잠금)
+    // 메모리 저장소는 객체를 공유하니 쓰지 않는다.
+    @Getter(AccessLevel.NONE)
+    private long storedVersion;
+
     protected Product() {
     }
 
@@ -50,6 +67,23 @@ public class Product {
         return new Product(categoryId, name, price, stock, description);
     }
 
+    // 저장해 둔 상태(WAL, DB)에서 되살릴 때만 사용.
+    // 생성 규칙(검증, 기본 상태)을 다시 타지 않고 id/재고/상태/버전을 저장 시점 값 그대로 채운다.
+    public static Product restore(Long id, Long categoryId, String name, int price, int stock,
+                                  String description, ProductStatus status, long version) {
+        Product product = new Product();
+        product.id = id;
+        product.categoryId = categoryId;
+        product.name = name;
+        product.price = price;
+        product.stock.set(stock);
+        product.description = description;
+        product.status = status;
+        product.version.set(version);
+        product.storedVersion = version;
+        return product;
+    }
+
     public void changeCategory(Long categoryId) {
         if(categoryId == null) {
             throw new IllegalArgumentException("categoryId는 필수입니다.");
@@ -58,6 +92,7 @@ public class Product {
             throw new IllegalArgumentException("categoryId는 양수여야 합니다.");
         }
         this.categoryId = categoryId;
+        touch();
     }
 
     public void changeName(String name) {
@@ -73,6 +108,7 @@ public class Product {
             throw new IllegalArgumentException("상품명은 100자 이하입니다.");
         }
         this.name = normalized;
+        touch();
     }
 
     public void changePrice(int price) {
@@ -80,37 +116,42 @@ public class Product {
             throw new IllegalArgumentException("가격은 0 이상이어야 합니다.");
         }
         this.price = price;
+        touch();
     }
 
     public void changeStock(int stock) {
         if(stock < 0) {
             throw new IllegalArgumentException("재고는 0 이상이어야 합니다.");
         }
-        this.stock = stock;
+        this.stock.set(stock);
 
-        if(this.stock == 0 && this.status == ProductStatus.ON_SALE) {
+        if(stock == 0 && this.status == ProductStatus.ON_SALE) {
             this.status = ProductStatus.SOLD_OUT;
         }
-        if(this.stock > 0 && this.status == ProductStatus.SOLD_OUT) {
+        if(stock > 0 && this.status == ProductStatus.SOLD_OUT) {
             this.status = ProductStatus.ON_SALE;
         }
+        touch();
     }
 
     public void changeDescription(String description) {
         if(description == null) {
             this.description = null;
+            touch();
             return;
         }
 
         String normalized = description.trim();
         if(normalized.isEmpty()) {
             this.description = null;
+            touch();
             return;
         }
         if(normalized.length() > 2000) {
             throw new IllegalArgumentException("상품 설명은 2000자 이하여야 합니다.");
         }
         this.description = normalized;
+        touch();
     }
 
     public boolean isPublicVisible() {
@@ -124,11 +165,12 @@ public class Product {
         if(this.status == ProductStatus.DISCONTINUED) {
             throw new ConflictException("판매 종료된 상품은 판매중으로 변경할 수 없습니다.");
         }
-        if(this.stock == 0) {
+        if(this.stock.get() == 0) {
             throw new ConflictException("재고가 0인 상품은 판매중으로 변경할 수 없습니다.");
         }
         if(this.status == ProductStatus.ON_SALE) return;        // 멱등 처리
         this.status = ProductStatus.ON_SALE;
+        touch();
     }
 
     public void hide() {
@@ -139,34 +181,79 @@ public class Product {
             return;     // 멱등 처리
         }
         this.status = ProductStatus.HIDDEN;
+        touch();
     }
 
     public void discontinue() {
         if(this.status == ProductStatus.DISCONTINUED) return;
         this.status = ProductStatus.DISCONTINUED;
+        touch();
+    }
+
+    public int getStock() {
+        return stock.get();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public long getStoredVersion() {
+        return storedVersion;
+    }
+
+    // 저장소에 지금 버전을 반영한 뒤 호출
+    public void markStored() {
+        this.storedVersion = version.get();
+    }
+
+    private void touch() {
+        version.incrementAndGet();
+    }
+
+    // DB 저장소가 조건부 UPDATE 한 문장으로 바꾼 재고/상태/버전을 그 결과 그대로 옮겨 담는다. (DB 가 기준이라 검증/버전 증가 없음)
+    // 다른 필드는 이 객체가 읽은 시점 그대로일 수 있으니 storedVersion 은 두고, 이 객체로 저장하면 낙관적 잠금에 걸린다.
+    public void syncStock(int stock, ProductStatus status, long version) {
+        this.stock.set(stock);
+        this.status = status;
+        this.version.set(version);
     }
 
     public void decreaseStock(int quantity) {
+        if(!tryDecreaseStock(quantity)) {
+            throw new ConflictException("주문 수량이 판매 중인 상품의 재고보다 많습니다. 현재 재고 : " + this.stock.get());
+        }
+    }
 
+    // 재고가 충분할 때만 차감하고 성공 여부를 돌려준다. (락 없이 compare-and-set 재시도)
+    // 읽고 -> 비교하고 -> 쓰는 사이에 다른 주문이 끼어들면 CAS가 실패하니 최신 값으로 다시 시도한다.
+    public boolean tryDecreaseStock(int quantity) {
         if(quantity <= 0) {
             throw new IllegalArgumentException("감소 수량은 1 이상이어야 합니다.");
         }
 
-        if(this.stock < quantity) {
-            throw new ConflictException("주문 수량이 판매 중인 상품의 재고보다 많습니다. 현재 재고 : " + this.stock);
+        while (true) {
+            int current = this.stock.get();
+            if(current < quantity) {
+                return false;
+            }
+            if(this.stock.compareAndSet(current, current - quantity)) {
+                touch();
+                return true;
+            }
         }
-        this.stock = this.stock - quantity;
     }
 
     public void increaseStock(int quantity) {
         if(quantity <= 0) {
             throw new IllegalArgumentException("증가 수량은 1 이상이어야 합니다.");
         }
-        this.stock = this.stock + quantity;
+        int increased = this.stock.addAndGet(quantity);
 
         // 재고가 0 -> 양수로 바뀌면 자동 ON_SALE 전환
-        if(this.stock > 0 && this.status == ProductStatus.SOLD_OUT) {
+        if(increased > 0 && this.status == ProductStatus.SOLD_OUT) {
             this.status = ProductStatus.ON_SALE;
         }
+        touch();
     }
 }
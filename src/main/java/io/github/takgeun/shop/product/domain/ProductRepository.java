@@ -1,5 +1,7 @@
 package io.github.takgeun.shop.product.domain;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,6 +9,37 @@ public interface ProductRepository {
 
     Product save(Product product);
 
+    // 조회 결과가 저장소 안의 객체 그 자체인지 (메모리 : true, DB : 조회할 때마다 새로 만든 사본)
+    // 사본이면 조회 결과를 들고 있는 스냅샷(공개 상품 목록)이 재고/이름 변경을 따라가지 못하니 매번 다시 조회해야 한다.
+    default boolean sharesEntities() {
+        return true;
+    }
+
+    // 여러 상품을 한 번에 저장 (JDBC 는 배치 한 번)
+    default List<Product> saveAll(Collection<Product> products) {
+        List<Product> saved = new ArrayList<>(products.size());
+        for (Product product : products) {
+            saved.add(save(product));
+        }
+        return saved;
+    }
+
+    // 재고가 quantity 이상일 때만 차감하고 저장. 재고가 부족하면 아무것도 바꾸지 않고 false
+    // 메모리는 같은 Product 객체를 공유하니 엔티티 CAS 로 충분하고, DB 는 조건부 UPDATE 로 원자적으로 처리한다.
+    default boolean tryDecreaseStock(Product product, int quantity) {
+        if(!product.tryDecreaseStock(quantity)) {
+            return false;
+        }
+        save(product);
+        return true;
+    }
+
+    // 재고 원복 후 저장
+    default void increaseStock(Product product, int quantity) {
+        product.increaseStock(quantity);
+        save(product);
+    }
+
     Optional<Product> findById(Long id);
 
     List<Product> findAll();
@@ -18,4 +51,13 @@ public interface ProductRepository {
     List<Product> findAllPublicByCategoryId(Long categoryId);
 
     List<Product> findAllPublic();
+
+    // 키셋 페이지네이션 : afterId(커서)보다 id가 큰 공개 상품을 id 오름차순으로 최대 limit 개
+    // afterId가 null이면 처음부터
+    List<Product> findAllPublicAfter(Long afterId, int limit);
+
+    List<Product> findAllPublicByCategoryIdAfter(Long categoryId, Long afterId, int limit);
+
+    // 여러 카테고리(예: 카테고리 + 하위 카테고리들)에 걸친 공개 상품을 id 오름차순으로 최대 limit 개
+    List<Product> findAllPublicByCategoryIdsAfter(Collection<Long> categoryIds, Long afterId, int limit);
 }
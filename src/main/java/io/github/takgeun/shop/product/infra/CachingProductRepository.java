@@ -0,0 +1,250 @@
+package io.github.takgeun.shop.product.infra;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.github.takgeun.shop.product.domain.Product;
+import io.github.takgeun.shop.product.domain.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// jdbc 프로필 : DB 상품 저장소 앞의 단건 조회(findById) 캐시
+// 상품 상세, 주문(재고 예약) 모두 findById 라서 자주 보는 상품은 DB 왕복 없이 메모리에서 끝난다.
+// - 크기 : 상품마다 대략의 바이트 수로 무게를 매기고 총량(max-bytes)으로 제한. 축출은 Caffeine 기본(W-TinyLFU)
+// - 만료 : 저장 후 ttl 이 지나면 다시 읽는다. (다른 인스턴스가 같은 DB 를 바꾼 경우의 최대 지연)
+// - 쓰기 반영 : 이 저장소를 거친 쓰기는 버전으로 캐시 사본을 맞춘다. (항목 교체는 모두 그 키의 compute 안에서)
+//   재고 변경 : DB 가 돌려준 새 버전이 사본 버전 + 1 이면 (사본이 바로 직전 DB 상태) 재고/상태/버전만 바꿔 끼운다.
+//              한정 판매처럼 한 상품에 주문이 몰려도 그 상품 조회는 계속 메모리에서 끝난다.
+//   save : 사본이 저장 직전에 읽은 버전 그대로일 때만 저장한 상태로 교체
+//   그 밖(사본이 더 오래됨, 사이에 다른 변경이 끼어듦, 실패) : 항목 제거 -> 다음 조회에서 DB 를 다시 읽는다.
+// - 같은 키를 동시에 처음 조회하면 DB 조회는 한 번만 하고 나머지는 그 결과를 기다린다.
+// 목록 조회(공개 상품 페이지 등)는 조건이 다양해서 캐시하지 않고 그대로 넘긴다.
+//
+// 인스턴스 안의 캐시 한 단만 둔다. 인스턴스끼리 같이 보는 두 번째 단(Redis 등)은 이 프로젝트에 붙일 인프라가 없고,
+// 상품 한 건 조회는 PK 조회라 공유 캐시를 한 번 더 거쳐도 DB 왕복 한 번과 크게 다르지 않다.
+// 필요해지면 이 클래스는 ProductRepository 를 감싸기만 하니 delegate 자리에 공유 캐시 데코레이터를 끼우면 된다.
+// 인스턴스 사이의 최대 지연은 그때까지 ttl 로 제한한다.
+@Primary
+@Profile("jdbc")
+@Repository
+public class CachingProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+
+    // 없는 상품도 Optional.empty() 로 담아 둔다. (없는 id 로 반복 조회해도 DB 까지 가지 않도록)
+    // 담아 둔 객체는 밖으로 내보내지 않고 조회마다 사본을 만든다. (호출 측이 바꿔도 캐시는 그대로)
+    private final Cache<Long, Optional<Product>> cache;
+
+    @Autowired
+    public CachingProductRepository(JdbcProductRepository delegate,
+                                    @Value("${shop.product-cache.ttl:30s}") Duration ttl,
+                                    @Value("${shop.product-cache.max-bytes:67108864}") long maxBytes) {
+        this(delegate, ttl, maxBytes, Ticker.systemTicker());
+    }
+
+    CachingProductRepository(ProductRepository delegate, Duration ttl, long maxBytes, Ticker ticker) {
+        if(ttl.isNegative() || ttl.isZero() || maxBytes < 1) {
+            throw new IllegalArgumentException("product-cache.ttl, product-cache.max-bytes는 0보다 커야 합니다.");
+        }
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Optional<Product> product) -> product.map(CachingProductRepository::weigh).orElse(16))
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public boolean sharesEntities() {
+        return false;
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        if(id == null) return Optional.empty();
+        return cache.get(id, delegate::findById).map(CachingProductRepository::copyOf);
+    }
+
+    @Override
+    public Product save(Product product) {
+        Long id = product.getId();
+        long previousVersion = product.getStoredVersion();
+        Product saved;
+        try {
+            saved = delegate.save(product);
+        } catch (RuntimeException e) {
+            // 409(다른 요청이 먼저 변경) 등 : 캐시에 든 상태도 오래됐을 수 있으니 버린다.
+            if(id != null) cache.invalidate(id);
+            throw e;
+        }
+        replaceSaved(id, previousVersion, saved);
+        return saved;
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        List<Long> ids = new ArrayList<>(products.size());
+        List<Long> previousVersions = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ids.add(product.getId());
+            previousVersions.add(product.getStoredVersion());
+        }
+        List<Product> saved;
+        try {
+            saved = delegate.saveAll(products);
+        } catch (RuntimeException e) {
+            for (Long id : ids) {
+                if(id != null) cache.invalidate(id);
+            }
+            throw e;
+        }
+        for (int i = 0; i < saved.size(); i++) {
+            replaceSaved(ids.get(i), previousVersions.get(i), saved.get(i));
+        }
+        return saved;
+    }
+
+    // 성공하면 delegate 가 product 에 담아 준 DB 결과(재고/상태/버전)로 사본을 맞춘다.
+    // 재고가 모자라 실패했는데 사본은 충분하다고 보고 있으면 사본이 오래된 것이니 버린다. (품절 후 실패가 몰려도 맞는 사본은 유지)
+    @Override
+    public boolean tryDecreaseStock(Product product, int quantity) {
+        boolean decreased;
+        try {
+            decreased = delegate.tryDecreaseStock(product, quantity);
+        } catch (RuntimeException e) {
+            cache.invalidate(product.getId());
+            throw e;
+        }
+        if(decreased) {
+            applyStock(product);
+        } else {
+            Optional<Product> cached = cache.policy().getIfPresentQuietly(product.getId());
+            if(cached != null && cached.isPresent() && cached.get().getStock() >= quantity) {
+                cache.invalidate(product.getId());
+            }
+        }
+        return decreased;
+    }
+
+    @Override
+    public void increaseStock(Product product, int quantity) {
+        try {
+            delegate.increaseStock(product, quantity);
+        } catch (RuntimeException e) {
+            cache.invalidate(product.getId());
+            throw e;
+        }
+        applyStock(product);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Product> findAllByCategoryId(Long categoryId) {
+        return delegate.findAllByCategoryId(categoryId);
+    }
+
+    @Override
+    public boolean existsByCategoryId(Long categoryId) {
+        return delegate.existsByCategoryId(categoryId);
+    }
+
+    @Override
+    public List<Product> findAllPublicByCategoryId(Long categoryId) {
+        return delegate.findAllPublicByCategoryId(categoryId);
+    }
+
+    @Override
+    public List<Product> findAllPublic() {
+        return delegate.findAllPublic();
+    }
+
+    @Override
+    public List<Product> findAllPublicAfter(Long afterId, int limit) {
+        return delegate.findAllPublicAfter(afterId, limit);
+    }
+
+    @Override
+    public List<Product> findAllPublicByCategoryIdAfter(Long categoryId, Long afterId, int limit) {
+        return delegate.findAllPublicByCategoryIdAfter(categoryId, afterId, limit);
+    }
+
+    @Override
+    public List<Product> findAllPublicByCategoryIdsAfter(Collection<Long> categoryIds, Long afterId, int limit) {
+        return delegate.findAllPublicByCategoryIdsAfter(categoryIds, afterId, limit);
+    }
+
+    // 저장 직전 DB 버전(previousVersion)을 사본이 그대로 들고 있을 때만 저장한 상태로 교체하고, 아니면 버린다.
+    // 저장 커밋과 이 교체 사이에 재고 변경이 끼어들었으면 사본은 이미 버려졌거나 버전이 달라서 옛 재고로 덮어쓰지 않는다.
+    // 새 상품(id 없음)은 사본이 있을 리 없으니(없는 상품으로 담아 둔 것뿐) 버리기만 하고 첫 조회에서 읽는다.
+    private void replaceSaved(Long id, long previousVersion, Product saved) {
+        if(id == null) {
+            cache.invalidate(saved.getId());
+            return;
+        }
+        cache.asMap().computeIfPresent(id, (key, cached) ->
+                cached.isPresent() && cached.get().getVersion() == previousVersion ? Optional.of(copyOf(saved)) : null);
+    }
+
+    // 재고 변경 한 번은 DB 버전을 정확히 1 올린다. 사본이 그 바로 앞 버전이면 사본 = 변경 직전 DB 행이니
+    // 재고/상태/버전만 바꿔 끼우면 변경 직후 DB 행과 같다. (그래서 교체하면서 ttl 을 새로 시작해도 된다)
+    // 사본이 이미 같거나 더 새 버전이면 그대로, 더 오래됐으면(사이에 놓친 변경) 버린다.
+    // 같은 키를 처음 읽는 중이면 compute 가 그 조회가 끝나길 기다렸다가 읽어 온 사본으로 판단한다.
+    // 그대로 둘 때는 compute 를 타지 않는다. (값을 다시 넣는 것으로 처리돼 오래된 사본의 ttl 이 늘어나지 않도록)
+    private void applyStock(Product product) {
+        long version = product.getVersion();
+        Optional<Product> peek = cache.policy().getIfPresentQuietly(product.getId());
+        if(peek != null && peek.isPresent() && peek.get().getVersion() >= version) {
+            return;
+        }
+        cache.asMap().computeIfPresent(product.getId(), (id, cached) -> {
+            if(cached.isEmpty()) {
+                return null;
+            }
+            Product current = cached.get();
+            if(current.getVersion() >= version) {
+                return cached;
+            }
+            if(current.getVersion() != version - 1) {
+                return null;
+            }
+            return Optional.of(Product.restore(current.getId(), current.getCategoryId(), current.getName(), current.getPrice(),
+                    product.getStock(), current.getDescription(), product.getStatus(), version));
+        });
+    }
+
+    // 저장된 상태 그대로 (storedVersion = version 이라 사본으로 수정해서 저장해도 낙관적 잠금이 그대로 동작)
+    private static Product copyOf(Product product) {
+        return Product.restore(product.getId(), product.getCategoryId(), product.getName(), product.getPrice(),
+                product.getStock(), product.getDescription(), product.getStatus(), product.getVersion());
+    }
+
+    // 대략의 힙 크기 : 객체 헤더/필드 + 문자열(UTF-16 기준 글자당 2바이트)
+    private static int weigh(Product product) {
+        String description = product.getDescription();
+        return 96 + 2 * (product.getName().length() + (description == null ? 0 : description.length()));
+    }
+}
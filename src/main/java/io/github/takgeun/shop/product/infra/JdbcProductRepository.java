@@ -0,0 +1,255 @@
+package io.github.takgeun.shop.product.infra;
+
+import io.github.takgeun.shop.global.error.ConflictException;
+import io.github.takgeun.shop.product.domain.Product;
+import io.github.takgeun.shop.product.domain.ProductRepository;
+import io.github.takgeun.shop.product.domain.ProductStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+// jdbc 프로필 : 상품 테이블 (schema.sql)
+// 조회마다 새 Product 객체를 만들어 돌려주니 메모리 저장소처럼 객체를 공유하지 않는다.
+// - 재고 차감/원복은 엔티티 CAS 가 아니라 조건부 UPDATE 한 문장으로 처리해야 동시 주문에도 초과 판매가 없다.
+// - save(관리자 수정)는 읽어온 버전과 같을 때만 덮어쓴다. 그 사이 주문이 재고를 바꿨으면 409 (다시 시도)
+@Repository
+@Profile("jdbc")
+public class JdbcProductRepository implements ProductRepository {
+
+    // 공개 상품 = 숨김/단종이 아닌 상품 (Product.isPublicVisible 과 같은 조건)
+    private static final String PUBLIC = "status NOT IN ('HIDDEN', 'DISCONTINUED')";
+    private static final String COLUMNS = "id, category_id, name, price, stock, description, status, version";
+
+    private static final String INSERT = """
+            INSERT INTO product (category_id, name, price, stock, description, status, version)
+            VALUES (:categoryId, :name, :price, :stock, :description, :status, :version)""";
+    private static final String INSERT_WITH_ID = """
+            INSERT INTO product (id, category_id, name, price, stock, description, status, version)
+            VALUES (:id, :categoryId, :name, :price, :stock, :description, :status, :version)""";
+    private static final String UPDATE = """
+            UPDATE product SET category_id = :categoryId, name = :name, price = :price, stock = :stock,
+                               description = :description, status = :status, version = :version
+            WHERE id = :id AND version = :storedVersion""";
+
+    private static final RowMapper<Product> ROW_MAPPER = (rs, rowNum) -> Product.restore(
+            rs.getLong("id"),
+            rs.getLong("category_id"),
+            rs.getString("name"),
+            rs.getInt("price"),
+            rs.getInt("stock"),
+            rs.getString("description"),
+            ProductStatus.valueOf(rs.getString("status")),
+            rs.getLong("version"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+
+    public JdbcProductRepository(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager) {
+        this.jdbc = jdbc;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public boolean sharesEntities() {
+        return false;
+    }
+
+    @Override
+    public Product save(Product product) {
+        if(product.getId() == null) {
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbc.update(INSERT, params(product), keys, new String[]{"id"});
+            product.assignId(Objects.requireNonNull(keys.getKey()).longValue());
+        } else if(jdbc.update(UPDATE, params(product)) == 0) {
+            insertOrConflict(List.of(product));
+        }
+        product.markStored();
+        return product;
+    }
+
+    // 신규는 INSERT 배치 한 번(생성 키를 순서대로 받아 id 할당), 기존은 UPDATE 배치 한 번. 전체를 한 트랜잭션으로.
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        List<Product> created = new ArrayList<>();
+        List<Product> updated = new ArrayList<>();
+        for (Product product : products) {
+            (product.getId() == null ? created : updated).add(product);
+        }
+
+        transaction.executeWithoutResult(status -> {
+            if(!updated.isEmpty()) {
+                int[] counts = jdbc.batchUpdate(UPDATE, batch(updated));
+                List<Product> missing = new ArrayList<>();
+                for (int i = 0; i < counts.length; i++) {
+                    if(counts[i] == 0) missing.add(updated.get(i));
+                }
+                if(!missing.isEmpty()) {
+                    insertOrConflict(missing);
+                }
+            }
+            if(!created.isEmpty()) {
+                KeyHolder keys = new GeneratedKeyHolder();
+                jdbc.batchUpdate(INSERT, batch(created), keys, new String[]{"id"});
+                List<Map<String, Object>> generated = keys.getKeyList();
+                for (int i = 0; i < created.size(); i++) {
+                    created.get(i).assignId(((Number) generated.get(i).values().iterator().next()).longValue());
+                }
+            }
+        });
+        products.forEach(Product::markStored);
+        return new ArrayList<>(products);
+    }
+
+    // 재고 확인 + 차감을 한 문장으로 (다른 요청이 사이에 끼어들 수 없음)
+    // 성공하면 같은 트랜잭션에서 그 행을 다시 읽어 들고 있는 객체(이 요청 전용 사본)에 DB 결과(재고/상태/버전)를 그대로 담는다.
+    // 행 락이 잡혀 있는 동안 읽으니 이 UPDATE 직후의 값 -> 캐시(CachingProductRepository)가 버전으로 자기 사본을 맞출 수 있다.
+    @Override
+    public boolean tryDecreaseStock(Product product, int quantity) {
+        if(quantity <= 0) {
+            throw new IllegalArgumentException("감소 수량은 1 이상이어야 합니다.");
+        }
+        return Boolean.TRUE.equals(transaction.execute(status -> {
+            int updated = jdbc.update("""
+                    UPDATE product SET stock = stock - :quantity, version = version + 1
+                    WHERE id = :id AND stock >= :quantity""",
+                    new MapSqlParameterSource("id", product.getId()).addValue("quantity", quantity));
+            if(updated == 0) {
+                return false;
+            }
+            syncStock(product);
+            return true;
+        }));
+    }
+
+    @Override
+    public void increaseStock(Product product, int quantity) {
+        if(quantity <= 0) {
+            throw new IllegalArgumentException("증가 수량은 1 이상이어야 합니다.");
+        }
+        transaction.executeWithoutResult(status -> {
+            int updated = jdbc.update("""
+                    UPDATE product SET stock = stock + :quantity, version = version + 1,
+                                       status = CASE WHEN status = 'SOLD_OUT' THEN 'ON_SALE' ELSE status END
+                    WHERE id = :id""",
+                    new MapSqlParameterSource("id", product.getId()).addValue("quantity", quantity));
+            if(updated > 0) {
+                syncStock(product);
+            }
+        });
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        if(id == null) return Optional.empty();
+        return jdbc.query("SELECT " + COLUMNS + " FROM product WHERE id = :id", Map.of("id", id), ROW_MAPPER)
+                .stream().findFirst();
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return jdbc.query("SELECT " + COLUMNS + " FROM product ORDER BY id", ROW_MAPPER);
+    }
+
+    @Override
+    public List<Product> findAllByCategoryId(Long categoryId) {
+        if(categoryId == null) return new ArrayList<>();
+        return jdbc.query("SELECT " + COLUMNS + " FROM product WHERE category_id = :categoryId ORDER BY id",
+                Map.of("categoryId", categoryId), ROW_MAPPER);
+    }
+
+    @Override
+    public boolean existsByCategoryId(Long categoryId) {
+        if(categoryId == null) return false;
+        return !jdbc.queryForList("SELECT 1 FROM product WHERE category_id = :categoryId FETCH FIRST 1 ROWS ONLY",
+                Map.of("categoryId", categoryId), Integer.class).isEmpty();
+    }
+
+    @Override
+    public List<Product> findAllPublicByCategoryId(Long categoryId) {
+        if(categoryId == null) return List.of();
+        return jdbc.query("SELECT " + COLUMNS + " FROM product WHERE category_id = :categoryId AND " + PUBLIC + " ORDER BY id",
+                Map.of("categoryId", categoryId), ROW_MAPPER);
+    }
+
+    @Override
+    public List<Product> findAllPublic() {
+        return jdbc.query("SELECT " + COLUMNS + " FROM product WHERE " + PUBLIC + " ORDER BY id", ROW_MAPPER);
+    }
+
+    // 키셋 페이지 : id > 커서 조건으로 인덱스에서 바로 시작 위치를 찾고 limit 개만 읽는다. (OFFSET 없음)
+    @Override
+    public List<Product> findAllPublicAfter(Long afterId, int limit) {
+        return jdbc.query("SELECT " + COLUMNS + " FROM product WHERE id > :afterId AND " + PUBLIC
+                        + " ORDER BY id FETCH FIRST :limit ROWS ONLY",
+                page(afterId, limit), ROW_MAPPER);
+    }
+
+    @Override
+    public List<Product> findAllPublicByCategoryIdAfter(Long categoryId, Long afterId, int limit) {
+        if(categoryId == null) return List.of();
+        return jdbc.query("SELECT " + COLUMNS + " FROM product WHERE category_id = :categoryId AND id > :afterId AND "
+                        + PUBLIC + " ORDER BY id FETCH FIRST :limit ROWS ONLY",
+                page(afterId, limit).addValue("categoryId", categoryId), ROW_MAPPER);
+    }
+
+    @Override
+    public List<Product> findAllPublicByCategoryIdsAfter(Collection<Long> categoryIds, Long afterId, int limit) {
+        if(categoryIds.isEmpty()) return List.of();
+        return jdbc.query("SELECT " + COLUMNS + " FROM product WHERE category_id IN (:categoryIds) AND id > :afterId AND "
+                        + PUBLIC + " ORDER BY id FETCH FIRST :limit ROWS ONLY",
+                page(afterId, limit).addValue("categoryIds", categoryIds), ROW_MAPPER);
+    }
+
+    // 방금 바꾼 행의 재고/상태/버전 (재고 변경 트랜잭션 안에서만 호출)
+    private void syncStock(Product product) {
+        jdbc.queryForObject("SELECT stock, status, version FROM product WHERE id = :id", Map.of("id", product.getId()),
+                (rs, rowNum) -> {
+                    product.syncStock(rs.getInt("stock"), ProductStatus.valueOf(rs.getString("status")), rs.getLong("version"));
+                    return product;
+                });
+    }
+
+    // UPDATE 가 0건 : 행이 없으면 id가 정해진 채로 처음 들어온 상품(메모리 저장소와 같은 동작)이니 INSERT,
+    // 행이 있으면 읽어온 뒤 다른 요청이 먼저 바꾼 것
+    private void insertOrConflict(List<Product> products) {
+        List<Long> ids = products.stream().map(Product::getId).toList();
+        List<Long> existing = jdbc.queryForList("SELECT id FROM product WHERE id IN (:ids)", Map.of("ids", ids), Long.class);
+        if(!existing.isEmpty()) {
+            throw new ConflictException("다른 요청이 상품을 먼저 변경했습니다. 다시 시도해 주세요. productId=" + existing.get(0));
+        }
+        jdbc.batchUpdate(INSERT_WITH_ID, batch(products));
+    }
+
+    private MapSqlParameterSource page(Long afterId, int limit) {
+        return new MapSqlParameterSource("afterId", afterId == null ? 0L : afterId).addValue("limit", limit);
+    }
+
+    private SqlParameterSource[] batch(List<Product> products) {
+        SqlParameterSource[] batch = new SqlParameterSource[products.size()];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = params(products.get(i));
+        }
+        return batch;
+    }
+
+    private MapSqlParameterSource params(Product product) {
+        return new MapSqlParameterSource("id", product.getId())
+                .addValue("categoryId", product.getCategoryId())
+                .addValue("name", product.getName())
+                .addValue("price", product.getPrice())
+                .addValue("stock", product.getStock())
+                .addValue("description", product.getDescription())
+                .addValue("status", product.getStatus().name())
+                .addValue("version", product.getVersion())
+                .addValue("storedVersion", product.getStoredVersion());
+    }
+}
@@ -2,24 +2,54 @@ package io.github.takgeun.shop.product.infra;
 
 import io.github.takgeun.shop.product.domain.Product;
 import io.github.takgeun.shop.product.domain.ProductRepository;
-import io.github.takgeun.shop.product.domain.ProductStatus;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
+@Profile("!jdbc")     // jdbc 프로필에서는 Jdbc*Repository 를 쓴다.
 public class MemoryProductRepository implements ProductRepository {
 
-    // 저장 순서 유지하기 위해 LinkedHashMap 사용 (findAll 안정적)
-    private final Map<Long, Product> store = new LinkedHashMap<>();
-    private long sequence = 0L;     // 동시성 문제는 추후 해결할 것.
+    // 락 스트라이프 개수 (2의 거듭제곱이어야 비트 마스킹으로 인덱스 계산 가능)
+    private static final int STRIPES = 64;
+
+    // id는 sequence로 단조 증가하니까 id 오름차순 = 저장 순서. (findAll 안정적)
+    // LinkedHashMap 대신 ConcurrentSkipListMap을 써서 동시 읽기/쓰기 중에도 순회가 깨지지 않도록 한다.
+    private final ConcurrentNavigableMap<Long, Product> store = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong(0);
+
+    // 보조 인덱스 : categoryId -> (productId -> Product)
+    // 카테고리별 조회를 전체 스캔 대신 해당 카테고리 상품 수만큼만 돌도록 하기 위함.
+    private final ConcurrentMap<Long, ConcurrentNavigableMap<Long, Product>> categoryIndex = new ConcurrentHashMap<>();
+
+    // 상품이 현재 어느 카테고리 인덱스에 들어가 있는지 (productId -> categoryId)
+    // Product는 가변 객체라서 changeCategory 이후 save 시점에 이전 카테고리를 알 방법이 없으니 따로 기록해둔다.
+    private final ConcurrentMap<Long, Long> indexedCategory = new ConcurrentHashMap<>();
+
+    // 같은 상품에 대한 save가 동시에 들어오면 인덱스 이동(remove -> put)이 꼬일 수 있으니 상품 id 단위로 직렬화
+    // 상품마다 락을 만들면 메모리가 늘어나니 고정 개수 락을 나눠 쓴다. (읽기는 락 없이)
+    private final Object[] locks = new Object[STRIPES];
+
+    public MemoryProductRepository() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
 
     @Override
     public Product save(Product product) {
         if(product.getId() == null) {
-            long id = ++sequence;
+            long id = sequence.incrementAndGet();
             product.assignId(id);
+        } else if(product.getId() > sequence.get()) {
+            // 복구(WAL 재생)처럼 id가 이미 정해진 채로 들어오면 다음 신규 id가 겹치지 않도록 시퀀스를 따라 올린다.
+            sequence.accumulateAndGet(product.getId(), Math::max);
         }
 
         // 수정할 때 기존 id로 덮어쓰기.
@@ -27,13 +57,18 @@ public class MemoryProductRepository implements ProductRepository {
         // 엔티티의 의미 있는 메서드로 상태를 바꾼다. (changeName 등등)
         // 이후 Service에서 repository.save(entity) 를 호출해서 저장한다.
         // 우선 메모리 저장이니까 Map에 덮어쓰기.
-        store.put(product.getId(), product);
+        Long id = product.getId();
+        synchronized (lockFor(id)) {
+            store.put(id, product);
+            reindexCategory(product);
+        }
         return product;
     }
 
     @Override
     public Optional<Product> findById(Long id) {
-        return Optional.ofNullable(store.get(id));      // 값이 있으면 Optional<Category> 없으면 Optional.empty()
+        if(id == null) return Optional.empty();
+        return Optional.ofNullable(store.get(id));      // 값이 있으면 Optional<Product> 없으면 Optional.empty()
     }
 
     @Override
@@ -43,28 +78,29 @@ public class MemoryProductRepository implements ProductRepository {
 
     @Override
     public List<Product> findAllByCategoryId(Long categoryId) {
-        return store.values().stream()
-                .filter(p -> p.getCategoryId().equals(categoryId))
-                .collect(Collectors.toList());
-        // [컬렉션] → stream() → 중간연산(filter) → 최종연산(collect)
-        // collect :스트림을 다시 컬렉션으로 모아라.
-        // Stream<Product> 필터링된 상태를 collect 사용해서 List<Product>로 수거(collect)
-        // Collectors.toList() : 비어 있는 List 생성 -> 스트림의 각 요소(Product)를 List에 하나씩 add -> 최종 List 반환
-        // stream은 그 자체로 반환할 수 없기 때문에 반드시 최종 연산으로 끝내서 반환해야 함.
+        ConcurrentNavigableMap<Long, Product> products = categoryBucket(categoryId);
+        if(products == null) return new ArrayList<>();
+        return new ArrayList<>(products.values());
     }
 
     @Override
     public boolean existsByCategoryId(Long categoryId) {
-        return store.values().stream()
-                .anyMatch(p -> categoryId != null && categoryId.equals(p.getCategoryId()));
+        ConcurrentNavigableMap<Long, Product> products = categoryBucket(categoryId);
+        return products != null && !products.isEmpty();
     }
 
     @Override
     public List<Product> findAllPublicByCategoryId(Long categoryId) {
-        return store.values().stream()
-                .filter(p -> categoryId.equals(p.getCategoryId()))
-                .filter(Product::isPublicVisible)
-                .toList();
+        ConcurrentNavigableMap<Long, Product> products = categoryBucket(categoryId);
+        if(products == null) return List.of();
+
+        List<Product> result = new ArrayList<>();
+        for (Product product : products.values()) {
+            if(product.isPublicVisible()) {
+                result.add(product);
+            }
+        }
+        return result;
     }
 
     @Override
@@ -73,4 +109,88 @@ public class MemoryProductRepository implements ProductRepository {
                 .filter(Product::isPublicVisible)
                 .toList();
     }
+
+    @Override
+    public List<Product> findAllPublicAfter(Long afterId, int limit) {
+        return publicPage(store, afterId, limit);
+    }
+
+    @Override
+    public List<Product> findAllPublicByCategoryIdAfter(Long categoryId, Long afterId, int limit) {
+        ConcurrentNavigableMap<Long, Product> products = categoryBucket(categoryId);
+        if(products == null) return List.of();
+        return publicPage(products, afterId, limit);
+    }
+
+    // 카테고리별 인덱스에서 각각 limit 개까지만 꺼낸 뒤 id 순으로 합쳐서 앞에서 limit 개
+    // 카테고리 수 x 페이지 크기 만큼만 보고, 전체 상품은 훑지 않는다.
+    @Override
+    public List<Product> findAllPublicByCategoryIdsAfter(Collection<Long> categoryIds, Long afterId, int limit) {
+        if(categoryIds.size() == 1) {
+            return findAllPublicByCategoryIdAfter(categoryIds.iterator().next(), afterId, limit);
+        }
+
+        List<Product> merged = new ArrayList<>();
+        for (Long categoryId : categoryIds) {
+            ConcurrentNavigableMap<Long, Product> products = categoryBucket(categoryId);
+            if(products != null) {
+                merged.addAll(publicPage(products, afterId, limit));
+            }
+        }
+        merged.sort(Comparator.comparing(Product::getId));
+        return (merged.size() > limit) ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    // 정렬된 맵에서 커서 다음 위치로 바로 이동(tailMap)한 뒤 limit 개가 찰 때까지만 순회
+    // 전체 상품 수가 아니라 페이지 크기(+ 중간에 끼어 있는 비공개 상품 수)만큼만 비용이 든다.
+    private List<Product> publicPage(ConcurrentNavigableMap<Long, Product> source, Long afterId, int limit) {
+        Map<Long, Product> range = (afterId == null) ? source : source.tailMap(afterId, false);
+
+        List<Product> result = new ArrayList<>(limit);
+        for (Product product : range.values()) {
+            if(result.size() >= limit) break;
+            if(product.isPublicVisible()) {
+                result.add(product);
+            }
+        }
+        return result;
+    }
+
+    // WAL 에 기록하지 못한 신규 상품을 되돌린다. (WalProductRepository 전용)
+    void discard(Long id) {
+        synchronized (lockFor(id)) {
+            store.remove(id);
+            Long categoryId = indexedCategory.remove(id);
+            ConcurrentNavigableMap<Long, Product> bucket = categoryBucket(categoryId);
+            if(bucket != null) {
+                bucket.remove(id);
+            }
+        }
+    }
+
+    // 카테고리가 바뀌었으면 이전 카테고리 버킷에서 빼고 새 버킷으로 옮긴다.
+    // 반드시 상품 id 락을 잡은 상태에서 호출할 것.
+    private void reindexCategory(Product product) {
+        Long id = product.getId();
+        Long categoryId = product.getCategoryId();
+
+        Long previous = indexedCategory.put(id, categoryId);
+        if(previous != null && !previous.equals(categoryId)) {
+            ConcurrentNavigableMap<Long, Product> old = categoryIndex.get(previous);
+            if(old != null) {
+                old.remove(id);
+            }
+        }
+        categoryIndex.computeIfAbsent(categoryId, k -> new ConcurrentSkipListMap<>())
+                .put(id, product);
+    }
+
+    private ConcurrentNavigableMap<Long, Product> categoryBucket(Long categoryId) {
+        if(categoryId == null) return null;
+        return categoryIndex.get(categoryId);
+    }
+
+    private Object lockFor(Long id) {
+        return locks[Long.hashCode(id) & (STRIPES - 1)];
+    }
 }
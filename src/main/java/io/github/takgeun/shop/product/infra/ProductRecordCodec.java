@@ -0,0 +1,36 @@
+package io.github.takgeun.shop.product.infra;
+
+import io.github.takgeun.shop.global.wal.RecordCodec;
+import io.github.takgeun.shop.global.wal.RecordReader;
+import io.github.takgeun.shop.global.wal.RecordWriter;
+import io.github.takgeun.shop.product.domain.Product;
+import io.github.takgeun.shop.product.domain.ProductStatus;
+
+// 상품 레코드 : id, categoryId, name, price, stock, description, status, version (필드 순서 = 포맷)
+final class ProductRecordCodec implements RecordCodec<Product> {
+
+    private static final ProductStatus[] STATUSES = ProductStatus.values();
+
+    @Override
+    public Long idOf(Product product) {
+        return product.getId();
+    }
+
+    @Override
+    public void write(Product product, RecordWriter out) {
+        out.putId(product.getId())
+                .putLong(product.getCategoryId())
+                .putString(product.getName())
+                .putInt(product.getPrice())
+                .putInt(product.getStock())
+                .putString(product.getDescription())
+                .putEnum(product.getStatus())
+                .putLong(product.getVersion());
+    }
+
+    @Override
+    public Product read(RecordReader in) {
+        return Product.restore(in.getLong(), in.getLong(), in.getString(), in.getInt(), in.getInt(),
+                in.getString(), in.getEnum(STATUSES), in.getLong());
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.takgeun.shop.product.infra;
+
+import io.github.takgeun.shop.global.wal.WalEntity;
+import io.github.takgeun.shop.global.wal.WalRepositorySupport;
+import io.github.takgeun.shop.global.wal.WriteAheadLog;
+import io.github.takgeun.shop.product.domain.Product;
+import io.github.takgeun.shop.product.domain.ProductRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// wal 프로필 : 조회는 메모리 저장소 그대로, save 는 WAL 에 남긴 뒤 돌려준다.
+// 상품끼리는 재생 순서가 서로 영향을 주지 않으니 상품 id 단위 락(64개 스트라이프)으로 주문 동시성을 살린다.
+@Primary
+@Profile("wal")
+@Repository
+public class WalProductRepository extends WalRepositorySupport<Product> implements ProductRepository {
+
+    private static final int STRIPES = 64;
+
+    private final MemoryProductRepository delegate;
+
+    public WalProductRepository(MemoryProductRepository delegate, WriteAheadLog writeAheadLog) {
+        super(writeAheadLog, WalEntity.PRODUCT, new ProductRecordCodec(), STRIPES);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Product save(Product product) {
+        return logSave(product, delegate::save);
+    }
+
+    @Override
+    protected void restore(Product restored) {
+        delegate.save(restored);
+    }
+
+    @Override
+    protected void discard(Long id) {
+        delegate.discard(id);
+    }
+
+    @Override
+    protected Collection<Product> entities() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Product> findAllByCategoryId(Long categoryId) {
+        return delegate.findAllByCategoryId(categoryId);
+    }
+
+    @Override
+    public boolean existsByCategoryId(Long categoryId) {
+        return delegate.existsByCategoryId(categoryId);
+    }
+
+    @Override
+    public List<Product> findAllPublicByCategoryId(Long categoryId) {
+        return delegate.findAllPublicByCategoryId(categoryId);
+    }
+
+    @Override
+    public List<Product> findAllPublic() {
+        return delegate.findAllPublic();
+    }
+
+    @Override
+    public List<Product> findAllPublicAfter(Long afterId, int limit) {
+        return delegate.findAllPublicAfter(afterId, limit);
+    }
+
+    @Override
+    public List<Product> findAllPublicByCategoryIdAfter(Long categoryId, Long afterId, int limit) {
+        return delegate.findAllPublicByCategoryIdAfter(categoryId, afterId, limit);
+    }
+
+    @Override
+    public List<Product> findAllPublicByCategoryIdsAfter(Collection<Long> categoryIds, Long afterId, int limit) {
+        return delegate.findAllPublicByCategoryIdsAfter(categoryIds, afterId, limit);
+    }
+}
@@ -0,0 +1,70 @@
+-- jdbc 프로필 스키마 (H2 기준, 표준 SQL 위주라 다른 DB 로 옮길 때는 IDENTITY/인덱스 문법 정도만 손보면 된다)
+-- 저장소 인터페이스의 조회 메서드마다 인덱스 하나씩 :
+--   findByEmail                 -> uk_member_email
+--   findAllByMemberId(+Before)  -> idx_orders_member (member_id, id)
+--   findAllPublicByCategoryId   -> idx_product_category (category_id, id)
+--   existsByNameKey             -> uk_category_name_key
+--   existsByParentId / 트리      -> idx_category_parent
+
+CREATE TABLE IF NOT EXISTS category (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(50)  NOT NULL,
+    name_key    VARCHAR(50)  NOT NULL,
+    parent_id   BIGINT,
+    status      VARCHAR(20)  NOT NULL,
+    version     BIGINT       NOT NULL,
+    CONSTRAINT uk_category_name_key UNIQUE (name_key)
+);
+CREATE INDEX IF NOT EXISTS idx_category_parent ON category (parent_id);
+
+CREATE TABLE IF NOT EXISTS member (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email       VARCHAR(320) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    name        VARCHAR(50)  NOT NULL,
+    phone       VARCHAR(30)  NOT NULL,
+    role        VARCHAR(20)  NOT NULL,
+    status      VARCHAR(20)  NOT NULL,
+    CONSTRAINT uk_member_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS product (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category_id BIGINT        NOT NULL,
+    name        VARCHAR(100)  NOT NULL,
+    price       INT           NOT NULL,
+    stock       INT           NOT NULL,
+    description VARCHAR(2000),
+    status      VARCHAR(20)   NOT NULL,
+    version     BIGINT        NOT NULL,
+    CONSTRAINT ck_product_stock CHECK (stock >= 0)
+);
+CREATE INDEX IF NOT EXISTS idx_product_category ON product (category_id, id);
+
+-- ORDER 는 예약어라서 orders
+CREATE TABLE IF NOT EXISTS orders (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    member_id         BIGINT        NOT NULL,
+    status            VARCHAR(20)   NOT NULL,
+    total_price       INT           NOT NULL,
+    recipient_name    VARCHAR(50)   NOT NULL,
+    recipient_phone   VARCHAR(30)   NOT NULL,
+    shipping_zip_code VARCHAR(10)   NOT NULL,
+    shipping_address  VARCHAR(255)  NOT NULL,
+    request_message   VARCHAR(255),
+    ordered_at        TIMESTAMP(9)  NOT NULL,
+    canceled_at       TIMESTAMP(9),
+    updated_at        TIMESTAMP(9)  NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_orders_member ON orders (member_id, id);
+
+-- 주문 상품 줄 : 주문이 만들어진 뒤에는 바뀌지 않는다. (line_no = 주문 안에서의 순서)
+CREATE TABLE IF NOT EXISTS order_line (
+    order_id      BIGINT       NOT NULL,
+    line_no       INT          NOT NULL,
+    product_id    BIGINT       NOT NULL,
+    product_name  VARCHAR(100) NOT NULL,
+    unit_price    INT          NOT NULL,
+    quantity      INT          NOT NULL,
+    PRIMARY KEY (order_id, line_no)
+);
@@ -0,0 +1,50 @@
+package io.github.takgeun.shop.category.application;
+
+import io.github.takgeun.shop.category.domain.Category;
+import io.github.takgeun.shop.category.infra.MemoryCategoryRepository;
+import io.github.takgeun.shop.global.error.ConflictException;
+import io.github.takgeun.shop.product.infra.MemoryProductRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoryServiceUpdateTest {
+
+    @Test
+    void 검증_뒤_다른_이동과_겹쳐_저장이_거절되면_엔티티의_부모도_그대로() {
+        // given : 최상위 A, B. A 를 B 밑으로 옮기는 요청이 순환 검증을 통과한 직후, 다른 요청이 B 를 A 밑으로 옮긴다.
+        RacingCategoryRepository categoryRepository = new RacingCategoryRepository();
+        CategoryService categoryService = new CategoryService(categoryRepository, new MemoryProductRepository());
+        Long a = categoryService.create("A", null);
+        Long b = categoryService.create("B", null);
+        categoryRepository.beforeNextSave = () -> categoryService.update(b, null, a, null);
+
+        // when
+        assertThrows(ConflictException.class, () -> categoryService.update(a, "새 A", b, null));
+
+        // then : 저장된 엔티티 = 트리 (스냅샷/재저장 시 다른 트리가 되지 않음)
+        Category categoryA = categoryRepository.findById(a).orElseThrow();
+        assertNull(categoryA.getParentId());
+        assertEquals("A", categoryA.getName());
+        assertEquals(a, categoryRepository.findById(b).orElseThrow().getParentId());
+        assertEquals(List.of(a, b), categoryRepository.findSubtreeIds(a));
+    }
+
+    // 다음 save 직전에 다른 요청을 끼워 넣는 저장소
+    private static class RacingCategoryRepository extends MemoryCategoryRepository {
+
+        private Runnable beforeNextSave;
+
+        @Override
+        public Category save(Category category) {
+            Runnable racing = beforeNextSave;
+            beforeNextSave = null;
+            if(racing != null) {
+                racing.run();
+            }
+            return super.save(category);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.takgeun.shop.category.infra;
+
+import io.github.takgeun.shop.category.domain.Category;
+import io.github.takgeun.shop.global.error.ConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcCategoryRepositoryTest {
+
+    private EmbeddedDatabase db;
+    private NamedParameterJdbcTemplate jdbc;
+    private JdbcCategoryRepository categoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/schema.sql")
+                .build();
+        jdbc = new NamedParameterJdbcTemplate(db);
+        categoryRepository = new JdbcCategoryRepository(jdbc, new DataSourceTransactionManager(db));
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    void 읽은_뒤_다른_요청이_먼저_바꿨으면_409() {
+        // given
+        Long id = categoryRepository.save(Category.create("전자", null)).getId();
+        Category stale = categoryRepository.findById(id).orElseThrow();
+        Category first = categoryRepository.findById(id).orElseThrow();
+        first.changeName("가전");
+        categoryRepository.save(first);
+
+        // when
+        stale.deactivate();
+
+        // then
+        assertThrows(ConflictException.class, () -> categoryRepository.save(stale));
+        Category saved = categoryRepository.findById(id).orElseThrow();
+        assertEquals("가전", saved.getName());
+        assertTrue(saved.isActive());
+    }
+
+    @Test
+    void 각자_검증을_통과한_두_이동이_합쳐져_순환이_되면_나중_것은_409() {
+        // given : 둘 다 최상위. A 를 B 밑으로, B 를 A 밑으로 (각각 읽을 때는 순환이 아님)
+        Long a = categoryRepository.save(Category.create("A", null)).getId();
+        Long b = categoryRepository.save(Category.create("B", null)).getId();
+        Category moveA = categoryRepository.findById(a).orElseThrow();
+        Category moveB = categoryRepository.findById(b).orElseThrow();
+        moveA.changeParent(b);
+        moveB.changeParent(a);
+
+        // when
+        categoryRepository.save(moveA);
+
+        // then
+        assertThrows(ConflictException.class, () -> categoryRepository.save(moveB));
+        assertNull(categoryRepository.findById(b).orElseThrow().getParentId());
+        assertTrue(categoryRepository.isDescendantOf(a, b));
+    }
+
+    @Test
+    void 엇갈린_이동을_동시에_저장해도_순환이_생기지_않는다() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            // given : 최상위 A, B
+            Long a = categoryRepository.save(Category.create("A" + round, null)).getId();
+            Long b = categoryRepository.save(Category.create("B" + round, null)).getId();
+
+            // when : A -> B 밑, B -> A 밑을 동시에
+            try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+                executor.submit(() -> move(a, b));
+                executor.submit(() -> move(b, a));
+            }
+
+            // then : 많아야 하나만 반영
+            Long parentOfA = categoryRepository.findById(a).orElseThrow().getParentId();
+            Long parentOfB = categoryRepository.findById(b).orElseThrow().getParentId();
+            assertFalse(parentOfA != null && parentOfB != null, "round=" + round);
+        }
+    }
+
+    @Test
+    void 데이터에_순환이_있어도_트리_조회는_깊이_상한에서_끝난다() {
+        // given : 1 -> 2 -> 1 (저장소를 거치지 않고 직접 넣은 깨진 데이터)
+        Long first = categoryRepository.save(Category.create("A", null)).getId();
+        Long second = categoryRepository.save(Category.create("B", first)).getId();
+        jdbc.update("UPDATE category SET parent_id = :parentId WHERE id = :id", Map.of("parentId", second, "id", first));
+
+        // when & then
+        assertFalse(categoryRepository.isDescendantOf(first, 999L));
+        assertEquals(JdbcCategoryRepository.MAX_DEPTH + 1, categoryRepository.findSubtreeIds(first).size());
+
+        Long other = categoryRepository.save(Category.create("C", null)).getId();
+        Category move = categoryRepository.findById(other).orElseThrow();
+        move.changeParent(first);
+        assertThrows(ConflictException.class, () -> categoryRepository.save(move));
+    }
+
+    @Test
+    void 활성_하위_트리는_상태까지_쿼리_한_번에_거른다() {
+        // given : A -> B(비활성) -> C, A -> D
+        Long a = categoryRepository.save(Category.create("A", null)).getId();
+        Long b = categoryRepository.save(Category.create("B", a)).getId();
+        Long c = categoryRepository.save(Category.create("C", b)).getId();
+        Long d = categoryRepository.save(Category.create("D", a)).getId();
+        Category inactive = categoryRepository.findById(b).orElseThrow();
+        inactive.deactivate();
+        categoryRepository.save(inactive);
+
+        // when & then : 깊이 순서 그대로, 비활성 노드만 빠진다. (비활성 자신은 맨 앞에 없다)
+        assertEquals(List.of(a, d, c), categoryRepository.findActiveSubtreeIds(a));
+        assertEquals(List.of(c), categoryRepository.findActiveSubtreeIds(b));
+        assertEquals(List.of(), categoryRepository.findActiveSubtreeIds(999L));
+    }
+
+    private void move(Long id, Long parentId) {
+        Category category = categoryRepository.findById(id).orElseThrow();
+        category.changeParent(parentId);
+        try {
+            categoryRepository.save(category);
+        } catch (ConflictException ignored) {
+            // 나중 쪽은 순환/버전 충돌로 거절
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.takgeun.shop.category.infra;
+
+import io.github.takgeun.shop.category.domain.Category;
+import io.github.takgeun.shop.global.error.ConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryCategoryRepositoryTest {
+
+    private MemoryCategoryRepository categoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository = new MemoryCategoryRepository();
+    }
+
+    @Test
+    void 부모를_바꾸면_하위_트리째로_이동() {
+        // given : 전자 -> 컴퓨터 -> 노트북, 가구
+        Category electronics = categoryRepository.save(Category.create("전자", null));
+        Category computer = categoryRepository.save(Category.create("컴퓨터", electronics.getId()));
+        Category laptop = categoryRepository.save(Category.create("노트북", computer.getId()));
+        Category furniture = categoryRepository.save(Category.create("가구", null));
+
+        // when : 컴퓨터를 가구 밑으로
+        computer.changeParent(furniture.getId());
+        categoryRepository.save(computer);
+
+        // then
+        assertFalse(categoryRepository.existsByParentId(electronics.getId()));
+        assertTrue(categoryRepository.existsByParentId(furniture.getId()));
+        assertTrue(categoryRepository.isDescendantOf(laptop.getId(), furniture.getId()));
+        assertFalse(categoryRepository.isDescendantOf(laptop.getId(), electronics.getId()));
+        assertEquals(List.of(furniture.getId(), computer.getId(), laptop.getId()),
+                categoryRepository.findSubtreeIds(furniture.getId()));
+        assertEquals(List.of(electronics.getId()), categoryRepository.findSubtreeIds(electronics.getId()));
+    }
+
+    @Test
+    void 하위_카테고리를_부모로_지정하면_409() {
+        // given
+        Category root = categoryRepository.save(Category.create("전자", null));
+        Category child = categoryRepository.save(Category.create("컴퓨터", root.getId()));
+
+        // when
+        root.changeParent(child.getId());
+
+        // then
+        assertThrows(ConflictException.class, () -> categoryRepository.save(root));
+    }
+
+    @Test
+    void 삭제하면_부모의_자식에서도_빠진다() {
+        // given
+        Category root = categoryRepository.save(Category.create("전자", null));
+        Category child = categoryRepository.save(Category.create("컴퓨터", root.getId()));
+
+        // when
+        categoryRepository.deleteById(child.getId());
+
+        // then
+        assertFalse(categoryRepository.existsByParentId(root.getId()));
+        assertEquals(List.of(root.getId()), categoryRepository.findSubtreeIds(root.getId()));
+    }
+
+    @Test
+    void 비활성_카테고리는_활성_목록에서_제외() {
+        // given
+        Category active = categoryRepository.save(Category.create("전자", null));
+        Category inactive = categoryRepository.save(Category.create("가구", null));
+
+        // when
+        inactive.deactivate();
+        categoryRepository.save(inactive);
+
+        // then
+        assertEquals(List.of(active), categoryRepository.findAllActive());
+        assertEquals(2, categoryRepository.findAll().size());
+    }
+
+    @Test
+    void 활성_하위_트리는_비활성_노드만_빼고_같은_순서() {
+        // given : 전자 -> 컴퓨터(비활성) -> 노트북, 전자 -> 카메라
+        Category electronics = categoryRepository.save(Category.create("전자", null));
+        Category computer = categoryRepository.save(Category.create("컴퓨터", electronics.getId()));
+        Category laptop = categoryRepository.save(Category.create("노트북", computer.getId()));
+        Category camera = categoryRepository.save(Category.create("카메라", electronics.getId()));
+
+        // when
+        computer.deactivate();
+        categoryRepository.save(computer);
+
+        // then
+        assertEquals(List.of(electronics.getId(), camera.getId(), laptop.getId()),
+                categoryRepository.findActiveSubtreeIds(electronics.getId()));
+        assertEquals(List.of(laptop.getId()), categoryRepository.findActiveSubtreeIds(computer.getId()));
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.takgeun.shop.global.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final byte[] key = filled(32, (byte) 7);
+
+    @Test
+    void 발급한_토큰은_서버_상태_없이_같은_키로_검증되고_만료되면_거절() {
+        // given : 서로 다른 인스턴스라도 같은 키면 검증된다.
+        AuthTokenService issuer = service(key, NOW);
+        String token = issuer.issue(42L);
+
+        // when & then
+        AuthToken verified = service(key, NOW.plusSeconds(3599)).verify(token).orElseThrow();
+        assertEquals(42L, verified.memberId());
+
+        assertTrue(service(key, NOW.plusSeconds(3600)).verify(token).isEmpty());
+        assertTrue(service(filled(32, (byte) 8), NOW).verify(token).isEmpty());
+    }
+
+    @Test
+    void 본문이나_서명을_바꾸면_거절() {
+        // given
+        AuthTokenService service = service(key, NOW);
+        String token = service.issue(1L);
+        String other = service.issue(2L);
+        int dot = token.indexOf('.');
+
+        // when & then : 다른 토큰의 본문 + 이 토큰의 서명, 잘린 서명, 형식 오류
+        assertTrue(service.verify(other.substring(0, other.indexOf('.')) + token.substring(dot)).isEmpty());
+        assertTrue(service.verify(token.substring(0, token.length() - 2)).isEmpty());
+        assertTrue(service.verify("not-a-token").isEmpty());
+        assertTrue(service.verify("%%%.%%%").isEmpty());
+        assertTrue(service.verify(token).isPresent());
+    }
+
+    private AuthTokenService service(byte[] key, Instant now) {
+        return new AuthTokenService(AuthMode.TOKEN, key, Duration.ofHours(1), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static byte[] filled(int length, byte value) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, value);
+        return bytes;
+    }
+}
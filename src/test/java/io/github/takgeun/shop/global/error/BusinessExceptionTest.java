@@ -0,0 +1,22 @@
+package io.github.takgeun.shop.global.error;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessExceptionTest {
+
+    @Test
+    void 비즈니스_예외는_스택_트레이스가_없고_재사용해도_그대로() {
+        // given
+        ConflictException e = new ConflictException("재고 부족");
+
+        // when
+        e.addSuppressed(new IllegalStateException());
+
+        // then
+        assertEquals(0, e.getStackTrace().length);
+        assertEquals(0, e.getSuppressed().length);
+        assertThrows(IllegalStateException.class, () -> e.initCause(new RuntimeException()));
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.takgeun.shop.global.error;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientErrorLogLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void 초당_한도를_넘으면_버리고_다음_창의_첫_줄에_버린_개수() {
+        // given
+        ClientErrorLogLimiter limiter = new ClientErrorLogLimiter(2, nanos::get);
+
+        // when & then
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+
+        nanos.addAndGet(1_000_000_000L);
+        assertEquals(2, limiter.tryAcquire());
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+    }
+}
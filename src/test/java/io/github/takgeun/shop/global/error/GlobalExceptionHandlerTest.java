@@ -0,0 +1,50 @@
+package io.github.takgeun.shop.global.error;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTest {
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+            .setControllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry(), 20))
+            .build();
+
+    @Test
+    void 서버_고장용_IllegalStateException은_400이_아니라_500() throws Exception {
+        // when & then : 해시/HMAC 실패 같은 서버 오류가 클라이언트 잘못으로 보이지 않아야 한다. (메시지도 감춘다.)
+        mockMvc.perform(get("/state"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.code").value("INTERNAL_SERVER_ERROR"))
+                .andExpect(jsonPath("$.message").value("서버 오류가 발생했습니다."));
+    }
+
+    @Test
+    void IllegalArgumentException은_그대로_400() throws Exception {
+        // when & then
+        mockMvc.perform(get("/argument"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("잘못된 값입니다."));
+    }
+
+    @RestController
+    static class FailingController {
+
+        @GetMapping("/state")
+        String state() {
+            throw new IllegalStateException("비밀번호 해시 계산에 실패했습니다.");
+        }
+
+        @GetMapping("/argument")
+        String argument() {
+            throw new IllegalArgumentException("잘못된 값입니다.");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.takgeun.shop.global.metrics;
+
+import io.github.takgeun.shop.IntegrationTestSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ActuatorExposureIntegrationTest extends IntegrationTestSupport {
+
+    @Test
+    void 애플리케이션_포트에는_health만_열리고_메트릭은_없다() throws Exception {
+        // when & then : 에러 수/저장소 지연/WAL LSN 이 인증 없이 나가지 않도록 (metrics 프로필의 관리 포트에서만)
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isNotFound());
+    }
+}
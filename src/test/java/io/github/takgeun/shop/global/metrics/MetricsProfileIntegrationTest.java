@@ -0,0 +1,46 @@
+package io.github.takgeun.shop.global.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// metrics 프로필 : prometheus 는 관리 포트에만 열리고 애플리케이션 포트에는 여전히 없다.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@ActiveProfiles("metrics")
+class MetricsProfileIntegrationTest {
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void 메트릭은_관리_포트에서만_스크레이프된다() throws Exception {
+        // when
+        HttpResponse<String> management = get(managementPort, "/actuator/prometheus");
+        HttpResponse<String> application = get(serverPort, "/actuator/prometheus");
+
+        // then
+        assertNotEquals(serverPort, managementPort);
+        assertEquals(200, management.statusCode());
+        assertTrue(management.body().contains("jvm_"));
+        assertEquals(404, application.statusCode());
+    }
+
+    private HttpResponse<String> get(int port, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.takgeun.shop.global.wal;
+
+import io.github.takgeun.shop.category.domain.Category;
+import io.github.takgeun.shop.category.infra.MemoryCategoryRepository;
+import io.github.takgeun.shop.category.infra.WalCategoryRepository;
+import io.github.takgeun.shop.member.domain.Member;
+import io.github.takgeun.shop.member.domain.PasswordHasher;
+import io.github.takgeun.shop.member.domain.MemberRole;
+import io.github.takgeun.shop.member.infra.MemoryMemberRepository;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher.Algorithm;
+import io.github.takgeun.shop.member.infra.WalMemberRepository;
+import io.github.takgeun.shop.order.domain.Order;
+import io.github.takgeun.shop.order.domain.OrderLine;
+import io.github.takgeun.shop.order.domain.OrderStatus;
+import io.github.takgeun.shop.order.infra.MemoryOrderRepository;
+import io.github.takgeun.shop.order.infra.WalOrderRepository;
+import io.github.takgeun.shop.product.domain.Product;
+import io.github.takgeun.shop.product.domain.ProductStatus;
+import io.github.takgeun.shop.product.infra.MemoryProductRepository;
+import io.github.takgeun.shop.product.infra.WalProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalRepositoryRecoveryTest {
+
+    // 비밀번호 해시 비용은 이 테스트의 관심사가 아니라 반복 1회
+    private static final PasswordHasher PASSWORD_HASHER = new Pbkdf2PasswordHasher(Algorithm.PBKDF2_SHA256, 1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void 재시작하면_네_저장소의_마지막_상태와_시퀀스가_그대로_복구된다() {
+        // given : 저장 -> 수정 -> 삭제를 섞어서 기록
+        Long productId;
+        Long orderId;
+        long productVersion;
+        try (Stores stores = Stores.open(dir)) {
+            Category root = stores.categories.save(Category.create("전자", null));
+            Category phone = stores.categories.save(Category.create("휴대폰", root.getId()));
+            Category removed = stores.categories.save(Category.create("임시", null));
+            stores.categories.deleteById(removed.getId());
+            phone.changeName("스마트폰");
+            stores.categories.save(phone);
+
+            Member member = stores.members.save(Member.create("a@test.com", "pw12341234!", "회원", "010-1111-2222", PASSWORD_HASHER));
+            member.changeEmail("b@test.com");
+            member.changeRole(MemberRole.ADMIN);
+            stores.members.save(member);
+
+            Product product = stores.products.save(Product.create(phone.getId(), "갤럭시", 1_000, 10, "설명"));
+            product.tryDecreaseStock(3);
+            stores.products.save(product);
+            product.hide();
+            stores.products.save(product);
+            productId = product.getId();
+            productVersion = product.getVersion();
+
+            Order order = stores.orders.save(Order.create(member.getId(),
+                    List.of(OrderLine.create(productId, "갤럭시", 1_000, 2), OrderLine.create(productId, "갤럭시", 1_000, 1)),
+                    "받는이", "010-1111-2222", "12345", "서울", null));
+            order.cancel();
+            stores.orders.save(order);
+            orderId = order.getId();
+        }
+
+        // when
+        try (Stores stores = Stores.open(dir)) {
+
+            // then
+            assertEquals(List.of("전자", "스마트폰"), stores.categories.findAll().stream().map(Category::getName).toList());
+            Long rootId = stores.categories.findAll().get(0).getId();
+            assertEquals(2, stores.categories.findSubtreeIds(rootId).size());
+            assertTrue(stores.categories.existsByNameKey("스마트폰"));
+
+            assertTrue(stores.members.findByEmail("a@test.com").isEmpty());
+            Member member = stores.members.findByEmail("b@test.com").orElseThrow();
+            assertTrue(member.isAdmin());
+            assertTrue(member.matchesPassword("pw12341234!", PASSWORD_HASHER));
+
+            Product product = stores.products.findById(productId).orElseThrow();
+            assertEquals(7, product.getStock());
+            assertEquals(ProductStatus.HIDDEN, product.getStatus());
+            assertEquals(productVersion, product.getVersion());
+            assertEquals("설명", product.getDescription());
+            assertTrue(stores.products.findAllPublicByCategoryId(product.getCategoryId()).isEmpty());
+
+            Order order = stores.orders.findById(orderId).orElseThrow();
+            assertEquals(OrderStatus.CANCELED, order.getStatus());
+            assertEquals(2, order.getLines().size());
+            assertEquals(3_000, order.getTotalPrice());
+            assertNotNull(order.getCanceledAt());
+            assertEquals(List.of(order), stores.orders.findAllByMemberId(member.getId()));
+
+            // 신규 id 는 복구된 id 다음부터 (삭제된 카테고리 id 도 다시 쓰지 않음)
+            assertEquals(4L, stores.categories.save(Category.create("가전", null)).getId());
+            assertEquals(productId + 1, stores.products.save(Product.create(rootId, "새 상품", 1, 1, null)).getId());
+        }
+    }
+
+    @Test
+    void 로그에_붙이지_못한_신규_저장은_메모리_저장소에서도_되돌린다() {
+        try (Stores stores = Stores.open(dir)) {
+            // given : 로그가 더 이상 기록을 받지 않는 상태
+            Member member = stores.members.save(Member.create("a@test.com", "pw12341234!", "회원", "010-1111-2222", PASSWORD_HASHER));
+            stores.log.close();
+
+            // when
+            assertThrows(WalFailureException.class, () -> stores.members.save(
+                    Member.create("b@test.com", "pw12341234!", "회원2", "010-1111-3333", PASSWORD_HASHER)));
+            assertThrows(WalFailureException.class, () -> stores.orders.save(Order.create(member.getId(),
+                    List.of(OrderLine.create(1L, "갤럭시", 1_000, 1)), "받는이", "010-1111-2222", "12345", "서울", null)));
+            assertThrows(WalFailureException.class, () -> stores.products.save(Product.create(1L, "갤럭시", 1_000, 10, null)));
+            assertThrows(WalFailureException.class, () -> stores.categories.save(Category.create("전자", null)));
+
+            // then : 실패한 저장은 조회되지 않는다. (인덱스 포함)
+            assertTrue(stores.members.findByEmail("b@test.com").isEmpty());
+            assertEquals(List.of(member), stores.members.findAll());
+            assertTrue(stores.orders.findAll().isEmpty());
+            assertTrue(stores.orders.findAllByMemberId(member.getId()).isEmpty());
+            assertTrue(stores.products.findAll().isEmpty());
+            assertTrue(stores.products.findAllByCategoryId(1L).isEmpty());
+            assertTrue(stores.categories.findAll().isEmpty());
+            assertFalse(stores.categories.existsByNameKey("전자"));
+        }
+    }
+
+    @Test
+    void 세그먼트보다_큰_신규_저장은_메모리_저장소에_넣기_전에_거절한다() {
+        // given : 4KB 세그먼트에 한글 설명 2000자(6000바이트)는 들어가지 않는다.
+        try (Stores stores = Stores.open(dir, 4096)) {
+            Product oversized = Product.create(1L, "갤럭시", 1_000, 10, "가".repeat(2000));
+
+            // when
+            assertThrows(IllegalArgumentException.class, () -> stores.products.save(oversized));
+
+            // then : 조회되거나 id 를 받은 적이 없고, 로그는 계속 기록을 받는다.
+            assertNull(oversized.getId());
+            assertTrue(stores.products.findAll().isEmpty());
+            assertTrue(stores.products.findAllByCategoryId(1L).isEmpty());
+            assertFalse(stores.log.stats().failed());
+            assertEquals(1L, stores.products.save(Product.create(1L, "갤럭시", 1_000, 10, null)).getId());
+        }
+    }
+
+    // 메모리 저장소 + WAL 데코레이터 한 벌 (애플리케이션 한 번 실행에 해당)
+    private record Stores(WriteAheadLog log, WalProductRepository products, WalCategoryRepository categories,
+                          WalMemberRepository members, WalOrderRepository orders) implements AutoCloseable {
+
+        static Stores open(Path dir) {
+            return open(dir, 1 << 20);
+        }
+
+        static Stores open(Path dir, int segmentSize) {
+            WriteAheadLog log = new WriteAheadLog(dir, segmentSize, Duration.ofMillis(10), true);
+            Stores stores = new Stores(log,
+                    new WalProductRepository(new MemoryProductRepository(), log),
+                    new WalCategoryRepository(new MemoryCategoryRepository(), log),
+                    new WalMemberRepository(new MemoryMemberRepository(), log),
+                    new WalOrderRepository(new MemoryOrderRepository(), log));
+            new WalRecovery(log, List.of(stores.products, stores.categories, stores.members, stores.orders))
+                    .afterSingletonsInstantiated();
+            return stores;
+        }
+
+        @Override
+        public void close() {
+            log.close();
+        }
+    }
+}
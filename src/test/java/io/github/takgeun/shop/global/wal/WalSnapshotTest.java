@@ -0,0 +1,202 @@
+package io.github.takgeun.shop.global.wal;
+
+import io.github.takgeun.shop.category.domain.Category;
+import io.github.takgeun.shop.category.infra.MemoryCategoryRepository;
+import io.github.takgeun.shop.category.infra.WalCategoryRepository;
+import io.github.takgeun.shop.member.domain.Member;
+import io.github.takgeun.shop.member.domain.PasswordHasher;
+import io.github.takgeun.shop.member.infra.MemoryMemberRepository;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher.Algorithm;
+import io.github.takgeun.shop.member.infra.WalMemberRepository;
+import io.github.takgeun.shop.order.domain.Order;
+import io.github.takgeun.shop.order.domain.OrderLine;
+import io.github.takgeun.shop.order.infra.MemoryOrderRepository;
+import io.github.takgeun.shop.order.infra.WalOrderRepository;
+import io.github.takgeun.shop.product.domain.Product;
+import io.github.takgeun.shop.product.infra.MemoryProductRepository;
+import io.github.takgeun.shop.product.infra.WalProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalSnapshotTest {
+
+    // 비밀번호 해시 비용은 이 테스트의 관심사가 아니라 반복 1회
+    private static final PasswordHasher PASSWORD_HASHER = new Pbkdf2PasswordHasher(Algorithm.PBKDF2_SHA256, 1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void 스냅샷을_불러온_뒤_꼬리만_재생하고_지난_세그먼트는_지운다() throws IOException {
+        // given : 스냅샷 두 번 사이사이에 변경
+        Long productId;
+        Long categoryId;
+        try (Stores stores = Stores.open(dir)) {
+            Category category = stores.categories.save(Category.create("전자", null));
+            categoryId = category.getId();
+            Product product = stores.products.save(Product.create(categoryId, "갤럭시", 1_000, 1_000, null));
+            productId = product.getId();
+            Member member = stores.members.save(Member.create("a@test.com", "pw12341234!", "회원", "010-1111-2222", PASSWORD_HASHER));
+
+            for (int i = 0; i < 300; i++) {
+                product.tryDecreaseStock(1);
+                stores.products.save(product);
+            }
+            stores.snapshotter.snapshot();
+            for (int i = 0; i < 300; i++) {
+                product.tryDecreaseStock(1);
+                stores.products.save(product);
+            }
+            stores.snapshotter.snapshot();
+
+            // 스냅샷 뒤의 꼬리
+            product.tryDecreaseStock(1);
+            stores.products.save(product);
+            stores.orders.save(Order.create(member.getId(), List.of(OrderLine.create(productId, "갤럭시", 1_000, 1)),
+                    "받는이", "010-1111-2222", "12345", "서울", null));
+            category.changeName("가전");
+            stores.categories.save(category);
+        }
+        assertEquals(2, files(".snap").size());
+        assertFalse(files(".wal").contains(String.format("%020d.wal", 1)), "첫 스냅샷 이전 세그먼트는 지워진다");
+
+        // when
+        try (Stores stores = Stores.open(dir)) {
+
+            // then
+            assertEquals(399, stores.products.findById(productId).orElseThrow().getStock());
+            assertEquals("가전", stores.categories.findById(categoryId).orElseThrow().getName());
+            assertTrue(stores.members.findByEmail("a@test.com").isPresent());
+            assertEquals(1, stores.orders.findAll().size());
+            assertTrue(stores.log.stats().writtenLsn() > 600);
+            assertEquals(productId + 1, stores.products.save(Product.create(categoryId, "새 상품", 1, 1, null)).getId());
+        }
+    }
+
+    @Test
+    void 최신_스냅샷이_깨져_있으면_이전_스냅샷과_로그로_복구한다() throws IOException {
+        // given
+        Long productId;
+        try (Stores stores = Stores.open(dir)) {
+            Category category = stores.categories.save(Category.create("전자", null));
+            Product product = stores.products.save(Product.create(category.getId(), "갤럭시", 1_000, 100, null));
+            productId = product.getId();
+            stores.snapshotter.snapshot();
+            product.tryDecreaseStock(10);
+            stores.products.save(product);
+            stores.snapshotter.snapshot();
+            product.tryDecreaseStock(5);
+            stores.products.save(product);
+        }
+        Path newest = SnapshotFile.list(dir).get(0);
+        try (FileChannel channel = FileChannel.open(newest, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), 20);
+        }
+
+        // when
+        try (Stores stores = Stores.open(dir)) {
+
+            // then
+            assertEquals(85, stores.products.findById(productId).orElseThrow().getStock());
+        }
+    }
+
+    @Test
+    void 쓰기가_계속되는_중에_뜬_스냅샷도_재생하면_마지막_상태와_같다() throws Exception {
+        // given : 스레드마다 자기 상품들의 재고를 계속 줄이는 동안 스냅샷
+        int threads = 4;
+        int perThread = 50;
+        List<Long> ids = new ArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+        try (Stores stores = Stores.open(dir)) {
+            Category category = stores.categories.save(Category.create("전자", null));
+            List<Product> products = new ArrayList<>();
+            for (int i = 0; i < threads * perThread; i++) {
+                products.add(stores.products.save(Product.create(category.getId(), "상품" + i, 1_000, 10_000, null)));
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                List<Product> mine = products.subList(t * perThread, (t + 1) * perThread);
+                writers.add(executor.submit(() -> {
+                    for (int round = 0; round < 20; round++) {
+                        for (Product product : mine) {
+                            product.tryDecreaseStock(1);
+                            stores.products.save(product);
+                        }
+                    }
+                }));
+            }
+            stores.snapshotter.snapshot();
+            stores.snapshotter.snapshot();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            executor.shutdown();
+
+            for (Product product : products) {
+                ids.add(product.getId());
+                expected.add(product.getStock());
+            }
+        }
+
+        // when
+        try (Stores stores = Stores.open(dir)) {
+
+            // then
+            List<Integer> recovered = ids.stream()
+                    .map(id -> stores.products.findById(id).orElseThrow().getStock())
+                    .toList();
+            assertEquals(expected, recovered);
+        }
+    }
+
+    private List<String> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(suffix))
+                    .toList();
+        }
+    }
+
+    // 메모리 저장소 + WAL 데코레이터 + 스냅샷 한 벌 (애플리케이션 한 번 실행에 해당)
+    private record Stores(WriteAheadLog log, WalSnapshotter snapshotter, WalProductRepository products,
+                          WalCategoryRepository categories, WalMemberRepository members,
+                          WalOrderRepository orders) implements AutoCloseable {
+
+        static Stores open(Path dir) {
+            WriteAheadLog log = new WriteAheadLog(dir, 4096, Duration.ofMillis(10), true);
+            WalProductRepository products = new WalProductRepository(new MemoryProductRepository(), log);
+            WalCategoryRepository categories = new WalCategoryRepository(new MemoryCategoryRepository(), log);
+            WalMemberRepository members = new WalMemberRepository(new MemoryMemberRepository(), log);
+            WalOrderRepository orders = new WalOrderRepository(new MemoryOrderRepository(), log);
+            List<WalParticipant> participants = List.of(products, categories, members, orders);
+            new WalRecovery(log, participants).afterSingletonsInstantiated();
+            return new Stores(log, new WalSnapshotter(log, participants, Duration.ofHours(1), 1),
+                    products, categories, members, orders);
+        }
+
+        @Override
+        public void close() {
+            log.close();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package io.github.takgeun.shop.global.wal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void 다시_열면_쓴_순서대로_재생하고_다음_lsn부터_이어_쓴다() {
+        // given
+        try (WriteAheadLog log = open(1 << 20)) {
+            log.recover(0, record -> fail("빈 로그"));
+            log.commit(log.append(WalEntity.PRODUCT, WalRecord.SAVE, 1L, payload("상품1")));
+            log.commit(log.append(WalEntity.CATEGORY, WalRecord.SAVE, 7L, payload("전자")));
+            log.commit(log.append(WalEntity.CATEGORY, WalRecord.DELETE, 7L, null));
+        }
+
+        // when
+        List<String> replayed = new ArrayList<>();
+        try (WriteAheadLog log = open(1 << 20)) {
+            long count = log.recover(0, record -> replayed.add(describe(record)));
+
+            // then
+            assertEquals(3, count);
+            assertEquals(List.of("1 PRODUCT 1 1 상품1", "2 CATEGORY 1 7 전자", "3 CATEGORY 2 7 -"), replayed);
+            assertEquals(4, log.append(WalEntity.MEMBER, WalRecord.SAVE, 1L, payload("회원")));
+        }
+    }
+
+    @Test
+    void 세그먼트가_가득_차면_다음_파일로_넘어가고_afterLsn_이후만_재생() throws IOException {
+        // given : 4KB 세그먼트에 레코드 500개
+        try (WriteAheadLog log = open(4096)) {
+            log.recover(0, record -> {});
+            for (long i = 1; i <= 500; i++) {
+                log.commit(log.append(WalEntity.ORDER, WalRecord.SAVE, i, payload("주문" + i)));
+            }
+        }
+        assertTrue(segmentCount() > 1);
+
+        // when
+        List<Long> ids = new ArrayList<>();
+        try (WriteAheadLog log = open(4096)) {
+            log.recover(450, record -> ids.add(record.id()));
+        }
+
+        // then
+        assertEquals(50, ids.size());
+        assertEquals(451L, ids.get(0));
+        assertEquals(500L, ids.get(49));
+    }
+
+    @Test
+    void 마지막_레코드가_깨져_있으면_그_앞까지만_재생하고_그_자리부터_이어_쓴다() throws IOException {
+        // given : 레코드 3개를 쓰고 마지막 레코드 payload 한 바이트를 망가뜨림 (쓰다가 죽은 상황)
+        try (WriteAheadLog log = open(1 << 20)) {
+            log.recover(0, record -> {});
+            for (long i = 1; i <= 3; i++) {
+                log.commit(log.append(WalEntity.PRODUCT, WalRecord.SAVE, i, payload("상품" + i)));
+            }
+        }
+        int recordLength = WriteAheadLog.RECORD_HEADER + payload("상품1").size();
+        corrupt(WriteAheadLog.SEGMENT_HEADER + recordLength * 2 + WriteAheadLog.RECORD_HEADER);
+
+        // when
+        List<Long> ids = new ArrayList<>();
+        try (WriteAheadLog log = open(1 << 20)) {
+            log.recover(0, record -> ids.add(record.id()));
+            log.commit(log.append(WalEntity.PRODUCT, WalRecord.SAVE, 30L, payload("상품30")));
+        }
+
+        // then
+        assertEquals(List.of(1L, 2L), ids);
+        List<Long> reopened = new ArrayList<>();
+        try (WriteAheadLog log = open(1 << 20)) {
+            log.recover(0, record -> reopened.add(record.lsn() * 100 + record.id()));
+        }
+        assertEquals(List.of(101L, 202L, 330L), reopened);
+    }
+
+    @Test
+    void 동시에_커밋하면_fsync_한_번에_여러_레코드가_묶인다() throws Exception {
+        // given
+        int threads = 32;
+        int perThread = 200;
+        try (WriteAheadLog log = open(1 << 20)) {
+            log.recover(0, record -> {});
+
+            // when
+            try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+                for (int t = 0; t < threads; t++) {
+                    executor.submit(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            log.commit(log.append(WalEntity.ORDER, WalRecord.SAVE, 1L, payload("주문")));
+                        }
+                    });
+                }
+            }
+
+            // then
+            WriteAheadLog.Stats stats = log.stats();
+            assertEquals(threads * perThread, stats.writtenLsn());
+            assertEquals(stats.writtenLsn(), stats.durableLsn());
+            assertTrue(stats.fsyncs() < threads * perThread, "fsync 횟수 = " + stats.fsyncs());
+        }
+    }
+
+    @Test
+    void 복구_전에는_기록할_수_없다() {
+        try (WriteAheadLog log = open(1 << 20)) {
+            assertThrows(IllegalStateException.class,
+                    () -> log.append(WalEntity.PRODUCT, WalRecord.SAVE, 1L, payload("상품")));
+        }
+    }
+
+    @Test
+    void 세그먼트를_못_바꾸면_실패_상태가_되고_이후_기록을_모두_거절한다() throws IOException {
+        // given : 4KB 세그먼트에 헤더만 있는 레코드(26바이트) 156개가 들어가고, 157번째에서 새 세그먼트를 만든다.
+        try (WriteAheadLog log = open(4096)) {
+            log.recover(0, record -> {});
+            for (long i = 1; i <= 156; i++) {
+                log.commit(log.append(WalEntity.CATEGORY, WalRecord.DELETE, i, null));
+            }
+            Path blocker = Files.createFile(dir.resolve(String.format("%020d.wal", 157)));
+
+            // when
+            assertThrows(WalFailureException.class, () -> log.append(WalEntity.CATEGORY, WalRecord.DELETE, 157L, null));
+
+            // then : 원인이 없어져도 다시 받지 않는다. (재시작해서 복구)
+            Files.delete(blocker);
+            assertTrue(log.stats().failed());
+            assertThrows(WalFailureException.class, () -> log.append(WalEntity.CATEGORY, WalRecord.DELETE, 157L, null));
+            assertThrows(WalFailureException.class, () -> log.commit(157));
+            assertThrows(WalFailureException.class, () -> log.awaitDurable(156));     // 이미 fsync 된 lsn 도
+        }
+
+        // 실패 전까지 쓴 레코드는 그대로 복구된다.
+        try (WriteAheadLog log = open(4096)) {
+            assertEquals(156, log.recover(0, record -> {}));
+        }
+    }
+
+    private WriteAheadLog open(int segmentSize) {
+        return new WriteAheadLog(dir, segmentSize, Duration.ofMillis(10), true);
+    }
+
+    private static RecordWriter payload(String value) {
+        return new RecordWriter().putString(value);
+    }
+
+    private static String describe(WalRecord record) {
+        String value = record.payload().hasRemaining() ? record.reader().getString() : "-";
+        return record.lsn() + " " + record.entity() + " " + record.op() + " " + record.id() + " " + value;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private void corrupt(int position) throws IOException {
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.sorted().findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, position);
+            one.flip();
+            byte original = one.get();
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) (original ^ 0x5A)}), position);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.takgeun.shop.member;
+
+import io.github.takgeun.shop.IntegrationTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = {
+        "shop.auth.mode=token",
+        "shop.auth.token.secret=c2hvcC1hdXRoLXRva2VuLXRlc3Qtc2VjcmV0LTMyYnl0ZXMh"
+})
+class AuthTokenIntegrationTest extends IntegrationTestSupport {
+
+    @Test
+    void 토큰_모드는_세션_없이_Bearer_토큰으로_로그인_회원을_찾음() throws Exception {
+        // given
+        Long memberId = givenActiveMember();
+        String email = memberService.get(memberId).getEmail();
+
+        // when
+        String body = mockMvc.perform(post("/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", email, "password", "pw12341234!"))))
+                .andExpect(status().isOk())
+                .andExpect(request().sessionAttributeDoesNotExist("LOGIN_MEMBER_ID"))
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.expiresIn").value(3600))
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("accessToken").asText();
+
+        // then
+        mockMvc.perform(get("/members/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(memberId));
+        mockMvc.perform(get("/members/me").header("Authorization", "Bearer " + token + "x"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/members/me").session(sessionAsMember(memberId)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void 토큰_모드에서_주문_화면은_비로그인으로_보이지_않고_명시적으로_거절() throws Exception {
+        // given
+        Long memberId = givenActiveMember();
+
+        // when & then : 세션이 있어도 화면은 토큰 모드를 받지 않는다고 안내하고 상품 목록으로 보낸다.
+        mockMvc.perform(get("/orders").session(sessionAsMember(memberId)))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/products"))
+                .andExpect(flash().attribute("error", containsString("토큰 로그인 모드")));
+        mockMvc.perform(post("/orders/{orderId}/cancel", 1L).session(sessionAsMember(memberId)))
+                .andExpect(redirectedUrl("/products"));
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.takgeun.shop.member.application;
+
+import io.github.takgeun.shop.global.error.TooManyRequestsException;
+import io.github.takgeun.shop.global.error.UnauthorizedException;
+import io.github.takgeun.shop.member.domain.Member;
+import io.github.takgeun.shop.member.domain.MemberRole;
+import io.github.takgeun.shop.member.domain.MemberStatus;
+import io.github.takgeun.shop.member.infra.MemoryMemberRepository;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher.Algorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthServiceTest {
+
+    private MemoryMemberRepository memberRepository;
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        memberRepository = new MemoryMemberRepository();
+        loginThrottle = new LoginThrottle(3, 100, Duration.ofMinutes(1), 1_000);
+    }
+
+    @Test
+    void 반복_횟수를_올리면_기존_해시로_로그인되고_그때_새_설정으로_다시_해시() {
+        // given : 예전 설정(1,000회)으로 가입
+        Pbkdf2PasswordHasher oldHasher = new Pbkdf2PasswordHasher(Algorithm.PBKDF2_SHA256, 1_000);
+        Long memberId = new MemberService(memberRepository, oldHasher)
+                .signup("a@test.com", "pw12341234!", "회원", "010-1111-2222");
+        String oldHash = memberRepository.findById(memberId).orElseThrow().getPassword();
+
+        // when : 새 설정(알고리즘, 반복 횟수 변경)으로 로그인
+        Pbkdf2PasswordHasher newHasher = new Pbkdf2PasswordHasher(Algorithm.PBKDF2_SHA512, 2_000);
+        AuthService authService = new AuthService(memberRepository, newHasher, loginThrottle);
+
+        // then
+        assertEquals(memberId, authService.login("a@test.com", "pw12341234!", "127.0.0.1").getId());
+        String newHash = memberRepository.findById(memberId).orElseThrow().getPassword();
+        assertNotEquals(oldHash, newHash);
+        assertTrue(newHash.startsWith("$pbkdf2-sha512$i=2000$"));
+        assertFalse(newHasher.needsRehash(newHash));
+        assertEquals(memberId, authService.login("a@test.com", "pw12341234!", "127.0.0.1").getId());
+    }
+
+    @Test
+    void 해싱_도입_전_평문_비밀번호는_로그인하면_해시로_바뀜() {
+        // given : 예전에 평문으로 저장된 회원 (WAL/DB 에 남아 있던 데이터)
+        memberRepository.save(Member.restore(null, "a@test.com", "pw12341234!", "회원", "010-1111-2222",
+                MemberRole.USER, MemberStatus.ACTIVE));
+        Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(Algorithm.PBKDF2_SHA256, 1_000);
+        AuthService authService = new AuthService(memberRepository, hasher, loginThrottle);
+
+        // when & then
+        assertThrows(UnauthorizedException.class, () -> authService.login("a@test.com", "wrong-password", "127.0.0.1"));
+        authService.login("a@test.com", "pw12341234!", "127.0.0.1");
+        assertTrue(memberRepository.findByEmail("a@test.com").orElseThrow().getPassword().startsWith("$pbkdf2-sha256$"));
+    }
+
+    @Test
+    void 저장된_해시의_반복_횟수나_salt_가_잘못되면_400_이_아니라_401() {
+        // given : 손상된 해시 (반복 0회, 빈 salt)
+        Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(Algorithm.PBKDF2_SHA256, 1_000);
+        String valid = hasher.hash("pw12341234!");
+        String[] parts = valid.split("\\$");
+        memberRepository.save(Member.restore(null, "a@test.com", valid.replace("$i=1000$", "$i=0$"), "회원", "010-1111-2222",
+                MemberRole.USER, MemberStatus.ACTIVE));
+        memberRepository.save(Member.restore(null, "b@test.com", "$" + parts[1] + "$" + parts[2] + "$$" + parts[4], "회원2", "010-1111-3333",
+                MemberRole.USER, MemberStatus.ACTIVE));
+        AuthService authService = new AuthService(memberRepository, hasher, loginThrottle);
+
+        // when & then
+        assertThrows(UnauthorizedException.class, () -> authService.login("a@test.com", "pw12341234!", "127.0.0.1"));
+        assertThrows(UnauthorizedException.class, () -> authService.login("b@test.com", "pw12341234!", "127.0.0.1"));
+        assertTrue(hasher.needsRehash(valid.replace("$i=1000$", "$i=0$")));
+    }
+
+    @Test
+    void 같은_이메일로_한도를_넘기면_비밀번호가_맞아도_429() {
+        // given
+        Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(Algorithm.PBKDF2_SHA256, 1_000);
+        new MemberService(memberRepository, hasher).signup("a@test.com", "pw12341234!", "회원", "010-1111-2222");
+        AuthService authService = new AuthService(memberRepository, hasher, loginThrottle);
+
+        // when : 대소문자만 바꿔서 3번 틀림
+        assertThrows(UnauthorizedException.class, () -> authService.login("a@test.com", "wrong-password", "10.0.0.1"));
+        assertThrows(UnauthorizedException.class, () -> authService.login("A@test.com", "wrong-password", "10.0.0.2"));
+        assertThrows(UnauthorizedException.class, () -> authService.login(" a@TEST.com", "wrong-password", "10.0.0.3"));
+
+        // then
+        assertThrows(TooManyRequestsException.class, () -> authService.login("a@test.com", "pw12341234!", "10.0.0.4"));
+        assertEquals(1, loginThrottle.rejectedByEmail());
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.takgeun.shop.member.application;
+
+import io.github.takgeun.shop.global.error.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toNanos();
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void 직전_창의_시도는_지난_비율만큼만_남아서_창_경계에서_한도가_두_배로_풀리지_않음() {
+        // given : 이메일당 1분에 4번
+        LoginThrottle throttle = new LoginThrottle(4, 100, Duration.ofMinutes(1), 1_000, nanos::get);
+        nanos.set(MINUTE - 1);
+        for (int i = 0; i < 4; i++) {
+            throttle.acquire("a@test.com", "10.0.0.1");
+        }
+        assertThrows(TooManyRequestsException.class, () -> throttle.acquire("a@test.com", "10.0.0.1"));
+
+        // when : 다음 창 1/4 지점 -> 직전 창 4번 중 3번이 아직 남아 있음
+        nanos.set(MINUTE + MINUTE / 4);
+
+        // then
+        throttle.acquire("a@test.com", "10.0.0.1");
+        assertThrows(TooManyRequestsException.class, () -> throttle.acquire("a@test.com", "10.0.0.1"));
+
+        // 다른 이메일은 따로 센다.
+        throttle.acquire("b@test.com", "10.0.0.1");
+
+        // 두 창이 지나면 다시 전부
+        nanos.set(3 * MINUTE);
+        for (int i = 0; i < 4; i++) {
+            throttle.acquire("a@test.com", "10.0.0.1");
+        }
+        assertEquals(2, throttle.rejectedByEmail());
+        assertEquals(0, throttle.rejectedByIp());
+    }
+
+    @Test
+    void IP_한도에_걸리면_이메일_쪽_횟수는_쓰지_않음() {
+        // given : IP당 1분에 2번
+        LoginThrottle throttle = new LoginThrottle(2, 2, Duration.ofMinutes(1), 1_000, nanos::get);
+        throttle.acquire("a@test.com", "10.0.0.1");
+        throttle.acquire("b@test.com", "10.0.0.1");
+
+        // when : 같은 IP 가 다른 이메일로 계속 시도
+        assertThrows(TooManyRequestsException.class, () -> throttle.acquire("victim@test.com", "10.0.0.1"));
+        assertThrows(TooManyRequestsException.class, () -> throttle.acquire("victim@test.com", "10.0.0.1"));
+
+        // then : 피해자 이메일은 다른 IP 에서 여전히 로그인 가능
+        throttle.acquire("victim@test.com", "10.0.0.2");
+        throttle.acquire("victim@test.com", "10.0.0.3");
+        assertEquals(2, throttle.rejectedByIp());
+        assertEquals(0, throttle.rejectedByEmail());
+    }
+}
@@ -5,8 +5,11 @@ import io.github.takgeun.shop.global.error.NotFoundException;
 import io.github.takgeun.shop.member.domain.Member;
 import io.github.takgeun.shop.member.domain.MemberRole;
 import io.github.takgeun.shop.member.domain.MemberStatus;
+import io.github.takgeun.shop.member.domain.PasswordHasher;
 import io.github.takgeun.shop.member.dto.request.MemberUpdateRequest;
 import io.github.takgeun.shop.member.infra.MemoryMemberRepository;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher.Algorithm;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -14,13 +17,15 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class MemberServiceTest {
 
+    private final PasswordHasher passwordHasher = new Pbkdf2PasswordHasher(Algorithm.PBKDF2_SHA256, 1_000);
+
     private MemberService memberService;
 
     @BeforeEach
     void setUp() {
         MemoryMemberRepository memberRepository = new MemoryMemberRepository();
 
-        memberService = new MemberService(memberRepository);
+        memberService = new MemberService(memberRepository, passwordHasher);
     }
 
     @Test
@@ -39,7 +44,8 @@ class MemberServiceTest {
         // then
         assertNotNull(memberId);
         assertEquals("aaa@abc.com", member.getEmail());
-        assertEquals("123123123", member.getPassword());
+        assertNotEquals("123123123", member.getPassword());      // 평문은 저장하지 않는다.
+        assertTrue(member.matchesPassword("123123123", passwordHasher));
         assertEquals("테스트", member.getName());
         assertEquals("010-1111-2222", member.getPhone());
         assertEquals(MemberRole.USER, member.getRole());
@@ -152,7 +158,7 @@ class MemberServiceTest {
 
         // then
         Member updated = memberService.get(memberId);
-        assertEquals("9999999999", updated.getPassword());
+        assertTrue(updated.matchesPassword("9999999999", passwordHasher));
 //        assertEquals("테스트2", updated.getName());
         assertEquals("010-2222-3333", updated.getPhone());
     }
@@ -0,0 +1,73 @@
+package io.github.takgeun.shop.member.infra;
+
+import io.github.takgeun.shop.global.error.ServiceUnavailableException;
+import io.github.takgeun.shop.member.domain.PasswordHasher;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordHasherTest {
+
+    @Test
+    void 해시_스레드와_대기열이_차면_기다리지_않고_503() throws Exception {
+        // given : 스레드 1개, 대기열 1개. 해시는 release 가 열릴 때까지 끝나지 않는다.
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordHasher hasher = new BoundedPasswordHasher(blockingHasher(started, release), 1, 1, Duration.ofSeconds(10));
+
+        try (ExecutorService requests = Executors.newFixedThreadPool(2)) {
+            List<Future<String>> inFlight = new ArrayList<>();
+            inFlight.add(requests.submit(() -> hasher.hash("pw12341234!")));     // 계산 중
+            started.await();
+            inFlight.add(requests.submit(() -> hasher.hash("pw12341234!")));     // 대기열
+            while (hasher.queued() < 1) {
+                Thread.onSpinWait();
+            }
+
+            // when & then : 세 번째는 바로 거절
+            assertThrows(ServiceUnavailableException.class, () -> hasher.hash("pw12341234!"));
+            assertEquals(1, hasher.rejected());
+
+            // 앞의 두 요청은 정상 처리
+            release.countDown();
+            for (Future<String> future : inFlight) {
+                assertEquals("hashed", future.get());
+            }
+        } finally {
+            hasher.destroy();
+        }
+    }
+
+    private PasswordHasher blockingHasher(CountDownLatch started, CountDownLatch release) {
+        return new PasswordHasher() {
+            @Override
+            public String hash(String rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed";
+            }
+
+            @Override
+            public boolean matches(String rawPassword, String encodedPassword) {
+                return false;
+            }
+
+            @Override
+            public boolean needsRehash(String encodedPassword) {
+                return false;
+            }
+        };
+    }
+}
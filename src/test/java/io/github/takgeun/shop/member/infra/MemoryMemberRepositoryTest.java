@@ -0,0 +1,98 @@
+package io.github.takgeun.shop.member.infra;
+
+import io.github.takgeun.shop.global.error.ConflictException;
+import io.github.takgeun.shop.member.domain.Member;
+import io.github.takgeun.shop.member.domain.PasswordHasher;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher.Algorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryMemberRepositoryTest {
+
+    // 비밀번호 해시 비용은 이 테스트의 관심사가 아니라 반복 1회
+    private static final PasswordHasher PASSWORD_HASHER = new Pbkdf2PasswordHasher(Algorithm.PBKDF2_SHA256, 1);
+
+    private MemoryMemberRepository memberRepository;
+
+    @BeforeEach
+    void setUp() {
+        memberRepository = new MemoryMemberRepository();
+    }
+
+    @Test
+    void 다른_회원이_쓰는_이메일로_저장하면_409() {
+        // given
+        Member owner = memberRepository.save(member("a@test.com"));
+
+        // when & then : 대소문자/공백만 다른 이메일도 같은 키
+        assertThrows(ConflictException.class, () -> memberRepository.save(member(" A@Test.com ")));
+        assertEquals(List.of(owner), memberRepository.findAll());
+        assertEquals(owner, memberRepository.findByEmail("a@test.com").orElseThrow());
+    }
+
+    @Test
+    void 이메일을_바꿔_저장하면_이전_키는_빠지고_새_이메일로_찾는다() {
+        // given
+        Member member = memberRepository.save(member("a@test.com"));
+
+        // when
+        member.changeEmail("b@test.com");
+
+        // then : 저장 전에는 어느 쪽으로도 찾지 않는다. (인덱스와 엔티티가 어긋난 상태)
+        assertTrue(memberRepository.findByEmail("a@test.com").isEmpty());
+        assertTrue(memberRepository.findByEmail("b@test.com").isEmpty());
+
+        memberRepository.save(member);
+        assertTrue(memberRepository.findByEmail("a@test.com").isEmpty());
+        assertEquals(member, memberRepository.findByEmail("B@test.com").orElseThrow());
+
+        // 이전 이메일은 다른 회원이 다시 쓸 수 있다.
+        Member other = memberRepository.save(member("a@test.com"));
+        assertEquals(other, memberRepository.findByEmail("a@test.com").orElseThrow());
+    }
+
+    @Test
+    void 같은_이메일로_동시에_가입하면_하나만_저장된다() throws Exception {
+        // given
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger saved = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    Member member = member("same@test.com");
+                    start.await();
+                    try {
+                        memberRepository.save(member);
+                        saved.incrementAndGet();
+                    } catch (ConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        // then
+        assertEquals(1, saved.get());
+        assertEquals(threads - 1, conflicts.get());
+        assertEquals(1, memberRepository.findAll().size());
+        assertTrue(memberRepository.existsByEmail("same@test.com"));
+    }
+
+    private Member member(String email) {
+        return Member.create(email, "pw12341234!", "회원", "010-1111-2222", PASSWORD_HASHER);
+    }
+}
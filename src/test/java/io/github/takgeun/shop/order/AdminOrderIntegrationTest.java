@@ -0,0 +1,53 @@
+package io.github.takgeun.shop.order;
+
+import io.github.takgeun.shop.IntegrationTestSupport;
+import io.github.takgeun.shop.member.domain.MemberRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpSession;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdminOrderIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    void 관리자_확인은_요청마다_회원을_한_번만_조회() throws Exception {
+
+        // given
+        Long memberId = givenActiveMember();
+        MockHttpSession session = sessionAsMember(memberId);
+
+        // when & then : 일반 회원은 403
+        long before = memberLookups();
+        mockMvc.perform(get("/admin/orders").session(session))
+                .andExpect(status().isForbidden());
+        assertEquals(before + 1, memberLookups());
+
+        // 관리자는 200
+        memberService.changeRole(memberId, MemberRole.ADMIN);
+        before = memberLookups();
+        mockMvc.perform(get("/admin/orders").session(session))
+                .andExpect(status().isOk());
+        assertEquals(before + 1, memberLookups());
+
+        // 비로그인은 조회 없이 401
+        before = memberLookups();
+        mockMvc.perform(get("/admin/orders"))
+                .andExpect(status().isUnauthorized());
+        assertEquals(before, memberLookups());
+    }
+
+    // 회원 저장소 findById 호출 수 (shop.repository 메트릭, 프로필마다 저장소 구현이 달라서 이름으로 거른다.)
+    private long memberLookups() {
+        return meterRegistry.find("shop.repository").tag("method", "findById").timers().stream()
+                .filter(timer -> timer.getId().getTag("repository").contains("Member"))
+                .mapToLong(Timer::count)
+                .sum();
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.takgeun.shop.order;
+
+import io.github.takgeun.shop.IntegrationTestSupport;
+import io.github.takgeun.shop.order.dto.request.OrderCheckoutRequest;
+import io.github.takgeun.shop.order.dto.request.OrderItemRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrderCheckoutIntegrationTest extends IntegrationTestSupport {
+
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    void 장바구니_결제_후_취소하면_모든_상품_재고_원복() throws Exception {
+
+        // given
+        Long memberId = givenActiveMember();
+        MockHttpSession session = sessionAsMember(memberId);
+        Long laptop = givenOnSaleProduct(1000, 10);
+        Long mouse = givenOnSaleProduct(500, 10);
+
+        // when : 같은 상품을 두 번 담으면 수량이 합쳐진다.
+        String body = mockMvc.perform(post("/api/v1/orders/checkout")
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(checkout(
+                                new OrderItemRequest(laptop, 1),
+                                new OrderItemRequest(mouse, 3),
+                                new OrderItemRequest(laptop, 1)))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long orderId = objectMapper.readTree(body).get("orderId").asLong();
+
+        // then
+        mockMvc.perform(get("/api/v1/orders/{orderId}", orderId).session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines.length()").value(2))
+                .andExpect(jsonPath("$.lines[0].productId").value(laptop))
+                .andExpect(jsonPath("$.lines[0].quantity").value(2))
+                .andExpect(jsonPath("$.lines[1].lineTotal").value(1500))
+                .andExpect(jsonPath("$.totalPrice").value(3500));
+        assertEquals(8, productService.getAdmin(laptop).getStock());
+        assertEquals(7, productService.getAdmin(mouse).getStock());
+
+        // when : 취소
+        mockMvc.perform(post("/api/v1/orders/{orderId}/cancel", orderId).session(session))
+                .andExpect(status().isNoContent());
+
+        // then
+        assertEquals(10, productService.getAdmin(laptop).getStock());
+        assertEquals(10, productService.getAdmin(mouse).getStock());
+    }
+
+    @Test
+    void 한_상품이라도_재고가_부족하면_409_재고는_그대로() throws Exception {
+
+        // given
+        Long memberId = givenActiveMember();
+        Long laptop = givenOnSaleProduct(1000, 10);
+        Long mouse = givenOnSaleProduct(500, 1);
+
+        // when & then
+        mockMvc.perform(post("/api/v1/orders/checkout")
+                        .session(sessionAsMember(memberId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(checkout(
+                                new OrderItemRequest(laptop, 2),
+                                new OrderItemRequest(mouse, 2)))))
+                .andExpect(status().isConflict());
+
+        assertEquals(10, productService.getAdmin(laptop).getStock());
+        assertEquals(1, productService.getAdmin(mouse).getStock());
+
+        // 메트릭 : 어느 엔드포인트의 409인지, 주문 서비스/저장소 호출 시간
+        assertTrue(meterRegistry.get("shop.errors")
+                .tags("status", "409", "handler", "OrderController.checkout").counter().count() >= 1);
+        assertTrue(meterRegistry.get("shop.order.checkout")
+                .tag("exception", "ConflictException").timer().count() >= 1);
+        assertTrue(meterRegistry.get("shop.repository")
+                .tags("method", "findById", "outcome", "success").timers().size() >= 1);
+    }
+
+    @Test
+    void 같은_상품_수량_합이_int를_넘으면_400_재고는_그대로() throws Exception {
+
+        // given
+        Long memberId = givenActiveMember();
+        Long laptop = givenOnSaleProduct(1000, 10);
+
+        // when & then : MAX + MAX + 3 은 int 로 더하면 1 이 된다.
+        mockMvc.perform(post("/api/v1/orders/checkout")
+                        .session(sessionAsMember(memberId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(checkout(
+                                new OrderItemRequest(laptop, Integer.MAX_VALUE),
+                                new OrderItemRequest(laptop, Integer.MAX_VALUE),
+                                new OrderItemRequest(laptop, 3)))))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(10, productService.getAdmin(laptop).getStock());
+    }
+
+    private OrderCheckoutRequest checkout(OrderItemRequest... items) {
+        OrderCheckoutRequest request = new OrderCheckoutRequest();
+        request.setItems(List.of(items));
+        request.setRecipientName("테스트");
+        request.setRecipientPhone("010-1111-2222");
+        request.setShippingZipCode("12345");
+        request.setShippingAddress("서울");
+        return request;
+    }
+}
@@ -94,6 +94,40 @@ class OrderE2EIntegrationTest extends IntegrationTestSupport {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void 주문_생성_실패_비활성회원_403_그리고_재고변화없음() throws Exception {
+
+        // given : 세션의 회원 id 로 요청마다 회원을 조회하니(@LoginMember) 세션을 만든 뒤 탈퇴해도 바로 막힌다.
+        Long memberId = givenActiveMember();
+        Long productId = givenOnSaleProduct(1000, 10);
+        MockHttpSession session = sessionAsMember(memberId);
+        memberService.deactivate(memberId);
+
+        int beforeStock = productService.getAdmin(productId).getStock();
+
+        String json = """
+                {
+                    "productId": %d,
+                    "quantity": 1,
+                    "recipientName": "테스트",
+                    "recipientPhone": "010-1111-2222",
+                    "shippingZipCode": "12345",
+                    "shippingAddress": "서울시 영등포구",
+                    "requestMessage": null
+                }
+                """.formatted(productId);
+
+        // when
+        mockMvc.perform(post("/orders")
+                .session(session)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isForbidden());
+
+        // then
+        assertEquals(beforeStock, productService.getAdmin(productId).getStock());
+    }
+
     @Test
     void 주문_생성_실패_재고부족_409_그리고_재고변화없음() throws Exception {
 
@@ -102,7 +136,7 @@ class OrderE2EIntegrationTest extends IntegrationTestSupport {
         Long productId = givenOnSaleProduct(1000, 2);
         MockHttpSession session = sessionAsMember(memberId);
 
-        int beforeStock = productService.get(productId).getStock();
+        int beforeStock = productService.getAdmin(productId).getStock();
 
         String json = """
                 {
@@ -125,7 +159,7 @@ class OrderE2EIntegrationTest extends IntegrationTestSupport {
                 .andExpect(jsonPath("$.message").exists());
 
         // then
-        int afterStock = productService.get(productId).getStock();
+        int afterStock = productService.getAdmin(productId).getStock();
         assertEquals(beforeStock, afterStock);
     }
 }
@@ -7,12 +7,16 @@ import io.github.takgeun.shop.global.error.ForbiddenException;
 import io.github.takgeun.shop.global.error.NotFoundException;
 import io.github.takgeun.shop.global.error.UnauthorizedException;
 import io.github.takgeun.shop.member.application.MemberService;
+import io.github.takgeun.shop.member.domain.Member;
 import io.github.takgeun.shop.member.infra.MemoryMemberRepository;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher;
+import io.github.takgeun.shop.member.infra.Pbkdf2PasswordHasher.Algorithm;
 import io.github.takgeun.shop.order.domain.Order;
 import io.github.takgeun.shop.order.domain.OrderRepository;
 import io.github.takgeun.shop.order.dto.response.OrderResponse;
 import io.github.takgeun.shop.order.infra.MemoryOrderRepository;
 import io.github.takgeun.shop.product.application.ProductService;
+import io.github.takgeun.shop.product.application.StockReservationService;
 import io.github.takgeun.shop.product.domain.ProductStatus;
 import io.github.takgeun.shop.product.infra.MemoryProductRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,8 +43,9 @@ class OrderServiceTest {
         this.orderRepository = orderRepository;
         this.categoryService = new CategoryService(categoryRepository, productRepository);
         this.productService = new ProductService(productRepository, categoryService);
-        this.memberService = new MemberService(memberRepository);
-        this.orderService = new OrderService(orderRepository, productService, memberService);
+        this.memberService = new MemberService(memberRepository, new Pbkdf2PasswordHasher(Algorithm.PBKDF2_SHA256, 1));
+        this.orderService = new OrderService(orderRepository, productService,
+                new StockReservationService(productRepository), event -> true);      // 이벤트는 확인하지 않음
     }
 
     @Test
@@ -50,12 +55,13 @@ class OrderServiceTest {
         Long memberId = memberService.signup(
                 "userTest@test.com", "pw12341234!", "테스트", "010-1111-2222"
         );
+        Member member = memberService.get(memberId);
         Long categoryId = categoryService.create("전자", null);
         Long productId = productService.create(categoryId, "노트북", 1000, 10, "좋은 노트북");
         productService.changeStatus(productId, ProductStatus.ON_SALE);
 
         int quantity = 2;
-        int beforeStock = productService.get(productId).getStock();
+        int beforeStock = productService.getAdmin(productId).getStock();
         String recipientName = "테스트";
         String recipientPhone = "010-1111-2222";
         String shippingZipCode = "12345";
@@ -63,11 +69,11 @@ class OrderServiceTest {
         String requestMessage = "문 앞에 두세요.";
 
         // when
-        Long orderId = orderService.create(memberId, productId, quantity, recipientName, recipientPhone,
+        Long orderId = orderService.create(member, productId, quantity, recipientName, recipientPhone,
                 shippingZipCode, shippingAddress, requestMessage);
 
         // then
-        int afterStock = productService.get(productId).getStock();
+        int afterStock = productService.getAdmin(productId).getStock();
         assertNotNull(orderId);
 
         Order saved = orderRepository.findById(orderId).orElseThrow();
@@ -83,11 +89,10 @@ class OrderServiceTest {
     void 주문_생성_실패_로그인_필요() {
 
         // given
-        Long memberId = null;
         Long categoryId = categoryService.create("전자", null);
         Long productId = productService.create(categoryId, "노트북", 1000, 10, "좋은 노트북");
         productService.changeStatus(productId, ProductStatus.ON_SALE);
-        int beforeStock = productService.get(productId).getStock();
+        int beforeStock = productService.getAdmin(productId).getStock();
 
         // when
 
@@ -95,10 +100,10 @@ class OrderServiceTest {
         // then
         assertThrows(UnauthorizedException.class,
                 () -> orderService.create(
-                        memberId, productId, 1, "테스트", "010-1234-5678",
+                        (Member) null, productId, 1, "테스트", "010-1234-5678",
                         "12345", "서울 영등포구", null)
                 );
-        int afterStock = productService.get(productId).getStock();
+        int afterStock = productService.getAdmin(productId).getStock();
         // 주문 실패 시 상품재고 수량 변화 없음 확인
         assertEquals(beforeStock, afterStock);
     }
@@ -111,10 +116,11 @@ class OrderServiceTest {
                 "userTest@test.com", "pw12341234!", "테스트", "010-1111-2222"
         );
         memberService.deactivate(memberId);     // 비활성
+        Member member = memberService.get(memberId);
         Long categoryId = categoryService.create("전자", null);
         Long productId = productService.create(categoryId, "노트북", 1000, 10, "좋은 노트북");
         productService.changeStatus(productId, ProductStatus.ON_SALE);
-        int beforeStock = productService.get(productId).getStock();
+        int beforeStock = productService.getAdmin(productId).getStock();
 
         // when
 
@@ -122,10 +128,10 @@ class OrderServiceTest {
         // then
         assertThrows(ForbiddenException.class,
                 () -> orderService.create(
-                        memberId, productId, 1, "테스트", "010-1234-5678",
+                        member, productId, 1, "테스트", "010-1234-5678",
                         "12345", "서울 영등포구", null)
         );
-        int afterStock = productService.get(productId).getStock();
+        int afterStock = productService.getAdmin(productId).getStock();
         // 주문 실패 시 상품재고 수량 변화 없음 확인
         assertEquals(beforeStock, afterStock);
     }
@@ -137,10 +143,13 @@ class OrderServiceTest {
         Long memberId = memberService.signup(
                 "userTest@test.com", "pw12341234!", "테스트", "010-1111-2222"
         );
+        Member member = memberService.get(memberId);
         Long categoryId = categoryService.create("전자", null);
         Long productId = productService.create(categoryId, "노트북", 1000, 10, "좋은 노트북");
-        productService.changeStatus(productId, ProductStatus.DISCONTINUED);
-        int beforeStock = productService.get(productId).getStock();
+        productService.changeStatus(productId, ProductStatus.ON_SALE);
+        // 판매 종료/숨김 상품은 공개 조회에서 404 라서, 보이지만 판매 중이 아닌 품절 상품으로 확인
+        productService.update(productId, null, null, null, 0, null);
+        int beforeStock = productService.getAdmin(productId).getStock();
 
         // when
 
@@ -148,10 +157,10 @@ class OrderServiceTest {
         // then
         assertThrows(ConflictException.class,
                 () -> orderService.create(
-                        memberId, productId, 1, "테스트", "010-1234-5678",
+                        member, productId, 1, "테스트", "010-1234-5678",
                         "12345", "서울 영등포구", null)
         );
-        int afterStock = productService.get(productId).getStock();
+        int afterStock = productService.getAdmin(productId).getStock();
         // 주문 실패 시 상품재고 수량 변화 없음 확인
         assertEquals(beforeStock, afterStock);
     }
@@ -163,10 +172,11 @@ class OrderServiceTest {
         Long memberId = memberService.signup(
                 "userTest@test.com", "pw12341234!", "테스트", "010-1111-2222"
         );
+        Member member = memberService.get(memberId);
         Long categoryId = categoryService.create("전자", null);
         Long productId = productService.create(categoryId, "노트북", 1000, 10, "좋은 노트북");
         productService.changeStatus(productId, ProductStatus.ON_SALE);
-        int beforeStock = productService.get(productId).getStock();
+        int beforeStock = productService.getAdmin(productId).getStock();
 
         // when
 
@@ -174,10 +184,10 @@ class OrderServiceTest {
         // then
         assertThrows(IllegalArgumentException.class,
                 () -> orderService.create(
-                        memberId, productId, 0, "테스트", "010-1234-5678",
+                        member, productId, 0, "테스트", "010-1234-5678",
                         "12345", "서울 영등포구", null)
         );
-        int afterStock = productService.get(productId).getStock();
+        int afterStock = productService.getAdmin(productId).getStock();
         // 주문 실패 시 상품재고 수량 변화 없음 확인
         assertEquals(beforeStock, afterStock);
     }
@@ -189,10 +199,11 @@ class OrderServiceTest {
         Long memberId = memberService.signup(
                 "userTest@test.com", "pw12341234!", "테스트", "010-1111-2222"
         );
+        Member member = memberService.get(memberId);
         Long categoryId = categoryService.create("전자", null);
         Long productId = productService.create(categoryId, "노트북", 1000, 10, "좋은 노트북");
         productService.changeStatus(productId, ProductStatus.ON_SALE);
-        int beforeStock = productService.get(productId).getStock();
+        int beforeStock = productService.getAdmin(productId).getStock();
 
         // when
 
@@ -200,10 +211,10 @@ class OrderServiceTest {
         // then
         assertThrows(ConflictException.class,
                 () -> orderService.create(
-                        memberId, productId, 11, "테스트", "010-1234-5678",
+                        member, productId, 11, "테스트", "010-1234-5678",
                         "12345", "서울 영등포구", null)
         );
-        int afterStock = productService.get(productId).getStock();
+        int afterStock = productService.getAdmin(productId).getStock();
         // 주문 실패 시 상품재고 수량 변화 없음 확인
         assertEquals(beforeStock, afterStock);
     }
@@ -215,6 +226,7 @@ class OrderServiceTest {
         Long memberId = memberService.signup(
                 "userTest@test.com", "pw12341234!", "테스트", "010-1111-2222"
         );
+        Member member = memberService.get(memberId);
 
         // when
 
@@ -222,7 +234,7 @@ class OrderServiceTest {
         // then
         assertThrows(NotFoundException.class,
                 () -> orderService.create(
-                        memberId, 999L, 2, "테스트", "010-1234-5678",
+                        member, 999L, 2, "테스트", "010-1234-5678",
                         "12345", "서울 영등포구", null)
         );
     }
@@ -234,11 +246,12 @@ class OrderServiceTest {
         Long memberId = memberService.signup(
                 "userTest@test.com", "pw12341234!", "테스트", "010-1111-2222"
         );
+        Member member = memberService.get(memberId);
         Long categoryId = categoryService.create("전자", null);
         Long productId = productService.create(categoryId, "노트북", 1000, 10, "좋은 노트북");
         productService.changeStatus(productId, ProductStatus.ON_SALE);
 
-        Long orderId = orderService.create(memberId, productId, 2, "테스트",
+        Long orderId = orderService.create(member, productId, 2, "테스트",
                 "010-1234-5678", "12345", "서울시 영등포구", null);
 
         // when
@@ -260,11 +273,12 @@ class OrderServiceTest {
         Long memberId = memberService.signup(
                 "userTest@test.com", "pw12341234!", "테스트", "010-1111-2222"
         );
+        Member member = memberService.get(memberId);
         Long categoryId = categoryService.create("전자", null);
         Long productId = productService.create(categoryId, "노트북", 1000, 10, "좋은 노트북");
         productService.changeStatus(productId, ProductStatus.ON_SALE);
 
-        Long orderId = orderService.create(memberId, productId, 2, "테스트",
+        Long orderId = orderService.create(member, productId, 2, "테스트",
                 "010-1234-5678", "12345", "서울시 영등포구", null);
 
         // when
@@ -281,6 +295,7 @@ class OrderServiceTest {
         Long memberId1 = memberService.signup(
                 "userTest@test.com", "pw12341234!", "테스트", "010-1111-2222"
         );
+        Member member1 = memberService.get(memberId1);
         Long memberId2 = memberService.signup(
                 "userTest2@test.com", "pw12341234!", "테스트2", "010-1111-5678"
         );
@@ -288,7 +303,7 @@ class OrderServiceTest {
         Long productId = productService.create(categoryId, "노트북", 1000, 10, "좋은 노트북");
         productService.changeStatus(productId, ProductStatus.ON_SALE);
 
-        Long orderId = orderService.create(memberId1, productId, 2, "테스트",
+        Long orderId = orderService.create(member1, productId, 2, "테스트",
                 "010-1234-5678", "12345", "서울시 영등포구", null);
 
         // when
@@ -305,11 +320,12 @@ class OrderServiceTest {
         Long memberId = memberService.signup(
                 "userTest@test.com", "pw12341234!", "테스트", "010-1111-2222"
         );
+        Member member = memberService.get(memberId);
         Long categoryId = categoryService.create("전자", null);
         Long productId = productService.create(categoryId, "노트북", 1000, 10, "좋은 노트북");
         productService.changeStatus(productId, ProductStatus.ON_SALE);
 
-        Long orderId = orderService.create(memberId, productId, 2, "테스트",
+        Long orderId = orderService.create(member, productId, 2, "테스트",
                 "010-1234-5678", "12345", "서울시 영등포구", null);
 
         // when
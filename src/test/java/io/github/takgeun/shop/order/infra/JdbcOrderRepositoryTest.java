@@ -0,0 +1,87 @@
+package io.github.takgeun.shop.order.infra;
+
+import io.github.takgeun.shop.global.error.ConflictException;
+import io.github.takgeun.shop.order.domain.Order;
+import io.github.takgeun.shop.order.domain.OrderLine;
+import io.github.takgeun.shop.order.domain.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcOrderRepositoryTest {
+
+    private EmbeddedDatabase db;
+    private JdbcOrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/schema.sql")
+                .build();
+        orderRepository = new JdbcOrderRepository(new NamedParameterJdbcTemplate(db), new DataSourceTransactionManager(db));
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    void 여러_주문을_한번에_저장하면_주문_상품_줄까지_그대로_조회() {
+        // given
+        Order first = order(1L, OrderLine.create(10L, "노트북", 1_000, 2), OrderLine.create(11L, "마우스", 500, 3));
+        Order second = order(2L, OrderLine.create(10L, "노트북", 1_000, 1));
+        Order third = order(1L, OrderLine.create(12L, "키보드", 700, 1));
+
+        // when
+        orderRepository.saveAll(List.of(first, second, third));
+
+        // then
+        Order found = orderRepository.findById(first.getId()).orElseThrow();
+        assertEquals(2, found.getLines().size());
+        assertEquals(11L, found.getLines().get(1).getProductId());
+        assertEquals(3_500, found.getTotalPrice());
+        assertEquals(first.getOrderedAt(), found.getOrderedAt());
+
+        // 회원별 최신순 커서 페이지
+        assertEquals(List.of(third.getId(), first.getId()), ids(orderRepository.findAllByMemberIdBefore(1L, null, 10)));
+        assertEquals(List.of(first.getId()), ids(orderRepository.findAllByMemberIdBefore(1L, third.getId(), 10)));
+        assertEquals(1, orderRepository.findAllByMemberId(2L).get(0).getLines().size());
+    }
+
+    @Test
+    void 같은_주문을_각자_읽어서_두번_취소하면_두번째는_409() {
+        // given
+        Order order = orderRepository.save(order(1L, OrderLine.create(10L, "노트북", 1_000, 1)));
+        Order copy1 = orderRepository.findById(order.getId()).orElseThrow();
+        Order copy2 = orderRepository.findById(order.getId()).orElseThrow();
+
+        // when
+        copy1.cancel();
+        orderRepository.save(copy1);
+        copy2.cancel();
+
+        // then
+        assertThrows(ConflictException.class, () -> orderRepository.save(copy2));
+        assertEquals(OrderStatus.CANCELED, orderRepository.findById(order.getId()).orElseThrow().getStatus());
+    }
+
+    private Order order(Long memberId, OrderLine... lines) {
+        return Order.create(memberId, List.of(lines), "받는이", "010-1111-2222", "12345", "서울", null);
+    }
+
+    private List<Long> ids(List<Order> orders) {
+        return orders.stream().map(Order::getId).toList();
+    }
+}
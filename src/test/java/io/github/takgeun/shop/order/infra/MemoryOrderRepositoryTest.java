@@ -0,0 +1,78 @@
+package io.github.takgeun.shop.order.infra;
+
+import io.github.takgeun.shop.order.domain.Order;
+import io.github.takgeun.shop.order.domain.OrderLine;
+import io.github.takgeun.shop.order.domain.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryOrderRepositoryTest {
+
+    private MemoryOrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new MemoryOrderRepository();
+    }
+
+    @Test
+    void 회원별_주문은_최근_주문부터_본인_것만() {
+        // given : 주문 1~6, 홀수는 회원 1 / 짝수는 회원 2
+        saveOrders(6);
+
+        // when & then
+        assertEquals(List.of(5L, 3L, 1L), ids(orderRepository.findAllByMemberId(1L)));
+        assertEquals(List.of(6L, 4L, 2L), ids(orderRepository.findAllByMemberId(2L)));
+        assertTrue(orderRepository.findAllByMemberId(3L).isEmpty());
+    }
+
+    @Test
+    void 저장된_주문을_취소하면_회원별_조회에도_그대로_보인다() {
+        // given
+        Order order = orderRepository.save(order(1L));
+
+        // when : 인덱스가 같은 Order 를 들고 있으니 save 전에도 보인다.
+        order.cancel();
+
+        // then
+        assertEquals(OrderStatus.CANCELED, orderRepository.findAllByMemberId(1L).get(0).getStatus());
+        assertEquals(OrderStatus.CANCELED, orderRepository.findAllByMemberIdBefore(1L, null, 10).get(0).getStatus());
+    }
+
+    @Test
+    void 커서는_beforeId_를_빼고_그보다_오래된_주문부터_limit_개() {
+        // given : 회원 1 = 1, 3, 5, 7, 9
+        saveOrders(10);
+
+        // when & then
+        assertEquals(List.of(9L, 7L), ids(orderRepository.findAllByMemberIdBefore(1L, null, 2)));
+        assertEquals(List.of(5L, 3L), ids(orderRepository.findAllByMemberIdBefore(1L, 7L, 2)));
+        assertEquals(List.of(1L), ids(orderRepository.findAllByMemberIdBefore(1L, 3L, 2)));
+        assertTrue(orderRepository.findAllByMemberIdBefore(1L, 1L, 2).isEmpty());
+
+        // 커서가 다른 회원의 주문 id 여도 그 id 보다 오래된 본인 주문부터
+        assertEquals(List.of(7L, 5L), ids(orderRepository.findAllByMemberIdBefore(1L, 8L, 2)));
+        // 가장 최근 주문보다 큰 커서 = 처음부터
+        assertEquals(List.of(9L, 7L), ids(orderRepository.findAllByMemberIdBefore(1L, 100L, 2)));
+        assertTrue(orderRepository.findAllByMemberIdBefore(3L, null, 2).isEmpty());
+    }
+
+    private void saveOrders(int count) {
+        for (int i = 1; i <= count; i++) {
+            orderRepository.save(order(i % 2 == 1 ? 1L : 2L));
+        }
+    }
+
+    private Order order(Long memberId) {
+        return Order.create(memberId, List.of(OrderLine.create(1L, "노트북", 1_000, 1)),
+                "받는이", "010-1111-2222", "12345", "서울", null);
+    }
+
+    private List<Long> ids(List<Order> orders) {
+        return orders.stream().map(Order::getId).toList();
+    }
+}
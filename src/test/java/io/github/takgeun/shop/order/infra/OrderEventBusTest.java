@@ -0,0 +1,104 @@
+package io.github.takgeun.shop.order.infra;
+
+import io.github.takgeun.shop.order.application.OrderEventListener;
+import io.github.takgeun.shop.order.domain.OrderEvent;
+import io.github.takgeun.shop.order.domain.OrderEvent.OrderCanceled;
+import io.github.takgeun.shop.order.domain.OrderEvent.OrderCreated;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderEventBusTest {
+
+    @Test
+    void 발행_순서대로_묶음_단위로_전달되고_종료_시_남은_이벤트까지_처리() {
+        // given : 묶음마다 조금씩 느린 리스너
+        List<OrderEvent> received = new CopyOnWriteArrayList<>();
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        OrderEventListener slow = events -> {
+            batchSizes.add(events.size());
+            received.addAll(events);
+            sleep(5);
+        };
+        OrderEventBus bus = new OrderEventBus(List.of(slow), 1024, 50, Duration.ofSeconds(10));
+        bus.start();
+
+        // when
+        for (long i = 1; i <= 500; i++) {
+            assertTrue(bus.publish(created(i)));
+        }
+        bus.publish(canceled(1L));
+        bus.stop();
+
+        // then
+        assertEquals(501, received.size());
+        assertEquals(1L, received.get(0).orderId());
+        assertInstanceOf(OrderCanceled.class, received.get(500));
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 50));
+        assertTrue(batchSizes.size() < 501, "이벤트가 묶음으로 전달되어야 함");
+        assertEquals(501, bus.stats().delivered());
+        assertEquals(0, bus.stats().depth());
+    }
+
+    @Test
+    void 버퍼가_가득_차면_기다리지_않고_버린다() {
+        // given : 디스패처를 시작하지 않아서 아무도 꺼내가지 않는 상태
+        OrderEventBus bus = new OrderEventBus(List.of(), 2, 10, Duration.ofSeconds(1));
+
+        // when
+        boolean first = bus.publish(created(1L));
+        boolean second = bus.publish(created(2L));
+        boolean third = bus.publish(created(3L));
+
+        // then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        OrderEventBus.Stats stats = bus.stats();
+        assertEquals(2, stats.depth());
+        assertEquals(2, stats.maxDepth());
+        assertEquals(2, stats.published());
+        assertEquals(1, stats.dropped());
+    }
+
+    @Test
+    void 리스너가_실패해도_다른_리스너와_다음_이벤트는_계속_처리() {
+        // given
+        List<OrderEvent> received = new CopyOnWriteArrayList<>();
+        OrderEventListener failing = events -> {
+            throw new IllegalStateException("알림 서버 장애");
+        };
+        OrderEventBus bus = new OrderEventBus(List.of(failing, received::addAll), 16, 1, Duration.ofSeconds(10));
+        bus.start();
+
+        // when
+        bus.publish(created(1L));
+        bus.publish(created(2L));
+        bus.stop();
+
+        // then
+        assertEquals(2, received.size());
+        assertEquals(2, bus.stats().listenerFailures());
+    }
+
+    private static OrderCreated created(Long orderId) {
+        return new OrderCreated(orderId, 1L, List.of(new OrderEvent.Line(1L, 1)), 1000, Instant.now());
+    }
+
+    private static OrderCanceled canceled(Long orderId) {
+        return new OrderCanceled(orderId, 1L, List.of(new OrderEvent.Line(1L, 1)), Instant.now());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
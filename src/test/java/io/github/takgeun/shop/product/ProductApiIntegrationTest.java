@@ -0,0 +1,187 @@
+package io.github.takgeun.shop.product;
+
+import io.github.takgeun.shop.IntegrationTestSupport;
+import io.github.takgeun.shop.product.domain.ProductStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductApiIntegrationTest extends IntegrationTestSupport {
+
+    @Test
+    void 상품_단건_조회_후_재고가_바뀌면_바뀐_JSON_응답() throws Exception {
+
+        // given
+        Long productId = givenOnSaleProduct(1000, 10);
+
+        mockMvc.perform(get("/api/v1/products/{productId}", productId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(productId))
+                .andExpect(jsonPath("$.stock").value(10));
+
+        // when : 캐시된 뒤 재고 변경
+        productService.update(productId, null, null, null, 3, null);
+
+        // then
+        mockMvc.perform(get("/api/v1/products/{productId}", productId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock").value(3));
+    }
+
+    @Test
+    void 카테고리별_상품_목록_페이지_조회() throws Exception {
+
+        // given
+        Long categoryId = categoryService.create("가전" + System.nanoTime(), null);
+        Long first = productService.create(categoryId, "냉장고", 1000, 10, "큰 냉장고");
+        Long second = productService.create(categoryId, "세탁기", 2000, 10, null);
+
+        // when & then
+        String body = mockMvc.perform(get("/api/v1/products")
+                        .param("categoryId", String.valueOf(categoryId))
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(first))
+                .andExpect(jsonPath("$.items[0].name").value("냉장고"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("categoryId", String.valueOf(categoryId))
+                        .param("cursor", nextCursor)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(second))
+                .andExpect(jsonPath("$.items[0].description").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void ETag가_같으면_304_상품이_바뀌면_새_ETag로_200() throws Exception {
+
+        // given
+        Long productId = givenOnSaleProduct(1000, 10);
+
+        String etag = mockMvc.perform(get("/api/v1/products/{productId}", productId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).startsWith("W/\"");      // 버전으로 만든 ETag 라 바이트까지 약속하지 않음
+
+        // when & then : 그대로면 본문 없이 304
+        mockMvc.perform(get("/api/v1/products/{productId}", productId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().bytes(new byte[0]));
+
+        // when : 가격 변경
+        productService.update(productId, null, null, 2000, null, null);
+
+        // then
+        String changed = mockMvc.perform(get("/api/v1/products/{productId}", productId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(2000))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void 상품_목록_ETag는_페이지_구성이_바뀌면_달라진다() throws Exception {
+
+        // given
+        Long categoryId = categoryService.create("도서" + System.nanoTime(), null);
+        productService.create(categoryId, "소설", 1000, 10, null);
+
+        String etag = mockMvc.perform(get("/api/v1/products")
+                        .param("categoryId", String.valueOf(categoryId)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("categoryId", String.valueOf(categoryId))
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // when : 같은 카테고리에 상품 추가
+        productService.create(categoryId, "시집", 1000, 10, null);
+
+        // then
+        mockMvc.perform(get("/api/v1/products")
+                        .param("categoryId", String.valueOf(categoryId))
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2));
+    }
+
+    @Test
+    void 하위_카테고리_포함_조회() throws Exception {
+
+        // given : 상위 -> 하위 -> 손자, 각각 상품 1개
+        long suffix = System.nanoTime();
+        Long parent = categoryService.create("상위" + suffix, null);
+        Long child = categoryService.create("하위" + suffix, parent);
+        Long grandChild = categoryService.create("손자" + suffix, child);
+        Long first = productService.create(parent, "상품1", 1000, 10, null);
+        Long second = productService.create(grandChild, "상품2", 1000, 10, null);
+        Long third = productService.create(child, "상품3", 1000, 10, null);
+
+        // when & then
+        mockMvc.perform(get("/api/v1/products")
+                        .param("categoryId", String.valueOf(parent))
+                        .param("includeSubcategories", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[0].id").value(first))
+                .andExpect(jsonPath("$.items[1].id").value(second))
+                .andExpect(jsonPath("$.items[2].id").value(third));
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("categoryId", String.valueOf(child))
+                        .param("includeSubcategories", "true")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(second))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void 상품_검색은_공개_상품만_관련도_순() throws Exception {
+
+        // given
+        Long categoryId = categoryService.create("검색" + System.nanoTime(), null);
+        Long inName = productService.create(categoryId, "접이식 캠핑의자", 30000, 10, "가벼운 의자");
+        Long inDescription = productService.create(categoryId, "캠핑 테이블", 50000, 10, "접이식 캠핑의자와 세트");
+        Long hidden = productService.create(categoryId, "접이식 캠핑의자 커버", 5000, 10, null);
+        productService.changeStatus(hidden, ProductStatus.HIDDEN);
+
+        // when & then
+        mockMvc.perform(get("/api/v1/products/search").param("q", "접이식 캠핑의자"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(inName))
+                .andExpect(jsonPath("$.items[1].id").value(inDescription))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        // 이름을 바꾸면 바로 반영
+        productService.update(inName, null, "등산 스틱", null, null, "");
+        mockMvc.perform(get("/api/v1/products/search").param("q", "접이식 캠핑의자"))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(inDescription));
+
+        mockMvc.perform(get("/api/v1/products/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.takgeun.shop.product.api;
+
+import io.github.takgeun.shop.product.domain.Product;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductJsonCacheTest {
+
+    private final ProductJsonCache cache = new ProductJsonCache(JsonMapper.builder().build(), 100, Runnable::run);
+
+    @Test
+    void 상한을_넘는_상품을_조회해도_상한_이하로_유지되고_새_상품도_캐시된다() {
+        // given : 상한(100)의 10배 만큼 서로 다른 상품을 한 번씩 조회
+        for (long id = 1; id <= 1_000; id++) {
+            cache.json(product(id, "상품" + id));
+        }
+
+        // when
+        Product late = product(5_000L, "늦게 들어온 상품");
+        byte[] first = cache.json(late);
+
+        // then : 상한에 닿은 뒤에 처음 본 상품도 다음 조회는 캐시에서
+        assertTrue(cache.size() <= 100, "size = " + cache.size());
+        assertSame(first, cache.json(late));
+    }
+
+    @Test
+    void 상품이_바뀌면_캐시된_JSON을_버리고_다시_만든다() {
+        // given
+        Product product = product(1L, "노트북");
+        byte[] before = cache.json(product);
+
+        // when
+        product.changeName("새 노트북");
+
+        // then
+        byte[] after = cache.json(product);
+        assertNotSame(before, after);
+        assertTrue(new String(after, StandardCharsets.UTF_8).contains("새 노트북"));
+        assertSame(after, cache.json(product));
+    }
+
+    private Product product(Long id, String name) {
+        Product product = Product.create(1L, name, 1_000, 10, null);
+        product.assignId(id);
+        return product;
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.takgeun.shop.product.application;
+
+import io.github.takgeun.shop.product.domain.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private final List<Product> products = new ArrayList<>();
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    @Test
+    void 검색어의_2gram이_모두_있는_공개_상품만_이름에_있는_것을_먼저() {
+        // given
+        Product mouse = product(1L, "블루투스 무선마우스", "가벼운 마우스");
+        Product keyboard = product(2L, "유선 키보드", "무선 마우스와 같이 쓰기 좋은 키보드");
+        Product wired = product(3L, "유선 마우스", null);
+        Product hidden = product(4L, "무선 마우스 패드", null);
+        hidden.hide();
+
+        // when & then : 띄어쓰기가 달라도 2-gram 으로 찾는다.
+        assertEquals(List.of(1L, 2L), search("무선 마우스"));
+        assertEquals(List.of(3L, 1L, 2L), search("마우스"));        // 같은 이름 매칭이면 짧은 상품이 먼저
+        assertEquals(List.of(), search("무선 트랙볼"));
+        assertEquals(List.of(), search("  !!  "));
+        assertEquals(List.of(1L), search("무선 마우스", 1));
+    }
+
+    @Test
+    void 색인을_만든_뒤의_추가_수정_숨김이_바로_반영() {
+        // given
+        Product first = product(1L, "노트북 거치대", null);
+        assertEquals(List.of(1L), search("노트북"));
+
+        // when
+        Product second = product(2L, "게이밍 노트북", null);
+        index.index(second);
+        first.changeName("모니터 거치대");
+        index.index(first);
+
+        // then
+        assertEquals(List.of(2L), search("노트북"));
+        assertEquals(List.of(1L), search("모니터"));
+
+        // 숨김 -> 빠지고, 다시 판매 -> 돌아온다. (죽은 문서 정리 후에도 그대로)
+        second.hide();
+        index.index(second);
+        assertEquals(List.of(), search("노트북"));
+        for (int i = 0; i < 5; i++) {
+            index.index(first);
+        }
+        second.onSale();
+        index.index(second);
+        assertEquals(List.of(2L), search("게이밍 노트북"));
+        assertEquals(List.of(1L), search("모니터 거치대"));
+    }
+
+    @Test
+    void 한_글자_단어는_그_글자가_term() {
+        assertArrayEquals(new int[]{'책', 'a' << 16 | 'b', 'b' << 16 | 'c'}, ProductSearchIndex.terms("책, ABC"));
+    }
+
+    private Product product(Long id, String name, String description) {
+        Product product = Product.create(1L, name, 1000, 10, description);
+        product.assignId(id);
+        products.add(product);
+        return product;
+    }
+
+    private List<Long> search(String query) {
+        return search(query, 20);
+    }
+
+    private List<Long> search(String query, int limit) {
+        return index.search(query, limit, () -> products);
+    }
+}
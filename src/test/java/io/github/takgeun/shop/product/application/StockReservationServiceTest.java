@@ -0,0 +1,182 @@
+package io.github.takgeun.shop.product.application;
+
+import io.github.takgeun.shop.global.error.ConflictException;
+import io.github.takgeun.shop.product.domain.Product;
+import io.github.takgeun.shop.product.infra.MemoryProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockReservationServiceTest {
+
+    private MemoryProductRepository productRepository;
+    private StockReservationService stockReservationService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new MemoryProductRepository();
+        stockReservationService = new StockReservationService(productRepository);
+    }
+
+    @Test
+    void 재고_부족하면_예약_실패하고_재고_변화없음() {
+        // given
+        Long productId = productRepository.save(Product.create(1L, "노트북", 1000, 2, null)).getId();
+
+        // when
+        boolean reserved = stockReservationService.tryReserve(productId, 3);
+
+        // then
+        assertFalse(reserved);
+        assertEquals(2, productRepository.findById(productId).orElseThrow().getStock());
+    }
+
+    @Test
+    void 예약_후_해제하면_재고_원복() {
+        // given
+        Long productId = productRepository.save(Product.create(1L, "노트북", 1000, 5, null)).getId();
+
+        // when
+        assertTrue(stockReservationService.tryReserve(productId, 5));
+        stockReservationService.release(productId, 5);
+
+        // then
+        assertEquals(5, productRepository.findById(productId).orElseThrow().getStock());
+    }
+
+    @Test
+    void 가상스레드_수천개가_동시에_예약해도_초과판매_없음() throws Exception {
+        // given : 재고 100개인 인기 상품에 5000명이 동시에 2개씩 주문
+        int stock = 100;
+        int threads = 5_000;
+        int quantity = 2;
+        Long productId = productRepository.save(Product.create(1L, "한정판", 1000, stock, null)).getId();
+
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger failure = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    if(stockReservationService.tryReserve(productId, quantity)) {
+                        success.incrementAndGet();
+                    } else {
+                        failure.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();      // 동시에 출발
+        }
+
+        // then
+        assertEquals(stock / quantity, success.get());
+        assertEquals(threads - stock / quantity, failure.get());
+        assertEquals(0, productRepository.findById(productId).orElseThrow().getStock());
+    }
+
+    @Test
+    void 여러_상품_중_하나라도_부족하면_전부_원복() {
+        // given
+        Long first = productRepository.save(Product.create(1L, "노트북", 1000, 5, null)).getId();
+        Long second = productRepository.save(Product.create(1L, "마우스", 1000, 1, null)).getId();
+        Long third = productRepository.save(Product.create(1L, "키보드", 1000, 5, null)).getId();
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(third, 2);
+        quantities.put(first, 2);
+        quantities.put(second, 2);      // 부족
+
+        // when & then
+        assertThrows(ConflictException.class, () -> stockReservationService.reserveAll(quantities));
+        assertEquals(5, productRepository.findById(first).orElseThrow().getStock());
+        assertEquals(1, productRepository.findById(second).orElseThrow().getStock());
+        assertEquals(5, productRepository.findById(third).orElseThrow().getStock());
+    }
+
+    @Test
+    void 원복_중_하나가_실패해도_나머지는_되돌리고_409는_그대로() {
+        // given : 재고 원복이 한 번 실패하는 저장소 (DB 일시 오류, WAL 실패 등)
+        AtomicInteger increaseFailures = new AtomicInteger(1);
+        MemoryProductRepository failingRepository = new MemoryProductRepository() {
+            @Override
+            public void increaseStock(Product product, int quantity) {
+                if(increaseFailures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("원복 실패");
+                }
+                super.increaseStock(product, quantity);
+            }
+        };
+        StockReservationService service = new StockReservationService(failingRepository);
+        Long first = failingRepository.save(Product.create(1L, "노트북", 1000, 5, null)).getId();
+        Long second = failingRepository.save(Product.create(1L, "마우스", 1000, 5, null)).getId();
+        Long third = failingRepository.save(Product.create(1L, "키보드", 1000, 1, null)).getId();
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(first, 2);
+        quantities.put(second, 2);
+        quantities.put(third, 2);       // 부족 -> second, first 순서로 원복, second 원복이 실패
+
+        // when
+        ConflictException e = assertThrows(ConflictException.class, () -> service.reserveAll(quantities));
+
+        // then : 원복 실패는 원래 예외에 붙고, 그 뒤 상품도 되돌아간다.
+        assertEquals(1, e.getSuppressed().length);
+        assertEquals("원복 실패", e.getSuppressed()[0].getMessage());
+        assertEquals(5, failingRepository.findById(first).orElseThrow().getStock());
+        assertEquals(3, failingRepository.findById(second).orElseThrow().getStock());
+        assertEquals(1, failingRepository.findById(third).orElseThrow().getStock());
+    }
+
+    @Test
+    void 장바구니_동시_결제에도_초과판매나_부분차감_없음() throws Exception {
+        // given : 두 상품을 서로 반대 순서로 담은 장바구니 결제가 동시에 들어온다.
+        int stock = 100;
+        int threads = 2_000;
+        Long a = productRepository.save(Product.create(1L, "A", 1000, stock, null)).getId();
+        Long b = productRepository.save(Product.create(1L, "B", 1000, stock, null)).getId();
+
+        AtomicInteger success = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threads; i++) {
+                Map<Long, Integer> cart = new LinkedHashMap<>();
+                if(i % 2 == 0) {
+                    cart.put(a, 1);
+                    cart.put(b, 2);
+                } else {
+                    cart.put(b, 2);
+                    cart.put(a, 1);
+                }
+                executor.submit(() -> {
+                    start.await();
+                    try {
+                        stockReservationService.reserveAll(cart);
+                        success.incrementAndGet();
+                    } catch (ConflictException ignored) {
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        // then : 성공한 결제 수만큼만 정확히 차감 (B가 먼저 바닥나서 50건)
+        assertEquals(stock / 2, success.get());
+        assertEquals(stock - success.get(), productRepository.findById(a).orElseThrow().getStock());
+        assertEquals(0, productRepository.findById(b).orElseThrow().getStock());
+    }
+}
@@ -0,0 +1,198 @@
+package io.github.takgeun.shop.product.infra;
+
+import io.github.takgeun.shop.product.domain.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingProductRepositoryTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    // DB 저장이 커밋된 직후, 캐시에 반영되기 전에 끼어들 작업
+    private Runnable afterSave = () -> { };
+    private final AtomicLong nanos = new AtomicLong();
+
+    private EmbeddedDatabase db;
+    private JdbcProductRepository jdbcRepository;
+    private CachingProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/schema.sql")
+                .build();
+        jdbcRepository = new JdbcProductRepository(new NamedParameterJdbcTemplate(db), new DataSourceTransactionManager(db)) {
+            @Override
+            public Optional<Product> findById(Long id) {
+                loads.incrementAndGet();
+                return super.findById(id);
+            }
+
+            @Override
+            public Product save(Product product) {
+                Product saved = super.save(product);
+                afterSave.run();
+                return saved;
+            }
+        };
+        productRepository = new CachingProductRepository(jdbcRepository, Duration.ofSeconds(30), 1 << 20, nanos::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    void 처음_조회가_동시에_몰려도_DB_조회는_한번() throws Exception {
+        // given
+        Long productId = jdbcRepository.save(Product.create(1L, "노트북", 1000, 10, null)).getId();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 64; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    return productRepository.findById(productId);
+                });
+            }
+            start.countDown();
+        }
+
+        // then
+        assertEquals(1, loads.get());
+        assertEquals(1, productRepository.stats().missCount());
+        assertEquals(63, productRepository.stats().hitCount());
+    }
+
+    @Test
+    void 조회_결과를_바꿔도_캐시는_그대로이고_저장하면_바로_반영() {
+        // given
+        Long productId = productRepository.save(Product.create(1L, "노트북", 1000, 10, null)).getId();
+        Product product = productRepository.findById(productId).orElseThrow();
+
+        // when : 저장 전 변경은 다른 조회에 보이지 않는다.
+        product.changeName("새 노트북");
+        assertEquals("노트북", productRepository.findById(productId).orElseThrow().getName());
+        productRepository.save(product);
+
+        // then : 저장한 상태로 교체돼서 DB 조회 없이 보인다. (처음 한 번만 읽음)
+        assertEquals("새 노트북", productRepository.findById(productId).orElseThrow().getName());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void 주문으로_재고가_바뀌어도_캐시를_버리지_않고_같은_값으로_맞춘다() {
+        // given
+        Long productId = productRepository.save(Product.create(1L, "노트북", 1000, 10, null)).getId();
+        productRepository.findById(productId);
+
+        // when : 한 상품에 주문/취소가 이어져도
+        for (int i = 0; i < 5; i++) {
+            assertTrue(productRepository.tryDecreaseStock(productRepository.findById(productId).orElseThrow(), 2));
+        }
+        assertFalse(productRepository.tryDecreaseStock(productRepository.findById(productId).orElseThrow(), 1));
+        productRepository.increaseStock(productRepository.findById(productId).orElseThrow(), 3);
+
+        // then : DB 를 다시 읽지 않고, 캐시 사본은 DB 행과 같다.
+        Product cached = productRepository.findById(productId).orElseThrow();
+        Product stored = jdbcRepository.findById(productId).orElseThrow();
+        assertEquals(3, cached.getStock());
+        assertEquals(stored.getStock(), cached.getStock());
+        assertEquals(stored.getVersion(), cached.getVersion());
+        assertEquals(stored.getStatus(), cached.getStatus());
+        assertEquals(2, loads.get());       // 처음 한 번 + 비교용 직접 조회
+    }
+
+    @Test
+    void 같은_상품에_주문이_동시에_몰려도_캐시_사본은_DB와_같다() throws Exception {
+        // given
+        Long productId = productRepository.save(Product.create(1L, "노트북", 1000, 1000, null)).getId();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when : 차감 반영 순서가 커밋 순서와 뒤바뀌면 사본을 버리고, 맞출 수 있을 때만 맞춘다.
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 400; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    return productRepository.tryDecreaseStock(productRepository.findById(productId).orElseThrow(), 1);
+                });
+            }
+            start.countDown();
+        }
+
+        // then
+        assertEquals(600, jdbcRepository.findById(productId).orElseThrow().getStock());
+        assertEquals(600, productRepository.findById(productId).orElseThrow().getStock());
+    }
+
+    @Test
+    void 다른_인스턴스가_바꾼_뒤의_재고_변경은_사본을_맞추지_않고_버린다() {
+        // given : 캐시에 든 뒤 다른 인스턴스가 DB 재고를 바꿨다. (사본은 두 버전 뒤처짐)
+        Long productId = productRepository.save(Product.create(1L, "노트북", 1000, 10, null)).getId();
+        productRepository.findById(productId);
+        jdbcRepository.tryDecreaseStock(jdbcRepository.findById(productId).orElseThrow(), 4);
+
+        // when
+        assertTrue(productRepository.tryDecreaseStock(productRepository.findById(productId).orElseThrow(), 1));
+
+        // then : 옛 사본에 차감만 얹지 않고 DB 에서 다시 읽는다.
+        loads.set(0);
+        assertEquals(5, productRepository.findById(productId).orElseThrow().getStock());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void 저장_커밋과_캐시_교체_사이에_주문이_끼어들어도_옛_재고로_덮어쓰지_않는다() {
+        // given
+        Long productId = productRepository.save(Product.create(1L, "노트북", 1000, 10, null)).getId();
+        Product product = productRepository.findById(productId).orElseThrow();
+        product.changeName("새 노트북");
+
+        // when : 관리자 저장이 커밋된 직후 주문이 재고를 차감
+        afterSave = () -> {
+            afterSave = () -> { };
+            assertTrue(productRepository.tryDecreaseStock(jdbcRepository.findById(productId).orElseThrow(), 3));
+        };
+        productRepository.save(product);
+
+        // then
+        Product cached = productRepository.findById(productId).orElseThrow();
+        assertEquals("새 노트북", cached.getName());
+        assertEquals(7, cached.getStock());
+    }
+
+    @Test
+    void ttl이_지나면_DB에서_다시_조회() {
+        // given : 캐시에 든 뒤 다른 인스턴스가 DB 를 직접 바꾼 상황
+        Long productId = productRepository.save(Product.create(1L, "노트북", 1000, 10, null)).getId();
+        productRepository.findById(productId);
+        jdbcRepository.tryDecreaseStock(jdbcRepository.findById(productId).orElseThrow(), 4);
+        loads.set(0);
+
+        // when & then
+        assertEquals(10, productRepository.findById(productId).orElseThrow().getStock());
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        assertEquals(6, productRepository.findById(productId).orElseThrow().getStock());
+        assertEquals(1, loads.get());
+    }
+}
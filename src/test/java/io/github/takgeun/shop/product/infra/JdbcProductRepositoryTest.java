@@ -0,0 +1,104 @@
+package io.github.takgeun.shop.product.infra;
+
+import io.github.takgeun.shop.global.error.ConflictException;
+import io.github.takgeun.shop.product.domain.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcProductRepositoryTest {
+
+    private EmbeddedDatabase db;
+    private JdbcProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/schema.sql")
+                .build();
+        productRepository = new JdbcProductRepository(new NamedParameterJdbcTemplate(db), new DataSourceTransactionManager(db));
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    void 한번에_저장하면_순서대로_id_할당_후_공개_상품만_커서_페이지로_조회() {
+        // given : 1~5번 상품 중 3번은 숨김, 5번은 다른 카테고리
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            products.add(Product.create(i == 5 ? 2L : 1L, "상품" + i, 1000, 10, null));
+        }
+        products.get(2).hide();
+
+        // when
+        productRepository.saveAll(products);
+
+        // then
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), products.stream().map(Product::getId).toList());
+        assertEquals(List.of(2L, 4L), ids(productRepository.findAllPublicByCategoryIdAfter(1L, 1L, 10)));
+        assertEquals(List.of(4L, 5L), ids(productRepository.findAllPublicAfter(2L, 2)));
+        assertEquals(List.of(1L, 2L, 4L), ids(productRepository.findAllPublicByCategoryId(1L)));
+    }
+
+    @Test
+    void 동시에_재고를_차감해도_초과_판매_없음() throws Exception {
+        // given
+        Product product = productRepository.save(Product.create(1L, "노트북", 1000, 50, null));
+        AtomicInteger reserved = new AtomicInteger();
+
+        // when : 요청마다 자기 사본을 읽어서 1개씩 차감
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                executor.submit(() -> {
+                    Product copy = productRepository.findById(product.getId()).orElseThrow();
+                    if(productRepository.tryDecreaseStock(copy, 1)) {
+                        reserved.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        // then
+        assertEquals(50, reserved.get());
+        assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void 읽은_뒤_재고가_바뀌었으면_관리자_수정은_409() {
+        // given
+        Product product = productRepository.save(Product.create(1L, "노트북", 1000, 10, null));
+        Product stale = productRepository.findById(product.getId()).orElseThrow();
+        productRepository.tryDecreaseStock(productRepository.findById(product.getId()).orElseThrow(), 3);
+
+        // when
+        stale.changeName("새 노트북");
+
+        // then
+        assertThrows(ConflictException.class, () -> productRepository.save(stale));
+        Product saved = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals("노트북", saved.getName());
+        assertEquals(7, saved.getStock());
+    }
+
+    private List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+}
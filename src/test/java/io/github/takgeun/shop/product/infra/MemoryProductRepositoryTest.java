@@ -0,0 +1,97 @@
+package io.github.takgeun.shop.product.infra;
+
+import io.github.takgeun.shop.product.domain.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryProductRepositoryTest {
+
+    private MemoryProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new MemoryProductRepository();
+    }
+
+    @Test
+    void 카테고리_변경_후_저장하면_인덱스도_이동() {
+        // given
+        Product product = productRepository.save(Product.create(1L, "노트북", 1000, 10, null));
+
+        // when
+        product.changeCategory(2L);
+        productRepository.save(product);
+
+        // then
+        assertFalse(productRepository.existsByCategoryId(1L));
+        assertTrue(productRepository.existsByCategoryId(2L));
+        assertEquals(List.of(product), productRepository.findAllByCategoryId(2L));
+    }
+
+    @Test
+    void 숨김_상품은_카테고리별_공개_목록에서_제외() {
+        // given
+        Product visible = productRepository.save(Product.create(1L, "노트북", 1000, 10, null));
+        Product hidden = productRepository.save(Product.create(1L, "마우스", 1000, 10, null));
+
+        // when
+        hidden.hide();
+        productRepository.save(hidden);
+
+        // then
+        assertEquals(List.of(visible), productRepository.findAllPublicByCategoryId(1L));
+        assertEquals(2, productRepository.findAllByCategoryId(1L).size());
+    }
+
+    @Test
+    void 커서_이후_공개_상품만_페이지_크기만큼_조회() {
+        // given : 1~5번 상품 중 3번은 숨김
+        for (int i = 1; i <= 5; i++) {
+            productRepository.save(Product.create(1L, "상품" + i, 1000, 10, null));
+        }
+        Product hidden = productRepository.findById(3L).orElseThrow();
+        hidden.hide();
+        productRepository.save(hidden);
+
+        // when
+        List<Product> first = productRepository.findAllPublicAfter(null, 2);
+        List<Product> second = productRepository.findAllPublicByCategoryIdAfter(1L, first.get(1).getId(), 2);
+
+        // then
+        assertEquals(List.of(1L, 2L), first.stream().map(Product::getId).toList());
+        assertEquals(List.of(4L, 5L), second.stream().map(Product::getId).toList());
+    }
+
+    @Test
+    void 동시_저장해도_id_중복없이_저장순서_유지() throws Exception {
+        // given
+        int count = 10_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                long categoryId = i % 10 + 1;
+                executor.submit(() -> ids.add(
+                        productRepository.save(Product.create(categoryId, "상품", 1000, 1, null)).getId()));
+            }
+        }
+
+        // then
+        assertEquals(count, ids.size());
+        List<Product> all = productRepository.findAll();
+        assertEquals(count, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getId() < all.get(i).getId());
+        }
+        assertEquals(count / 10, productRepository.findAllByCategoryId(1L).size());
+    }
+}